@@ -0,0 +1,119 @@
+package cfp.benchmarks;
+
+import cfp.aplicacion.AccesoAplicacion;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de los cargadores de catálogos de Main (vendedores.txt y productos.txt).
+ * Cada invocación vuelve a leer el archivo completo; los registros repetidos
+ * actualizan las mismas posiciones de las tablas, así que la memoria no crece.
+ * Los benchmarks de instantánea cargan el mismo catálogo desde su copia binaria
+ * (vendedores.cat, productos.cat), que se crea al preparar los datos.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogosBenchmark {
+
+    /** Número de vendedores del archivo generado */
+    @Param({"1000", "10000", "100000"})
+    private int vendedores;
+
+    /** Número de productos del archivo generado */
+    @Param({"30"})
+    private int productos;
+
+    /** Acceso a los cargadores de Main */
+    private AccesoAplicacion aplicacion;
+
+    /**
+     * Genera los catálogos del tamaño indicado.
+     *
+     * @throws IOException si falla la generación de datos
+     */
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DatosBenchmark.generar(vendedores, productos, 0, 0);
+        aplicacion = DatosBenchmark.aplicacion();
+
+        // La primera carga lee el texto y deja escrita la instantánea
+        aplicacion.cargarArchivoVendedores();
+        aplicacion.cargarArchivoProductos();
+    }
+
+    /**
+     * Elimina los datos generados.
+     *
+     * @throws IOException si no se pueden eliminar
+     */
+    @TearDown(Level.Trial)
+    public void limpiar() throws IOException {
+        DatosBenchmark.eliminar();
+    }
+
+    /**
+     * Carga el archivo de vendedores.
+     *
+     * @throws IOException si la carga falla
+     */
+    @Benchmark
+    public void leerArchivoVendedores() throws IOException {
+        aplicacion.leerArchivoVendedores();
+    }
+
+    /**
+     * Carga el archivo de productos.
+     *
+     * @throws IOException si la carga falla
+     */
+    @Benchmark
+    public void leerArchivoProductos() throws IOException {
+        aplicacion.leerArchivoProductos();
+    }
+
+    /**
+     * Carga el catálogo de vendedores desde su instantánea.
+     *
+     * @throws IOException si la carga falla
+     */
+    @Benchmark
+    public void cargarInstantaneaVendedores() throws IOException {
+        aplicacion.cargarArchivoVendedores();
+    }
+
+    /**
+     * Carga el catálogo de productos desde su instantánea.
+     *
+     * @throws IOException si la carga falla
+     */
+    @Benchmark
+    public void cargarInstantaneaProductos() throws IOException {
+        aplicacion.cargarArchivoProductos();
+    }
+}
@@ -0,0 +1,135 @@
+package cfp.benchmarks;
+
+import cfp.aplicacion.AccesoAplicacion;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Prepara los datos de entrada de los benchmarks con GenerateInfoFiles.
+ * Los archivos se generan en una carpeta temporal que se asigna a la propiedad
+ * cfp.datos antes de cargar las clases de la aplicación. Como esa propiedad se lee
+ * una sola vez al cargar Main y GenerateInfoFiles, cada combinación de parámetros
+ * necesita su propia JVM (los benchmarks se ejecutan con @Fork, nunca con -f 0).
+ * Las etapas de la aplicación se invocan a través de {@link AccesoAplicacion}.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+final class DatosBenchmark {
+
+    /** Carpeta generada en esta JVM, o null si aún no se generó */
+    private static Path carpetaDatos;
+
+    /** Acceso a la aplicación, o null si aún no se generaron los datos */
+    private static AccesoAplicacion aplicacion;
+
+    /**
+     * Constructor privado: clase de utilidades.
+     */
+    private DatosBenchmark() {
+    }
+
+    /**
+     * Genera los archivos de entrada y deja listo el registro de problemas de Main.
+     *
+     * @param vendedores número de vendedores del catálogo
+     * @param productos número de productos del catálogo
+     * @param archivosVentas número de vendedores que reciben un archivo de ventas
+     * @param lineasPorArchivo líneas de venta de cada archivo
+     * @return carpeta de datos generada
+     * @throws IOException si falla la generación
+     */
+    static Path generar(int vendedores, int productos, int archivosVentas, int lineasPorArchivo)
+            throws IOException {
+        if (carpetaDatos != null) {
+            throw new IllegalStateException("Los datos ya se generaron en esta JVM; ejecute los benchmarks con forks");
+        }
+
+        carpetaDatos = Files.createTempDirectory("cfp-benchmark-");
+        System.setProperty("cfp.datos", carpetaDatos.toString());
+        for (String carpeta : new String[]{"vendedores", "productos", "ventas", "reportes"}) {
+            Files.createDirectories(carpetaDatos.resolve(carpeta));
+        }
+
+        // Main se carga después de asignar cfp.datos
+        aplicacion = AccesoAplicacion.cargar();
+        aplicacion.crearArchivoVendedores(vendedores);
+        aplicacion.crearArchivoProductos(productos);
+
+        List<Long> documentos = leerDocumentos(carpetaDatos.resolve("vendedores/vendedores.txt"));
+        for (int i = 0; i < Math.min(archivosVentas, documentos.size()); i++) {
+            long documento = documentos.get(i);
+            aplicacion.crearArchivoVentas(lineasPorArchivo, "vendedor_" + documento, documento);
+        }
+
+        // Los cargadores de Main registran las líneas con problemas en este objeto
+        aplicacion.abrirDiagnosticos(carpetaDatos.resolve("reportes/rechazados.csv"));
+
+        return carpetaDatos;
+    }
+
+    /**
+     * Obtiene el acceso a la aplicación de los datos generados.
+     *
+     * @return acceso a las etapas del procesamiento
+     */
+    static AccesoAplicacion aplicacion() {
+        return aplicacion;
+    }
+
+    /**
+     * Obtiene la ruta de un archivo dentro de la carpeta de datos generada.
+     *
+     * @param ruta ruta relativa a la carpeta de datos
+     * @return ruta completa
+     */
+    static Path ruta(String ruta) {
+        return carpetaDatos.resolve(ruta);
+    }
+
+    /**
+     * Elimina la carpeta de datos generada.
+     *
+     * @throws IOException si no se puede eliminar algún archivo
+     */
+    static void eliminar() throws IOException {
+        if (carpetaDatos == null) {
+            return;
+        }
+
+        try (Stream<Path> rutas = Files.walk(carpetaDatos)) {
+            for (Path ruta : (Iterable<Path>) rutas.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(ruta);
+            }
+        }
+    }
+
+    /**
+     * Lee los números de documento del archivo de vendedores generado.
+     *
+     * @param archivo archivo de vendedores
+     * @return documentos en el orden del archivo
+     * @throws IOException si no se puede leer el archivo
+     */
+    private static List<Long> leerDocumentos(Path archivo) throws IOException {
+        List<Long> documentos = new ArrayList<>();
+        for (String linea : Files.readAllLines(archivo, StandardCharsets.UTF_8)) {
+            String[] partes = linea.split(";");
+            if (partes.length == 4) {
+                documentos.add(Long.parseLong(partes[1]));
+            }
+        }
+        return documentos;
+    }
+}
@@ -0,0 +1,60 @@
+package cfp.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de benchmarks.jar.
+ * Ejecuta la suite con las opciones de JMH recibidas por línea de comandos, añadiendo
+ * siempre el perfilador de GC (tasa de asignación de memoria) y guardando los
+ * resultados en jmh-resultados.json. Cada benchmark mide rendimiento (Throughput) y
+ * distribución de latencias (SampleTime, con percentiles p50, p90, p99...).
+ *
+ * Ejemplos:
+ * java -jar benchmarks/target/benchmarks.jar
+ * java -jar benchmarks/target/benchmarks.jar VentasBenchmark -p lineas=100000
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public final class EjecutarBenchmarks {
+
+    /**
+     * Constructor privado: solo tiene el metodo main.
+     */
+    private EjecutarBenchmarks() {
+    }
+
+    /**
+     * Ejecuta la suite de benchmarks.
+     *
+     * @param args opciones de línea de comandos de JMH
+     * @throws Exception si JMH no puede ejecutar la suite
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions lineaComandos = new CommandLineOptions(args);
+
+        OptionsBuilder constructor = new OptionsBuilder();
+        constructor.parent(lineaComandos);
+        boolean conPerfiladorGc = lineaComandos.getProfilers().stream()
+                .anyMatch(p -> p.getKlass().equals("gc") || p.getKlass().equals(GCProfiler.class.getName()));
+        if (!conPerfiladorGc) {
+            constructor.addProfiler(GCProfiler.class);
+        }
+
+        Options opciones = constructor
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-resultados.json")
+                .build();
+
+        new Runner(opciones).run();
+    }
+}
@@ -0,0 +1,95 @@
+package cfp.benchmarks;
+
+import cfp.aplicacion.AccesoAplicacion;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de los generadores de reportes de Main, con los totales ya acumulados
+ * a partir de un archivo de ventas por vendedor.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportesBenchmark {
+
+    /** Número de vendedores, cada uno con su archivo de ventas */
+    @Param({"1000", "20000"})
+    private int vendedores;
+
+    /** Líneas de venta de cada archivo */
+    @Param({"10"})
+    private int lineasPorArchivo;
+
+    /** Acceso a los generadores de reportes de Main */
+    private AccesoAplicacion aplicacion;
+
+    /**
+     * Genera los datos, carga los catálogos y procesa todas las ventas.
+     *
+     * @throws IOException si falla la preparación
+     */
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DatosBenchmark.generar(vendedores, 30, vendedores, lineasPorArchivo);
+        aplicacion = DatosBenchmark.aplicacion();
+        aplicacion.leerArchivoVendedores();
+        aplicacion.leerArchivoProductos();
+        aplicacion.procesarArchivosVentas(1);
+    }
+
+    /**
+     * Elimina los datos generados.
+     *
+     * @throws IOException si no se pueden eliminar
+     */
+    @TearDown(Level.Trial)
+    public void limpiar() throws IOException {
+        DatosBenchmark.eliminar();
+    }
+
+    /**
+     * Ordena y escribe el reporte de vendedores.
+     *
+     * @throws IOException si la escritura falla
+     */
+    @Benchmark
+    public void generarReporteVendedores() throws IOException {
+        aplicacion.generarReporteVendedores();
+    }
+
+    /**
+     * Ordena y escribe el reporte de productos.
+     *
+     * @throws IOException si la escritura falla
+     */
+    @Benchmark
+    public void generarReporteProductos() throws IOException {
+        aplicacion.generarReporteProductos();
+    }
+}
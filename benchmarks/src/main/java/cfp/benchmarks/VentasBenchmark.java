@@ -0,0 +1,135 @@
+package cfp.benchmarks;
+
+import cfp.aplicacion.AccesoAplicacion;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks del procesamiento de ventas: un archivo completo con
+ * Main.procesarArchivoVenta y una línea suelta con Main.procesarLineaVenta.
+ *
+ * Para procesarLineaVenta el contenido del archivo se recorre desde memoria con un
+ * recorrido propio (lector y total); al llegar al final se vuelve a empezar después
+ * del encabezado.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VentasBenchmark {
+
+    /** Líneas de venta del archivo generado */
+    @Param({"1000", "100000", "1000000"})
+    private int lineas;
+
+    /** Archivo de ventas generado */
+    private File archivo;
+
+    /** Contenido del archivo de ventas, para recorrerlo desde memoria */
+    private byte[] contenido;
+
+    /** Cantidades acumuladas por índice de producto */
+    private long[] cantidades;
+
+    /** Acceso al procesamiento de ventas de Main */
+    private AccesoAplicacion aplicacion;
+
+    /** Recorrido del contenido en memoria usado por procesarLineaVenta */
+    private AccesoAplicacion.RecorridoVentas recorrido;
+
+    /**
+     * Genera un archivo de ventas del tamaño indicado y carga los catálogos.
+     *
+     * @throws IOException si falla la preparación
+     */
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        Path carpeta = DatosBenchmark.generar(100, 30, 1, lineas);
+        aplicacion = DatosBenchmark.aplicacion();
+        aplicacion.leerArchivoVendedores();
+        aplicacion.leerArchivoProductos();
+
+        try (var archivos = Files.list(carpeta.resolve("ventas"))) {
+            archivo = archivos.findFirst().orElseThrow().toFile();
+        }
+        contenido = Files.readAllBytes(archivo.toPath());
+        cantidades = new long[30];
+
+        recorrido = aplicacion.crearRecorridoVentas();
+        reiniciarLector();
+    }
+
+    /**
+     * Elimina los datos generados.
+     *
+     * @throws IOException si no se pueden eliminar
+     */
+    @TearDown(Level.Trial)
+    public void limpiar() throws IOException {
+        DatosBenchmark.eliminar();
+    }
+
+    /**
+     * Procesa el archivo de ventas completo.
+     *
+     * @return resultado del archivo (VentaArchivo)
+     * @throws IOException si el procesamiento falla
+     */
+    @Benchmark
+    public Object procesarArchivoVenta() throws IOException {
+        return aplicacion.procesarArchivoVenta(archivo, cantidades);
+    }
+
+    /**
+     * Procesa la siguiente línea de venta del contenido en memoria.
+     *
+     * @return acumulador del valor vendido
+     * @throws IOException si el procesamiento falla
+     */
+    @Benchmark
+    public Object procesarLineaVenta() throws IOException {
+        if (!recorrido.siguienteLinea()) {
+            reiniciarLector();
+            recorrido.siguienteLinea();
+        }
+        recorrido.procesarLinea(cantidades);
+        return recorrido.getTotal();
+    }
+
+    /**
+     * Vuelve a poner el lector al inicio del contenido, después del encabezado.
+     *
+     * @throws IOException si falla la lectura
+     */
+    private void reiniciarLector() throws IOException {
+        recorrido.iniciar(contenido);
+        recorrido.siguienteLinea();
+    }
+}
@@ -0,0 +1,384 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Clase que guarda el resultado parcial de procesar una parte (shard) de los archivos
+ * de ventas, para repartir un procesamiento entre varios procesos o máquinas.
+ *
+ * Cada proceso en modo mapa lee solo sus archivos y escribe un agregado parcial con
+ * el total en centavos de cada vendedor y la cantidad vendida de cada producto, por
+ * índice del catálogo. El modo reducción suma cualquier número de parciales; como
+ * las sumas son exactas y no dependen del orden, los reportes resultan idénticos a
+ * los de un único proceso que lea todos los archivos.
+ *
+ * Los índices solo tienen sentido con los mismos catálogos, así que cada parcial
+ * lleva una huella del contenido de vendedores.txt y productos.txt (no de su fecha,
+ * que cambia al copiarlos entre máquinas).
+ *
+ * Si el proceso acumula el cruce vendedor × producto (--cruce), el parcial incluye
+ * además las unidades de cada par, para que la reducción genere también esos reportes.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class AgregadoParcial {
+
+    /** Identificador del formato del agregado parcial */
+    private static final int FIRMA = 0x43465052;
+
+    /** Versión del formato del agregado parcial */
+    private static final int VERSION = 2;
+
+    /** Huella del contenido de los catálogos con los que se procesaron las ventas */
+    private final long huellaCatalogos;
+
+    /** Número de archivos de ventas procesados exitosamente */
+    private final int archivosProcesados;
+
+    /** Número de vendedores del catálogo */
+    private final int numeroVendedores;
+
+    /** Número de productos del catálogo */
+    private final int numeroProductos;
+
+    /** Índices de los vendedores con ventas */
+    private final int[] indicesVendedores;
+
+    /** Parte alta del total en centavos, en el mismo orden que indicesVendedores */
+    private final long[] totalesAltos;
+
+    /** Parte baja del total en centavos, en el mismo orden que indicesVendedores */
+    private final long[] totalesBajos;
+
+    /** Índices de los productos vendidos */
+    private final int[] indicesProductos;
+
+    /** Cantidades vendidas, en el mismo orden que indicesProductos */
+    private final long[] cantidades;
+
+    /** Claves de los pares (vendedor, producto), o null si no se acumuló el cruce */
+    private final long[] clavesCruce;
+
+    /** Unidades vendidas de cada par, en el mismo orden que clavesCruce */
+    private final long[] unidadesCruce;
+
+    /**
+     * Constructor para crear un agregado parcial a partir de sus columnas.
+     *
+     * @param huellaCatalogos huella del contenido de los catálogos
+     * @param archivosProcesados número de archivos procesados
+     * @param numeroVendedores número de vendedores del catálogo
+     * @param numeroProductos número de productos del catálogo
+     * @param indicesVendedores índices de los vendedores con ventas
+     * @param totalesAltos partes altas de los totales
+     * @param totalesBajos partes bajas de los totales
+     * @param indicesProductos índices de los productos vendidos
+     * @param cantidades cantidades vendidas
+     * @param clavesCruce claves de los pares (vendedor, producto), o null
+     * @param unidadesCruce unidades vendidas de cada par, o null
+     */
+    private AgregadoParcial(long huellaCatalogos, int archivosProcesados, int numeroVendedores,
+                            int numeroProductos, int[] indicesVendedores, long[] totalesAltos,
+                            long[] totalesBajos, int[] indicesProductos, long[] cantidades,
+                            long[] clavesCruce, long[] unidadesCruce) {
+        this.huellaCatalogos = huellaCatalogos;
+        this.archivosProcesados = archivosProcesados;
+        this.numeroVendedores = numeroVendedores;
+        this.numeroProductos = numeroProductos;
+        this.indicesVendedores = indicesVendedores;
+        this.totalesAltos = totalesAltos;
+        this.totalesBajos = totalesBajos;
+        this.indicesProductos = indicesProductos;
+        this.cantidades = cantidades;
+        this.clavesCruce = clavesCruce;
+        this.unidadesCruce = unidadesCruce;
+    }
+
+    /**
+     * Construye el agregado parcial con los acumulados actuales de las tablas. Solo se
+     * guardan los vendedores y productos con valores distintos de cero.
+     *
+     * @param huellaCatalogos huella del contenido de los catálogos
+     * @param archivosProcesados número de archivos procesados
+     * @param vendedores tabla de vendedores con los totales de este proceso
+     * @param productos catálogo de productos con las cantidades de este proceso
+     * @param cruce unidades por par (vendedor, producto) de este proceso, o null
+     * @return agregado parcial
+     */
+    public static AgregadoParcial desdeAcumulados(long huellaCatalogos, int archivosProcesados,
+                                                  TablaVendedores vendedores, DiccionarioProductos productos,
+                                                  MatrizVentas cruce) {
+        int conVentas = 0;
+        for (int i = 0; i < vendedores.getTamano(); i++) {
+            if (vendedores.getTotalAlto(i) != 0 || vendedores.getTotalBajo(i) != 0) {
+                conVentas++;
+            }
+        }
+
+        int[] indicesVendedores = new int[conVentas];
+        long[] altos = new long[conVentas];
+        long[] bajos = new long[conVentas];
+        for (int i = 0, j = 0; i < vendedores.getTamano(); i++) {
+            if (vendedores.getTotalAlto(i) != 0 || vendedores.getTotalBajo(i) != 0) {
+                indicesVendedores[j] = i;
+                altos[j] = vendedores.getTotalAlto(i);
+                bajos[j++] = vendedores.getTotalBajo(i);
+            }
+        }
+
+        int vendidos = 0;
+        for (int i = 0; i < productos.getTamano(); i++) {
+            if (productos.getCantidadVendida(i) != 0) {
+                vendidos++;
+            }
+        }
+
+        int[] indicesProductos = new int[vendidos];
+        long[] cantidades = new long[vendidos];
+        for (int i = 0, j = 0; i < productos.getTamano(); i++) {
+            if (productos.getCantidadVendida(i) != 0) {
+                indicesProductos[j] = i;
+                cantidades[j++] = productos.getCantidadVendida(i);
+            }
+        }
+
+        long[] clavesCruce = null;
+        long[] unidadesCruce = null;
+        if (cruce != null) {
+            clavesCruce = cruce.clavesOrdenadas();
+            unidadesCruce = new long[clavesCruce.length];
+            for (int i = 0; i < clavesCruce.length; i++) {
+                unidadesCruce[i] = cruce.getUnidades(clavesCruce[i]);
+            }
+        }
+
+        return new AgregadoParcial(huellaCatalogos, archivosProcesados, vendedores.getTamano(),
+                productos.getTamano(), indicesVendedores, altos, bajos, indicesProductos, cantidades,
+                clavesCruce, unidadesCruce);
+    }
+
+    /**
+     * Carga un agregado parcial guardado por un proceso en modo mapa.
+     *
+     * @param ruta ruta del agregado parcial
+     * @return agregado parcial leído
+     * @throws IOException si el archivo no se puede leer o no es un agregado parcial válido
+     */
+    public static AgregadoParcial cargar(Path ruta) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(ruta), 64 * 1024))) {
+            return leer(entrada, ruta);
+        } catch (EOFException e) {
+            throw new IOException("El agregado parcial " + ruta + " está incompleto", e);
+        }
+    }
+
+    /**
+     * Lee un agregado parcial desde un flujo de datos, por ejemplo dentro de un punto
+     * de control. Un final inesperado del flujo se informa con EOFException.
+     *
+     * @param entrada flujo posicionado al inicio del agregado
+     * @param ruta ruta del archivo para mensajes de error
+     * @return agregado parcial leído
+     * @throws IOException si el contenido no es un agregado parcial válido
+     */
+    public static AgregadoParcial leer(DataInputStream entrada, Path ruta) throws IOException {
+        if (entrada.readInt() != FIRMA || entrada.readInt() != VERSION) {
+            throw new IOException(ruta + " no es un agregado parcial compatible");
+        }
+
+        long huella = entrada.readLong();
+        int archivos = entrada.readInt();
+        int numeroVendedores = entrada.readInt();
+        int numeroProductos = entrada.readInt();
+
+        int conVentas = entrada.readInt();
+        int[] indicesVendedores = new int[conVentas];
+        long[] altos = new long[conVentas];
+        long[] bajos = new long[conVentas];
+        for (int i = 0; i < conVentas; i++) {
+            indicesVendedores[i] = leerIndice(entrada, numeroVendedores, ruta);
+            altos[i] = entrada.readLong();
+            bajos[i] = entrada.readLong();
+        }
+
+        int vendidos = entrada.readInt();
+        int[] indicesProductos = new int[vendidos];
+        long[] cantidades = new long[vendidos];
+        for (int i = 0; i < vendidos; i++) {
+            indicesProductos[i] = leerIndice(entrada, numeroProductos, ruta);
+            cantidades[i] = entrada.readLong();
+        }
+
+        long[] clavesCruce = null;
+        long[] unidadesCruce = null;
+        if (entrada.readBoolean()) {
+            int pares = entrada.readInt();
+            clavesCruce = new long[pares];
+            unidadesCruce = new long[pares];
+            for (int i = 0; i < pares; i++) {
+                clavesCruce[i] = entrada.readLong();
+                if (MatrizVentas.vendedorDe(clavesCruce[i]) >= numeroVendedores
+                        || MatrizVentas.productoDe(clavesCruce[i]) < 0
+                        || MatrizVentas.productoDe(clavesCruce[i]) >= numeroProductos) {
+                    throw new IOException("Par fuera del catálogo en " + ruta);
+                }
+                unidadesCruce[i] = entrada.readLong();
+            }
+        }
+
+        return new AgregadoParcial(huella, archivos, numeroVendedores, numeroProductos,
+                indicesVendedores, altos, bajos, indicesProductos, cantidades, clavesCruce, unidadesCruce);
+    }
+
+    /**
+     * Lee un índice y verifica que esté dentro del catálogo.
+     *
+     * @param entrada flujo de datos del agregado parcial
+     * @param limite tamaño del catálogo
+     * @param ruta ruta del agregado parcial para mensajes de error
+     * @return índice leído
+     * @throws IOException si el índice está fuera del catálogo
+     */
+    private static int leerIndice(DataInputStream entrada, int limite, Path ruta) throws IOException {
+        int indice = entrada.readInt();
+        if (indice < 0 || indice >= limite) {
+            throw new IOException("Índice fuera del catálogo en " + ruta);
+        }
+        return indice;
+    }
+
+    /**
+     * Guarda el agregado parcial en disco. Se escribe primero un archivo temporal que
+     * luego reemplaza al anterior, para que la reducción nunca lea un parcial a medias.
+     *
+     * @param ruta ruta del agregado parcial
+     * @throws IOException si ocurre un error al escribir el archivo
+     */
+    public void guardar(Path ruta) throws IOException {
+        Files.createDirectories(ruta.toAbsolutePath().getParent());
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporal), 64 * 1024))) {
+            escribir(salida);
+        }
+
+        Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Escribe el agregado parcial en un flujo de datos, con el mismo formato que guardar.
+     *
+     * @param salida flujo donde se escribe
+     * @throws IOException si ocurre un error al escribir
+     */
+    public void escribir(DataOutputStream salida) throws IOException {
+        salida.writeInt(FIRMA);
+        salida.writeInt(VERSION);
+        salida.writeLong(huellaCatalogos);
+        salida.writeInt(archivosProcesados);
+        salida.writeInt(numeroVendedores);
+        salida.writeInt(numeroProductos);
+
+        salida.writeInt(indicesVendedores.length);
+        for (int i = 0; i < indicesVendedores.length; i++) {
+            salida.writeInt(indicesVendedores[i]);
+            salida.writeLong(totalesAltos[i]);
+            salida.writeLong(totalesBajos[i]);
+        }
+
+        salida.writeInt(indicesProductos.length);
+        for (int i = 0; i < indicesProductos.length; i++) {
+            salida.writeInt(indicesProductos[i]);
+            salida.writeLong(cantidades[i]);
+        }
+
+        salida.writeBoolean(clavesCruce != null);
+        if (clavesCruce != null) {
+            salida.writeInt(clavesCruce.length);
+            for (int i = 0; i < clavesCruce.length; i++) {
+                salida.writeLong(clavesCruce[i]);
+                salida.writeLong(unidadesCruce[i]);
+            }
+        }
+    }
+
+    /**
+     * Suma el agregado parcial a los acumulados de las tablas.
+     *
+     * @param huellaActual huella del contenido de los catálogos cargados
+     * @param vendedores tabla de vendedores donde se suman los totales
+     * @param productos catálogo de productos donde se suman las cantidades
+     * @param cruce matriz donde se suman las unidades por par, o null si no se genera el cruce
+     * @throws IOException si el parcial se generó con otros catálogos o sin el cruce pedido
+     */
+    public void sumarA(long huellaActual, TablaVendedores vendedores, DiccionarioProductos productos,
+                       MatrizVentas cruce) throws IOException {
+        if (huellaCatalogos != huellaActual || numeroVendedores != vendedores.getTamano()
+                || numeroProductos != productos.getTamano()) {
+            throw new IOException("El agregado parcial se generó con otros catálogos de vendedores o productos");
+        }
+        if (cruce != null && clavesCruce == null) {
+            throw new IOException("El agregado parcial no incluye el cruce vendedor × producto " +
+                    "(use --cruce también en el modo mapa)");
+        }
+
+        MontoCentavos total = new MontoCentavos();
+        for (int i = 0; i < indicesVendedores.length; i++) {
+            total.reiniciar();
+            total.sumar(totalesAltos[i], totalesBajos[i]);
+            vendedores.agregarVenta(indicesVendedores[i], total);
+        }
+
+        long[] cantidadesPorIndice = new long[numeroProductos];
+        for (int i = 0; i < indicesProductos.length; i++) {
+            cantidadesPorIndice[indicesProductos[i]] = cantidades[i];
+        }
+        productos.agregarCantidades(cantidadesPorIndice);
+
+        if (cruce != null) {
+            for (int i = 0; i < clavesCruce.length; i++) {
+                cruce.agregar(MatrizVentas.vendedorDe(clavesCruce[i]), MatrizVentas.productoDe(clavesCruce[i]),
+                        unidadesCruce[i]);
+            }
+        }
+    }
+
+    /**
+     * Calcula la huella del contenido de los catálogos a partir del hash CRC32C de cada uno.
+     *
+     * @param rutas catálogos que forman parte de la huella
+     * @return huella combinada
+     * @throws IOException si no se puede leer algún catálogo
+     */
+    public static long calcularHuellaCatalogos(Path... rutas) throws IOException {
+        long huella = 17;
+        for (Path ruta : rutas) {
+            huella = 31 * huella + EstadoIncremental.calcularHashContenido(ruta);
+        }
+        return huella;
+    }
+
+    // Getters
+
+    /**
+     * Obtiene el número de archivos de ventas procesados por el proceso en modo mapa.
+     *
+     * @return número de archivos procesados
+     */
+    public int getArchivosProcesados() {
+        return archivosProcesados;
+    }
+}
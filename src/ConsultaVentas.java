@@ -0,0 +1,444 @@
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase que permite consultar en memoria los totales de una ejecución sin volver a
+ * leer los reportes CSV, por ejemplo desde un programa que usa el procesador como
+ * biblioteca.
+ *
+ * Al terminar cada agregación se construye una instantánea inmutable con índices
+ * secundarios ordenados:
+ * - vendedores por total de ventas (mayor primero, en el mismo orden del reporte)
+ * - vendedores de cada tipo de documento por total de ventas
+ * - posición de cada vendedor en el orden por total
+ * - productos por precio (menor primero)
+ * - productos por cantidad vendida (mayor primero, en el mismo orden del reporte)
+ *
+ * Las consultas buscan en esos índices con búsqueda binaria, así que cuestan
+ * O(log n + k) para k resultados en lugar de recorrer todos los vendedores o productos.
+ * Los totales se copian al construir la instantánea, de modo que varios hilos pueden
+ * consultarla mientras una nueva agregación cambia las tablas. Los objetos
+ * VendedorInfo y ProductoInfo solo se crean para los resultados de cada consulta.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class ConsultaVentas {
+
+    /** Tabla de vendedores (sus datos de catálogo no cambian entre agregaciones) */
+    private final TablaVendedores vendedores;
+
+    /** Catálogo de productos (sus datos de catálogo no cambian entre agregaciones) */
+    private final DiccionarioProductos productos;
+
+    /** Parte alta del total de cada vendedor al construir la instantánea */
+    private final long[] totalesAltos;
+
+    /** Parte baja del total de cada vendedor al construir la instantánea */
+    private final long[] totalesBajos;
+
+    /** Cantidad vendida de cada producto al construir la instantánea */
+    private final long[] cantidades;
+
+    /** Índices de los vendedores ordenados por total (mayor primero) */
+    private final int[] vendedoresPorTotal;
+
+    /** Posición (desde 1) de cada vendedor en el orden por total */
+    private final int[] posiciones;
+
+    /** Índices de los vendedores de cada tipo de documento, ordenados por total */
+    private final Map<String, int[]> vendedoresPorTipo;
+
+    /** Índices de los productos ordenados por precio (menor primero) */
+    private final int[] productosPorPrecio;
+
+    /** Precios de los productos en el orden de productosPorPrecio */
+    private final long[] preciosOrdenados;
+
+    /** Índices de los productos ordenados por cantidad vendida (mayor primero) */
+    private final int[] productosPorCantidad;
+
+    /** Total recaudado por todos los vendedores */
+    private final MontoCentavos totalRecaudado = new MontoCentavos();
+
+    /** Unidades vendidas de todos los productos */
+    private long totalProductosVendidos;
+
+    /**
+     * Constructor privado: las instancias se crean con construir.
+     */
+    private ConsultaVentas(TablaVendedores vendedores, DiccionarioProductos productos) {
+        this.vendedores = vendedores;
+        this.productos = productos;
+
+        int numeroVendedores = vendedores.getTamano();
+        this.totalesAltos = new long[numeroVendedores];
+        this.totalesBajos = new long[numeroVendedores];
+        for (int i = 0; i < numeroVendedores; i++) {
+            totalesAltos[i] = vendedores.getTotalAlto(i);
+            totalesBajos[i] = vendedores.getTotalBajo(i);
+            totalRecaudado.sumar(totalesAltos[i], totalesBajos[i]);
+        }
+
+        int numeroProductos = productos.getTamano();
+        this.cantidades = new long[numeroProductos];
+        for (int i = 0; i < numeroProductos; i++) {
+            cantidades[i] = productos.getCantidadVendida(i);
+            totalProductosVendidos += cantidades[i];
+        }
+
+        this.vendedoresPorTotal = SeleccionParcial.seleccionar(numeroVendedores, 0, numeroVendedores,
+                this::compararVendedores);
+        this.posiciones = new int[numeroVendedores];
+        for (int posicion = 0; posicion < vendedoresPorTotal.length; posicion++) {
+            posiciones[vendedoresPorTotal[posicion]] = posicion + 1;
+        }
+        this.vendedoresPorTipo = agruparPorTipo();
+
+        this.productosPorPrecio = SeleccionParcial.seleccionar(numeroProductos, 0, numeroProductos,
+                this::compararPrecios);
+        this.preciosOrdenados = new long[numeroProductos];
+        for (int posicion = 0; posicion < productosPorPrecio.length; posicion++) {
+            preciosOrdenados[posicion] = productos.getPrecioCentavos(productosPorPrecio[posicion]);
+        }
+        this.productosPorCantidad = SeleccionParcial.seleccionar(numeroProductos, 0, numeroProductos,
+                this::compararCantidades);
+    }
+
+    /**
+     * Construye la instantánea de consultas con los totales actuales. Debe llamarse
+     * cuando ninguna agregación esté cambiando las tablas.
+     *
+     * @param vendedores tabla de vendedores con sus totales
+     * @param productos catálogo de productos con sus cantidades vendidas
+     * @return instantánea de consultas
+     */
+    public static ConsultaVentas construir(TablaVendedores vendedores, DiccionarioProductos productos) {
+        return new ConsultaVentas(vendedores, productos);
+    }
+
+    /**
+     * Obtiene una página de los vendedores ordenados por total de ventas (mayor primero).
+     *
+     * @param desde posición inicial de la página (0 = primero)
+     * @param limite número máximo de vendedores
+     * @return vendedores de la página
+     */
+    public List<VendedorInfo> mejoresVendedores(int desde, int limite) {
+        int hasta = (int) Math.min(vendedoresPorTotal.length, (long) desde + limite);
+        return crearVendedores(vendedoresPorTotal, desde, hasta);
+    }
+
+    /**
+     * Obtiene una página de los productos ordenados por cantidad vendida (mayor primero).
+     *
+     * @param desde posición inicial de la página (0 = primero)
+     * @param limite número máximo de productos
+     * @return productos de la página
+     */
+    public List<ProductoInfo> productosMasVendidos(int desde, int limite) {
+        int hasta = (int) Math.min(productosPorCantidad.length, (long) desde + limite);
+        List<ProductoInfo> resultado = new ArrayList<>(Math.max(0, hasta - desde));
+        for (int posicion = desde; posicion < hasta; posicion++) {
+            resultado.add(crearProducto(productosPorCantidad[posicion]));
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca los vendedores cuyo total de ventas es mayor que un mínimo, de mayor a menor.
+     *
+     * @param minimoCentavos total mínimo en centavos (exclusivo)
+     * @param limite número máximo de vendedores
+     * @return vendedores encontrados
+     */
+    public List<VendedorInfo> vendedoresConTotalMayorQue(long minimoCentavos, int limite) {
+        int fin = contarMayoresQue(vendedoresPorTotal, minimoCentavos);
+        return crearVendedores(vendedoresPorTotal, 0, Math.min(fin, limite));
+    }
+
+    /**
+     * Busca los vendedores de un tipo de documento cuyo total de ventas es mayor que un
+     * mínimo, de mayor a menor.
+     *
+     * @param tipoDocumento tipo de documento (CC, CE, TI)
+     * @param minimoCentavos total mínimo en centavos (exclusivo)
+     * @param limite número máximo de vendedores
+     * @return vendedores encontrados (vacío si no hay vendedores de ese tipo)
+     */
+    public List<VendedorInfo> vendedoresConTotalMayorQue(String tipoDocumento, long minimoCentavos, int limite) {
+        int[] indices = vendedoresPorTipo.get(tipoDocumento);
+        if (indices == null) {
+            return Collections.emptyList();
+        }
+        int fin = contarMayoresQue(indices, minimoCentavos);
+        return crearVendedores(indices, 0, Math.min(fin, limite));
+    }
+
+    /**
+     * Obtiene la posición de un vendedor en el orden por total de ventas, la misma
+     * posición que ocupa en el reporte de vendedores completo.
+     *
+     * @param numeroDocumento número de documento del vendedor
+     * @return posición desde 1, o -1 si el vendedor no existe
+     */
+    public int getPosicion(long numeroDocumento) {
+        int indice = vendedores.buscar(numeroDocumento);
+        return (indice == TablaVendedores.NO_ENCONTRADO) ? -1 : posiciones[indice];
+    }
+
+    /**
+     * Busca un vendedor por su número de documento.
+     *
+     * @param numeroDocumento número de documento del vendedor
+     * @return vendedor con su total, o null si no existe
+     */
+    public VendedorInfo getVendedor(long numeroDocumento) {
+        int indice = vendedores.buscar(numeroDocumento);
+        return (indice == TablaVendedores.NO_ENCONTRADO) ? null : crearVendedor(indice);
+    }
+
+    /**
+     * Busca los productos con precio dentro de una franja, ordenados por ingresos
+     * (mayor primero; a igual ingreso, en el orden del archivo de productos). La franja
+     * se ubica con búsqueda binaria y solo sus productos se ordenan.
+     *
+     * @param minimoCentavos precio mínimo en centavos (inclusivo)
+     * @param maximoCentavos precio máximo en centavos (inclusivo)
+     * @param limite número máximo de productos
+     * @return productos encontrados
+     */
+    public List<ProductoInfo> productosPorPrecio(long minimoCentavos, long maximoCentavos, int limite) {
+        if (minimoCentavos > maximoCentavos) {
+            return Collections.emptyList();
+        }
+        int inicio = (minimoCentavos == Long.MIN_VALUE) ? 0 : primerPrecioMayorQue(minimoCentavos - 1);
+        int fin = primerPrecioMayorQue(maximoCentavos);
+
+        int[] seleccion = SeleccionParcial.seleccionar(fin - inicio, 0, limite, (a, b) -> {
+            int indiceA = productosPorPrecio[inicio + a];
+            int indiceB = productosPorPrecio[inicio + b];
+            int comparacion = compararIngresos(indiceB, indiceA);
+            return (comparacion != 0) ? comparacion : Integer.compare(indiceA, indiceB);
+        });
+
+        List<ProductoInfo> resultado = new ArrayList<>(seleccion.length);
+        for (int posicion : seleccion) {
+            resultado.add(crearProducto(productosPorPrecio[inicio + posicion]));
+        }
+        return resultado;
+    }
+
+    /**
+     * Cuenta cuántos vendedores de un índice ordenado por total superan un mínimo.
+     * Como el índice está ordenado de mayor a menor, son los primeros.
+     *
+     * @param indices índices de vendedores ordenados por total
+     * @param minimoCentavos total mínimo en centavos (exclusivo)
+     * @return número de vendedores al inicio del índice con total mayor que el mínimo
+     */
+    private int contarMayoresQue(int[] indices, long minimoCentavos) {
+        long minimoAlto = minimoCentavos >> 63;
+        int bajo = 0;
+        int alto = indices.length;
+
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            int indice = indices[medio];
+            if (MontoCentavos.comparar(totalesAltos[indice], totalesBajos[indice], minimoAlto, minimoCentavos) > 0) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Busca la primera posición del índice por precio con un precio mayor que un valor.
+     *
+     * @param precioCentavos precio en centavos
+     * @return primera posición con precio mayor (o el número de productos si no hay)
+     */
+    private int primerPrecioMayorQue(long precioCentavos) {
+        int bajo = 0;
+        int alto = preciosOrdenados.length;
+
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (preciosOrdenados[medio] <= precioCentavos) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Separa el índice por total en un índice por cada tipo de documento, conservando
+     * el orden, en el orden en que aparecen los tipos.
+     *
+     * @return índices por tipo de documento
+     */
+    private Map<String, int[]> agruparPorTipo() {
+        Map<String, Integer> conteos = new LinkedHashMap<>();
+        for (int i = 0; i < totalesAltos.length; i++) {
+            conteos.merge(vendedores.getTipoDocumento(i), 1, Integer::sum);
+        }
+
+        Map<String, int[]> grupos = new LinkedHashMap<>();
+        Map<String, Integer> llenados = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> conteo : conteos.entrySet()) {
+            grupos.put(conteo.getKey(), new int[conteo.getValue()]);
+            llenados.put(conteo.getKey(), 0);
+        }
+        for (int indice : vendedoresPorTotal) {
+            String tipo = vendedores.getTipoDocumento(indice);
+            int posicion = llenados.merge(tipo, 1, Integer::sum) - 1;
+            grupos.get(tipo)[posicion] = indice;
+        }
+        return grupos;
+    }
+
+    /**
+     * Compara dos vendedores por total de ventas (mayor primero). A igual total se
+     * respeta el orden del archivo de vendedores, igual que en el reporte.
+     *
+     * @param a índice del primer vendedor
+     * @param b índice del segundo vendedor
+     * @return resultado de la comparación
+     */
+    private int compararVendedores(int a, int b) {
+        int comparacion = MontoCentavos.comparar(totalesAltos[b], totalesBajos[b], totalesAltos[a], totalesBajos[a]);
+        return (comparacion != 0) ? comparacion : Integer.compare(a, b);
+    }
+
+    /**
+     * Compara dos productos por precio (menor primero). A igual precio se respeta el
+     * orden del archivo de productos.
+     *
+     * @param a índice del primer producto
+     * @param b índice del segundo producto
+     * @return resultado de la comparación
+     */
+    private int compararPrecios(int a, int b) {
+        int comparacion = Long.compare(productos.getPrecioCentavos(a), productos.getPrecioCentavos(b));
+        return (comparacion != 0) ? comparacion : Integer.compare(a, b);
+    }
+
+    /**
+     * Compara dos productos por cantidad vendida (mayor primero). A igual cantidad se
+     * respeta el orden del archivo de productos, igual que en el reporte.
+     *
+     * @param a índice del primer producto
+     * @param b índice del segundo producto
+     * @return resultado de la comparación
+     */
+    private int compararCantidades(int a, int b) {
+        int comparacion = Long.compare(cantidades[b], cantidades[a]);
+        return (comparacion != 0) ? comparacion : Integer.compare(a, b);
+    }
+
+    /**
+     * Compara los ingresos (precio por cantidad vendida) de dos productos sin redondeos.
+     *
+     * @param a índice del primer producto
+     * @param b índice del segundo producto
+     * @return negativo, cero o positivo si el ingreso de a es menor, igual o mayor que el de b
+     */
+    private int compararIngresos(int a, int b) {
+        long precioA = productos.getPrecioCentavos(a);
+        long precioB = productos.getPrecioCentavos(b);
+        return MontoCentavos.comparar(Math.multiplyHigh(precioA, cantidades[a]), precioA * cantidades[a],
+                Math.multiplyHigh(precioB, cantidades[b]), precioB * cantidades[b]);
+    }
+
+    /**
+     * Crea los objetos VendedorInfo de un tramo de un índice.
+     *
+     * @param indices índice de vendedores
+     * @param desde posición inicial (inclusiva)
+     * @param hasta posición final (exclusiva)
+     * @return vendedores del tramo
+     */
+    private List<VendedorInfo> crearVendedores(int[] indices, int desde, int hasta) {
+        List<VendedorInfo> resultado = new ArrayList<>(Math.max(0, hasta - desde));
+        for (int posicion = desde; posicion < hasta; posicion++) {
+            resultado.add(crearVendedor(indices[posicion]));
+        }
+        return resultado;
+    }
+
+    /**
+     * Crea el objeto VendedorInfo de un vendedor con el total de la instantánea.
+     *
+     * @param indice índice del vendedor
+     * @return información del vendedor
+     */
+    private VendedorInfo crearVendedor(int indice) {
+        VendedorInfo vendedor = new VendedorInfo(vendedores.getTipoDocumento(indice),
+                vendedores.getDocumento(indice), vendedores.getNombres(indice), vendedores.getApellidos(indice));
+        vendedor.setTotalVentas(totalesAltos[indice], totalesBajos[indice]);
+        return vendedor;
+    }
+
+    /**
+     * Crea el objeto ProductoInfo de un producto con la cantidad de la instantánea.
+     *
+     * @param indice índice del producto
+     * @return información del producto
+     */
+    private ProductoInfo crearProducto(int indice) {
+        ProductoInfo producto = new ProductoInfo(productos.getId(indice), productos.getNombre(indice),
+                productos.getPrecioCentavos(indice));
+        producto.setCantidadVendida(cantidades[indice]);
+        return producto;
+    }
+
+    // Getters
+
+    /**
+     * Obtiene el número de vendedores de la instantánea.
+     *
+     * @return cantidad de vendedores
+     */
+    public int getNumeroVendedores() {
+        return vendedoresPorTotal.length;
+    }
+
+    /**
+     * Obtiene el número de productos de la instantánea.
+     *
+     * @return cantidad de productos
+     */
+    public int getNumeroProductos() {
+        return productosPorPrecio.length;
+    }
+
+    /**
+     * Obtiene el total recaudado por todos los vendedores.
+     *
+     * @return total recaudado, con dos decimales
+     */
+    public BigDecimal getTotalRecaudado() {
+        return totalRecaudado.aBigDecimal();
+    }
+
+    /**
+     * Obtiene las unidades vendidas de todos los productos.
+     *
+     * @return unidades vendidas
+     */
+    public long getTotalProductosVendidos() {
+        return totalProductosVendidos;
+    }
+}
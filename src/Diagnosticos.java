@@ -0,0 +1,508 @@
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clase que recoge los registros con problemas encontrados durante el procesamiento
+ * (líneas mal formadas, productos o vendedores desconocidos, cantidades inválidas...).
+ *
+ * En lugar de escribir una advertencia en consola por cada registro, cuenta los
+ * problemas por categoría y guarda unas pocas muestras de cada una para el resumen
+ * final. Todos los registros rechazados se pasan por una cola acotada a un hilo
+ * escritor, que los guarda por lotes en el archivo de rechazados:
+ *
+ * Categoria;Archivo;Linea;Registro
+ *
+ * El registro rechazado suele ser una línea de ventas con sus propios ';', así que el
+ * archivo y el registro se escriben entre comillas dobles (duplicando las comillas
+ * internas) cuando contienen ';', comillas o saltos de línea, como en RFC 4180: cada fila
+ * tiene siempre las cuatro columnas del encabezado.
+ *
+ * Los métodos de registro son seguros para ser llamados desde varios hilos a la vez.
+ *
+ * Para los puntos de control, sincronizar() espera a que el archivo tenga todas las
+ * filas registradas hasta ese momento, y un registro se puede reabrir conservando solo
+ * esa parte del archivo y sus contadores (ver {@link PuntoControl}).
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class Diagnosticos implements AutoCloseable {
+
+    /**
+     * Categorías de problemas que se pueden registrar.
+     */
+    public enum Categoria {
+        /** Línea de vendedores.txt con formato o documento inválido */
+        VENDEDOR_INVALIDO("Líneas inválidas en vendedores.txt"),
+        /** Línea de productos.txt con formato o precio inválido */
+        PRODUCTO_INVALIDO("Líneas inválidas en productos.txt"),
+        /** Producto con precio negativo (se usa el valor absoluto) */
+        PRECIO_NEGATIVO("Precios negativos corregidos"),
+        /** Archivo de ventas de un vendedor que no está en vendedores.txt */
+        VENDEDOR_DESCONOCIDO("Archivos de vendedores desconocidos"),
+        /** Línea de ventas con un número impar de elementos */
+        ELEMENTOS_IMPARES("Líneas con número impar de elementos"),
+        /** Par de venta con una cantidad que no es un número entero */
+        CANTIDAD_INVALIDA("Cantidades inválidas"),
+        /** Par de venta con cantidad negativa (se usa el valor absoluto) */
+        CANTIDAD_NEGATIVA("Cantidades negativas corregidas"),
+        /** Par de venta de un producto que no está en productos.txt */
+        PRODUCTO_DESCONOCIDO("Productos desconocidos"),
+        /** Línea de ventas cuya marca de tiempo no es una fecha y hora válidas */
+        FECHA_INVALIDA("Líneas con fecha inválida");
+
+        /** Descripción para el resumen */
+        private final String descripcion;
+
+        Categoria(String descripcion) {
+            this.descripcion = descripcion;
+        }
+    }
+
+    /** Número máximo de muestras que se guardan por categoría */
+    private static final int MUESTRAS_POR_CATEGORIA = 5;
+
+    /** Capacidad de la cola entre los hilos de procesamiento y el escritor */
+    private static final int CAPACIDAD_COLA = 16 * 1024;
+
+    /** Número máximo de registros que el escritor toma de la cola en cada lote */
+    private static final int TAMANO_LOTE = 1024;
+
+    /** Marca que indica al escritor que no llegarán más registros */
+    private static final String FIN = new String("FIN");
+
+    /** Marca que pide al escritor vaciar su buffer y avisar con filasSincronizadas */
+    private static final String SINCRONIZAR = new String("SINCRONIZAR");
+
+    /** Ruta del archivo de rechazados */
+    private final Path rutaRechazados;
+
+    /** Número de problemas por categoría */
+    private final LongAdder[] contadores = new LongAdder[Categoria.values().length];
+
+    /** Número de muestras reservadas por categoría */
+    private final AtomicInteger[] muestrasReservadas = new AtomicInteger[Categoria.values().length];
+
+    /** Primeras filas registradas de cada categoría */
+    private final String[][] muestras = new String[Categoria.values().length][MUESTRAS_POR_CATEGORIA];
+
+    /** Filas pendientes de escribir en el archivo de rechazados */
+    private final BlockingQueue<String> cola = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+
+    /** Hilo que escribe las filas de la cola en el archivo */
+    private final Thread escritor;
+
+    /** Error ocurrido al escribir el archivo, si lo hubo */
+    private volatile IOException errorEscritura;
+
+    /** Permisos que libera el escritor cada vez que atiende una marca de sincronización */
+    private final Semaphore filasSincronizadas = new Semaphore(0);
+
+    /** Registros que aún se descartan porque ya están en el archivo conservado */
+    private final AtomicLong registrosOmitidos = new AtomicLong();
+
+    /**
+     * Constructor que abre el archivo de rechazados e inicia el hilo escritor.
+     *
+     * @param rutaRechazados ruta del archivo de registros rechazados
+     * @param agregar true para añadir al final del archivo existente, false para reemplazarlo
+     * @throws IOException si no se puede abrir el archivo
+     */
+    public Diagnosticos(Path rutaRechazados, boolean agregar) throws IOException {
+        this(rutaRechazados, abrirSalida(rutaRechazados, agregar));
+    }
+
+    /**
+     * Constructor que continúa un registro guardado en un punto de control: conserva
+     * solo los primeros bytes del archivo de rechazados, parte de los contadores de
+     * entonces y descarta los primeros registros, que ya están en la parte conservada
+     * (los del catálogo, que se vuelven a encontrar al cargarlo de nuevo). El modo
+     * vigilancia lo usa para conservar solo los problemas de los catálogos.
+     *
+     * @param rutaRechazados ruta del archivo de registros rechazados
+     * @param longitudConservada bytes del archivo que se conservan
+     * @param cantidades número de problemas por categoría, en el orden de Categoria
+     * @param omitidos número de registros iniciales que se descartan
+     * @throws IOException si el archivo no existe o es más corto que la parte conservada
+     */
+    public Diagnosticos(Path rutaRechazados, long longitudConservada, long[] cantidades, long omitidos)
+            throws IOException {
+        this(rutaRechazados, abrirSalidaConservando(rutaRechazados, longitudConservada));
+        for (int i = 0; i < contadores.length; i++) {
+            contadores[i].add(cantidades[i]);
+        }
+        registrosOmitidos.set(omitidos);
+    }
+
+    /**
+     * Constructor que inicia el hilo escritor sobre un archivo ya abierto.
+     *
+     * @param rutaRechazados ruta del archivo de registros rechazados
+     * @param salida archivo abierto, con el encabezado ya escrito
+     */
+    private Diagnosticos(Path rutaRechazados, BufferedWriter salida) {
+        this.rutaRechazados = rutaRechazados;
+        for (int i = 0; i < contadores.length; i++) {
+            contadores[i] = new LongAdder();
+            muestrasReservadas[i] = new AtomicInteger();
+        }
+
+        escritor = new Thread(() -> escribirRechazados(salida), "escritor-rechazados");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    /**
+     * Abre el archivo de rechazados y escribe el encabezado si el archivo es nuevo.
+     *
+     * @param rutaRechazados ruta del archivo de registros rechazados
+     * @param agregar true para añadir al final del archivo existente, false para reemplazarlo
+     * @return archivo abierto
+     * @throws IOException si no se puede abrir el archivo
+     */
+    private static BufferedWriter abrirSalida(Path rutaRechazados, boolean agregar) throws IOException {
+        boolean escribirEncabezado = !agregar || !Files.exists(rutaRechazados);
+        BufferedWriter salida = agregar
+                ? Files.newBufferedWriter(rutaRechazados, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                : Files.newBufferedWriter(rutaRechazados, StandardCharsets.UTF_8);
+        if (escribirEncabezado) {
+            salida.write("Categoria;Archivo;Linea;Registro");
+            salida.newLine();
+        }
+        return salida;
+    }
+
+    /**
+     * Recorta el archivo de rechazados a la parte conservada y lo abre para añadir filas.
+     *
+     * @param rutaRechazados ruta del archivo de registros rechazados
+     * @param longitudConservada bytes del archivo que se conservan
+     * @return archivo abierto al final de la parte conservada
+     * @throws IOException si el archivo no existe o es más corto que la parte conservada
+     */
+    private static BufferedWriter abrirSalidaConservando(Path rutaRechazados, long longitudConservada)
+            throws IOException {
+        try (FileChannel canal = FileChannel.open(rutaRechazados, StandardOpenOption.WRITE)) {
+            if (canal.size() < longitudConservada) {
+                throw new IOException(rutaRechazados + " es más corto que la parte que se conserva");
+            }
+            canal.truncate(longitudConservada);
+        }
+        return Files.newBufferedWriter(rutaRechazados, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Registra un problema. La fila solo se conserva en memoria si aún quedan muestras
+     * libres en su categoría; en cualquier caso se envía al archivo de rechazados.
+     *
+     * @param categoria categoría del problema
+     * @param archivo nombre del archivo donde se encontró
+     * @param numeroLinea número de línea dentro del archivo
+     * @param registro contenido rechazado (línea, par o encabezado)
+     */
+    public void registrar(Categoria categoria, String archivo, int numeroLinea, String registro) {
+        if (registrosOmitidos.get() > 0 && registrosOmitidos.getAndDecrement() > 0) {
+            return;
+        }
+
+        int indice = categoria.ordinal();
+        contadores[indice].increment();
+
+        String fila = categoria.name() + ";" + campoCsv(archivo) + ";" + numeroLinea + ";" + campoCsv(registro);
+
+        if (muestrasReservadas[indice].get() < MUESTRAS_POR_CATEGORIA) {
+            int posicion = muestrasReservadas[indice].getAndIncrement();
+            if (posicion < MUESTRAS_POR_CATEGORIA) {
+                muestras[indice][posicion] = fila;
+            }
+        }
+
+        try {
+            cola.put(fila);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Prepara un texto como campo del archivo de rechazados: si contiene el separador,
+     * comillas o saltos de línea, lo encierra entre comillas y duplica las internas.
+     *
+     * @param texto contenido del campo
+     * @return campo listo para escribir
+     */
+    private static String campoCsv(String texto) {
+        boolean requiereComillas = false;
+        for (int i = 0; i < texto.length() && !requiereComillas; i++) {
+            char c = texto.charAt(i);
+            requiereComillas = c == ';' || c == '"' || c == '\n' || c == '\r';
+        }
+        return requiereComillas ? '"' + texto.replace("\"", "\"\"") + '"' : texto;
+    }
+
+    /**
+     * Registra, en el orden en que se encontraron, los problemas guardados al analizar un
+     * tramo de un archivo, sumando a su número de línea las líneas anteriores al tramo.
+     *
+     * @param archivo nombre del archivo donde se encontraron
+     * @param pendientes problemas del tramo (o del archivo completo)
+     * @param lineasPrevias número de líneas del archivo anteriores al tramo (0 para un archivo completo)
+     */
+    public void registrarPendientes(String archivo, Pendientes pendientes, int lineasPrevias) {
+        for (int i = 0; i < pendientes.categorias.size(); i++) {
+            registrar(pendientes.categorias.get(i), archivo, lineasPrevias + pendientes.lineas.get(i),
+                    pendientes.registros.get(i));
+        }
+    }
+
+    /**
+     * Bucle del hilo escritor: toma las filas de la cola por lotes hasta recibir la marca de fin.
+     *
+     * @param salida archivo de rechazados abierto
+     */
+    private void escribirRechazados(BufferedWriter salida) {
+        List<String> lote = new ArrayList<>(TAMANO_LOTE);
+        boolean terminado = false;
+
+        try (BufferedWriter escritorArchivo = salida) {
+            while (!terminado) {
+                lote.add(cola.take());
+                cola.drainTo(lote, TAMANO_LOTE - 1);
+
+                for (String fila : lote) {
+                    if (fila == FIN) {
+                        terminado = true;
+                    } else if (fila == SINCRONIZAR) {
+                        if (errorEscritura == null) {
+                            try {
+                                escritorArchivo.flush();
+                            } catch (IOException e) {
+                                errorEscritura = e;
+                            }
+                        }
+                        filasSincronizadas.release();
+                    } else if (errorEscritura == null) {
+                        try {
+                            escritorArchivo.write(fila);
+                            escritorArchivo.newLine();
+                        } catch (IOException e) {
+                            // Se sigue vaciando la cola para no bloquear a los hilos de procesamiento
+                            errorEscritura = e;
+                        }
+                    }
+                }
+                lote.clear();
+            }
+        } catch (IOException e) {
+            if (errorEscritura == null) {
+                errorEscritura = e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Espera a que el archivo de rechazados contenga todas las filas registradas antes
+     * de la llamada. Solo debe llamarse cuando ningún otro hilo está registrando problemas.
+     *
+     * @return tamaño del archivo de rechazados en bytes
+     * @throws IOException si ocurrió un error al escribir el archivo o la espera es interrumpida
+     */
+    public long sincronizar() throws IOException {
+        try {
+            cola.put(SINCRONIZAR);
+            filasSincronizadas.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrumpido mientras se escribía " + rutaRechazados, e);
+        }
+
+        if (errorEscritura != null) {
+            throw new IOException("No se pudo escribir " + rutaRechazados + ": " + errorEscritura.getMessage(),
+                    errorEscritura);
+        }
+        return Files.size(rutaRechazados);
+    }
+
+    /**
+     * Espera a que el hilo escritor guarde todas las filas pendientes y cierra el archivo.
+     *
+     * @throws IOException si ocurrió un error al escribir el archivo de rechazados
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            cola.put(FIN);
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrumpido mientras se escribía " + rutaRechazados, e);
+        }
+
+        if (errorEscritura != null) {
+            throw new IOException("No se pudo escribir " + rutaRechazados + ": " + errorEscritura.getMessage(),
+                    errorEscritura);
+        }
+    }
+
+    /**
+     * Imprime el número de problemas de cada categoría con sus muestras.
+     *
+     * @param salida flujo donde se imprime el resumen
+     */
+    public void imprimirResumen(PrintStream salida) {
+        if (getTotal() == 0) {
+            salida.println("   • Sin registros rechazados");
+            return;
+        }
+
+        for (Categoria categoria : Categoria.values()) {
+            long cantidad = getCantidad(categoria);
+            if (cantidad == 0) {
+                continue;
+            }
+
+            salida.println("   • " + categoria.descripcion + ": " + cantidad);
+            int indice = categoria.ordinal();
+            int tomadas = Math.min(muestrasReservadas[indice].get(), MUESTRAS_POR_CATEGORIA);
+            for (int i = 0; i < tomadas; i++) {
+                salida.println("       " + muestras[indice][i]);
+            }
+        }
+        salida.println("   Detalle completo en " + rutaRechazados);
+    }
+
+    // Getters
+
+    /**
+     * Obtiene el número de problemas registrados de una categoría.
+     *
+     * @param categoria categoría a consultar
+     * @return número de problemas
+     */
+    public long getCantidad(Categoria categoria) {
+        return contadores[categoria.ordinal()].sum();
+    }
+
+    /**
+     * Obtiene el número total de problemas registrados.
+     *
+     * @return número de problemas de todas las categorías
+     */
+    public long getTotal() {
+        long total = 0;
+        for (LongAdder contador : contadores) {
+            total += contador.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Problemas que se guardan para registrarlos después con registrarPendientes: los de
+     * un tramo de un archivo de ventas, con su número de línea dentro del tramo porque aún
+     * no se sabe cuántas líneas hay antes, o los de un archivo completo del modo
+     * incremental, que se conservan en el manifiesto para volver a escribirlos en cada
+     * ejecución sin leer de nuevo el archivo. Una instancia no debe compartirse entre hilos.
+     */
+    public static class Pendientes {
+
+        /** Categoría de cada problema */
+        private final List<Categoria> categorias = new ArrayList<>();
+
+        /** Número de línea de cada problema dentro del tramo */
+        private final List<Integer> lineas = new ArrayList<>();
+
+        /** Contenido rechazado de cada problema */
+        private final List<String> registros = new ArrayList<>();
+
+        /**
+         * Guarda un problema del tramo.
+         *
+         * @param categoria categoría del problema
+         * @param numeroLinea número de línea dentro del tramo
+         * @param registro contenido rechazado
+         */
+        public void agregar(Categoria categoria, int numeroLinea, String registro) {
+            categorias.add(categoria);
+            lineas.add(numeroLinea);
+            registros.add(registro);
+        }
+
+        /**
+         * Agrega los problemas de un tramo, sumando a su número de línea las líneas
+         * anteriores al tramo.
+         *
+         * @param tramo problemas del tramo
+         * @param lineasPrevias número de líneas del archivo anteriores al tramo
+         */
+        public void agregarTodos(Pendientes tramo, int lineasPrevias) {
+            for (int i = 0; i < tramo.categorias.size(); i++) {
+                agregar(tramo.categorias.get(i), lineasPrevias + tramo.lineas.get(i), tramo.registros.get(i));
+            }
+        }
+
+        /**
+         * Lee problemas guardados con escribir.
+         *
+         * @param entrada flujo de datos del archivo donde se guardaron
+         * @return problemas leídos
+         * @throws IOException si ocurre un error de lectura o la categoría no existe
+         */
+        public static Pendientes leer(DataInputStream entrada) throws IOException {
+            Categoria[] todas = Categoria.values();
+            Pendientes pendientes = new Pendientes();
+            int cantidad = entrada.readInt();
+            for (int i = 0; i < cantidad; i++) {
+                int categoria = entrada.readUnsignedByte();
+                if (categoria >= todas.length) {
+                    throw new IOException("Categoría de problema desconocida: " + categoria);
+                }
+                int numeroLinea = entrada.readInt();
+                // Una línea rechazada puede pasar del límite de 64 KB de writeUTF
+                byte[] registro = new byte[entrada.readInt()];
+                entrada.readFully(registro);
+                pendientes.agregar(todas[categoria], numeroLinea, new String(registro, StandardCharsets.UTF_8));
+            }
+            return pendientes;
+        }
+
+        /**
+         * Escribe los problemas en un flujo de datos.
+         *
+         * @param salida flujo de datos del archivo donde se guardan
+         * @throws IOException si ocurre un error de escritura
+         */
+        public void escribir(DataOutputStream salida) throws IOException {
+            salida.writeInt(categorias.size());
+            for (int i = 0; i < categorias.size(); i++) {
+                byte[] registro = registros.get(i).getBytes(StandardCharsets.UTF_8);
+                salida.writeByte(categorias.get(i).ordinal());
+                salida.writeInt(lineas.get(i));
+                salida.writeInt(registro.length);
+                salida.write(registro);
+            }
+        }
+    }
+}
@@ -0,0 +1,395 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Clase que asigna a cada producto del catálogo un índice entero denso (0, 1, 2, ...).
+ * Guarda los datos del catálogo y las cantidades vendidas en arreglos indexados por
+ * ese número, de modo que la acumulación de ventas no necesita objetos por producto.
+ *
+ * Los IDs se buscan directamente a partir de sus bytes UTF-8 mediante una tabla hash
+ * de direccionamiento abierto, sin crear un String por cada par leído. Los objetos
+ * ProductoInfo solo se construyen al generar los reportes. Los precios se guardan en
+ * centavos (long) para que el cálculo de ingresos sea exacto.
+ *
+ * Para catálogos muy grandes, los IDs, nombres, precios y cantidades pueden guardarse
+ * fuera del heap (ver {@link ProductosFueraDelHeap}); solo la tabla hash de índices
+ * queda en el heap, como un único arreglo de int.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class DiccionarioProductos {
+
+    /** Índice devuelto cuando un ID no pertenece al catálogo */
+    public static final int NO_ENCONTRADO = -1;
+
+    /** Capacidad inicial de las columnas del catálogo */
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    /** Datos del catálogo fuera del heap, o null si se guardan en los arreglos */
+    private final ProductosFueraDelHeap fueraDelHeap;
+
+    /** Número de productos registrados */
+    private int tamano;
+
+    /** Productos que caben antes de crecer */
+    private int capacidad = CAPACIDAD_INICIAL;
+
+    /** IDs de los productos, por índice */
+    private String[] ids;
+
+    /** Nombres de los productos, por índice */
+    private String[] nombres;
+
+    /** Precios por unidad en centavos, por índice */
+    private long[] preciosCentavos;
+
+    /** Cantidades vendidas acumuladas, por índice */
+    private long[] cantidadesVendidas;
+
+    /** Bytes UTF-8 de cada ID, por índice */
+    private byte[][] bytesIds;
+
+    /** Hash de los bytes de cada ID, por índice */
+    private int[] hashes;
+
+    /** Tabla hash: cada posición guarda un índice de producto o -1 si está libre */
+    private int[] tabla = crearTabla(CAPACIDAD_INICIAL * 2);
+
+    /**
+     * Constructor que crea un catálogo vacío con sus datos en el heap.
+     */
+    public DiccionarioProductos() {
+        this(false);
+    }
+
+    /**
+     * Constructor que crea un catálogo vacío.
+     *
+     * @param usarFueraDelHeap true para guardar los datos de los productos fuera del heap
+     */
+    public DiccionarioProductos(boolean usarFueraDelHeap) {
+        if (usarFueraDelHeap) {
+            this.fueraDelHeap = new ProductosFueraDelHeap();
+        } else {
+            this.fueraDelHeap = null;
+            this.ids = new String[CAPACIDAD_INICIAL];
+            this.nombres = new String[CAPACIDAD_INICIAL];
+            this.preciosCentavos = new long[CAPACIDAD_INICIAL];
+            this.cantidadesVendidas = new long[CAPACIDAD_INICIAL];
+            this.bytesIds = new byte[CAPACIDAD_INICIAL][];
+            this.hashes = new int[CAPACIDAD_INICIAL];
+        }
+    }
+
+    /**
+     * Registra un producto del catálogo. Si el ID ya existe se actualizan su nombre
+     * y su precio conservando el índice asignado.
+     *
+     * @param idProducto ID único del producto
+     * @param nombreProducto nombre descriptivo del producto
+     * @param precioCentavos precio por unidad del producto en centavos
+     * @return índice denso del producto
+     */
+    public int agregar(String idProducto, String nombreProducto, long precioCentavos) {
+        byte[] clave = idProducto.getBytes(StandardCharsets.UTF_8);
+        int hash = calcularHash(clave, 0, clave.length);
+
+        int indice = buscar(clave, 0, clave.length, hash);
+        if (indice == NO_ENCONTRADO) {
+            if (tamano == capacidad) {
+                crecer();
+            }
+
+            indice = tamano++;
+            if (fueraDelHeap != null) {
+                fueraDelHeap.agregar(clave, hash);
+            } else {
+                ids[indice] = idProducto;
+                bytesIds[indice] = clave;
+                hashes[indice] = hash;
+            }
+            insertarEnTabla(indice, hash);
+        }
+
+        if (fueraDelHeap != null) {
+            fueraDelHeap.actualizar(indice, nombreProducto.getBytes(StandardCharsets.UTF_8), precioCentavos);
+        } else {
+            nombres[indice] = nombreProducto;
+            preciosCentavos[indice] = precioCentavos;
+        }
+        return indice;
+    }
+
+    /**
+     * Busca un producto a partir de los bytes UTF-8 de su ID.
+     *
+     * @param bytes arreglo que contiene el ID
+     * @param inicio posición inicial del ID
+     * @param fin posición final (exclusiva) del ID
+     * @return índice del producto, o NO_ENCONTRADO si no existe
+     */
+    public int buscar(byte[] bytes, int inicio, int fin) {
+        return buscar(bytes, inicio, fin, calcularHash(bytes, inicio, fin));
+    }
+
+    /**
+     * Busca un producto por sus bytes y un hash ya calculado.
+     *
+     * @param bytes arreglo que contiene el ID
+     * @param inicio posición inicial del ID
+     * @param fin posición final (exclusiva) del ID
+     * @param hash hash de los bytes del ID
+     * @return índice del producto, o NO_ENCONTRADO si no existe
+     */
+    private int buscar(byte[] bytes, int inicio, int fin, int hash) {
+        int mascara = tabla.length - 1;
+
+        for (int posicion = hash & mascara; ; posicion = (posicion + 1) & mascara) {
+            int indice = tabla[posicion];
+            if (indice < 0) {
+                return NO_ENCONTRADO;
+            }
+
+            if (fueraDelHeap != null) {
+                if (fueraDelHeap.tieneId(indice, hash, bytes, inicio, fin)) {
+                    return indice;
+                }
+            } else if (hashes[indice] == hash
+                    && Arrays.equals(bytesIds[indice], 0, bytesIds[indice].length, bytes, inicio, fin)) {
+                return indice;
+            }
+        }
+    }
+
+    /**
+     * Busca un producto a partir de su ID como texto.
+     *
+     * @param idProducto ID del producto
+     * @return índice del producto, o NO_ENCONTRADO si no existe
+     */
+    public int buscar(String idProducto) {
+        byte[] clave = idProducto.getBytes(StandardCharsets.UTF_8);
+        return buscar(clave, 0, clave.length);
+    }
+
+    /**
+     * Suma al acumulado del catálogo las cantidades de un arreglo parcial.
+     *
+     * @param cantidadesParciales cantidades por índice de producto
+     */
+    public void agregarCantidades(long[] cantidadesParciales) {
+        if (fueraDelHeap != null) {
+            fueraDelHeap.agregarCantidades(cantidadesParciales);
+            return;
+        }
+        for (int i = 0; i < tamano; i++) {
+            cantidadesVendidas[i] += cantidadesParciales[i];
+        }
+    }
+
+    /**
+     * Pone en cero las cantidades vendidas de todos los productos.
+     */
+    public void reiniciarCantidades() {
+        if (fueraDelHeap != null) {
+            fueraDelHeap.reiniciarCantidades();
+        } else {
+            Arrays.fill(cantidadesVendidas, 0L);
+        }
+    }
+
+    /**
+     * Crea el objeto ProductoInfo de un producto con su cantidad vendida acumulada.
+     *
+     * @param indice índice del producto
+     * @return información del producto para reportes
+     */
+    public ProductoInfo crearProductoInfo(int indice) {
+        ProductoInfo producto = new ProductoInfo(getId(indice), getNombre(indice), getPrecioCentavos(indice));
+        producto.setCantidadVendida(getCantidadVendida(indice));
+        return producto;
+    }
+
+    /**
+     * Escribe el ID de un producto en un reporte. Fuera del heap se copian sus bytes
+     * sin crear un String.
+     *
+     * @param indice índice del producto
+     * @param escritor escritor del reporte
+     * @throws IOException si ocurre un error al escribir
+     */
+    public void escribirId(int indice, EscritorReporte escritor) throws IOException {
+        if (fueraDelHeap != null) {
+            fueraDelHeap.escribirId(indice, escritor);
+        } else {
+            escritor.escribir(ids[indice]);
+        }
+    }
+
+    /**
+     * Escribe el nombre de un producto en un reporte. Fuera del heap se copian sus
+     * bytes sin crear un String.
+     *
+     * @param indice índice del producto
+     * @param escritor escritor del reporte
+     * @throws IOException si ocurre un error al escribir
+     */
+    public void escribirNombre(int indice, EscritorReporte escritor) throws IOException {
+        if (fueraDelHeap != null) {
+            fueraDelHeap.escribirNombre(indice, escritor);
+        } else {
+            escritor.escribir(nombres[indice]);
+        }
+    }
+
+    /**
+     * Calcula el hash de un rango de bytes.
+     *
+     * @param bytes arreglo de bytes
+     * @param inicio posición inicial
+     * @param fin posición final (exclusiva)
+     * @return hash del rango
+     */
+    private static int calcularHash(byte[] bytes, int inicio, int fin) {
+        int hash = 1;
+        for (int i = inicio; i < fin; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        // Mezcla los bits altos para repartir mejor IDs que solo difieren al final
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Inserta un índice de producto en la tabla hash.
+     *
+     * @param indice índice del producto a insertar
+     * @param hash hash del ID del producto
+     */
+    private void insertarEnTabla(int indice, int hash) {
+        int mascara = tabla.length - 1;
+        int posicion = hash & mascara;
+
+        while (tabla[posicion] >= 0) {
+            posicion = (posicion + 1) & mascara;
+        }
+        tabla[posicion] = indice;
+    }
+
+    /**
+     * Duplica la capacidad de las columnas y reconstruye la tabla hash.
+     * Fuera del heap solo crece la tabla: los registros se reservan por bloques.
+     */
+    private void crecer() {
+        capacidad *= 2;
+        if (fueraDelHeap == null) {
+            ids = Arrays.copyOf(ids, capacidad);
+            nombres = Arrays.copyOf(nombres, capacidad);
+            preciosCentavos = Arrays.copyOf(preciosCentavos, capacidad);
+            cantidadesVendidas = Arrays.copyOf(cantidadesVendidas, capacidad);
+            bytesIds = Arrays.copyOf(bytesIds, capacidad);
+            hashes = Arrays.copyOf(hashes, capacidad);
+        }
+
+        // La tabla se mantiene con un factor de carga máximo de 0.5
+        tabla = crearTabla(capacidad * 2);
+        for (int i = 0; i < tamano; i++) {
+            insertarEnTabla(i, fueraDelHeap != null ? fueraDelHeap.getHash(i) : hashes[i]);
+        }
+    }
+
+    /**
+     * Crea una tabla hash vacía.
+     *
+     * @param capacidad número de posiciones (potencia de 2)
+     * @return tabla con todas sus posiciones libres
+     */
+    private static int[] crearTabla(int capacidad) {
+        int[] nueva = new int[capacidad];
+        Arrays.fill(nueva, -1);
+        return nueva;
+    }
+
+    // Getters
+
+    /**
+     * Obtiene el número de productos del catálogo.
+     *
+     * @return cantidad de productos registrados
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Obtiene el ID de un producto.
+     *
+     * @param indice índice del producto
+     * @return ID del producto
+     */
+    public String getId(int indice) {
+        return fueraDelHeap != null ? fueraDelHeap.getId(indice) : ids[indice];
+    }
+
+    /**
+     * Obtiene el nombre de un producto.
+     *
+     * @param indice índice del producto
+     * @return nombre descriptivo del producto
+     */
+    public String getNombre(int indice) {
+        return fueraDelHeap != null ? fueraDelHeap.getNombre(indice) : nombres[indice];
+    }
+
+    /**
+     * Obtiene la cantidad vendida acumulada de un producto.
+     *
+     * @param indice índice del producto
+     * @return cantidad vendida
+     */
+    public long getCantidadVendida(int indice) {
+        return fueraDelHeap != null ? fueraDelHeap.getCantidadVendida(indice) : cantidadesVendidas[indice];
+    }
+
+    /**
+     * Indica si el catálogo no tiene productos.
+     *
+     * @return true si no hay productos registrados
+     */
+    public boolean estaVacio() {
+        return tamano == 0;
+    }
+
+    /**
+     * Obtiene el precio por unidad de un producto en centavos.
+     *
+     * @param indice índice del producto
+     * @return precio por unidad en centavos
+     */
+    public long getPrecioCentavos(int indice) {
+        return fueraDelHeap != null ? fueraDelHeap.getPrecioCentavos(indice) : preciosCentavos[indice];
+    }
+
+    /**
+     * Indica si los datos del catálogo se guardan fuera del heap.
+     *
+     * @return true si el catálogo usa memoria directa
+     */
+    public boolean estaFueraDelHeap() {
+        return fueraDelHeap != null;
+    }
+
+    /**
+     * Obtiene los bytes de memoria directa que ocupan los datos del catálogo.
+     *
+     * @return bytes fuera del heap, o 0 si los datos están en el heap
+     */
+    public long getBytesFueraDelHeap() {
+        return fueraDelHeap != null ? fueraDelHeap.getBytesReservados() : 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Clase con utilidades para leer archivos de entrada que pueden estar comprimidos con
+ * gzip (.txt.gz) en lugar de ser texto plano (.txt).
+ *
+ * Los archivos comprimidos se descomprimen como flujo directamente hacia quien los lee,
+ * con un buffer grande, sin escribir una copia descomprimida en el disco. Cada archivo
+ * se descomprime en el hilo que lo procesa, así que varios archivos se descomprimen en
+ * paralelo cuando se procesan en paralelo.
+ *
+ * Si en la misma carpeta están X.txt y X.txt.gz, se usa X.txt y el comprimido se ignora,
+ * para no contar dos veces el mismo archivo.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class EntradaComprimida {
+
+    /** Extensión de los archivos comprimidos con gzip */
+    public static final String EXTENSION_GZIP = ".gz";
+
+    /** Tamaño del buffer de lectura de los datos comprimidos */
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private EntradaComprimida() {
+    }
+
+    /**
+     * Abre un archivo de entrada como flujo de bytes, descomprimiéndolo si termina en .gz.
+     *
+     * @param ruta ruta del archivo
+     * @return flujo con el contenido sin comprimir
+     * @throws IOException si no se puede abrir el archivo o no es un gzip válido
+     */
+    public static InputStream abrir(Path ruta) throws IOException {
+        InputStream entrada = Files.newInputStream(ruta);
+        if (!esComprimido(ruta.getFileName().toString())) {
+            return entrada;
+        }
+
+        try {
+            return new GZIPInputStream(entrada, TAMANO_BUFFER);
+        } catch (IOException e) {
+            entrada.close();
+            throw new IOException("El archivo " + ruta.getFileName() + " no es un gzip válido: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Abre un archivo de entrada como texto UTF-8, descomprimiéndolo si termina en .gz.
+     * Igual que Files.newBufferedReader, informa un error si el contenido no es UTF-8 válido.
+     *
+     * @param ruta ruta del archivo
+     * @return lector de texto del contenido sin comprimir
+     * @throws IOException si no se puede abrir el archivo
+     */
+    public static BufferedReader abrirTexto(Path ruta) throws IOException {
+        if (!esComprimido(ruta.getFileName().toString())) {
+            return Files.newBufferedReader(ruta);
+        }
+        return new BufferedReader(new InputStreamReader(abrir(ruta), StandardCharsets.UTF_8.newDecoder()),
+                TAMANO_BUFFER);
+    }
+
+    /**
+     * Obtiene la ruta de un catálogo: el archivo de texto si existe, o su versión
+     * comprimida si solo existe esa.
+     *
+     * @param rutaTexto ruta del archivo sin comprimir
+     * @return ruta del archivo a leer (la de texto si no existe ninguno)
+     */
+    public static Path resolver(Path rutaTexto) {
+        if (Files.exists(rutaTexto)) {
+            return rutaTexto;
+        }
+        Path rutaComprimida = rutaTexto.resolveSibling(rutaTexto.getFileName() + EXTENSION_GZIP);
+        return Files.exists(rutaComprimida) ? rutaComprimida : rutaTexto;
+    }
+
+    /**
+     * Indica si un archivo de una carpeta debe leerse como archivo de entrada con la
+     * extensión indicada: X.txt, o X.txt.gz cuando no existe X.txt.
+     *
+     * @param carpeta carpeta del archivo
+     * @param nombre nombre del archivo
+     * @param extension extensión del archivo sin comprimir (por ejemplo ".txt")
+     * @return true si el archivo debe leerse
+     */
+    public static boolean esArchivoActivo(File carpeta, String nombre, String extension) {
+        if (nombre.endsWith(extension)) {
+            return true;
+        }
+        if (nombre.endsWith(extension + EXTENSION_GZIP)) {
+            String nombreTexto = nombre.substring(0, nombre.length() - EXTENSION_GZIP.length());
+            return !new File(carpeta, nombreTexto).exists();
+        }
+        return false;
+    }
+
+    /**
+     * Indica si un nombre de archivo corresponde a un archivo comprimido con gzip.
+     *
+     * @param nombre nombre del archivo
+     * @return true si termina en .gz
+     */
+    public static boolean esComprimido(String nombre) {
+        return nombre.endsWith(EXTENSION_GZIP);
+    }
+}
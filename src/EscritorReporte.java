@@ -0,0 +1,331 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Clase para escribir reportes CSV grandes de forma eficiente.
+ * Las filas se codifican en UTF-8 directamente sobre un buffer de bytes reutilizable,
+ * sin String.format ni DecimalFormat por fila: los enteros y los montos en centavos
+ * se convierten a dígitos a mano.
+ *
+ * El contenido se escribe en un archivo temporal junto al destino y solo al llamar a
+ * publicar() se renombra sobre el reporte final, de modo que quien lea el reporte
+ * nunca ve un archivo a medio escribir. Si no se publica, el temporal se elimina al cerrar.
+ * También puede escribir sobre un flujo ya abierto (por ejemplo en memoria, para el
+ * servidor de reportes), con exactamente el mismo formato que los archivos.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class EscritorReporte implements AutoCloseable {
+
+    /** Tamaño del buffer de escritura */
+    private static final int TAMANO_BUFFER = 256 * 1024;
+
+    /** Espacio suficiente para cualquier long en decimal con signo */
+    private static final int MAXIMO_DIGITOS_LONG = 20;
+
+    /** Separador de líneas del sistema, igual al que usa PrintWriter.println */
+    private static final byte[] SALTO_LINEA = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    /** Ruta final del reporte, o null si se escribe sobre un flujo */
+    private final Path destino;
+
+    /** Ruta del archivo temporal donde se escribe el contenido, o null si se escribe sobre un flujo */
+    private final Path temporal;
+
+    /** Flujo del archivo temporal (o el flujo recibido) */
+    private final OutputStream salida;
+
+    /** Buffer de bytes pendientes de escribir */
+    private final byte[] buffer = new byte[TAMANO_BUFFER];
+
+    /** Cantidad de bytes válidos en el buffer */
+    private int posicion;
+
+    /** Indica si el reporte ya se publicó */
+    private boolean publicado;
+
+    /**
+     * Constructor que crea el archivo temporal del reporte.
+     *
+     * @param destino ruta final del reporte
+     * @throws IOException si no se puede crear el archivo temporal
+     */
+    public EscritorReporte(Path destino) throws IOException {
+        this.destino = destino;
+        this.temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        this.salida = Files.newOutputStream(temporal);
+    }
+
+    /**
+     * Constructor que escribe sobre un flujo ya abierto. publicar() escribe el contenido
+     * pendiente y cierra el flujo.
+     *
+     * @param salida flujo de destino
+     */
+    public EscritorReporte(OutputStream salida) {
+        this.destino = null;
+        this.temporal = null;
+        this.salida = salida;
+    }
+
+    /**
+     * Escribe un texto codificado en UTF-8. Los textos ASCII se copian carácter a
+     * carácter al buffer; el resto se codifica con getBytes.
+     *
+     * @param texto texto a escribir
+     * @return este escritor, para encadenar llamadas
+     * @throws IOException si ocurre un error al escribir
+     */
+    public EscritorReporte escribir(String texto) throws IOException {
+        int longitud = texto.length();
+        if (longitud > buffer.length - posicion) {
+            vaciar();
+            if (longitud > buffer.length) {
+                salida.write(texto.getBytes(StandardCharsets.UTF_8));
+                return this;
+            }
+        }
+
+        for (int i = 0; i < longitud; i++) {
+            char caracter = texto.charAt(i);
+            if (caracter >= 0x80) {
+                escribirBytes(texto.substring(i).getBytes(StandardCharsets.UTF_8));
+                return this;
+            }
+            buffer[posicion++] = (byte) caracter;
+        }
+        return this;
+    }
+
+    /**
+     * Escribe bytes UTF-8 ya codificados que están en un ByteBuffer, sin cambiar su posición.
+     *
+     * @param origen buffer con los bytes
+     * @param desde posición del primer byte
+     * @param longitud cantidad de bytes
+     * @return este escritor, para encadenar llamadas
+     * @throws IOException si ocurre un error al escribir
+     */
+    public EscritorReporte escribir(ByteBuffer origen, int desde, int longitud) throws IOException {
+        if (longitud > buffer.length - posicion) {
+            vaciar();
+            if (longitud > buffer.length) {
+                byte[] bytes = new byte[longitud];
+                origen.get(desde, bytes);
+                salida.write(bytes);
+                return this;
+            }
+        }
+
+        origen.get(desde, buffer, posicion, longitud);
+        posicion += longitud;
+        return this;
+    }
+
+    /**
+     * Escribe un carácter ASCII (por ejemplo el separador ';').
+     *
+     * @param caracter carácter ASCII a escribir
+     * @return este escritor, para encadenar llamadas
+     * @throws IOException si ocurre un error al escribir
+     */
+    public EscritorReporte escribir(char caracter) throws IOException {
+        if (posicion == buffer.length) {
+            vaciar();
+        }
+        buffer[posicion++] = (byte) caracter;
+        return this;
+    }
+
+    /**
+     * Escribe un entero en decimal.
+     *
+     * @param valor entero a escribir
+     * @return este escritor, para encadenar llamadas
+     * @throws IOException si ocurre un error al escribir
+     */
+    public EscritorReporte escribirEntero(long valor) throws IOException {
+        if (valor == Long.MIN_VALUE) {
+            return escribir(Long.toString(valor));
+        }
+        if (buffer.length - posicion < MAXIMO_DIGITOS_LONG) {
+            vaciar();
+        }
+
+        if (valor < 0) {
+            buffer[posicion++] = '-';
+            valor = -valor;
+        }
+
+        // Los dígitos se escriben de derecha a izquierda a partir del final del número
+        int fin = posicion + contarDigitos(valor);
+        int indice = fin;
+        do {
+            buffer[--indice] = (byte) ('0' + (valor % 10));
+            valor /= 10;
+        } while (valor != 0);
+
+        posicion = fin;
+        return this;
+    }
+
+    /**
+     * Escribe un monto de 128 bits en centavos con el mismo formato que
+     * DecimalFormat("#.00"): sin separador de miles, con dos decimales y sin el
+     * cero de la parte entera (0.5 se escribe ".50").
+     *
+     * @param alto parte alta del monto en centavos
+     * @param bajo parte baja del monto en centavos
+     * @return este escritor, para encadenar llamadas
+     * @throws IOException si ocurre un error al escribir
+     */
+    public EscritorReporte escribirCentavos(long alto, long bajo) throws IOException {
+        if (alto != (bajo >> 63) || bajo == Long.MIN_VALUE) {
+            // El monto no cabe en un long: la parte entera nunca es cero
+            return escribir(MontoCentavos.aBigDecimal(alto, bajo).toPlainString());
+        }
+
+        long centavos = bajo;
+        if (centavos < 0) {
+            escribir('-');
+            centavos = -centavos;
+        }
+
+        long entero = centavos / 100;
+        int decimales = (int) (centavos % 100);
+        if (entero != 0) {
+            escribirEntero(entero);
+        }
+
+        if (buffer.length - posicion < 3) {
+            vaciar();
+        }
+        buffer[posicion++] = '.';
+        buffer[posicion++] = (byte) ('0' + decimales / 10);
+        buffer[posicion++] = (byte) ('0' + decimales % 10);
+        return this;
+    }
+
+    /**
+     * Escribe un monto con el mismo formato que escribirCentavos, redondeado al centavo.
+     *
+     * @param monto monto en unidades monetarias
+     * @return este escritor, para encadenar llamadas
+     * @throws IOException si ocurre un error al escribir
+     */
+    public EscritorReporte escribirCentavos(BigDecimal monto) throws IOException {
+        BigInteger centavos = monto.setScale(MontoCentavos.DECIMALES, RoundingMode.HALF_EVEN).unscaledValue();
+        return escribirCentavos(centavos.shiftRight(64).longValue(), centavos.longValue());
+    }
+
+    /**
+     * Escribe un monto en centavos que cabe en un long.
+     *
+     * @param centavos monto en centavos
+     * @return este escritor, para encadenar llamadas
+     * @throws IOException si ocurre un error al escribir
+     */
+    public EscritorReporte escribirCentavos(long centavos) throws IOException {
+        return escribirCentavos(centavos >> 63, centavos);
+    }
+
+    /**
+     * Termina la línea actual con el separador de líneas del sistema.
+     *
+     * @throws IOException si ocurre un error al escribir
+     */
+    public void nuevaLinea() throws IOException {
+        escribirBytes(SALTO_LINEA);
+    }
+
+    /**
+     * Escribe el contenido pendiente y reemplaza el reporte final por el archivo temporal.
+     *
+     * @throws IOException si ocurre un error al escribir o renombrar el archivo
+     */
+    public void publicar() throws IOException {
+        vaciar();
+        salida.close();
+        if (temporal != null) {
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        publicado = true;
+    }
+
+    /**
+     * Cierra el archivo temporal. Si el reporte no se publicó, el temporal se elimina
+     * y el reporte anterior queda intacto.
+     *
+     * @throws IOException si ocurre un error al cerrar o eliminar el temporal
+     */
+    @Override
+    public void close() throws IOException {
+        if (!publicado) {
+            try {
+                salida.close();
+            } finally {
+                if (temporal != null) {
+                    Files.deleteIfExists(temporal);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copia bytes al buffer, escribiéndolos directamente si no caben en él.
+     *
+     * @param bytes bytes a escribir
+     * @throws IOException si ocurre un error al escribir
+     */
+    private void escribirBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - posicion) {
+            vaciar();
+            if (bytes.length > buffer.length) {
+                salida.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, posicion, bytes.length);
+        posicion += bytes.length;
+    }
+
+    /**
+     * Escribe en el archivo el contenido del buffer y lo deja vacío.
+     *
+     * @throws IOException si ocurre un error al escribir
+     */
+    private void vaciar() throws IOException {
+        if (posicion > 0) {
+            salida.write(buffer, 0, posicion);
+            posicion = 0;
+        }
+    }
+
+    /**
+     * Cuenta los dígitos decimales de un número no negativo.
+     *
+     * @param valor número no negativo
+     * @return cantidad de dígitos (al menos 1)
+     */
+    private static int contarDigitos(long valor) {
+        int digitos = 1;
+        while (valor >= 10) {
+            valor /= 10;
+            digitos++;
+        }
+        return digitos;
+    }
+}
\ No newline at end of file
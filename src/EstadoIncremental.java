@@ -0,0 +1,437 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+/**
+ * Clase que guarda entre ejecuciones el estado del procesamiento incremental.
+ * Contiene un manifiesto de los archivos de ventas ya procesados (nombre, tamaño,
+ * fecha de modificación y hash del contenido) junto con el aporte parcial de cada
+ * archivo: el vendedor, el total vendido, las cantidades por producto y sus registros
+ * rechazados, que se vuelven a escribir en el archivo de rechazados de cada ejecución.
+ *
+ * También mantiene la suma de cantidades por producto de todos los archivos
+ * registrados. Al registrar o eliminar un archivo se resta su aporte anterior y se
+ * suma el nuevo, de modo que solo los archivos nuevos o modificados se vuelven a leer.
+ *
+ * El estado solo es válido para los catálogos con los que se construyó: si cambia
+ * la huella de vendedores.txt o productos.txt se descarta y se reconstruye completo.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class EstadoIncremental {
+
+    /** Identificador del formato del archivo de estado */
+    private static final int FIRMA = 0x43465049;
+
+    /** Versión del formato del archivo de estado */
+    private static final int VERSION = 3;
+
+    /** Huella de los catálogos con los que se construyó el estado */
+    private final long huellaCatalogos;
+
+    /** Cantidades vendidas por índice de producto, sumadas sobre todos los archivos registrados */
+    private final long[] cantidadesVendidas;
+
+    /** Archivos registrados, por nombre */
+    private final Map<String, ArchivoRegistrado> archivos = new HashMap<>();
+
+    /**
+     * Constructor para crear un estado vacío.
+     *
+     * @param huellaCatalogos huella de los catálogos actuales
+     * @param numeroProductos número de productos del catálogo
+     */
+    public EstadoIncremental(long huellaCatalogos, int numeroProductos) {
+        this.huellaCatalogos = huellaCatalogos;
+        this.cantidadesVendidas = new long[numeroProductos];
+    }
+
+    /**
+     * Carga el estado guardado por una ejecución anterior.
+     *
+     * @param ruta ruta del archivo de estado
+     * @param huellaCatalogos huella de los catálogos actuales
+     * @param numeroProductos número de productos del catálogo actual
+     * @return estado cargado, o null si no existe o no corresponde a los catálogos actuales
+     * @throws IOException si el archivo existe pero no se puede leer
+     */
+    public static EstadoIncremental cargar(Path ruta, long huellaCatalogos, int numeroProductos)
+            throws IOException {
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(ruta)))) {
+
+            if (entrada.readInt() != FIRMA || entrada.readInt() != VERSION
+                    || entrada.readLong() != huellaCatalogos || entrada.readInt() != numeroProductos) {
+                return null;
+            }
+
+            EstadoIncremental estado = new EstadoIncremental(huellaCatalogos, numeroProductos);
+            for (int i = 0; i < numeroProductos; i++) {
+                estado.cantidadesVendidas[i] = entrada.readLong();
+            }
+
+            int numeroArchivos = entrada.readInt();
+            for (int i = 0; i < numeroArchivos; i++) {
+                ArchivoRegistrado archivo = ArchivoRegistrado.leer(entrada);
+                estado.archivos.put(archivo.nombre, archivo);
+            }
+
+            return estado;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Guarda el estado en disco. Se escribe primero un archivo temporal que luego
+     * reemplaza al anterior, para no dejar un estado a medio escribir.
+     *
+     * @param ruta ruta del archivo de estado
+     * @throws IOException si ocurre un error al escribir el archivo
+     */
+    public void guardar(Path ruta) throws IOException {
+        Files.createDirectories(ruta.toAbsolutePath().getParent());
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+            salida.writeInt(FIRMA);
+            salida.writeInt(VERSION);
+            salida.writeLong(huellaCatalogos);
+            salida.writeInt(cantidadesVendidas.length);
+            for (long cantidad : cantidadesVendidas) {
+                salida.writeLong(cantidad);
+            }
+
+            salida.writeInt(archivos.size());
+            for (ArchivoRegistrado archivo : archivos.values()) {
+                archivo.escribir(salida);
+            }
+        }
+
+        Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Busca un archivo registrado por su nombre.
+     *
+     * @param nombre nombre del archivo de ventas
+     * @return archivo registrado, o null si no está en el manifiesto
+     */
+    public ArchivoRegistrado buscar(String nombre) {
+        return archivos.get(nombre);
+    }
+
+    /**
+     * Registra el aporte de un archivo, reemplazando el que tuviera antes.
+     *
+     * @param archivo archivo procesado con su aporte parcial
+     */
+    public void registrar(ArchivoRegistrado archivo) {
+        eliminar(archivo.nombre);
+        archivos.put(archivo.nombre, archivo);
+        sumarCantidades(archivo, 1);
+    }
+
+    /**
+     * Elimina un archivo del manifiesto restando su aporte.
+     *
+     * @param nombre nombre del archivo de ventas
+     */
+    public void eliminar(String nombre) {
+        ArchivoRegistrado anterior = archivos.remove(nombre);
+        if (anterior != null) {
+            sumarCantidades(anterior, -1);
+        }
+    }
+
+    /**
+     * Elimina del manifiesto los archivos que ya no existen en la carpeta de ventas.
+     *
+     * @param nombresPresentes nombres de los archivos de ventas actuales
+     * @return número de archivos eliminados
+     */
+    public int eliminarAusentes(Set<String> nombresPresentes) {
+        int eliminados = 0;
+        Iterator<ArchivoRegistrado> iterador = archivos.values().iterator();
+
+        while (iterador.hasNext()) {
+            ArchivoRegistrado archivo = iterador.next();
+            if (!nombresPresentes.contains(archivo.nombre)) {
+                iterador.remove();
+                sumarCantidades(archivo, -1);
+                eliminados++;
+            }
+        }
+
+        return eliminados;
+    }
+
+    /**
+     * Suma o resta las cantidades de un archivo al acumulado por producto.
+     *
+     * @param archivo archivo registrado
+     * @param signo 1 para sumar, -1 para restar
+     */
+    private void sumarCantidades(ArchivoRegistrado archivo, int signo) {
+        for (int i = 0; i < archivo.indicesProductos.length; i++) {
+            cantidadesVendidas[archivo.indicesProductos[i]] += signo * archivo.cantidades[i];
+        }
+    }
+
+    /**
+     * Calcula una huella de los archivos indicados a partir de su tamaño y fecha de modificación.
+     *
+     * @param rutas archivos que forman parte de la huella
+     * @return huella combinada
+     * @throws IOException si no se pueden leer los atributos de algún archivo
+     */
+    public static long calcularHuella(Path... rutas) throws IOException {
+        long huella = 17;
+        for (Path ruta : rutas) {
+            huella = 31 * huella + Files.size(ruta);
+            huella = 31 * huella + Files.getLastModifiedTime(ruta).toMillis();
+        }
+        return huella;
+    }
+
+    /**
+     * Calcula el hash CRC32C del contenido de un archivo.
+     *
+     * @param ruta archivo a leer
+     * @return hash del contenido
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public static long calcularHashContenido(Path ruta) throws IOException {
+        CRC32C crc = new CRC32C();
+        byte[] buffer = new byte[64 * 1024];
+
+        try (InputStream entrada = Files.newInputStream(ruta)) {
+            int leidos;
+            while ((leidos = entrada.read(buffer)) > 0) {
+                crc.update(buffer, 0, leidos);
+            }
+        }
+
+        return crc.getValue();
+    }
+
+    // Getters
+
+    /**
+     * Obtiene las cantidades vendidas por producto de todos los archivos registrados.
+     *
+     * @return cantidades por índice de producto
+     */
+    public long[] getCantidadesVendidas() {
+        return cantidadesVendidas;
+    }
+
+    /**
+     * Entrada del manifiesto: identificación de un archivo de ventas y su aporte parcial.
+     */
+    public static final class ArchivoRegistrado {
+
+        /** Nombre del archivo dentro de la carpeta de ventas */
+        private final String nombre;
+
+        /** Tamaño del archivo en bytes */
+        private final long tamano;
+
+        /** Fecha de modificación en milisegundos */
+        private final long fechaModificacion;
+
+        /** Hash CRC32C del contenido */
+        private final long hashContenido;
+
+        /** Índice del vendedor, o TablaVendedores.NO_ENCONTRADO */
+        private final int indiceVendedor;
+
+        /** Total vendido en el archivo, en centavos */
+        private final MontoCentavos totalVentas;
+
+        /** Índices de los productos vendidos en el archivo */
+        private final int[] indicesProductos;
+
+        /** Cantidades vendidas, en el mismo orden que indicesProductos */
+        private final long[] cantidades;
+
+        /** Registros rechazados del archivo, con su número de línea */
+        private final Diagnosticos.Pendientes problemas;
+
+        /**
+         * Constructor para crear una entrada del manifiesto.
+         *
+         * @param nombre nombre del archivo
+         * @param tamano tamaño en bytes
+         * @param fechaModificacion fecha de modificación en milisegundos
+         * @param hashContenido hash del contenido
+         * @param indiceVendedor índice del vendedor
+         * @param totalVentas total vendido en el archivo, en centavos
+         * @param indicesProductos índices de los productos vendidos
+         * @param cantidades cantidades vendidas por producto
+         * @param problemas registros rechazados del archivo
+         */
+        public ArchivoRegistrado(String nombre, long tamano, long fechaModificacion, long hashContenido,
+                                 int indiceVendedor, MontoCentavos totalVentas, int[] indicesProductos,
+                                 long[] cantidades, Diagnosticos.Pendientes problemas) {
+            this.nombre = nombre;
+            this.tamano = tamano;
+            this.fechaModificacion = fechaModificacion;
+            this.hashContenido = hashContenido;
+            this.indiceVendedor = indiceVendedor;
+            this.totalVentas = totalVentas;
+            this.indicesProductos = indicesProductos;
+            this.cantidades = cantidades;
+            this.problemas = problemas;
+        }
+
+        /**
+         * Indica si el archivo conserva el tamaño y la fecha registrados.
+         *
+         * @param tamanoActual tamaño actual en bytes
+         * @param fechaActual fecha de modificación actual en milisegundos
+         * @return true si ambos valores coinciden
+         */
+        public boolean coincideCon(long tamanoActual, long fechaActual) {
+            return tamano == tamanoActual && fechaModificacion == fechaActual;
+        }
+
+        /**
+         * Crea una copia de la entrada con otra fecha de modificación, para archivos
+         * cuyo contenido no cambió.
+         *
+         * @param nuevaFecha nueva fecha de modificación en milisegundos
+         * @return entrada actualizada
+         */
+        public ArchivoRegistrado conFecha(long nuevaFecha) {
+            return new ArchivoRegistrado(nombre, tamano, nuevaFecha, hashContenido, indiceVendedor,
+                    totalVentas, indicesProductos, cantidades, problemas);
+        }
+
+        /**
+         * Lee una entrada desde el archivo de estado.
+         *
+         * @param entrada flujo de datos del archivo de estado
+         * @return entrada leída
+         * @throws IOException si ocurre un error de lectura
+         */
+        private static ArchivoRegistrado leer(DataInputStream entrada) throws IOException {
+            String nombre = entrada.readUTF();
+            long tamano = entrada.readLong();
+            long fecha = entrada.readLong();
+            long hash = entrada.readLong();
+            int vendedor = entrada.readInt();
+            MontoCentavos total = new MontoCentavos();
+            total.sumar(entrada.readLong(), entrada.readLong());
+
+            int distintos = entrada.readInt();
+            int[] indices = new int[distintos];
+            long[] cantidades = new long[distintos];
+            for (int i = 0; i < distintos; i++) {
+                indices[i] = entrada.readInt();
+                cantidades[i] = entrada.readLong();
+            }
+            Diagnosticos.Pendientes problemas = Diagnosticos.Pendientes.leer(entrada);
+
+            return new ArchivoRegistrado(nombre, tamano, fecha, hash, vendedor, total, indices, cantidades,
+                    problemas);
+        }
+
+        /**
+         * Escribe la entrada en el archivo de estado.
+         *
+         * @param salida flujo de datos del archivo de estado
+         * @throws IOException si ocurre un error de escritura
+         */
+        private void escribir(DataOutputStream salida) throws IOException {
+            salida.writeUTF(nombre);
+            salida.writeLong(tamano);
+            salida.writeLong(fechaModificacion);
+            salida.writeLong(hashContenido);
+            salida.writeInt(indiceVendedor);
+            salida.writeLong(totalVentas.getAlto());
+            salida.writeLong(totalVentas.getBajo());
+
+            salida.writeInt(indicesProductos.length);
+            for (int i = 0; i < indicesProductos.length; i++) {
+                salida.writeInt(indicesProductos[i]);
+                salida.writeLong(cantidades[i]);
+            }
+            problemas.escribir(salida);
+        }
+
+        // Getters
+
+        /**
+         * Obtiene el hash del contenido registrado.
+         *
+         * @return hash CRC32C del contenido
+         */
+        public long getHashContenido() {
+            return hashContenido;
+        }
+
+        /**
+         * Obtiene el índice del vendedor del archivo.
+         *
+         * @return índice del vendedor, o TablaVendedores.NO_ENCONTRADO
+         */
+        public int getIndiceVendedor() {
+            return indiceVendedor;
+        }
+
+        /**
+         * Obtiene el total vendido en el archivo.
+         *
+         * @return total vendido, en centavos
+         */
+        public MontoCentavos getTotalVentas() {
+            return totalVentas;
+        }
+
+        /**
+         * Obtiene los índices de los productos vendidos en el archivo.
+         *
+         * @return índices de productos
+         */
+        public int[] getIndicesProductos() {
+            return indicesProductos;
+        }
+
+        /**
+         * Obtiene las cantidades vendidas en el archivo, en el orden de getIndicesProductos.
+         *
+         * @return cantidades por producto
+         */
+        public long[] getCantidades() {
+            return cantidades;
+        }
+
+        /**
+         * Obtiene los registros rechazados del archivo.
+         *
+         * @return problemas con su número de línea dentro del archivo
+         */
+        public Diagnosticos.Pendientes getProblemas() {
+            return problemas;
+        }
+    }
+}
\ No newline at end of file
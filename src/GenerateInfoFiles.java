@@ -1,12 +1,19 @@
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Random;
-import java.util.Set;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Clase para generar archivos de información pseudoaleatorios para el sistema de ventas.
@@ -18,6 +25,22 @@ import java.util.Set;
  * - datos/productos/productos.txt
  * - datos/ventas/vendedor_[documento].txt (múltiples archivos)
  *
+ * La carpeta base "datos" puede cambiarse con la propiedad del sistema cfp.datos.
+ *
+ * Los tamaños se indican por línea de comandos (ver {@link OpcionesGeneracion}). Cada
+ * archivo usa su propio flujo SplittableRandom derivado de la semilla y de una clave
+ * del archivo (el documento del vendedor en los archivos de ventas), de modo que la
+ * misma semilla produce los mismos archivos sin importar cuántos hilos los escriban.
+ *
+ * Con --comprimir todos los archivos se escriben comprimidos con gzip (.txt.gz), con el
+ * mismo contenido que tendrían sin comprimir. Al escribir un archivo se borra su otra
+ * versión, para que una copia vieja sin comprimir no tape a la nueva al leer los datos.
+ *
+ * Con --dias N las líneas de venta se escriben en formato v2, precedidas por una marca de
+ * tiempo (aaaa-MM-ddTHH:mm:ss) dentro de los N días que empiezan en FECHA_INICIAL_VENTAS, en
+ * orden creciente dentro de cada archivo. Las marcas salen de un flujo aparte, así que los
+ * productos y cantidades son los mismos que sin --dias.
+ *
  * @author FABIAN ESTIBEN ROMERO VILLAMIL
  * @author JOHANNA LONDOÑO ALZATE
  * @author MAURICIO FIGUEREDO TORRES
@@ -28,7 +51,7 @@ import java.util.Set;
 public class GenerateInfoFiles {
 
     // constantes para rutas de archivos
-    private static final String CARPETA_DATOS = "datos";
+    private static final String CARPETA_DATOS = System.getProperty("cfp.datos", "datos");
     private static final String CARPETA_VENDEDORES = CARPETA_DATOS + "/vendedores";
     private static final String CARPETA_PRODUCTOS = CARPETA_DATOS + "/productos";
     private static final String CARPETA_VENTAS = CARPETA_DATOS + "/ventas";
@@ -65,30 +88,61 @@ public class GenerateInfoFiles {
             "Kit Limpiador Pantallas", "Batería Externa 10000mAh", "Adaptador HDMI VGA"
     };
 
-    private static final Random random = new Random();
+    // rangos de números de documento por tipo, en el orden de TIPOS_DOCUMENTO
+    private static final long[] INICIO_DOCUMENTO = {10000000L, 1000000L, 1000000000L};
+    private static final long[] CANTIDAD_DOCUMENTOS = {90000000L, 9000000L, 1000000000L};
+
+    // claves de los flujos pseudoaleatorios de los catálogos (los documentos son positivos)
+    private static final long CLAVE_VENDEDORES = -1;
+    private static final long CLAVE_PRODUCTOS = -2;
+
+    // máximo de productos distintos en una línea de venta
+    private static final int MAXIMO_PRODUCTOS_POR_VENTA = 6;
+
+    // primer día de las marcas de tiempo de las ventas (formato v2)
+    private static final LocalDate FECHA_INICIAL_VENTAS = LocalDate.of(2025, 1, 1);
+
+    private static final long SEGUNDOS_POR_DIA = 24 * 60 * 60;
+
+    // tamaño del buffer de escritura de cada archivo
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    // semilla de la que se derivan los flujos pseudoaleatorios de todos los archivos
+    private static long semilla = System.nanoTime();
+
+    // indica si los archivos se escriben comprimidos con gzip
+    private static boolean comprimir = false;
+
+    // días que abarcan las marcas de tiempo de las ventas (0 = formato sin marca de tiempo)
+    private static int diasVentas = 0;
 
-    // listas para mantener coherencia entre archivos
-    private static List<Long> documentosVendedores = new ArrayList<>();
-    private static List<String> idsProductos = new ArrayList<>();
+    // arreglos para mantener coherencia entre archivos
+    private static long[] documentosVendedores = new long[0];
+    private static String[] idsProductos = new String[0];
 
     /**
      * Metodo principal que coordina la generación de todos los archivos necesarios.
      * Crea las carpetas necesarias y genera los archivos organizados por tipo.
      *
-     * @param args argumentos de línea de comandos (no utilizados)
+     * @param args argumentos de línea de comandos (ver {@link OpcionesGeneracion})
      */
     public static void main(String[] args) {
         try {
+            OpcionesGeneracion opciones = OpcionesGeneracion.desdeArgumentos(args);
+            semilla = opciones.getSemilla();
+            comprimir = opciones.esComprimir();
+            diasVentas = opciones.getDiasVentas();
+
             System.out.println("=== GENERADOR DE ARCHIVOS DE INFORMACIÓN ===");
-            System.out.println("Iniciando generación de archivos de información...\n");
+            System.out.println("Iniciando generación de archivos de información (semilla " + semilla + ")...\n");
 
             // crear estructura de carpetas
             crearEstructuraCarpetas();
             System.out.println("✓ Estructura de carpetas creada");
 
             // configurar parametros de generación
-            int numeroVendedores = 15;
-            int numeroProductos = 25;
+            int numeroVendedores = opciones.getVendedores();
+            int numeroProductos = opciones.getProductos();
 
             // generar archivo de información de vendedores
             createSalesManInfoFile(numeroVendedores);
@@ -98,15 +152,9 @@ public class GenerateInfoFiles {
             createProductsFile(numeroProductos);
             System.out.println("✓ Archivo de productos generado (" + numeroProductos + " productos)");
 
-            // generar archivos de ventas para cada vendedor
-            int totalVentas = 0;
-            for (int i = 0; i < numeroVendedores; i++) {
-                long documentoVendedor = documentosVendedores.get(i);
-                String nombreArchivo = "vendedor_" + documentoVendedor;
-                int numeroVentas = random.nextInt(20) + 10; // Entre 10 y 29 ventas
-                totalVentas += numeroVentas;
-                createSalesMenFile(numeroVentas, nombreArchivo, documentoVendedor);
-            }
+            // generar archivos de ventas para cada vendedor, en paralelo
+            long totalVentas = createSalesMenFiles(opciones.getVentasMinimas(), opciones.getVentasMaximas(),
+                    opciones.getHilos());
             System.out.println("✓ Archivos de ventas generados (" + totalVentas + " ventas totales)");
 
             // mostrar resumen final
@@ -124,39 +172,60 @@ public class GenerateInfoFiles {
      * Crea un archivo con información pseudoaleatoria de vendedores.
      * Formato: TipoDocumento;NúmeroDocumento;NombresVendedor;ApellidosVendedor
      *
+     * Los números de documento se obtienen recorriendo una permutación pseudoaleatoria
+     * del rango de cada tipo, así que son únicos sin necesidad de recordar los ya usados.
+     *
      * @param salesmanCount número de vendedores a generar
      * @throws IOException si ocurre un error al escribir el archivo
-     * @throws IllegalArgumentException si salesmanCount es menor o igual a 0
+     * @throws IllegalArgumentException si salesmanCount es menor o igual a 0 o supera los documentos disponibles
      */
     public static void createSalesManInfoFile(int salesmanCount) throws IOException {
         if (salesmanCount <= 0) {
             throw new IllegalArgumentException("El número de vendedores debe ser positivo");
         }
 
-        Set<Long> documentosUsados = new HashSet<>();
-        String rutaArchivo = CARPETA_VENDEDORES + "/vendedores.txt";
+        long documentosDisponibles = 0;
+        for (long cantidad : CANTIDAD_DOCUMENTOS) {
+            documentosDisponibles += cantidad;
+        }
+        if (salesmanCount > documentosDisponibles) {
+            throw new IllegalArgumentException("Máximo " + documentosDisponibles + " vendedores disponibles");
+        }
+
+        SplittableRandom flujo = crearFlujo(CLAVE_VENDEDORES);
 
-        try (PrintWriter writer = new PrintWriter(new FileWriter(rutaArchivo))) {
+        // una permutación (multiplicador, desplazamiento) por tipo de documento
+        long[] multiplicadores = new long[TIPOS_DOCUMENTO.length];
+        long[] desplazamientos = new long[TIPOS_DOCUMENTO.length];
+        long[] usados = new long[TIPOS_DOCUMENTO.length];
+        for (int tipo = 0; tipo < TIPOS_DOCUMENTO.length; tipo++) {
+            multiplicadores[tipo] = generarMultiplicador(flujo, CANTIDAD_DOCUMENTOS[tipo]);
+            desplazamientos[tipo] = flujo.nextLong(CANTIDAD_DOCUMENTOS[tipo]);
+        }
+
+        documentosVendedores = new long[salesmanCount];
+        String rutaArchivo = rutaSalida(CARPETA_VENDEDORES + "/vendedores.txt");
+
+        try (BufferedWriter writer = abrirArchivo(rutaArchivo)) {
             for (int i = 0; i < salesmanCount; i++) {
-                // generar tipo de documento aleatorio
-                String tipoDocumento = TIPOS_DOCUMENTO[random.nextInt(TIPOS_DOCUMENTO.length)];
+                // generar tipo de documento aleatorio, saltando los tipos sin documentos libres
+                int tipo = flujo.nextInt(TIPOS_DOCUMENTO.length);
+                while (usados[tipo] == CANTIDAD_DOCUMENTOS[tipo]) {
+                    tipo = (tipo + 1) % TIPOS_DOCUMENTO.length;
+                }
 
                 // generar número de documento único
-                long numeroDocumento;
-                do {
-                    numeroDocumento = generateDocumentNumber(tipoDocumento);
-                } while (documentosUsados.contains(numeroDocumento));
-
-                documentosUsados.add(numeroDocumento);
-                documentosVendedores.add(numeroDocumento);
+                long posicion = (multiplicadores[tipo] * usados[tipo]++ + desplazamientos[tipo])
+                        % CANTIDAD_DOCUMENTOS[tipo];
+                long numeroDocumento = INICIO_DOCUMENTO[tipo] + posicion;
+                documentosVendedores[i] = numeroDocumento;
 
                 // generar nombres y apellidos aleatorios
-                String nombres = generateRandomName();
-                String apellidos = generateRandomLastName();
+                String nombres = generateRandomName(flujo);
+                String apellidos = generateRandomLastName(flujo);
 
-                String linea = String.format("%s;%d;%s;%s",
-                        tipoDocumento, numeroDocumento, nombres, apellidos);
-                writer.println(linea);
+                writer.write(TIPOS_DOCUMENTO[tipo] + ";" + numeroDocumento + ";" + nombres + ";" + apellidos);
+                writer.newLine();
             }
         }
 
@@ -167,6 +236,11 @@ public class GenerateInfoFiles {
      * Crea un archivo con información pseudoaleatoria de productos.
      * Formato: IDProducto;NombreProducto;PrecioPorUnidadProducto
      *
+     * Los primeros productos toman los nombres de la lista PRODUCTOS; a partir de ahí se
+     * generan nombres sintéticos ("Hub USB 3.0 Serie 2", ...). Los IDs se toman de un
+     * espacio de al menos mil valores y diez veces el número de productos: hasta 100
+     * productos tienen el formato PROD000 y desde 101 agregan dígitos (PROD0000, ...).
+     *
      * @param productsCount número de productos a generar
      * @throws IOException si ocurre un error al escribir el archivo
      * @throws IllegalArgumentException si productsCount es inválido
@@ -176,50 +250,102 @@ public class GenerateInfoFiles {
             throw new IllegalArgumentException("El número de productos debe ser positivo");
         }
 
-        if (productsCount > PRODUCTOS.length) {
-            throw new IllegalArgumentException("Máximo " + PRODUCTOS.length + " productos disponibles");
-        }
-
-        // generar IDs únicos para productos
-        Set<String> idsUsados = new HashSet<>();
-        List<String> productosDisponibles = new ArrayList<>();
+        SplittableRandom flujo = crearFlujo(CLAVE_PRODUCTOS);
 
-        for (String producto : PRODUCTOS) {
-            productosDisponibles.add(producto);
+        // espacio de IDs: al menos 1000 y diez veces el número de productos, para que se vean dispersos
+        long espacioIds = 1000;
+        int digitosId = 3;
+        while (espacioIds < 10L * productsCount) {
+            espacioIds *= 10;
+            digitosId++;
+        }
+        long multiplicador = generarMultiplicador(flujo, espacioIds);
+        long desplazamiento = flujo.nextLong(espacioIds);
+        String formatoId = "PROD%0" + digitosId + "d";
+
+        // los nombres de la lista se reparten en orden aleatorio
+        String[] nombresDisponibles = PRODUCTOS.clone();
+        for (int i = nombresDisponibles.length - 1; i > 0; i--) {
+            int j = flujo.nextInt(i + 1);
+            String temporal = nombresDisponibles[i];
+            nombresDisponibles[i] = nombresDisponibles[j];
+            nombresDisponibles[j] = temporal;
         }
 
-        String rutaArchivo = CARPETA_PRODUCTOS + "/productos.txt";
+        idsProductos = new String[productsCount];
+        String rutaArchivo = rutaSalida(CARPETA_PRODUCTOS + "/productos.txt");
 
-        try (PrintWriter writer = new PrintWriter(new FileWriter(rutaArchivo))) {
+        try (BufferedWriter writer = abrirArchivo(rutaArchivo)) {
             for (int i = 0; i < productsCount; i++) {
-                // Generar ID único
-                String idProducto;
-                do {
-                    idProducto = "PROD" + String.format("%03d", random.nextInt(1000));
-                } while (idsUsados.contains(idProducto));
+                // generar ID único
+                String idProducto = String.format(formatoId, (multiplicador * i + desplazamiento) % espacioIds);
+                idsProductos[i] = idProducto;
 
-                idsUsados.add(idProducto);
-                idsProductos.add(idProducto);
+                String nombreProducto = (i < nombresDisponibles.length)
+                        ? nombresDisponibles[i]
+                        : nombresDisponibles[i % nombresDisponibles.length] + " Serie " + (i / nombresDisponibles.length + 1);
 
-                int indiceProducto = random.nextInt(productosDisponibles.size());
-                String nombreProducto = productosDisponibles.remove(indiceProducto);
+                double precio = (flujo.nextDouble() * 3485000) + 15000;
+                long precioRedondeado = Math.round(precio / 1000) * 1000; // Redondear a miles
 
-                double precio = (random.nextDouble() * 3485000) + 15000;
-                precio = Math.round(precio / 1000) * 1000; // Redondear a miles
-
-                String linea = String.format("%s;%s;%.0f",
-                        idProducto, nombreProducto, precio);
-                writer.println(linea);
+                writer.write(idProducto + ";" + nombreProducto + ";" + precioRedondeado);
+                writer.newLine();
             }
         }
 
         System.out.println("   → Archivo creado: " + rutaArchivo);
     }
 
+    /**
+     * Crea los archivos de ventas de todos los vendedores generados, en paralelo.
+     * Cada archivo usa su propio flujo pseudoaleatorio, por lo que el contenido no
+     * depende del número de hilos ni del orden en que se escriben.
+     *
+     * @param ventasMinimas mínimo de líneas de venta por vendedor
+     * @param ventasMaximas máximo de líneas de venta por vendedor
+     * @param hilos número de hilos de escritura
+     * @return total de líneas de venta generadas
+     * @throws IOException si ocurre un error al escribir algún archivo
+     * @throws IllegalStateException si no se han generado los archivos de vendedores y productos
+     */
+    public static long createSalesMenFiles(int ventasMinimas, int ventasMaximas, int hilos) throws IOException {
+        if (documentosVendedores.length == 0) {
+            throw new IllegalStateException("Debe generar el archivo de vendedores primero");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(hilos);
+        try {
+            return pool.submit(() -> IntStream.range(0, documentosVendedores.length).parallel()
+                    .mapToLong(i -> {
+                        long documento = documentosVendedores[i];
+                        SplittableRandom flujo = crearFlujo(documento);
+                        int numeroVentas = ventasMinimas + flujo.nextInt(ventasMaximas - ventasMinimas + 1);
+                        try {
+                            escribirArchivoVentas(numeroVentas, "vendedor_" + documento, documento, flujo);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return numeroVentas;
+                    })
+                    .sum()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Generación de archivos de ventas interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException("Error generando archivos de ventas: " + e.getCause().getMessage(), e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /**
      * Crea un archivo de ventas pseudoaleatorio para un vendedor específico.
      * Primera línea: TipoDocumentoVendedor;NúmeroDocumentoVendedor
      * Líneas siguientes: IDProducto1;CantidadProducto1;IDProducto2;CantidadProducto2;...
+     * o, con --dias, aaaa-MM-ddTHH:mm:ss;IDProducto1;CantidadProducto1;... (formato v2)
      *
      * @param randomSalesCount número de ventas a generar
      * @param name nombre base para el archivo
@@ -229,81 +355,227 @@ public class GenerateInfoFiles {
      * @throws IllegalStateException si no se ha generado el archivo de productos
      */
     public static void createSalesMenFile(int randomSalesCount, String name, long id) throws IOException {
+        escribirArchivoVentas(randomSalesCount, name, id, crearFlujo(id));
+    }
+
+    /**
+     * Escribe un archivo de ventas con el flujo pseudoaleatorio indicado.
+     *
+     * @param randomSalesCount número de ventas a generar
+     * @param name nombre base para el archivo
+     * @param id número de documento del vendedor
+     * @param flujo flujo pseudoaleatorio propio del archivo
+     * @throws IOException si ocurre un error al escribir el archivo
+     * @throws IllegalArgumentException si randomSalesCount es inválido
+     * @throws IllegalStateException si no se ha generado el archivo de productos
+     */
+    private static void escribirArchivoVentas(int randomSalesCount, String name, long id, SplittableRandom flujo)
+            throws IOException {
         if (randomSalesCount <= 0) {
             throw new IllegalArgumentException("El número de ventas debe ser positivo");
         }
 
-        if (idsProductos.isEmpty()) {
+        if (idsProductos.length == 0) {
             throw new IllegalStateException("Debe generar el archivo de productos primero");
         }
 
-        String rutaArchivo = CARPETA_VENTAS + "/" + name + ".txt";
+        String rutaArchivo = rutaSalida(CARPETA_VENTAS + "/" + name + ".txt");
+        int maximoProductos = Math.min(MAXIMO_PRODUCTOS_POR_VENTA, idsProductos.length);
+        int[] productosUsados = new int[maximoProductos];
+        StringBuilder linea = new StringBuilder(128);
+        long[] segundos = (diasVentas > 0) ? generarSegundos(randomSalesCount, id) : null;
+        long diaFecha = -1;
+        String fecha = "";
 
-        try (PrintWriter writer = new PrintWriter(new FileWriter(rutaArchivo))) {
+        try (BufferedWriter writer = abrirArchivo(rutaArchivo)) {
             String tipoDocumento = getTipoDocumentoById(id);
-            writer.println(tipoDocumento + ";" + id);
+            writer.write(tipoDocumento + ";" + id);
+            writer.newLine();
 
             // Generar las ventas
             for (int i = 0; i < randomSalesCount; i++) {
-                List<String> ventaLinea = new ArrayList<>();
-
-                int productosEnVenta = random.nextInt(6) + 1;
-                Set<String> productosUsados = new HashSet<>();
+                linea.setLength(0);
+                if (segundos != null) {
+                    long dia = segundos[i] / SEGUNDOS_POR_DIA;
+                    if (dia != diaFecha) {
+                        diaFecha = dia;
+                        fecha = FECHA_INICIAL_VENTAS.plusDays(dia).toString();
+                    }
+                    int segundoDelDia = (int) (segundos[i] % SEGUNDOS_POR_DIA);
+                    linea.append(fecha).append('T');
+                    agregarDosDigitos(linea, segundoDelDia / 3600).append(':');
+                    agregarDosDigitos(linea, segundoDelDia / 60 % 60).append(':');
+                    agregarDosDigitos(linea, segundoDelDia % 60).append(';');
+                }
+                int productosEnVenta = flujo.nextInt(maximoProductos) + 1;
 
                 for (int j = 0; j < productosEnVenta; j++) {
-                    String idProducto;
+                    int indiceProducto;
                     do {
-                        idProducto = idsProductos.get(random.nextInt(idsProductos.size()));
-                    } while (productosUsados.contains(idProducto));
+                        indiceProducto = flujo.nextInt(idsProductos.length);
+                    } while (contiene(productosUsados, j, indiceProducto));
 
-                    productosUsados.add(idProducto);
+                    productosUsados[j] = indiceProducto;
 
-                    int cantidad = random.nextInt(25) + 1;
+                    int cantidad = flujo.nextInt(25) + 1;
 
-                    ventaLinea.add(idProducto + ";" + cantidad);
+                    if (j > 0) {
+                        linea.append(';');
+                    }
+                    linea.append(idsProductos[indiceProducto]).append(';').append(cantidad);
                 }
 
-                writer.println(String.join(";", ventaLinea));
+                writer.append(linea);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Genera los instantes de las ventas de un archivo en orden creciente, como segundos
+     * desde FECHA_INICIAL_VENTAS. Usan un flujo propio del archivo, distinto del de los
+     * productos (~id no coincide con ningún documento ni con las claves de los catálogos).
+     *
+     * @param cantidad número de ventas
+     * @param id número de documento del vendedor
+     * @return segundos ordenados dentro de los diasVentas días
+     */
+    private static long[] generarSegundos(int cantidad, long id) {
+        SplittableRandom flujoFechas = crearFlujo(~id);
+        long[] segundos = new long[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            segundos[i] = flujoFechas.nextLong(diasVentas * SEGUNDOS_POR_DIA);
+        }
+        Arrays.sort(segundos);
+        return segundos;
+    }
+
+    /**
+     * Agrega un número de 0 a 99 con dos dígitos.
+     *
+     * @param linea texto al que se agrega
+     * @param valor número a agregar
+     * @return el mismo texto
+     */
+    private static StringBuilder agregarDosDigitos(StringBuilder linea, int valor) {
+        return linea.append((char) ('0' + valor / 10)).append((char) ('0' + valor % 10));
+    }
+
+    /**
+     * Indica si un valor aparece entre las primeras posiciones de un arreglo.
+     *
+     * @param valores arreglo de valores
+     * @param cantidad número de posiciones a revisar
+     * @param valor valor buscado
+     * @return true si el valor está en valores[0 .. cantidad-1]
+     */
+    private static boolean contiene(int[] valores, int cantidad, int valor) {
+        for (int i = 0; i < cantidad; i++) {
+            if (valores[i] == valor) {
+                return true;
             }
         }
+        return false;
+    }
+
+    /**
+     * Crea el flujo pseudoaleatorio de un archivo a partir de la semilla y una clave.
+     *
+     * @param clave clave del archivo (documento del vendedor o CLAVE_VENDEDORES / CLAVE_PRODUCTOS)
+     * @return flujo pseudoaleatorio independiente para el archivo
+     */
+    private static SplittableRandom crearFlujo(long clave) {
+        // Mezcla de bits (finalizador de MurmurHash3) para separar bien claves consecutivas
+        long mezcla = semilla ^ (clave * 0x9E3779B97F4A7C15L);
+        mezcla = (mezcla ^ (mezcla >>> 33)) * 0xFF51AFD7ED558CCDL;
+        mezcla = (mezcla ^ (mezcla >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return new SplittableRandom(mezcla ^ (mezcla >>> 33));
+    }
+
+    /**
+     * Genera un multiplicador primo relativo con el tamaño de un rango, de modo que
+     * (multiplicador * i + desplazamiento) % tamano recorra todo el rango sin repetir.
+     *
+     * @param flujo flujo pseudoaleatorio
+     * @param tamano tamaño del rango
+     * @return multiplicador entre 1 y tamano - 1 (o 1 si el rango tiene un solo valor)
+     */
+    private static long generarMultiplicador(SplittableRandom flujo, long tamano) {
+        if (tamano <= 2) {
+            return 1;
+        }
+
+        long multiplicador;
+        do {
+            multiplicador = 1 + flujo.nextLong(tamano - 1);
+        } while (maximoComunDivisor(multiplicador, tamano) != 1);
+        return multiplicador;
+    }
+
+    /**
+     * Calcula el máximo común divisor de dos números positivos.
+     *
+     * @param a primer número
+     * @param b segundo número
+     * @return máximo común divisor
+     */
+    private static long maximoComunDivisor(long a, long b) {
+        while (b != 0) {
+            long resto = a % b;
+            a = b;
+            b = resto;
+        }
+        return a;
+    }
+
+    /**
+     * Obtiene la ruta con la que se escribe un archivo: la misma, o terminada en .gz
+     * si los archivos se generan comprimidos.
+     *
+     * @param rutaTexto ruta del archivo sin comprimir
+     * @return ruta del archivo a escribir
+     */
+    private static String rutaSalida(String rutaTexto) {
+        return comprimir ? rutaTexto + EntradaComprimida.EXTENSION_GZIP : rutaTexto;
     }
 
     /**
-     * Genera un número de documento aleatorio según el tipo.
-     * CC: 10,000,000 - 99,999,999
-     * CE: 1,000,000 - 9,999,999
-     * TI: 1,000,000,000 - 1,999,999,999
+     * Abre un archivo para escritura en UTF-8 con un buffer grande, comprimiéndolo con
+     * gzip si su ruta termina en .gz. Borra la otra versión del archivo (comprimida o
+     * sin comprimir) si existe.
      *
-     * @param tipoDocumento tipo de documento (CC, CE, TI)
-     * @return número de documento generado
+     * @param rutaArchivo ruta del archivo
+     * @return escritor del archivo
+     * @throws IOException si no se puede crear el archivo
      */
-    private static long generateDocumentNumber(String tipoDocumento) {
-        switch (tipoDocumento) {
-            case "CC":
-
-                return random.nextInt(90000000) + 10000000L;
-            case "CE":
-                return random.nextInt(9000000) + 1000000L;
-            case "TI":
-                return random.nextInt(1000000000) + 1000000000L;
-            default:
-                return random.nextInt(90000000) + 10000000L;
+    private static BufferedWriter abrirArchivo(String rutaArchivo) throws IOException {
+        boolean comprimido = EntradaComprimida.esComprimido(rutaArchivo);
+        String otraVersion = comprimido
+                ? rutaArchivo.substring(0, rutaArchivo.length() - EntradaComprimida.EXTENSION_GZIP.length())
+                : rutaArchivo + EntradaComprimida.EXTENSION_GZIP;
+        Files.deleteIfExists(Paths.get(otraVersion));
+
+        OutputStream salida = Files.newOutputStream(Paths.get(rutaArchivo));
+        if (comprimido) {
+            salida = new GZIPOutputStream(salida, TAMANO_BUFFER);
         }
+        return new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), TAMANO_BUFFER);
     }
 
     /**
      * Genera un nombre aleatorio, posiblemente compuesto.
      * 30% de probabilidad de tener segundo nombre.
      *
+     * @param flujo flujo pseudoaleatorio del archivo
      * @return nombre generado
      */
-    private static String generateRandomName() {
-        String primerNombre = NOMBRES[random.nextInt(NOMBRES.length)];
+    private static String generateRandomName(SplittableRandom flujo) {
+        String primerNombre = NOMBRES[flujo.nextInt(NOMBRES.length)];
 
-        if (random.nextDouble() < 0.3) {
+        if (flujo.nextDouble() < 0.3) {
             String segundoNombre;
             do {
-                segundoNombre = NOMBRES[random.nextInt(NOMBRES.length)];
+                segundoNombre = NOMBRES[flujo.nextInt(NOMBRES.length)];
             } while (segundoNombre.equals(primerNombre));
             return primerNombre + " " + segundoNombre;
         }
@@ -314,14 +586,15 @@ public class GenerateInfoFiles {
     /**
      * Genera apellidos aleatorios (siempre dos apellidos diferentes).
      *
+     * @param flujo flujo pseudoaleatorio del archivo
      * @return apellidos generados
      */
-    private static String generateRandomLastName() {
-        String primerApellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+    private static String generateRandomLastName(SplittableRandom flujo) {
+        String primerApellido = APELLIDOS[flujo.nextInt(APELLIDOS.length)];
         String segundoApellido;
 
         do {
-            segundoApellido = APELLIDOS[random.nextInt(APELLIDOS.length)];
+            segundoApellido = APELLIDOS[flujo.nextInt(APELLIDOS.length)];
         } while (segundoApellido.equals(primerApellido));
 
         return primerApellido + " " + segundoApellido;
@@ -379,7 +652,7 @@ public class GenerateInfoFiles {
      * @param numeroProductos cantidad de productos generados
      * @param totalVentas total de ventas generadas
      */
-    private static void mostrarResumenGeneracion(int numeroVendedores, int numeroProductos, int totalVentas) {
+    private static void mostrarResumenGeneracion(int numeroVendedores, int numeroProductos, long totalVentas) {
         System.out.println("\n" + "=".repeat(50));
         System.out.println("           GENERACIÓN COMPLETADA EXITOSAMENTE");
         System.out.println("=".repeat(50));
@@ -389,6 +662,14 @@ public class GenerateInfoFiles {
         System.out.println("   • Productos generados: " + numeroProductos);
         System.out.println("   • Total de ventas: " + totalVentas);
         System.out.println("   • Promedio ventas/vendedor: " + (totalVentas / numeroVendedores));
+        System.out.println("   • Semilla: " + semilla + " (usa --semilla para repetir esta generación)");
+        if (comprimir) {
+            System.out.println("   • Archivos comprimidos con gzip (.txt.gz)");
+        }
+        if (diasVentas > 0) {
+            System.out.println("   • Ventas con marca de tiempo (formato v2) desde " + FECHA_INICIAL_VENTAS +
+                    " durante " + diasVentas + " días");
+        }
 
     }
 }
\ No newline at end of file
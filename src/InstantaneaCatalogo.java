@@ -0,0 +1,413 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase que guarda una copia binaria (instantánea) de un catálogo ya interpretado,
+ * para no volver a leer vendedores.txt o productos.txt como texto en cada ejecución.
+ *
+ * La instantánea se guarda junto al catálogo (vendedores.cat, productos.cat) y es
+ * válida mientras coincida la huella (tamaño y fecha de modificación) del archivo de
+ * texto con la que se construyó. Formato, en columnas:
+ *
+ * - encabezado: firma, versión, tipo de catálogo, huella y número de registros
+ * - cadenas: número de cadenas distintas, posiciones de inicio y bytes UTF-8
+ * - una columna long por registro (documento del vendedor o precio en centavos)
+ * - columnas de referencias a cadenas (tipo, nombres y apellidos del vendedor;
+ *   ID y nombre del producto)
+ * - líneas rechazadas del texto original, para que se sigan registrando en los
+ *   diagnósticos de cada ejecución
+ *
+ * Las cadenas repetidas (nombres, tipos de documento) se guardan una sola vez. Al
+ * cargar, el archivo se mapea en memoria y las columnas se copian en bloque.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class InstantaneaCatalogo {
+
+    /** Tipo de catálogo: vendedores.txt */
+    public static final byte VENDEDORES = 1;
+
+    /** Tipo de catálogo: productos.txt */
+    public static final byte PRODUCTOS = 2;
+
+    /** Identificador del formato de la instantánea */
+    private static final int FIRMA = 0x43465043;
+
+    /** Versión del formato de la instantánea */
+    private static final int VERSION = 1;
+
+    /** Tipo de catálogo de la instantánea */
+    private final byte tipo;
+
+    /** Huella del archivo de texto con el que se construyó */
+    private final long huella;
+
+    /** Cadenas distintas referenciadas por las columnas */
+    private final String[] cadenas;
+
+    /** Columna numérica: documento del vendedor o precio del producto en centavos */
+    private final long[] valores;
+
+    /** Columnas de referencias a cadenas, una por atributo de texto */
+    private final int[][] referencias;
+
+    /** Líneas rechazadas al interpretar el texto */
+    private final List<Rechazo> rechazos;
+
+    /**
+     * Constructor para crear una instantánea a partir de sus columnas.
+     *
+     * @param tipo tipo de catálogo (VENDEDORES o PRODUCTOS)
+     * @param huella huella del archivo de texto
+     * @param cadenas cadenas distintas
+     * @param valores columna numérica
+     * @param referencias columnas de referencias a cadenas
+     * @param rechazos líneas rechazadas del texto
+     */
+    private InstantaneaCatalogo(byte tipo, long huella, String[] cadenas, long[] valores,
+                                int[][] referencias, List<Rechazo> rechazos) {
+        this.tipo = tipo;
+        this.huella = huella;
+        this.cadenas = cadenas;
+        this.valores = valores;
+        this.referencias = referencias;
+        this.rechazos = rechazos;
+    }
+
+    /**
+     * Obtiene la ruta de la instantánea de un catálogo (misma carpeta, extensión .cat).
+     *
+     * @param rutaTexto ruta del catálogo en texto
+     * @return ruta de la instantánea
+     */
+    public static Path rutaPara(Path rutaTexto) {
+        String nombre = rutaTexto.getFileName().toString();
+        int punto = nombre.lastIndexOf('.');
+        return rutaTexto.resolveSibling((punto > 0 ? nombre.substring(0, punto) : nombre) + ".cat");
+    }
+
+    /**
+     * Construye la instantánea de una tabla de vendedores.
+     *
+     * @param huella huella de vendedores.txt tomada antes de leerlo
+     * @param vendedores tabla cargada desde el texto
+     * @param rechazos líneas rechazadas al leer el texto
+     * @return instantánea del catálogo
+     */
+    public static InstantaneaCatalogo deVendedores(long huella, TablaVendedores vendedores, List<Rechazo> rechazos) {
+        int tamano = vendedores.getTamano();
+        Map<String, Integer> posiciones = new HashMap<>();
+        List<String> cadenas = new ArrayList<>();
+        long[] documentos = new long[tamano];
+        int[][] referencias = new int[3][tamano];
+
+        for (int i = 0; i < tamano; i++) {
+            documentos[i] = vendedores.getDocumento(i);
+            referencias[0][i] = referenciar(vendedores.getTipoDocumento(i), posiciones, cadenas);
+            referencias[1][i] = referenciar(vendedores.getNombres(i), posiciones, cadenas);
+            referencias[2][i] = referenciar(vendedores.getApellidos(i), posiciones, cadenas);
+        }
+
+        return crear(VENDEDORES, huella, documentos, referencias, rechazos, posiciones, cadenas);
+    }
+
+    /**
+     * Construye la instantánea de un catálogo de productos.
+     *
+     * @param huella huella de productos.txt tomada antes de leerlo
+     * @param productos catálogo cargado desde el texto
+     * @param rechazos líneas rechazadas al leer el texto
+     * @return instantánea del catálogo
+     */
+    public static InstantaneaCatalogo deProductos(long huella, DiccionarioProductos productos, List<Rechazo> rechazos) {
+        int tamano = productos.getTamano();
+        Map<String, Integer> posiciones = new HashMap<>();
+        List<String> cadenas = new ArrayList<>();
+        long[] precios = new long[tamano];
+        int[][] referencias = new int[2][tamano];
+
+        for (int i = 0; i < tamano; i++) {
+            precios[i] = productos.getPrecioCentavos(i);
+            referencias[0][i] = referenciar(productos.getId(i), posiciones, cadenas);
+            referencias[1][i] = referenciar(productos.getNombre(i), posiciones, cadenas);
+        }
+
+        return crear(PRODUCTOS, huella, precios, referencias, rechazos, posiciones, cadenas);
+    }
+
+    /**
+     * Completa la construcción de una instantánea agregando al conjunto de cadenas
+     * los registros de las líneas rechazadas.
+     *
+     * @param tipo tipo de catálogo
+     * @param huella huella del archivo de texto
+     * @param valores columna numérica
+     * @param referencias columnas de referencias a cadenas
+     * @param rechazos líneas rechazadas
+     * @param posiciones posición de cada cadena ya registrada
+     * @param cadenas cadenas registradas, en orden de aparición
+     * @return instantánea del catálogo
+     */
+    private static InstantaneaCatalogo crear(byte tipo, long huella, long[] valores, int[][] referencias,
+                                             List<Rechazo> rechazos, Map<String, Integer> posiciones,
+                                             List<String> cadenas) {
+        for (Rechazo rechazo : rechazos) {
+            referenciar(rechazo.registro, posiciones, cadenas);
+        }
+
+        return new InstantaneaCatalogo(tipo, huella, cadenas.toArray(new String[0]), valores, referencias,
+                new ArrayList<>(rechazos));
+    }
+
+    /**
+     * Obtiene la posición de una cadena en el conjunto, agregándola si es nueva.
+     *
+     * @param cadena cadena a referenciar
+     * @param posiciones posición de cada cadena ya registrada
+     * @param cadenas cadenas registradas
+     * @return posición de la cadena
+     */
+    private static int referenciar(String cadena, Map<String, Integer> posiciones, List<String> cadenas) {
+        Integer posicion = posiciones.get(cadena);
+        if (posicion == null) {
+            posicion = cadenas.size();
+            posiciones.put(cadena, posicion);
+            cadenas.add(cadena);
+        }
+        return posicion;
+    }
+
+    /**
+     * Carga la instantánea de un catálogo si sigue correspondiendo a su archivo de texto.
+     * El archivo se mapea en memoria; cualquier instantánea ilegible se ignora.
+     *
+     * @param ruta ruta de la instantánea
+     * @param tipo tipo de catálogo esperado
+     * @param huella huella actual del archivo de texto
+     * @return instantánea cargada, o null si no existe, es de otra versión o quedó desactualizada
+     * @throws IOException si el archivo existe pero no se puede leer
+     */
+    public static InstantaneaCatalogo cargar(Path ruta, byte tipo, long huella) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+
+            if (buffer.getInt() != FIRMA || buffer.getInt() != VERSION
+                    || buffer.get() != tipo || buffer.getLong() != huella) {
+                return null;
+            }
+
+            int registros = buffer.getInt();
+
+            // Cadenas: posiciones de inicio (una más que cadenas) y bytes UTF-8 contiguos
+            int numeroCadenas = buffer.getInt();
+            int[] inicios = leerEnteros(buffer, numeroCadenas + 1);
+            byte[] bytes = new byte[inicios[numeroCadenas]];
+            buffer.get(bytes);
+            String[] cadenas = new String[numeroCadenas];
+            for (int i = 0; i < numeroCadenas; i++) {
+                cadenas[i] = new String(bytes, inicios[i], inicios[i + 1] - inicios[i], StandardCharsets.UTF_8);
+            }
+
+            long[] valores = leerLongs(buffer, registros);
+            int[][] referencias = new int[buffer.getInt()][];
+            for (int i = 0; i < referencias.length; i++) {
+                referencias[i] = leerEnteros(buffer, registros);
+            }
+
+            int numeroRechazos = buffer.getInt();
+            List<Rechazo> rechazos = new ArrayList<>(numeroRechazos);
+            Diagnosticos.Categoria[] categorias = Diagnosticos.Categoria.values();
+            for (int i = 0; i < numeroRechazos; i++) {
+                Diagnosticos.Categoria categoria = categorias[buffer.getInt()];
+                int numeroLinea = buffer.getInt();
+                rechazos.add(new Rechazo(categoria, numeroLinea, cadenas[buffer.getInt()]));
+            }
+
+            return new InstantaneaCatalogo(tipo, huella, cadenas, valores, referencias, rechazos);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            // Instantánea truncada o dañada: se vuelve a leer el texto
+            return null;
+        }
+    }
+
+    /**
+     * Lee un bloque de enteros del buffer.
+     *
+     * @param buffer buffer posicionado al inicio del bloque
+     * @param cantidad número de enteros
+     * @return enteros leídos
+     */
+    private static int[] leerEnteros(ByteBuffer buffer, int cantidad) {
+        int[] valores = new int[cantidad];
+        buffer.asIntBuffer().get(valores);
+        buffer.position(buffer.position() + cantidad * Integer.BYTES);
+        return valores;
+    }
+
+    /**
+     * Lee un bloque de enteros largos del buffer.
+     *
+     * @param buffer buffer posicionado al inicio del bloque
+     * @param cantidad número de enteros largos
+     * @return enteros largos leídos
+     */
+    private static long[] leerLongs(ByteBuffer buffer, int cantidad) {
+        long[] valores = new long[cantidad];
+        buffer.asLongBuffer().get(valores);
+        buffer.position(buffer.position() + cantidad * Long.BYTES);
+        return valores;
+    }
+
+    /**
+     * Guarda la instantánea en disco. Se escribe primero un archivo temporal único que
+     * luego reemplaza al anterior, para no dejar una instantánea a medio escribir aunque
+     * varios procesos (por ejemplo, en modo mapa) la guarden a la vez.
+     *
+     * @param ruta ruta de la instantánea
+     * @throws IOException si ocurre un error al escribir el archivo
+     */
+    public void guardar(Path ruta) throws IOException {
+        Path temporal = Files.createTempFile(ruta.toAbsolutePath().getParent(), ruta.getFileName().toString(), ".tmp");
+
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporal), 64 * 1024))) {
+            salida.writeInt(FIRMA);
+            salida.writeInt(VERSION);
+            salida.writeByte(tipo);
+            salida.writeLong(huella);
+            salida.writeInt(valores.length);
+
+            byte[][] bytesCadenas = new byte[cadenas.length][];
+            salida.writeInt(cadenas.length);
+            int inicio = 0;
+            for (int i = 0; i < cadenas.length; i++) {
+                bytesCadenas[i] = cadenas[i].getBytes(StandardCharsets.UTF_8);
+                salida.writeInt(inicio);
+                inicio += bytesCadenas[i].length;
+            }
+            salida.writeInt(inicio);
+            for (byte[] bytes : bytesCadenas) {
+                salida.write(bytes);
+            }
+
+            for (long valor : valores) {
+                salida.writeLong(valor);
+            }
+            salida.writeInt(referencias.length);
+            for (int[] columna : referencias) {
+                for (int referencia : columna) {
+                    salida.writeInt(referencia);
+                }
+            }
+
+            Map<String, Integer> posiciones = new HashMap<>();
+            for (int i = 0; i < cadenas.length; i++) {
+                posiciones.put(cadenas[i], i);
+            }
+            salida.writeInt(rechazos.size());
+            for (Rechazo rechazo : rechazos) {
+                salida.writeInt(rechazo.categoria.ordinal());
+                salida.writeInt(rechazo.numeroLinea);
+                salida.writeInt(posiciones.get(rechazo.registro));
+            }
+        }
+
+        Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Carga los vendedores de la instantánea en la tabla, en el orden del archivo de
+     * texto, y vuelve a registrar sus líneas rechazadas.
+     *
+     * @param vendedores tabla de vendedores a llenar
+     * @param diagnosticos registro de problemas de la ejecución
+     * @param nombreArchivo nombre del catálogo para los diagnósticos
+     */
+    public void cargarEn(TablaVendedores vendedores, Diagnosticos diagnosticos, String nombreArchivo) {
+        for (int i = 0; i < valores.length; i++) {
+            vendedores.agregar(cadenas[referencias[0][i]], valores[i],
+                    cadenas[referencias[1][i]], cadenas[referencias[2][i]]);
+        }
+        registrarRechazos(diagnosticos, nombreArchivo);
+    }
+
+    /**
+     * Carga los productos de la instantánea en el catálogo, en el orden del archivo de
+     * texto, y vuelve a registrar sus líneas rechazadas.
+     *
+     * @param productos catálogo de productos a llenar
+     * @param diagnosticos registro de problemas de la ejecución
+     * @param nombreArchivo nombre del catálogo para los diagnósticos
+     */
+    public void cargarEn(DiccionarioProductos productos, Diagnosticos diagnosticos, String nombreArchivo) {
+        for (int i = 0; i < valores.length; i++) {
+            productos.agregar(cadenas[referencias[0][i]], cadenas[referencias[1][i]], valores[i]);
+        }
+        registrarRechazos(diagnosticos, nombreArchivo);
+    }
+
+    /**
+     * Registra en los diagnósticos las líneas rechazadas del texto original.
+     *
+     * @param diagnosticos registro de problemas de la ejecución
+     * @param nombreArchivo nombre del catálogo
+     */
+    private void registrarRechazos(Diagnosticos diagnosticos, String nombreArchivo) {
+        for (Rechazo rechazo : rechazos) {
+            diagnosticos.registrar(rechazo.categoria, nombreArchivo, rechazo.numeroLinea, rechazo.registro);
+        }
+    }
+
+    /**
+     * Línea del catálogo en texto que se rechazó (o corrigió) al interpretarlo.
+     */
+    public static final class Rechazo {
+
+        /** Categoría del problema */
+        private final Diagnosticos.Categoria categoria;
+
+        /** Número de línea dentro del catálogo */
+        private final int numeroLinea;
+
+        /** Contenido de la línea */
+        private final String registro;
+
+        /**
+         * Constructor para crear un rechazo.
+         *
+         * @param categoria categoría del problema
+         * @param numeroLinea número de línea dentro del catálogo
+         * @param registro contenido de la línea
+         */
+        public Rechazo(Diagnosticos.Categoria categoria, int numeroLinea, String registro) {
+            this.categoria = categoria;
+            this.numeroLinea = numeroLinea;
+            this.registro = registro;
+        }
+    }
+}
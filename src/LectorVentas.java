@@ -0,0 +1,537 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Clase para leer archivos de ventas directamente como bytes.
+ * Usa un buffer reutilizable entre archivos y recorre cada línea de venta
+ * buscando los separadores ';' sin crear cadenas intermedias. Las cantidades se
+ * decodifican sin asignar memoria y los campos mal formados se informan mediante
+ * códigos de retorno en lugar de excepciones.
+ *
+ * Uso típico por archivo:
+ * - iniciar(entrada) y siguienteLinea() para el encabezado
+ * - siguienteLinea() y prepararPares() para cada línea de venta
+ * - siguientePar() hasta obtener FIN_LINEA
+ *
+ * También puede recorrer un rango de bytes ya leído (un lote de la tubería de ventas)
+ * con iniciar(datos, desde, hasta, lineasPrevias), sin copiarlo.
+ *
+ * Las líneas de venta pueden empezar con una marca de tiempo local en formato ISO
+ * (aaaa-MM-ddTHH:mm:ss; formato v2), que se reconoce por la posición de sus separadores.
+ * Sin ella la línea es del formato original y getDia() devuelve SIN_FECHA. Como las líneas
+ * de un archivo suelen estar en orden de tiempo, la fecha de la línea anterior se reutiliza
+ * y solo se valida con java.time cuando cambia.
+ *
+ * Las líneas terminan en '\n', '\r' o "\r\n", igual que en BufferedReader.readLine.
+ * Una instancia no debe compartirse entre hilos.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class LectorVentas {
+
+    /** La línea no tiene contenido después de eliminar espacios */
+    public static final int LINEA_VACIA = 0;
+
+    /** La línea tiene un número par de elementos y sus pares pueden recorrerse */
+    public static final int LINEA_CORRECTA = 1;
+
+    /** La línea tiene un número impar de elementos */
+    public static final int ELEMENTOS_IMPARES = 2;
+
+    /** Se leyó un par con una cantidad válida */
+    public static final int PAR_CORRECTO = 3;
+
+    /** Se leyó un par cuya cantidad no es un entero válido */
+    public static final int CANTIDAD_INVALIDA = 4;
+
+    /** No quedan pares por leer en la línea */
+    public static final int FIN_LINEA = 5;
+
+    /** La línea empieza con una marca de tiempo que no es una fecha y hora válidas */
+    public static final int FECHA_INVALIDA = 6;
+
+    /** Día de una línea sin marca de tiempo */
+    public static final int SIN_FECHA = Integer.MIN_VALUE;
+
+    /** Longitud de la marca de tiempo aaaa-MM-ddTHH:mm:ss */
+    private static final int LONGITUD_MARCA_TIEMPO = 19;
+
+    /** Tamaño inicial del buffer de lectura */
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    /** Buffer reutilizable; solo crece si una línea no cabe en él */
+    private byte[] bufferPropio = new byte[TAMANO_BUFFER];
+
+    /** Bytes que se recorren: el buffer propio o el arreglo de un rango externo */
+    private byte[] buffer = bufferPropio;
+
+    /** Flujo del archivo que se está leyendo */
+    private InputStream entrada;
+
+    /** Posición del siguiente byte sin consumir dentro del buffer */
+    private int posicion;
+
+    /** Cantidad de bytes válidos en el buffer */
+    private int limite;
+
+    /** Indica si ya se alcanzó el final del flujo */
+    private boolean finEntrada;
+
+    /** Indica si la línea anterior terminó en '\r' y debe ignorarse un '\n' siguiente */
+    private boolean omitirSaltoLinea;
+
+    /** Inicio de la línea actual dentro del buffer */
+    private int inicioLinea;
+
+    /** Fin (exclusivo) de la línea actual dentro del buffer */
+    private int finLinea;
+
+    /** Número de la línea actual, empezando en 1 */
+    private int numeroLinea;
+
+    /** Posición del siguiente par por recorrer en la línea actual */
+    private int cursor;
+
+    /** Fin (exclusivo) de los elementos de la línea actual */
+    private int finElementos;
+
+    /** Inicio del ID de producto del último par leído */
+    private int inicioId;
+
+    /** Fin (exclusivo) del ID de producto del último par leído */
+    private int finId;
+
+    /** Fin (exclusivo) de la cantidad del último par leído */
+    private int finCantidad;
+
+    /** Cantidad del último par leído correctamente */
+    private int cantidad;
+
+    /** Número de pares recorridos en el archivo actual (correctos o no) */
+    private long paresLeidos;
+
+    /** Día (desde 1970-01-01) de la marca de tiempo de la línea actual, o SIN_FECHA */
+    private int dia;
+
+    /** Fecha de la última marca de tiempo válida como aaaaMMdd, o -1 si no hay ninguna */
+    private int ultimaFecha = -1;
+
+    /** Día correspondiente a ultimaFecha */
+    private int ultimoDia;
+
+    /**
+     * Prepara el lector para recorrer un nuevo archivo, reutilizando el buffer.
+     *
+     * @param entrada flujo con el contenido del archivo
+     */
+    public void iniciar(InputStream entrada) {
+        this.buffer = bufferPropio;
+        this.entrada = entrada;
+        this.posicion = 0;
+        this.limite = 0;
+        this.finEntrada = false;
+        this.omitirSaltoLinea = false;
+        this.numeroLinea = 0;
+        this.paresLeidos = 0;
+    }
+
+    /**
+     * Prepara el lector para recorrer un rango de bytes que contiene líneas completas.
+     * El arreglo no se copia ni se modifica y no debe cambiar mientras se recorre.
+     *
+     * @param datos arreglo con el contenido
+     * @param desde inicio del rango
+     * @param hasta fin (exclusivo) del rango
+     * @param lineasPrevias número de líneas del archivo anteriores al rango
+     */
+    public void iniciar(byte[] datos, int desde, int hasta, int lineasPrevias) {
+        this.buffer = datos;
+        this.entrada = null;
+        this.posicion = desde;
+        this.limite = hasta;
+        this.finEntrada = true;
+        this.omitirSaltoLinea = false;
+        this.numeroLinea = lineasPrevias;
+        this.paresLeidos = 0;
+    }
+
+    /**
+     * Avanza a la siguiente línea del archivo.
+     *
+     * @return true si se leyó una línea, false al llegar al final del archivo
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public boolean siguienteLinea() throws IOException {
+        while (true) {
+            for (int i = posicion; i < limite; i++) {
+                byte b = buffer[i];
+
+                if (omitirSaltoLinea) {
+                    omitirSaltoLinea = false;
+                    if (b == '\n') {
+                        posicion = i + 1;
+                        continue;
+                    }
+                }
+
+                if (b == '\n' || b == '\r') {
+                    omitirSaltoLinea = b == '\r';
+                    inicioLinea = posicion;
+                    finLinea = i;
+                    posicion = i + 1;
+                    numeroLinea++;
+                    return true;
+                }
+            }
+
+            if (finEntrada) {
+                if (posicion < limite) {
+                    // Última línea sin salto de línea final
+                    inicioLinea = posicion;
+                    finLinea = limite;
+                    posicion = limite;
+                    numeroLinea++;
+                    return true;
+                }
+                return false;
+            }
+
+            rellenarBuffer();
+        }
+    }
+
+    /**
+     * Conserva los bytes pendientes al inicio del buffer y lee más datos del flujo.
+     * El buffer se duplica solo cuando una línea ocupa todo su espacio.
+     *
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    private void rellenarBuffer() throws IOException {
+        int pendientes = limite - posicion;
+
+        if (posicion > 0) {
+            System.arraycopy(buffer, posicion, buffer, 0, pendientes);
+        } else if (pendientes == buffer.length) {
+            byte[] mayor = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, mayor, 0, pendientes);
+            buffer = mayor;
+            bufferPropio = mayor;
+        }
+
+        posicion = 0;
+        limite = pendientes;
+
+        int leidos = entrada.read(buffer, limite, buffer.length - limite);
+        if (leidos < 0) {
+            finEntrada = true;
+        } else {
+            limite += leidos;
+        }
+    }
+
+    /**
+     * Obtiene la línea actual como texto. Se usa para el encabezado y los mensajes.
+     *
+     * @return contenido de la línea actual
+     */
+    public String getLineaComoTexto() {
+        return new String(buffer, inicioLinea, finLinea - inicioLinea, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Analiza la línea actual como línea de ventas y deja el cursor en su primer par.
+     * Reproduce las reglas de String.trim y String.split(";"): se ignoran los espacios
+     * alrededor de la línea y los elementos vacíos al final. Si la línea empieza con una
+     * marca de tiempo, esta no cuenta como elemento y su día queda disponible en getDia().
+     *
+     * @return LINEA_VACIA, LINEA_CORRECTA, ELEMENTOS_IMPARES o FECHA_INVALIDA
+     */
+    public int prepararPares() {
+        int inicio = saltarEspaciosInicio(inicioLinea, finLinea);
+        int fin = saltarEspaciosFin(inicio, finLinea);
+        dia = SIN_FECHA;
+
+        if (inicio == fin) {
+            return LINEA_VACIA;
+        }
+
+        // split(";") descarta los elementos vacíos del final
+        while (fin > inicio && buffer[fin - 1] == ';') {
+            fin--;
+        }
+
+        int finPrimerCampo = buscarSeparador(inicio, fin);
+        int finMarca = saltarEspaciosFin(inicio, finPrimerCampo);
+        if (esMarcaTiempo(inicio, finMarca)) {
+            if (!decodificarMarcaTiempo(inicio)) {
+                return FECHA_INVALIDA;
+            }
+            inicio = Math.min(finPrimerCampo + 1, fin);
+        }
+
+        int elementos = 0;
+        if (fin > inicio) {
+            elementos = 1;
+            for (int i = inicio; i < fin; i++) {
+                if (buffer[i] == ';') {
+                    elementos++;
+                }
+            }
+        }
+
+        cursor = inicio;
+        finElementos = fin;
+
+        return (elementos % 2 == 0) ? LINEA_CORRECTA : ELEMENTOS_IMPARES;
+    }
+
+    /**
+     * Indica si un campo tiene la forma de una marca de tiempo aaaa-MM-ddTHH:mm:ss,
+     * revisando solo la longitud y la posición de los separadores.
+     *
+     * @param desde inicio del campo
+     * @param hasta fin (exclusivo) del campo
+     * @return true si el campo tiene la forma de una marca de tiempo
+     */
+    private boolean esMarcaTiempo(int desde, int hasta) {
+        return hasta - desde == LONGITUD_MARCA_TIEMPO
+                && buffer[desde + 4] == '-' && buffer[desde + 7] == '-' && buffer[desde + 10] == 'T'
+                && buffer[desde + 13] == ':' && buffer[desde + 16] == ':';
+    }
+
+    /**
+     * Decodifica una marca de tiempo aaaa-MM-ddTHH:mm:ss y guarda su día.
+     *
+     * @param desde inicio de la marca de tiempo
+     * @return true si la marca es una fecha y hora válidas
+     */
+    private boolean decodificarMarcaTiempo(int desde) {
+        int anio = decodificarDigitos(desde, 4);
+        int mes = decodificarDigitos(desde + 5, 2);
+        int diaMes = decodificarDigitos(desde + 8, 2);
+        int hora = decodificarDigitos(desde + 11, 2);
+        int minuto = decodificarDigitos(desde + 14, 2);
+        int segundo = decodificarDigitos(desde + 17, 2);
+
+        if (anio < 0 || mes < 0 || diaMes < 0 || hora < 0 || hora > 23
+                || minuto < 0 || minuto > 59 || segundo < 0 || segundo > 59) {
+            return false;
+        }
+
+        int fecha = anio * 10000 + mes * 100 + diaMes;
+        if (fecha != ultimaFecha) {
+            try {
+                ultimoDia = (int) LocalDate.of(anio, mes, diaMes).toEpochDay();
+            } catch (DateTimeException e) {
+                return false;
+            }
+            ultimaFecha = fecha;
+        }
+        dia = ultimoDia;
+        return true;
+    }
+
+    /**
+     * Decodifica un número de dígitos ASCII fijos.
+     *
+     * @param desde inicio del número
+     * @param digitos cantidad de dígitos
+     * @return valor del número, o -1 si algún byte no es un dígito
+     */
+    private int decodificarDigitos(int desde, int digitos) {
+        int valor = 0;
+        for (int i = desde; i < desde + digitos; i++) {
+            int digito = buffer[i] - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    /**
+     * Lee el siguiente par (IDProducto, Cantidad) de la línea actual.
+     * Solo debe llamarse después de que prepararPares devuelva LINEA_CORRECTA.
+     *
+     * @return PAR_CORRECTO, CANTIDAD_INVALIDA o FIN_LINEA
+     */
+    public int siguientePar() {
+        if (cursor >= finElementos) {
+            return FIN_LINEA;
+        }
+        paresLeidos++;
+
+        int finCampoId = buscarSeparador(cursor, finElementos);
+        inicioId = saltarEspaciosInicio(cursor, finCampoId);
+        finId = saltarEspaciosFin(inicioId, finCampoId);
+
+        int inicioCantidad = finCampoId + 1;
+        int finCampoCantidad = buscarSeparador(inicioCantidad, finElementos);
+        cursor = finCampoCantidad + 1;
+
+        int desde = saltarEspaciosInicio(inicioCantidad, finCampoCantidad);
+        int hasta = saltarEspaciosFin(desde, finCampoCantidad);
+        finCantidad = hasta;
+
+        return decodificarCantidad(desde, hasta) ? PAR_CORRECTO : CANTIDAD_INVALIDA;
+    }
+
+    /**
+     * Decodifica un entero decimal con signo opcional, con las mismas reglas que
+     * Integer.parseInt para dígitos ASCII, sin crear objetos.
+     *
+     * @param desde inicio del campo
+     * @param hasta fin (exclusivo) del campo
+     * @return true si el campo es un entero válido dentro del rango de int
+     */
+    private boolean decodificarCantidad(int desde, int hasta) {
+        if (desde >= hasta) {
+            return false;
+        }
+
+        boolean negativo = false;
+        int i = desde;
+        if (buffer[i] == '-' || buffer[i] == '+') {
+            negativo = buffer[i] == '-';
+            i++;
+            if (i == hasta) {
+                return false;
+            }
+        }
+
+        // Se acumula en negativo para poder representar Integer.MIN_VALUE
+        long limiteValor = negativo ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long valor = 0;
+        for (; i < hasta; i++) {
+            int digito = buffer[i] - '0';
+            if (digito < 0 || digito > 9) {
+                return false;
+            }
+            valor = valor * 10 + digito;
+            if (valor > limiteValor) {
+                return false;
+            }
+        }
+
+        cantidad = (int) (negativo ? -valor : valor);
+        return true;
+    }
+
+    /**
+     * Busca el siguiente ';' a partir de una posición.
+     *
+     * @param desde posición inicial de búsqueda
+     * @param hasta límite (exclusivo) de búsqueda
+     * @return posición del separador, o el límite si no hay más separadores
+     */
+    private int buscarSeparador(int desde, int hasta) {
+        int i = desde;
+        while (i < hasta && buffer[i] != ';') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Avanza sobre los caracteres que String.trim considera espacios (código menor o igual a ' ').
+     *
+     * @param desde posición inicial
+     * @param hasta límite (exclusivo)
+     * @return primera posición que no es espacio, o el límite
+     */
+    private int saltarEspaciosInicio(int desde, int hasta) {
+        while (desde < hasta && (buffer[desde] & 0xFF) <= ' ') {
+            desde++;
+        }
+        return desde;
+    }
+
+    /**
+     * Retrocede sobre los espacios al final de un rango.
+     *
+     * @param desde límite inferior del rango
+     * @param hasta fin (exclusivo) del rango
+     * @return fin (exclusivo) del rango sin espacios finales
+     */
+    private int saltarEspaciosFin(int desde, int hasta) {
+        while (hasta > desde && (buffer[hasta - 1] & 0xFF) <= ' ') {
+            hasta--;
+        }
+        return hasta;
+    }
+
+    // Getters
+
+    /**
+     * Obtiene el número de la línea actual.
+     *
+     * @return número de línea, empezando en 1
+     */
+    public int getNumeroLinea() {
+        return numeroLinea;
+    }
+
+    /**
+     * Obtiene el día de la marca de tiempo de la última línea preparada.
+     *
+     * @return días desde 1970-01-01, o SIN_FECHA si la línea no tiene marca de tiempo
+     */
+    public int getDia() {
+        return dia;
+    }
+
+    /**
+     * Obtiene el número de pares recorridos desde que se inició el archivo actual.
+     *
+     * @return pares leídos, incluidos los que tenían problemas
+     */
+    public long getParesLeidos() {
+        return paresLeidos;
+    }
+
+    /**
+     * Obtiene la cantidad del último par leído con PAR_CORRECTO.
+     *
+     * @return cantidad del par
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Busca en el diccionario el producto del último par leído, sin crear un String.
+     *
+     * @param productos diccionario de productos del catálogo
+     * @return índice del producto, o DiccionarioProductos.NO_ENCONTRADO si no existe
+     */
+    public int buscarProducto(DiccionarioProductos productos) {
+        return productos.buscar(buffer, inicioId, finId);
+    }
+
+    /**
+     * Obtiene el ID de producto del último par leído como texto.
+     *
+     * @return ID de producto sin espacios alrededor
+     */
+    public String getIdProductoComoTexto() {
+        return new String(buffer, inicioId, finId - inicioId, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Obtiene el último par leído (ID y cantidad) como texto, tal como aparece en la línea.
+     *
+     * @return par "IDProducto;Cantidad" sin espacios alrededor
+     */
+    public String getParComoTexto() {
+        return new String(buffer, inicioId, Math.max(finCantidad - inicioId, 0), StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
@@ -1,14 +1,40 @@
+import cfp.aplicacion.AccesoAplicacion;
+
+import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.text.DecimalFormat;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Clase principal para procesar los archivos de ventas y generar reportes.
@@ -19,10 +45,41 @@ import java.util.Map;
  * - datos/vendedores/vendedores.txt
  * - datos/productos/productos.txt
  * - datos/ventas/*.txt
+ * Cualquiera de ellos puede estar comprimido con gzip (.txt.gz); se descomprime al leerlo.
  *
  * Genera reportes en:
  * - datos/reportes/reporte_vendedores.csv
  * - datos/reportes/reporte_productos.csv
+ * - datos/reportes/rechazados.csv (registros con problemas)
+ * - datos/reportes/metricas.json (tiempos por fase y rendimiento de la lectura)
+ * - datos/reportes/reporte_vendedor_producto.csv y reporte_top_productos_vendedor.csv
+ *   (con --cruce: ventas por par vendedor × producto)
+ *
+ * En modo incremental guarda el estado entre ejecuciones en:
+ * - datos/estado/estado_incremental.dat
+ *
+ * Con --punto-control guarda periódicamente el avance de las ventas en
+ * datos/estado/punto_control.dat; --reanudar continúa desde ahí después de una
+ * interrupción y da los mismos reportes que una ejecución completa.
+ *
+ * Junto a cada catálogo guarda una instantánea binaria (vendedores.cat, productos.cat)
+ * que evita interpretar el texto de nuevo mientras el catálogo no cambie.
+ *
+ * Un lote grande se puede repartir entre varios procesos: cada uno procesa una parte
+ * de los archivos de ventas en modo mapa (--mapa K/N) y guarda un agregado parcial en
+ * datos/parciales/; el modo reducción (--reducir) los combina en los reportes.
+ *
+ * Con --paralelismo mayor que 1, los archivos de ventas sin comprimir más grandes que
+ * --tramo se dividen en tramos de líneas completas que se analizan como tareas
+ * independientes, para que un vendedor con un archivo enorme no deje a un solo hilo
+ * trabajando mientras los demás terminaron.
+ *
+ * Con --consultas, al terminar cada agregación se construyen índices en memoria sobre
+ * los totales (ver {@link ConsultaVentas}); un programa que ejecuta main puede
+ * consultarlos después con getConsultaVentas() sin leer los reportes.
+ *
+ * La carpeta base "datos" puede cambiarse con la propiedad del sistema cfp.datos
+ * (por ejemplo -Dcfp.datos=/tmp/datos), igual que en GenerateInfoFiles.
  *
  * @author FABIAN ESTIBEN ROMERO VILLAMIL
  * @author JOHANNA LONDOÑO ALZATE
@@ -34,15 +91,63 @@ import java.util.Map;
 public class Main {
 
     // Constantes para rutas de archivos (deben coincidir con GenerateInfoFiles)
-    private static final String CARPETA_DATOS = "datos";
+    private static final String CARPETA_DATOS = System.getProperty("cfp.datos", "datos");
     private static final String CARPETA_VENDEDORES = CARPETA_DATOS + "/vendedores";
     private static final String CARPETA_PRODUCTOS = CARPETA_DATOS + "/productos";
     private static final String CARPETA_VENTAS = CARPETA_DATOS + "/ventas";
     private static final String CARPETA_REPORTES = CARPETA_DATOS + "/reportes";
+    private static final String CARPETA_ESTADO = CARPETA_DATOS + "/estado";
+    private static final String ARCHIVO_ESTADO_INCREMENTAL = CARPETA_ESTADO + "/estado_incremental.dat";
+    private static final String ARCHIVO_PUNTO_CONTROL = CARPETA_ESTADO + "/punto_control.dat";
+    private static final String ARCHIVO_RECHAZADOS = CARPETA_REPORTES + "/rechazados.csv";
+    private static final String ARCHIVO_METRICAS = CARPETA_REPORTES + "/metricas.json";
+    private static final String CARPETA_PARCIALES = CARPETA_DATOS + "/parciales";
+    private static final String EXTENSION_PARCIAL = ".parcial";
 
     // Estructuras de datos para almacenar la información
-    private static Map<Long, VendedorInfo> vendedores = new HashMap<>();
-    private static Map<String, ProductoInfo> productos = new HashMap<>();
+    private static TablaVendedores vendedores = new TablaVendedores();
+    private static DiccionarioProductos productos = new DiccionarioProductos();
+
+    // Unidades vendidas por par (vendedor, producto); null si no se pidió --cruce
+    private static MatrizVentas cruceVentas;
+
+    // Ventas por día de las líneas con marca de tiempo; null si no se pidió --diario
+    private static VentasDiarias ventasDiarias;
+
+    // Hilos que procesan los archivos de ventas y los tramos de los grandes; se crea al primer uso
+    private static ForkJoinPool poolVentas;
+
+    // Tamaño de cada tramo en bytes; solo se dividen los archivos más grandes (0 = no se dividen)
+    private static long tamanoTramo;
+
+    // Opciones de la tubería de ventas; null si las ventas se procesan archivo por archivo
+    private static OpcionesEjecucion opcionesTuberia;
+
+    // Aporte de cada archivo de ventas (modos incremental y vigilancia)
+    private static EstadoIncremental estadoVentas;
+
+    // Registro de líneas y pares con problemas (reemplaza las advertencias por consola)
+    private static Diagnosticos diagnosticos;
+
+    // Parte del archivo de rechazados con los problemas de los catálogos y sus cantidades por
+    // categoría; el modo vigilancia reescribe el resto en cada actualización
+    private static long longitudRechazadosCatalogos;
+    private static long[] problemasCatalogos;
+
+    // Tiempos y contadores de la ejecución actual (en modo vigilancia, de la última actualización)
+    private static Metricas metricas = new Metricas();
+
+    // Índices de consulta de la última agregación; null si no se pidió --consultas
+    private static volatile ConsultaVentas consultaVentas;
+
+    // Servidor HTTP de reportes; null si no se pidió --servidor o aún no se inicia
+    private static ServidorReportes servidorReportes;
+
+    // Lector de bytes reutilizable por cada hilo que procesa archivos de ventas
+    private static final ThreadLocal<LectorVentas> lectoresVentas = ThreadLocal.withInitial(LectorVentas::new);
+
+    // Archivos de ventas por lote entre dos posibles puntos de control
+    private static final int ARCHIVOS_POR_LOTE_PUNTO_CONTROL = 1024;
 
     // Formateador para números decimales
     private static final DecimalFormat formatoDecimal = new DecimalFormat("#.00");
@@ -50,40 +155,111 @@ public class Main {
     /**
      * Metodo principal que procesa los archivos de entrada y genera los reportes.
      *
-     * @param args argumentos de línea de comandos (no utilizados)
+     * @param args argumentos de línea de comandos (ver {@link OpcionesEjecucion})
      */
     public static void main(String[] args) {
         try {
+            OpcionesEjecucion opciones = OpcionesEjecucion.desdeArgumentos(args);
+            if (opciones.esCruce()) {
+                cruceVentas = new MatrizVentas();
+            }
+            if (opciones.esDiario()) {
+                ventasDiarias = new VentasDiarias();
+            }
+            if (opciones.esTuberia()) {
+                opcionesTuberia = opciones;
+            } else if (opciones.esParalelo()) {
+                // Los tramos usan los mismos hilos que los archivos: nunca más de --paralelismo ocupados
+                tamanoTramo = opciones.getTamanoTramo();
+            }
+            if (opciones.esFueraDelHeap()) {
+                productos = new DiccionarioProductos(true);
+            }
+
             System.out.println("=== PROCESADOR DE ARCHIVOS DE VENTAS ===");
             System.out.println("Iniciando procesamiento de archivos de ventas...\n");
 
-            // Verificar que los archivos de entrada existan
-            verificarArchivosEntrada();
+            if (opciones.esMapa()) {
+                ejecutarMapa(opciones);
+                return;
+            }
 
-            // Crear carpeta de reportes
-            crearCarpetaReportes();
+            if (opciones.esReducir()) {
+                ejecutarReduccion(opciones);
+                return;
+            }
+
+            // Verificar que los archivos de entrada existan y crear la carpeta de reportes
+            metricas.medir("verificar", () -> {
+                verificarArchivosEntrada();
+                crearCarpetaReportes();
+            });
             System.out.println("✓ Carpeta de reportes preparada");
 
-            // Procesar archivos de entrada
-            leerArchivoVendedores();
-            System.out.println("✓ Archivo de vendedores procesado (" + vendedores.size() + " vendedores)");
+            // Al reanudar, el punto de control indica qué parte del archivo de rechazados se conserva
+            PuntoControl puntoControl = opciones.esReanudar()
+                    ? PuntoControl.cargar(Paths.get(ARCHIVO_PUNTO_CONTROL)) : null;
+            if (opciones.esReanudar()) {
+                System.out.println((puntoControl != null)
+                        ? "✓ Punto de control encontrado (" + puntoControl.getArchivosLeidos() +
+                                " archivos de ventas ya leídos)"
+                        : "No hay punto de control; se procesan todos los archivos de ventas");
+            }
 
-            leerArchivoProductos();
-            System.out.println("✓ Archivo de productos procesado (" + productos.size() + " productos)");
+            // Procesar archivos de entrada; los registros con problemas se escriben en segundo plano
+            try (Diagnosticos registroProblemas = (puntoControl != null)
+                    ? puntoControl.abrirDiagnosticos(Paths.get(ARCHIVO_RECHAZADOS))
+                    : new Diagnosticos(Paths.get(ARCHIVO_RECHAZADOS), false)) {
+                diagnosticos = registroProblemas;
 
-            int archivosVentas = procesarArchivosVentas();
-            System.out.println("✓ Archivos de ventas procesados (" + archivosVentas + " archivos)");
+                boolean vendedoresInstantanea = metricas.medir("vendedores", () -> cargarArchivoVendedores());
+                System.out.println("✓ Archivo de vendedores procesado (" + vendedores.getTamano() + " vendedores" +
+                        (vendedoresInstantanea ? ", desde la instantánea" : "") + ")");
+
+                boolean productosInstantanea = metricas.medir("productos", () -> cargarArchivoProductos());
+                System.out.println("✓ Archivo de productos procesado (" + productos.getTamano() + " productos" +
+                        (productosInstantanea ? ", desde la instantánea" : "") + ")");
+
+                if (opciones.esVigilar()) {
+                    guardarProblemasCatalogos();
+                }
+
+                // El modo vigilancia necesita el aporte por archivo, aunque no se guarde en disco
+                int archivosVentas = metricas.medir("ventas", () -> {
+                    if (opciones.esIncremental() || opciones.esVigilar()) {
+                        return procesarArchivosVentasIncremental(opciones.getParalelismo(),
+                                opciones.esIncremental());
+                    } else if (opciones.esPuntoControl()) {
+                        return procesarArchivosVentasConPuntosControl(opciones, puntoControl);
+                    } else {
+                        return procesarArchivosVentas(opciones.getParalelismo());
+                    }
+                });
+                System.out.println("✓ Archivos de ventas procesados (" + archivosVentas + " archivos)");
+            }
 
             // Generar reportes
-            generarReporteVendedores();
+            generarReportes(opciones);
             System.out.println("✓ Reporte de vendedores generado");
-
-            generarReporteProductos();
             System.out.println("✓ Reporte de productos generado");
+            guardarMetricas(Paths.get(ARCHIVO_METRICAS));
+
+            // Con los reportes completos, un próximo --reanudar debe empezar desde cero
+            if (opciones.esPuntoControl()) {
+                Files.deleteIfExists(Paths.get(ARCHIVO_PUNTO_CONTROL));
+            }
 
             // Mostrar resumen
             mostrarResumenProcesamiento();
 
+            if (opciones.esServidor()) {
+                iniciarServidorReportes(opciones);
+            }
+
+            if (opciones.esVigilar()) {
+                vigilarCarpetaVentas(opciones);
+            }
+
         } catch (Exception e) {
             System.err.println("\n ERROR durante el procesamiento:");
             System.err.println("   " + e.getMessage());
@@ -94,380 +270,2053 @@ public class Main {
     }
 
     /**
-     * Verifica que los archivos de entrada necesarios existan.
+     * Procesa solo una parte de los archivos de ventas y guarda el agregado parcial
+     * resultante, sin generar reportes. Los registros con problemas se guardan junto
+     * al agregado parcial para que varios procesos no escriban el mismo archivo.
      *
-     * @throws IOException si algún archivo requerido no existe
+     * @param opciones opciones de ejecución con la parte a procesar
+     * @throws IOException si ocurre un error al leer los archivos o al guardar el parcial
      */
-    private static void verificarArchivosEntrada() throws IOException {
-        String archivoVendedores = CARPETA_VENDEDORES + "/vendedores.txt";
-        String archivoProductos = CARPETA_PRODUCTOS + "/productos.txt";
+    private static void ejecutarMapa(OpcionesEjecucion opciones) throws IOException {
+        metricas.medir("verificar", () -> verificarArchivosEntrada());
 
-        if (!Files.exists(Paths.get(archivoVendedores))) {
-            throw new IOException("No se encontró el archivo: " + archivoVendedores);
-        }
+        Path rutaParcial = (opciones.getRutaParcial() != null)
+                ? Paths.get(opciones.getRutaParcial())
+                : Paths.get(CARPETA_PARCIALES, nombreParcialPorDefecto(opciones));
+        Files.createDirectories(rutaParcial.toAbsolutePath().getParent());
 
-        if (!Files.exists(Paths.get(archivoProductos))) {
-            throw new IOException("No se encontró el archivo: " + archivoProductos);
+        String nombreParcial = rutaParcial.getFileName().toString();
+        String baseParcial = nombreParcial.replaceFirst("\\.[^.]*$", "");
+        Path rutaRechazados = rutaParcial.resolveSibling(baseParcial + "_rechazados.csv");
+
+        long huellaCatalogos = AgregadoParcial.calcularHuellaCatalogos(
+                rutaVendedores(), rutaProductos());
+
+        int archivosProcesados;
+        try (Diagnosticos registroProblemas = new Diagnosticos(rutaRechazados, false)) {
+            diagnosticos = registroProblemas;
+
+            metricas.medir("vendedores", () -> cargarArchivoVendedores());
+            System.out.println("✓ Archivo de vendedores procesado (" + vendedores.getTamano() + " vendedores)");
+
+            metricas.medir("productos", () -> cargarArchivoProductos());
+            System.out.println("✓ Archivo de productos procesado (" + productos.getTamano() + " productos)");
+
+            File[] archivosParte = seleccionarArchivosMapa(opciones);
+            archivosProcesados = metricas.medir("ventas",
+                    () -> procesarArchivosVentas(archivosParte, opciones.getParalelismo()));
+            System.out.println("✓ Archivos de ventas procesados (" + archivosProcesados + " de " +
+                    archivosParte.length + " archivos de esta parte)");
         }
 
-        if (!Files.exists(Paths.get(CARPETA_VENTAS))) {
-            throw new IOException("No se encontró la carpeta de ventas: " + CARPETA_VENTAS);
+        int archivosParcial = archivosProcesados;
+        metricas.medir("guardar_parcial", () -> AgregadoParcial.desdeAcumulados(huellaCatalogos, archivosParcial,
+                vendedores, productos, cruceVentas).guardar(rutaParcial));
+        System.out.println("✓ Agregado parcial guardado en " + rutaParcial);
+        guardarMetricas(rutaParcial.resolveSibling(baseParcial + "_metricas.json"));
+
+        if (diagnosticos.getTotal() > 0) {
+            System.out.println("   " + diagnosticos.getTotal() + " registros con problemas (ver " +
+                    rutaRechazados + ")");
         }
     }
 
     /**
-     * Crea la carpeta de reportes si no existe.
+     * Obtiene el nombre del agregado parcial cuando no se indica --parcial.
      *
-     * @throws IOException si no se puede crear la carpeta
+     * @param opciones opciones de ejecución del modo mapa
+     * @return parcial_K_de_N.parcial, o parcial_[lista].parcial con --mapa-lista
      */
-    private static void crearCarpetaReportes() throws IOException {
-        File carpetaReportes = new File(CARPETA_REPORTES);
-        if (!carpetaReportes.exists() && !carpetaReportes.mkdirs()) {
-            throw new IOException("No se pudo crear la carpeta de reportes: " + CARPETA_REPORTES);
+    private static String nombreParcialPorDefecto(OpcionesEjecucion opciones) {
+        if (opciones.getListaMapa() != null) {
+            String lista = Paths.get(opciones.getListaMapa()).getFileName().toString();
+            return "parcial_" + lista.replaceFirst("\\.[^.]*$", "") + EXTENSION_PARCIAL;
         }
+        return "parcial_" + opciones.getParteMapa() + "_de_" + opciones.getTotalPartesMapa() + EXTENSION_PARCIAL;
     }
 
     /**
-     * Lee y procesa el archivo de vendedores.
-     * Formato esperado: TipoDocumento;NúmeroDocumento;NombresVendedor;ApellidosVendedor
+     * Selecciona los archivos de ventas que le corresponden a este proceso en modo mapa:
+     * los listados en --mapa-lista, o aquellos cuyo hash del nombre módulo N es K.
+     * El hash de String está definido por la especificación de Java, así que todos los
+     * procesos reparten los archivos igual.
      *
-     * @throws IOException si ocurre un error al leer el archivo
+     * @param opciones opciones de ejecución del modo mapa
+     * @return archivos de ventas de esta parte
+     * @throws IOException si no se puede leer la carpeta de ventas o la lista
      */
-    private static void leerArchivoVendedores() throws IOException {
-        String rutaArchivo = CARPETA_VENDEDORES + "/vendedores.txt";
-        List<String> lineas = Files.readAllLines(Paths.get(rutaArchivo));
-
-        for (int numeroLinea = 0; numeroLinea < lineas.size(); numeroLinea++) {
-            String linea = lineas.get(numeroLinea).trim();
-
-            if (linea.isEmpty()) {
-                continue; // Saltar líneas vacías
-            }
-
-            String[] partes = linea.split(";");
-            if (partes.length == 4) {
-                try {
-                    String tipoDocumento = partes[0].trim();
-                    long numeroDocumento = Long.parseLong(partes[1].trim());
-                    String nombres = partes[2].trim();
-                    String apellidos = partes[3].trim();
-
-                    VendedorInfo vendedor = new VendedorInfo(tipoDocumento, numeroDocumento, nombres, apellidos);
-                    vendedores.put(numeroDocumento, vendedor);
+    private static File[] seleccionarArchivosMapa(OpcionesEjecucion opciones) throws IOException {
+        if (opciones.getListaMapa() != null) {
+            List<File> archivos = new ArrayList<>();
+            for (String linea : Files.readAllLines(Paths.get(opciones.getListaMapa()))) {
+                String nombre = linea.trim();
+                if (nombre.isEmpty()) {
+                    continue;
+                }
 
-                } catch (NumberFormatException e) {
-                    System.err.println("Advertencia: Error en línea " + (numeroLinea + 1) +
-                            " del archivo vendedores.txt - Número de documento inválido");
+                // Se aceptan nombres sueltos o rutas; el archivo siempre se busca en la carpeta de ventas
+                File archivo = new File(CARPETA_VENTAS, Paths.get(nombre).getFileName().toString());
+                if (!archivo.isFile()) {
+                    throw new IOException("No se encontró el archivo de ventas listado: " + nombre);
                 }
-            } else {
-                System.err.println("Advertencia: Formato incorrecto en línea " + (numeroLinea + 1) +
-                        " del archivo vendedores.txt");
+                archivos.add(archivo);
             }
+            return archivos.toArray(new File[0]);
         }
 
-        if (vendedores.isEmpty()) {
-            throw new IOException("No se pudo cargar ningún vendedor válido del archivo");
+        List<File> archivos = new ArrayList<>();
+        for (File archivo : listarArchivosVentas()) {
+            if (Math.floorMod(archivo.getName().hashCode(), opciones.getTotalPartesMapa()) == opciones.getParteMapa()) {
+                archivos.add(archivo);
+            }
         }
+        return archivos.toArray(new File[0]);
     }
 
     /**
-     * Lee y procesa el archivo de productos.
-     * Formato esperado: IDProducto;NombreProducto;PrecioPorUnidadProducto
+     * Combina los agregados parciales de los procesos en modo mapa y genera los
+     * reportes como si un solo proceso hubiera leído todos los archivos de ventas.
      *
-     * @throws IOException si ocurre un error al leer el archivo
+     * @param opciones opciones de ejecución con los agregados parciales y la página del reporte
+     * @throws IOException si algún parcial no se puede leer o no corresponde a los catálogos
      */
-    private static void leerArchivoProductos() throws IOException {
-        String rutaArchivo = CARPETA_PRODUCTOS + "/productos.txt";
-        List<String> lineas = Files.readAllLines(Paths.get(rutaArchivo));
+    private static void ejecutarReduccion(OpcionesEjecucion opciones) throws IOException {
+        metricas.medir("verificar", () -> {
+            verificarCatalogos();
+            crearCarpetaReportes();
+        });
+        System.out.println("✓ Carpeta de reportes preparada");
 
-        for (int numeroLinea = 0; numeroLinea < lineas.size(); numeroLinea++) {
-            String linea = lineas.get(numeroLinea).trim();
+        List<Path> parciales = listarParciales(opciones.getParcialesReducir());
+        long huellaCatalogos = AgregadoParcial.calcularHuellaCatalogos(
+                rutaVendedores(), rutaProductos());
 
-            if (linea.isEmpty()) {
-                continue; // Saltar líneas vacías
-            }
+        try (Diagnosticos registroProblemas = new Diagnosticos(Paths.get(ARCHIVO_RECHAZADOS), false)) {
+            diagnosticos = registroProblemas;
+
+            metricas.medir("vendedores", () -> cargarArchivoVendedores());
+            System.out.println("✓ Archivo de vendedores procesado (" + vendedores.getTamano() + " vendedores)");
 
-            String[] partes = linea.split(";");
-            if (partes.length == 3) {
+            metricas.medir("productos", () -> cargarArchivoProductos());
+            System.out.println("✓ Archivo de productos procesado (" + productos.getTamano() + " productos)");
+        }
+
+        int archivosVentas = metricas.medir("combinar_parciales", () -> {
+            int archivos = 0;
+            for (Path ruta : parciales) {
+                AgregadoParcial parcial = AgregadoParcial.cargar(ruta);
                 try {
-                    String idProducto = partes[0].trim();
-                    String nombreProducto = partes[1].trim();
-                    double precio = Double.parseDouble(partes[2].trim());
-
-                    if (precio < 0) {
-                        System.err.println("Advertencia: Precio negativo en producto " + idProducto +
-                                " - se usará valor absoluto");
-                        precio = Math.abs(precio);
-                    }
+                    parcial.sumarA(huellaCatalogos, vendedores, productos, cruceVentas);
+                } catch (IOException e) {
+                    throw new IOException(ruta + ": " + e.getMessage(), e);
+                }
+                archivos += parcial.getArchivosProcesados();
+            }
+            return archivos;
+        });
+        System.out.println("✓ Agregados parciales combinados (" + parciales.size() + " parciales, " +
+                archivosVentas + " archivos de ventas)");
+
+        generarReportes(opciones);
+        System.out.println("✓ Reporte de vendedores generado");
+        System.out.println("✓ Reporte de productos generado");
+        guardarMetricas(Paths.get(ARCHIVO_METRICAS));
 
-                    ProductoInfo producto = new ProductoInfo(idProducto, nombreProducto, precio);
-                    productos.put(idProducto, producto);
+        mostrarResumenProcesamiento();
+
+        if (opciones.esServidor()) {
+            iniciarServidorReportes(opciones);
+        }
+    }
 
-                } catch (NumberFormatException e) {
-                    System.err.println("Advertencia: Error en línea " + (numeroLinea + 1) +
-                            " del archivo productos.txt - Precio inválido");
+    /**
+     * Obtiene los agregados parciales indicados en --reducir. Las carpetas aportan
+     * todos sus archivos .parcial, en orden alfabético.
+     *
+     * @param rutas archivos o carpetas de agregados parciales
+     * @return archivos de agregados parciales
+     * @throws IOException si alguna ruta no existe o una carpeta no tiene parciales
+     */
+    private static List<Path> listarParciales(List<String> rutas) throws IOException {
+        List<Path> parciales = new ArrayList<>();
+
+        for (String texto : rutas) {
+            Path ruta = Paths.get(texto);
+            if (Files.isDirectory(ruta)) {
+                try (Stream<Path> contenido = Files.list(ruta)) {
+                    List<Path> encontrados = contenido
+                            .filter(archivo -> archivo.getFileName().toString().endsWith(EXTENSION_PARCIAL))
+                            .sorted()
+                            .collect(Collectors.toList());
+                    if (encontrados.isEmpty()) {
+                        throw new IOException("No se encontraron agregados parciales en " + ruta);
+                    }
+                    parciales.addAll(encontrados);
                 }
+            } else if (Files.isRegularFile(ruta)) {
+                parciales.add(ruta);
             } else {
-                System.err.println("Advertencia: Formato incorrecto en línea " + (numeroLinea + 1) +
-                        " del archivo productos.txt");
+                throw new IOException("No se encontró el agregado parcial: " + ruta);
             }
         }
 
-        if (productos.isEmpty()) {
-            throw new IOException("No se pudo cargar ningún producto válido del archivo");
-        }
+        return parciales;
     }
 
     /**
-     * Procesa todos los archivos de ventas en la carpeta de ventas.
+     * Verifica que los archivos de entrada necesarios existan.
      *
-     * @return número de archivos procesados exitosamente
-     * @throws IOException si ocurre un error al acceder a los archivos
+     * @throws IOException si algún archivo requerido no existe
      */
-    private static int procesarArchivosVentas() throws IOException {
-        File carpetaVentas = new File(CARPETA_VENTAS);
-        File[] archivosVentas = carpetaVentas.listFiles((dir, name) -> name.endsWith(".txt"));
+    private static void verificarArchivosEntrada() throws IOException {
+        verificarCatalogos();
 
-        if (archivosVentas == null) {
-            throw new IOException("No se pudo acceder a la carpeta de ventas");
+        if (!Files.exists(Paths.get(CARPETA_VENTAS))) {
+            throw new IOException("No se encontró la carpeta de ventas: " + CARPETA_VENTAS);
         }
+    }
 
-        if (archivosVentas.length == 0) {
-            throw new IOException("No se encontraron archivos de ventas en la carpeta");
+    /**
+     * Verifica que existan los catálogos de vendedores y productos.
+     *
+     * @throws IOException si algún catálogo no existe
+     */
+    private static void verificarCatalogos() throws IOException {
+        Path archivoVendedores = rutaVendedores();
+        Path archivoProductos = rutaProductos();
+
+        if (!Files.exists(archivoVendedores)) {
+            throw new IOException("No se encontró el archivo: " + archivoVendedores);
         }
 
-        int archivosExitosos = 0;
-        for (File archivo : archivosVentas) {
-            try {
-                procesarArchivoVenta(archivo);
-                archivosExitosos++;
-            } catch (Exception e) {
-                System.err.println("Error procesando " + archivo.getName() + ": " + e.getMessage());
-            }
+        if (!Files.exists(archivoProductos)) {
+            throw new IOException("No se encontró el archivo: " + archivoProductos);
         }
+    }
 
-        return archivosExitosos;
+    /**
+     * Obtiene la ruta del catálogo de vendedores: vendedores.txt, o vendedores.txt.gz
+     * si solo existe la versión comprimida.
+     *
+     * @return ruta del catálogo de vendedores
+     */
+    private static Path rutaVendedores() {
+        return EntradaComprimida.resolver(Paths.get(CARPETA_VENDEDORES, "vendedores.txt"));
     }
 
     /**
-     * Procesa un archivo individual de ventas de un vendedor.
-     * Formato: Primera línea: TipoDocumento;NúmeroDocumento
-     *         Líneas siguientes: IDProducto1;Cantidad1;IDProducto2;Cantidad2;...
+     * Obtiene la ruta del catálogo de productos: productos.txt, o productos.txt.gz
+     * si solo existe la versión comprimida.
      *
-     * @param archivo archivo de ventas a procesar
-     * @throws IOException si ocurre un error al leer el archivo
+     * @return ruta del catálogo de productos
      */
-    private static void procesarArchivoVenta(File archivo) throws IOException {
-        List<String> lineas = Files.readAllLines(archivo.toPath());
+    private static Path rutaProductos() {
+        return EntradaComprimida.resolver(Paths.get(CARPETA_PRODUCTOS, "productos.txt"));
+    }
 
-        if (lineas.isEmpty()) {
-            throw new IOException("El archivo " + archivo.getName() + " está vacío");
+    /**
+     * Crea la carpeta de reportes si no existe.
+     *
+     * @throws IOException si no se puede crear la carpeta
+     */
+    private static void crearCarpetaReportes() throws IOException {
+        File carpetaReportes = new File(CARPETA_REPORTES);
+        if (!carpetaReportes.exists() && !carpetaReportes.mkdirs()) {
+            throw new IOException("No se pudo crear la carpeta de reportes: " + CARPETA_REPORTES);
         }
+    }
 
-        // Primera línea: información del vendedor
-        String[] infoVendedor = lineas.get(0).split(";");
-        if (infoVendedor.length < 2) {
-            throw new IOException("Formato incorrecto en primera línea de " + archivo.getName());
+    /**
+     * Carga el catálogo de vendedores desde su instantánea binaria si sigue vigente;
+     * si no, lee vendedores.txt y guarda una instantánea nueva para la próxima ejecución.
+     *
+     * @return true si el catálogo se cargó desde la instantánea
+     * @throws IOException si ocurre un error al leer el catálogo
+     */
+    private static boolean cargarArchivoVendedores() throws IOException {
+        // La instantánea se llama igual aunque el catálogo esté comprimido; la huella distingue ambos
+        Path rutaTexto = rutaVendedores();
+        Path rutaInstantanea = InstantaneaCatalogo.rutaPara(Paths.get(CARPETA_VENDEDORES, "vendedores.txt"));
+        long huella = EstadoIncremental.calcularHuella(rutaTexto);
+
+        InstantaneaCatalogo instantanea = InstantaneaCatalogo.cargar(rutaInstantanea,
+                InstantaneaCatalogo.VENDEDORES, huella);
+        if (instantanea != null) {
+            instantanea.cargarEn(vendedores, diagnosticos, "vendedores.txt");
+            return true;
         }
 
-        long documentoVendedor;
-        try {
-            documentoVendedor = Long.parseLong(infoVendedor[1].trim());
-        } catch (NumberFormatException e) {
-            throw new IOException("Número de documento inválido en " + archivo.getName());
-        }
+        List<InstantaneaCatalogo.Rechazo> rechazos = leerArchivoVendedores();
+        guardarInstantanea(InstantaneaCatalogo.deVendedores(huella, vendedores, rechazos), rutaInstantanea);
+        return false;
+    }
 
-        // Verificar que el vendedor exista
-        VendedorInfo vendedor = vendedores.get(documentoVendedor);
-        if (vendedor == null) {
-            System.err.println("Advertencia: Vendedor " + documentoVendedor +
-                    " no existe en archivo de vendedores (" + archivo.getName() + ")");
-            return;
+    /**
+     * Carga el catálogo de productos desde su instantánea binaria si sigue vigente;
+     * si no, lee productos.txt y guarda una instantánea nueva para la próxima ejecución.
+     * Con el catálogo fuera del heap no se usa la instantánea, porque cargarla o crearla
+     * construye un String por cada ID y nombre, justo lo que se quiere evitar.
+     *
+     * @return true si el catálogo se cargó desde la instantánea
+     * @throws IOException si ocurre un error al leer el catálogo
+     */
+    private static boolean cargarArchivoProductos() throws IOException {
+        if (productos.estaFueraDelHeap()) {
+            leerArchivoProductos();
+            return false;
         }
 
-        // Procesar líneas de ventas
-        for (int i = 1; i < lineas.size(); i++) {
-            String lineaVenta = lineas.get(i).trim();
-            if (!lineaVenta.isEmpty()) {
-                procesarLineaVenta(lineaVenta, documentoVendedor, archivo.getName(), i + 1);
-            }
+        // La instantánea se llama igual aunque el catálogo esté comprimido; la huella distingue ambos
+        Path rutaTexto = rutaProductos();
+        Path rutaInstantanea = InstantaneaCatalogo.rutaPara(Paths.get(CARPETA_PRODUCTOS, "productos.txt"));
+        long huella = EstadoIncremental.calcularHuella(rutaTexto);
+
+        InstantaneaCatalogo instantanea = InstantaneaCatalogo.cargar(rutaInstantanea,
+                InstantaneaCatalogo.PRODUCTOS, huella);
+        if (instantanea != null) {
+            instantanea.cargarEn(productos, diagnosticos, "productos.txt");
+            return true;
         }
+
+        List<InstantaneaCatalogo.Rechazo> rechazos = leerArchivoProductos();
+        guardarInstantanea(InstantaneaCatalogo.deProductos(huella, productos, rechazos), rutaInstantanea);
+        return false;
     }
 
     /**
-     * Procesa una línea de venta individual.
+     * Guarda la instantánea de un catálogo. Si no se puede escribir se informa y se
+     * continúa: la próxima ejecución volverá a leer el texto.
      *
-     * @param lineaVenta línea con información de productos y cantidades
-     * @param documentoVendedor documento del vendedor que hizo la venta
-     * @param nombreArchivo nombre del archivo para mensajes de error
-     * @param numeroLinea número de línea para mensajes de error
+     * @param instantanea instantánea a guardar
+     * @param ruta ruta de la instantánea
      */
-    private static void procesarLineaVenta(String lineaVenta, long documentoVendedor,
-                                           String nombreArchivo, int numeroLinea) {
-        String[] elementos = lineaVenta.split(";");
+    private static void guardarInstantanea(InstantaneaCatalogo instantanea, Path ruta) {
+        try {
+            instantanea.guardar(ruta);
+        } catch (IOException e) {
+            System.err.println("No se pudo guardar la instantánea " + ruta + ": " + e.getMessage());
+        }
+    }
 
-        if (elementos.length % 2 != 0) {
-            System.err.println("Advertencia: Número impar de elementos en línea " + numeroLinea +
-                    " de " + nombreArchivo);
-            return;
+    /**
+     * Guarda las métricas de la ejecución. Si no se pueden escribir se informa y se
+     * continúa, porque los reportes ya están publicados.
+     *
+     * @param ruta ruta del archivo de métricas
+     */
+    private static void guardarMetricas(Path ruta) {
+        try {
+            metricas.guardar(ruta);
+        } catch (IOException e) {
+            System.err.println("No se pudieron guardar las métricas " + ruta + ": " + e.getMessage());
         }
+    }
 
-        double totalVenta = 0.0;
+    /**
+     * Registra una línea de catálogo con problemas en los diagnósticos y en la lista
+     * de rechazos que se guarda con la instantánea.
+     *
+     * @param rechazos rechazos del catálogo
+     * @param categoria categoría del problema
+     * @param nombreArchivo nombre del catálogo
+     * @param numeroLinea número de línea
+     * @param linea contenido de la línea
+     */
+    private static void rechazarLineaCatalogo(List<InstantaneaCatalogo.Rechazo> rechazos,
+                                              Diagnosticos.Categoria categoria, String nombreArchivo,
+                                              int numeroLinea, String linea) {
+        diagnosticos.registrar(categoria, nombreArchivo, numeroLinea, linea);
+        rechazos.add(new InstantaneaCatalogo.Rechazo(categoria, numeroLinea, linea));
+    }
 
-        // Procesar pares de (IDProducto, Cantidad)
-        for (int i = 0; i < elementos.length; i += 2) {
-            if (i + 1 < elementos.length) {
-                String idProducto = elementos[i].trim();
+    /**
+     * Lee y procesa el archivo de vendedores.
+     * Formato esperado: TipoDocumento;NúmeroDocumento;NombresVendedor;ApellidosVendedor
+     *
+     * @return líneas rechazadas del archivo
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    private static List<InstantaneaCatalogo.Rechazo> leerArchivoVendedores() throws IOException {
+        List<InstantaneaCatalogo.Rechazo> rechazos = new ArrayList<>();
 
-                try {
-                    int cantidad = Integer.parseInt(elementos[i + 1].trim());
+        // Lectura línea a línea (descomprimiendo si es .txt.gz) para no cargar el archivo completo en memoria
+        try (BufferedReader lector = EntradaComprimida.abrirTexto(rutaVendedores())) {
+            String lineaLeida;
+            int numeroLinea = 0;
 
-                    if (cantidad < 0) {
-                        System.err.println("Advertencia: Cantidad negativa (" + cantidad +
-                                ") en " + nombreArchivo + " línea " + numeroLinea +
-                                " - se usará valor absoluto");
-                        cantidad = Math.abs(cantidad);
-                    }
+            while ((lineaLeida = lector.readLine()) != null) {
+                numeroLinea++;
+                String linea = lineaLeida.trim();
 
-                    // Verificar que el producto exista
-                    ProductoInfo producto = productos.get(idProducto);
-                    if (producto == null) {
-                        System.err.println("Advertencia: Producto " + idProducto +
-                                " no existe en archivo de productos (" + nombreArchivo +
-                                " línea " + numeroLinea + ")");
-                        continue;
-                    }
+                if (linea.isEmpty()) {
+                    continue; // Saltar líneas vacías
+                }
 
-                    // Actualizar cantidad vendida del producto
-                    producto.agregarVenta(cantidad);
+                String[] partes = linea.split(";");
+                if (partes.length == 4) {
+                    try {
+                        String tipoDocumento = partes[0].trim();
+                        long numeroDocumento = Long.parseLong(partes[1].trim());
+                        String nombres = partes[2].trim();
+                        String apellidos = partes[3].trim();
 
-                    // Calcular valor de la venta
-                    totalVenta += producto.getPrecio() * cantidad;
+                        vendedores.agregar(tipoDocumento, numeroDocumento, nombres, apellidos);
 
-                } catch (NumberFormatException e) {
-                    System.err.println("Advertencia: Cantidad inválida en " + nombreArchivo +
-                            " línea " + numeroLinea + " para producto " + idProducto);
+                    } catch (NumberFormatException e) {
+                        // Número de documento inválido
+                        rechazarLineaCatalogo(rechazos, Diagnosticos.Categoria.VENDEDOR_INVALIDO,
+                                "vendedores.txt", numeroLinea, linea);
+                    }
+                } else {
+                    rechazarLineaCatalogo(rechazos, Diagnosticos.Categoria.VENDEDOR_INVALIDO,
+                            "vendedores.txt", numeroLinea, linea);
                 }
             }
         }
 
-        // Actualizar total de ventas del vendedor
-        VendedorInfo vendedor = vendedores.get(documentoVendedor);
-        if (vendedor != null) {
-            vendedor.agregarVenta(totalVenta);
+        if (vendedores.estaVacia()) {
+            throw new IOException("No se pudo cargar ningún vendedor válido del archivo");
         }
+
+        return rechazos;
     }
 
     /**
-     * Genera el reporte de vendedores ordenado por ventas (mayor a menor).
-     * Formato: NombresVendedor;ApellidosVendedor;TotalRecaudado
+     * Lee y procesa el archivo de productos.
+     * Formato esperado: IDProducto;NombreProducto;PrecioPorUnidadProducto
      *
-     * @throws IOException si ocurre un error al escribir el archivo
+     * @return líneas rechazadas o corregidas del archivo
+     * @throws IOException si ocurre un error al leer el archivo
      */
-    private static void generarReporteVendedores() throws IOException {
-        String rutaArchivo = CARPETA_REPORTES + "/reporte_vendedores.csv";
+    private static List<InstantaneaCatalogo.Rechazo> leerArchivoProductos() throws IOException {
+        List<InstantaneaCatalogo.Rechazo> rechazos = new ArrayList<>();
 
-        // Convertir a lista y ordenar por ventas (mayor a menor)
-        List<VendedorInfo> vendedoresOrdenados = new ArrayList<>(vendedores.values());
-        vendedoresOrdenados.sort((v1, v2) -> Double.compare(v2.getTotalVentas(), v1.getTotalVentas()));
+        // Lectura línea a línea (descomprimiendo si es .txt.gz) para no cargar el archivo completo en memoria
+        try (BufferedReader lector = EntradaComprimida.abrirTexto(rutaProductos())) {
+            String lineaLeida;
+            int numeroLinea = 0;
 
-        try (PrintWriter writer = new PrintWriter(new FileWriter(rutaArchivo))) {
-            // Escribir encabezado
-            writer.println("NombresVendedor;ApellidosVendedor;TotalRecaudado");
+            while ((lineaLeida = lector.readLine()) != null) {
+                numeroLinea++;
+                String linea = lineaLeida.trim();
 
-            // Escribir datos de vendedores
-            for (VendedorInfo vendedor : vendedoresOrdenados) {
-                String linea = String.format("%s;%s;%s",
-                        vendedor.getNombres(),
-                        vendedor.getApellidos(),
-                        formatoDecimal.format(vendedor.getTotalVentas())
-                );
-                writer.println(linea);
+                if (linea.isEmpty()) {
+                    continue; // Saltar líneas vacías
+                }
+
+                String[] partes = linea.split(";");
+                if (partes.length == 3) {
+                    try {
+                        String idProducto = partes[0].trim();
+                        String nombreProducto = partes[1].trim();
+                        long precioCentavos = MontoCentavos.parsearCentavos(partes[2].trim());
+
+                        if (precioCentavos < 0) {
+                            // Se usará el valor absoluto
+                            rechazarLineaCatalogo(rechazos, Diagnosticos.Categoria.PRECIO_NEGATIVO,
+                                    "productos.txt", numeroLinea, linea);
+                            precioCentavos = Math.abs(precioCentavos);
+                        }
+
+                        productos.agregar(idProducto, nombreProducto, precioCentavos);
+
+                    } catch (NumberFormatException e) {
+                        // Precio inválido
+                        rechazarLineaCatalogo(rechazos, Diagnosticos.Categoria.PRODUCTO_INVALIDO,
+                                "productos.txt", numeroLinea, linea);
+                    }
+                } else {
+                    rechazarLineaCatalogo(rechazos, Diagnosticos.Categoria.PRODUCTO_INVALIDO,
+                            "productos.txt", numeroLinea, linea);
+                }
             }
         }
 
-        System.out.println("   → Archivo creado: " + rutaArchivo);
+        if (productos.estaVacio()) {
+            throw new IOException("No se pudo cargar ningún producto válido del archivo");
+        }
+
+        return rechazos;
     }
 
     /**
-     * Genera el reporte de productos ordenado por cantidad vendida (mayor a menor).
-     * Formato: NombreProducto;PrecioUnitario;CantidadVendida
+     * Obtiene los archivos de ventas de la carpeta de ventas.
      *
-     * @throws IOException si ocurre un error al escribir el archivo
+     * @return archivos .txt y .txt.gz (sin su versión .txt) de la carpeta de ventas
+     * @throws IOException si no se puede acceder a la carpeta o está vacía
      */
-    private static void generarReporteProductos() throws IOException {
-        String rutaArchivo = CARPETA_REPORTES + "/reporte_productos.csv";
-
-        // Convertir a lista y ordenar por cantidad vendida (mayor a menor)
-        List<ProductoInfo> productosOrdenados = new ArrayList<>(productos.values());
-        productosOrdenados.sort((p1, p2) -> Integer.compare(p2.getCantidadVendida(), p1.getCantidadVendida()));
+    private static File[] listarArchivosVentas() throws IOException {
+        File carpetaVentas = new File(CARPETA_VENTAS);
+        File[] archivosVentas = carpetaVentas.listFiles(Main::esArchivoVentas);
 
-        try (PrintWriter writer = new PrintWriter(new FileWriter(rutaArchivo))) {
-            // Escribir encabezado
-            writer.println("NombreProducto;PrecioUnitario;CantidadVendida");
+        if (archivosVentas == null) {
+            throw new IOException("No se pudo acceder a la carpeta de ventas");
+        }
 
-            // Escribir datos de productos
-            for (ProductoInfo producto : productosOrdenados) {
-                String linea = String.format("%s;%s;%d",
-                        producto.getNombreProducto(),
-                        formatoDecimal.format(producto.getPrecio()),
-                        producto.getCantidadVendida()
-                );
-                writer.println(linea);
-            }
+        if (archivosVentas.length == 0) {
+            throw new IOException("No se encontraron archivos de ventas en la carpeta");
         }
 
-        System.out.println("   → Archivo creado: " + rutaArchivo);
+        return archivosVentas;
     }
 
     /**
-     * Muestra un resumen detallado del procesamiento completado.
+     * Indica si un archivo de la carpeta de ventas es un archivo de ventas: X.txt, o
+     * X.txt.gz cuando no existe X.txt (así el mismo archivo no se cuenta dos veces).
+     *
+     * @param carpeta carpeta de ventas
+     * @param nombre nombre del archivo
+     * @return true si el archivo debe procesarse
      */
-    private static void mostrarResumenProcesamiento() {
-        // Calcular estadísticas
-        double totalRecaudado = vendedores.values().stream()
-                .mapToDouble(VendedorInfo::getTotalVentas)
-                .sum();
-
-        int totalProductosVendidos = productos.values().stream()
-                .mapToInt(ProductoInfo::getCantidadVendida)
-                .sum();
+    private static boolean esArchivoVentas(File carpeta, String nombre) {
+        return EntradaComprimida.esArchivoActivo(carpeta, nombre, ".txt");
+    }
 
-        VendedorInfo mejorVendedor = vendedores.values().stream()
-                .max((v1, v2) -> Double.compare(v1.getTotalVentas(), v2.getTotalVentas()))
-                .orElse(null);
+    /**
+     * Procesa todos los archivos de ventas en la carpeta de ventas.
+     * Con paralelismo mayor que 1 los archivos se leen en un ForkJoinPool propio.
+     * Cada hilo acumula las cantidades de productos en su propio arreglo (y, con --cruce,
+     * las unidades por par en su propia matriz), que se suma al terminar, y el total de
+     * cada archivo se suma a su vendedor en el orden del recorrido secuencial, de modo
+     * que los reportes resultan idénticos.
+     *
+     * @param paralelismo número de hilos a utilizar (1 = secuencial)
+     * @return número de archivos procesados exitosamente
+     * @throws IOException si ocurre un error al acceder a los archivos
+     */
+    private static int procesarArchivosVentas(int paralelismo) throws IOException {
+        return procesarArchivosVentas(listarArchivosVentas(), paralelismo);
+    }
 
-        ProductoInfo productoMasVendido = productos.values().stream()
-                .max((p1, p2) -> Integer.compare(p1.getCantidadVendida(), p2.getCantidadVendida()))
-                .orElse(null);
+    /**
+     * Procesa los archivos de ventas indicados, sumando sus ventas a los acumulados.
+     *
+     * @param archivosVentas archivos de ventas a procesar
+     * @param paralelismo número de hilos a utilizar (1 = secuencial)
+     * @return número de archivos procesados exitosamente
+     * @throws IOException si ocurre un error al acceder a los archivos
+     */
+    private static int procesarArchivosVentas(File[] archivosVentas, int paralelismo) throws IOException {
+        if (opcionesTuberia != null) {
+            return procesarArchivosVentasTuberia(archivosVentas, paralelismo);
+        }
 
-        // Mostrar resumen
-        System.out.println("\n" + "=".repeat(60));
-        System.out.println("                PROCESAMIENTO COMPLETADO EXITOSAMENTE");
-        System.out.println("=".repeat(60));
+        Queue<long[]> cantidadesParciales = new ConcurrentLinkedQueue<>();
+        ThreadLocal<long[]> cantidadesHilo = ThreadLocal.withInitial(() -> {
+            long[] cantidades = new long[productos.getTamano()];
+            cantidadesParciales.add(cantidades);
+            return cantidades;
+        });
+
+        Queue<MatrizVentas> crucesParciales = new ConcurrentLinkedQueue<>();
+        ThreadLocal<MatrizVentas> cruceHilo = ThreadLocal.withInitial(() -> {
+            MatrizVentas cruce = new MatrizVentas();
+            crucesParciales.add(cruce);
+            return cruce;
+        });
+        boolean conCruce = cruceVentas != null;
+
+        Queue<VentasDiarias> diariasParciales = new ConcurrentLinkedQueue<>();
+        ThreadLocal<VentasDiarias> diarioHilo = ThreadLocal.withInitial(() -> {
+            VentasDiarias diario = new VentasDiarias();
+            diariasParciales.add(diario);
+            return diario;
+        });
+        boolean conDiario = ventasDiarias != null;
+
+        List<VentaArchivo> ventas = ejecutarPorArchivo(Arrays.asList(archivosVentas), paralelismo,
+                archivo -> procesarArchivoVentaSinFallar(archivo, cantidadesHilo.get(),
+                        conCruce ? cruceHilo.get() : null, conDiario ? diarioHilo.get() : null));
+
+        for (long[] cantidades : cantidadesParciales) {
+            productos.agregarCantidades(cantidades);
+        }
+        for (MatrizVentas cruce : crucesParciales) {
+            cruceVentas.agregarTodo(cruce);
+        }
+        for (VentasDiarias diario : diariasParciales) {
+            ventasDiarias.agregarTodo(diario);
+        }
 
-        System.out.println("\n Archivos de reporte generados:");
-        System.out.println("   " + CARPETA_REPORTES + "/");
+        int archivosExitosos = 0;
+        for (VentaArchivo venta : ventas) {
+            if (venta != null) {
+                acumularVentaArchivo(venta);
+                archivosExitosos++;
+            }
+        }
+
+        return archivosExitosos;
+    }
+
+    /**
+     * Procesa los archivos de ventas por lotes y guarda un punto de control entre dos
+     * lotes cuando pasó el intervalo indicado desde el anterior. Con un punto de control
+     * cargado (--reanudar), primero suma sus acumulados y solo lee los archivos restantes.
+     *
+     * @param opciones opciones de ejecución con el paralelismo y el intervalo
+     * @param anterior punto de control desde el que se reanuda, o null para empezar desde cero
+     * @return número de archivos procesados exitosamente, incluidos los del punto de control
+     * @throws IOException si ocurre un error al acceder a los archivos o al guardar el punto de control
+     */
+    private static int procesarArchivosVentasConPuntosControl(OpcionesEjecucion opciones, PuntoControl anterior)
+            throws IOException {
+        Path ruta = Paths.get(ARCHIVO_PUNTO_CONTROL);
+        long huellaCatalogos = AgregadoParcial.calcularHuellaCatalogos(rutaVendedores(), rutaProductos());
+        File[] archivosVentas = listarArchivosVentas();
+
+        PuntoControl puntoControl = (anterior != null) ? anterior : new PuntoControl(diagnosticos.getTotal());
+        int archivosExitosos = 0;
+        if (anterior != null) {
+            puntoControl.restaurarEn(huellaCatalogos, vendedores, productos, cruceVentas);
+            archivosVentas = puntoControl.filtrarPendientes(archivosVentas);
+            archivosExitosos = puntoControl.getArchivosProcesados();
+        }
+
+        long intervaloNanos = TimeUnit.SECONDS.toNanos(opciones.getIntervaloPuntoControl());
+        long ultimoPuntoControl = System.nanoTime();
+
+        for (int desde = 0; desde < archivosVentas.length; desde += ARCHIVOS_POR_LOTE_PUNTO_CONTROL) {
+            int hasta = Math.min(archivosVentas.length, desde + ARCHIVOS_POR_LOTE_PUNTO_CONTROL);
+            File[] lote = Arrays.copyOfRange(archivosVentas, desde, hasta);
+            archivosExitosos += procesarArchivosVentas(lote, opciones.getParalelismo());
+            puntoControl.registrarLeidos(lote);
+
+            // Entre dos lotes ningún archivo está a medio procesar
+            if (hasta < archivosVentas.length && System.nanoTime() - ultimoPuntoControl >= intervaloNanos) {
+                int archivosGuardados = archivosExitosos;
+                metricas.medir("punto_control", () -> puntoControl.guardar(ruta, AgregadoParcial.desdeAcumulados(
+                        huellaCatalogos, archivosGuardados, vendedores, productos, cruceVentas), diagnosticos));
+                ultimoPuntoControl = System.nanoTime();
+            }
+        }
+
+        return archivosExitosos;
+    }
+
+    /**
+     * Procesa los archivos de ventas con la tubería de etapas (--tuberia): los lectores,
+     * tantos analizadores como indique el paralelismo y los agregadores configurados.
+     * Los acumulados de cada agregador se suman al terminar y el total de cada archivo
+     * se suma a su vendedor en el orden de los archivos, como en el recorrido por archivo.
+     *
+     * @param archivosVentas archivos de ventas a procesar
+     * @param paralelismo número de analizadores
+     * @return número de archivos procesados exitosamente
+     * @throws IOException si la tubería falla o es interrumpida
+     */
+    private static int procesarArchivosVentasTuberia(File[] archivosVentas, int paralelismo) throws IOException {
+        TuberiaVentas tuberia = new TuberiaVentas(vendedores, productos, diagnosticos, metricas,
+                opcionesTuberia.getLectores(), paralelismo, opcionesTuberia.getAgregadores(),
+                opcionesTuberia.getCapacidadCola(), opcionesTuberia.getTamanoLote(), cruceVentas != null);
+        tuberia.procesar(archivosVentas);
+
+        for (long[] cantidades : tuberia.getCantidadesParciales()) {
+            productos.agregarCantidades(cantidades);
+        }
+        for (MatrizVentas cruce : tuberia.getCrucesParciales()) {
+            cruceVentas.agregarTodo(cruce);
+        }
+
+        int archivosExitosos = 0;
+        for (int i = 0; i < archivosVentas.length; i++) {
+            if (tuberia.fueProcesado(i)) {
+                acumularVentaArchivo(new VentaArchivo(tuberia.getIndiceVendedor(i), tuberia.getTotalVentas(i)));
+                archivosExitosos++;
+            }
+        }
+
+        return archivosExitosos;
+    }
+
+    /**
+     * Procesa los archivos de ventas de forma incremental.
+     * Solo se leen los archivos nuevos o cuyo contenido cambió desde la ejecución
+     * anterior; el aporte de los archivos modificados o eliminados se resta del
+     * estado guardado. Los totales de los vendedores se suman a partir de los
+     * totales por archivo del manifiesto, en el mismo orden que un recorrido completo.
+     *
+     * @param paralelismo número de hilos a utilizar para los archivos pendientes
+     * @param persistir true para cargar y guardar el estado en disco; false para
+     *                  construirlo solo en memoria (modo vigilancia sin --incremental)
+     * @return número de archivos de ventas incluidos en los totales
+     * @throws IOException si ocurre un error al acceder a los archivos o al estado
+     */
+    private static int procesarArchivosVentasIncremental(int paralelismo, boolean persistir) throws IOException {
+        File[] archivosVentas = listarArchivosVentas();
+        long huellaCatalogos = EstadoIncremental.calcularHuella(
+                rutaVendedores(), rutaProductos());
+
+        if (persistir) {
+            estadoVentas = EstadoIncremental.cargar(Paths.get(ARCHIVO_ESTADO_INCREMENTAL),
+                    huellaCatalogos, productos.getTamano());
+            if (estadoVentas == null) {
+                System.out.println("   → Sin estado incremental válido: se procesarán todos los archivos");
+            }
+        }
+        if (estadoVentas == null) {
+            estadoVentas = new EstadoIncremental(huellaCatalogos, productos.getTamano());
+        }
+
+        // Clasificar archivos: sin cambios, pendientes (nuevos o modificados) y eliminados
+        List<File> pendientes = buscarArchivosPendientes(archivosVentas);
+        int eliminados = estadoVentas.eliminarAusentes(nombresArchivos(archivosVentas));
+
+        // Leer solo los archivos pendientes y reconstruir los acumulados
+        actualizarEstadoVentas(pendientes, paralelismo);
+        int archivosIncluidos = aplicarEstadoVentas(archivosVentas);
+
+        if (persistir) {
+            estadoVentas.guardar(Paths.get(ARCHIVO_ESTADO_INCREMENTAL));
+        }
+        System.out.println("   → Incremental: " + pendientes.size() + " archivos nuevos o modificados, " +
+                (archivosVentas.length - pendientes.size()) + " sin cambios, " + eliminados + " eliminados");
+
+        return archivosIncluidos;
+    }
+
+    /**
+     * Busca los archivos que no están en el manifiesto o cuyo tamaño o fecha cambiaron.
+     *
+     * @param archivosVentas archivos de ventas a revisar
+     * @return archivos pendientes de procesar
+     */
+    private static List<File> buscarArchivosPendientes(File[] archivosVentas) {
+        List<File> pendientes = new ArrayList<>();
+        for (File archivo : archivosVentas) {
+            EstadoIncremental.ArchivoRegistrado registrado = estadoVentas.buscar(archivo.getName());
+            if (registrado == null || !registrado.coincideCon(archivo.length(), archivo.lastModified())) {
+                pendientes.add(archivo);
+            }
+        }
+        return pendientes;
+    }
+
+    /**
+     * Obtiene los nombres de un conjunto de archivos.
+     *
+     * @param archivos archivos de ventas
+     * @return nombres de los archivos
+     */
+    private static Set<String> nombresArchivos(File[] archivos) {
+        Set<String> nombres = new HashSet<>();
+        for (File archivo : archivos) {
+            nombres.add(archivo.getName());
+        }
+        return nombres;
+    }
+
+    /**
+     * Lee los archivos pendientes y reemplaza su aporte en el estado incremental.
+     * Los archivos que no se pueden procesar se retiran del manifiesto.
+     *
+     * @param pendientes archivos nuevos o modificados
+     * @param paralelismo número de hilos a utilizar
+     * @throws IOException si el procesamiento paralelo falla inesperadamente
+     */
+    private static void actualizarEstadoVentas(List<File> pendientes, int paralelismo) throws IOException {
+        EstadoIncremental estado = estadoVentas;
+        // Un arreglo por archivo en curso y no por hilo: al esperar un tramo, el hilo puede
+        // empezar otro archivo antes de compactar las cantidades del primero
+        Queue<long[]> cantidadesLibres = new ConcurrentLinkedQueue<>();
+        List<EstadoIncremental.ArchivoRegistrado> registros = ejecutarPorArchivo(pendientes, paralelismo,
+                archivo -> {
+                    long[] cantidades = cantidadesLibres.poll();
+                    if (cantidades == null) {
+                        cantidades = new long[productos.getTamano()];
+                    }
+                    EstadoIncremental.ArchivoRegistrado registro = registrarArchivoVentaSinFallar(archivo,
+                            estado.buscar(archivo.getName()), cantidades);
+                    cantidadesLibres.add(cantidades);
+                    return registro;
+                });
+
+        for (int i = 0; i < pendientes.size(); i++) {
+            if (registros.get(i) != null) {
+                estado.registrar(registros.get(i));
+            } else {
+                estado.eliminar(pendientes.get(i).getName());
+            }
+        }
+    }
+
+    /**
+     * Reemplaza los acumulados de productos y vendedores (y el cruce, si se pidió) por
+     * los del estado incremental, y registra los problemas guardados de cada archivo: el
+     * archivo de rechazados se escribe de nuevo en cada ejecución y debe tener también los
+     * de los archivos que no se volvieron a leer.
+     *
+     * @param archivosVentas archivos de ventas actuales, en el orden de recorrido
+     * @return número de archivos incluidos en los totales
+     */
+    private static int aplicarEstadoVentas(File[] archivosVentas) {
+        productos.reiniciarCantidades();
+        productos.agregarCantidades(estadoVentas.getCantidadesVendidas());
+        vendedores.reiniciarTotales();
+        if (cruceVentas != null) {
+            cruceVentas.reiniciar();
+        }
+
+        int archivosIncluidos = 0;
+        for (File archivo : archivosVentas) {
+            EstadoIncremental.ArchivoRegistrado registrado = estadoVentas.buscar(archivo.getName());
+            if (registrado != null) {
+                diagnosticos.registrarPendientes(archivo.getName(), registrado.getProblemas(), 0);
+                if (registrado.getIndiceVendedor() != TablaVendedores.NO_ENCONTRADO) {
+                    vendedores.agregarVenta(registrado.getIndiceVendedor(), registrado.getTotalVentas());
+                    agregarCruceArchivo(registrado);
+                }
+                archivosIncluidos++;
+            }
+        }
+
+        return archivosIncluidos;
+    }
+
+    /**
+     * Suma al cruce las cantidades por producto de un archivo registrado. El manifiesto
+     * ya guarda esas cantidades por archivo, así que no hace falta volver a leerlo.
+     *
+     * @param registrado archivo registrado de un vendedor conocido
+     */
+    private static void agregarCruceArchivo(EstadoIncremental.ArchivoRegistrado registrado) {
+        if (cruceVentas == null) {
+            return;
+        }
+
+        int[] indices = registrado.getIndicesProductos();
+        long[] cantidades = registrado.getCantidades();
+        for (int i = 0; i < indices.length; i++) {
+            cruceVentas.agregar(registrado.getIndiceVendedor(), indices[i], cantidades[i]);
+        }
+    }
+
+    /**
+     * Guarda la parte del archivo de rechazados escrita al cargar los catálogos y las
+     * cantidades de problemas de entonces, para que cada actualización del modo vigilancia
+     * parta de ellas en lugar de añadir filas a las de la actualización anterior.
+     *
+     * @throws IOException si no se pudo escribir el archivo de rechazados
+     */
+    private static void guardarProblemasCatalogos() throws IOException {
+        longitudRechazadosCatalogos = diagnosticos.sincronizar();
+        problemasCatalogos = new long[Diagnosticos.Categoria.values().length];
+        for (Diagnosticos.Categoria categoria : Diagnosticos.Categoria.values()) {
+            problemasCatalogos[categoria.ordinal()] = diagnosticos.getCantidad(categoria);
+        }
+    }
+
+    /**
+     * Mantiene el programa en ejecución vigilando la carpeta de ventas con un WatchService.
+     * Los eventos se agrupan durante el intervalo configurado; después se vuelven a leer
+     * solo los archivos afectados y se regeneran los reportes con los acumulados en memoria.
+     *
+     * @param opciones opciones de ejecución (paralelismo, intervalo y persistencia)
+     * @throws IOException si no se puede vigilar la carpeta o escribir los reportes
+     */
+    private static void vigilarCarpetaVentas(OpcionesEjecucion opciones) throws IOException {
+        Path carpetaVentas = Paths.get(CARPETA_VENTAS);
+
+        try (WatchService servicio = carpetaVentas.getFileSystem().newWatchService()) {
+            carpetaVentas.register(servicio, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            System.out.println("\n Vigilando " + CARPETA_VENTAS + " (intervalo de " +
+                    opciones.getIntervaloVigilancia() + " ms). Presiona Ctrl+C para terminar.");
+
+            while (true) {
+                Set<String> nombresCambiados = new HashSet<>();
+                boolean desbordado = esperarCambios(servicio, opciones.getIntervaloVigilancia(), nombresCambiados);
+
+                if (!desbordado && nombresCambiados.isEmpty()) {
+                    continue;
+                }
+
+                // El archivo de rechazados conserva los problemas de los catálogos; los de las ventas
+                // se vuelven a escribir desde el estado, que guarda los de cada archivo
+                metricas = new Metricas();
+                int archivos;
+                try (Diagnosticos registroProblemas = new Diagnosticos(Paths.get(ARCHIVO_RECHAZADOS),
+                        longitudRechazadosCatalogos, problemasCatalogos, 0)) {
+                    diagnosticos = registroProblemas;
+                    archivos = metricas.medir("ventas",
+                            () -> actualizarVentasVigiladas(nombresCambiados, desbordado, opciones.getParalelismo()));
+                }
+                if (diagnosticos.getTotal() > 0) {
+                    System.out.println("   " + diagnosticos.getTotal() + " registros con problemas (ver " +
+                            ARCHIVO_RECHAZADOS + ")");
+                }
+                if (opciones.esIncremental()) {
+                    estadoVentas.guardar(Paths.get(ARCHIVO_ESTADO_INCREMENTAL));
+                }
+
+                generarReportes(opciones);
+                guardarMetricas(Paths.get(ARCHIVO_METRICAS));
+                System.out.println("✓ Reportes actualizados (" + (desbordado ? "todos los" : nombresCambiados.size()) +
+                        " archivos revisados, " + archivos + " archivos en los totales)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Espera el primer evento de la carpeta de ventas y agrupa los que lleguen durante el intervalo.
+     *
+     * @param servicio servicio de vigilancia registrado en la carpeta de ventas
+     * @param intervaloMs milisegundos durante los que se agrupan eventos
+     * @param nombresCambiados conjunto donde se agregan los nombres de archivos .txt afectados
+     * @return true si se perdieron eventos (OVERFLOW) y debe revisarse toda la carpeta
+     * @throws InterruptedException si el hilo es interrumpido mientras espera
+     * @throws IOException si la carpeta de ventas deja de estar disponible
+     */
+    private static boolean esperarCambios(WatchService servicio, int intervaloMs, Set<String> nombresCambiados)
+            throws InterruptedException, IOException {
+        WatchKey clave = servicio.take();
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        boolean desbordado = false;
+
+        while (clave != null) {
+            for (WatchEvent<?> evento : clave.pollEvents()) {
+                if (evento.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    desbordado = true;
+                } else {
+                    String nombre = evento.context().toString();
+                    if (nombre.endsWith(".txt") || nombre.endsWith(".txt" + EntradaComprimida.EXTENSION_GZIP)) {
+                        nombresCambiados.add(nombre);
+                    }
+                }
+            }
+
+            if (!clave.reset()) {
+                throw new IOException("La carpeta de ventas dejó de estar disponible");
+            }
+
+            long restante = limite - System.nanoTime();
+            clave = restante > 0 ? servicio.poll(restante, TimeUnit.NANOSECONDS) : null;
+        }
+
+        return desbordado;
+    }
+
+    /**
+     * Actualiza el estado en memoria con los archivos afectados por los eventos recibidos.
+     *
+     * @param nombresCambiados nombres de archivos creados, modificados o eliminados
+     * @param desbordado true si deben revisarse todos los archivos de la carpeta
+     * @param paralelismo número de hilos a utilizar
+     * @return número de archivos incluidos en los totales
+     * @throws IOException si no se puede acceder a la carpeta de ventas
+     */
+    private static int actualizarVentasVigiladas(Set<String> nombresCambiados, boolean desbordado,
+                                                 int paralelismo) throws IOException {
+        File[] archivosVentas = new File(CARPETA_VENTAS).listFiles(Main::esArchivoVentas);
+        if (archivosVentas == null) {
+            throw new IOException("No se pudo acceder a la carpeta de ventas");
+        }
+
+        List<File> pendientes;
+        if (desbordado) {
+            pendientes = buscarArchivosPendientes(archivosVentas);
+            estadoVentas.eliminarAusentes(nombresArchivos(archivosVentas));
+        } else {
+            pendientes = new ArrayList<>();
+            for (String nombre : nombresCambiados) {
+                File archivo = new File(CARPETA_VENTAS, nombre);
+                EstadoIncremental.ArchivoRegistrado registrado = estadoVentas.buscar(nombre);
+
+                if (!archivo.isFile() || !esArchivoVentas(archivo.getParentFile(), nombre)) {
+                    estadoVentas.eliminar(nombre);
+                } else if (registrado == null || !registrado.coincideCon(archivo.length(), archivo.lastModified())) {
+                    pendientes.add(archivo);
+                }
+            }
+        }
+
+        actualizarEstadoVentas(pendientes, paralelismo);
+        return aplicarEstadoVentas(archivosVentas);
+    }
+
+    /**
+     * Ejecuta una tarea sobre cada archivo, en paralelo si se indica, conservando el orden.
+     * En paralelo se usa poolVentas, que se crea una sola vez y se reutiliza en los lotes
+     * de los puntos de control y en cada actualización del modo vigilancia.
+     *
+     * @param archivos archivos a procesar
+     * @param paralelismo número de hilos a utilizar (1 = en el hilo actual)
+     * @param tarea tarea a aplicar a cada archivo
+     * @param <T> tipo del resultado de la tarea
+     * @return resultados en el mismo orden que los archivos
+     * @throws IOException si el procesamiento es interrumpido o falla inesperadamente
+     */
+    private static <T> List<T> ejecutarPorArchivo(List<File> archivos, int paralelismo,
+                                                  Function<File, T> tarea) throws IOException {
+        if (paralelismo <= 1) {
+            List<T> resultados = new ArrayList<>(archivos.size());
+            for (File archivo : archivos) {
+                resultados.add(tarea.apply(archivo));
+            }
+            return resultados;
+        }
+
+        if (poolVentas == null || poolVentas.getParallelism() != paralelismo) {
+            if (poolVentas != null) {
+                poolVentas.shutdown();
+            }
+            poolVentas = new ForkJoinPool(paralelismo);
+        }
+
+        try {
+            return poolVentas.submit(() -> archivos.parallelStream()
+                    .map(tarea)
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Procesamiento paralelo interrumpido", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Error en el procesamiento paralelo: " + e.getCause().getMessage(), e);
+        }
+    }
+
+    /**
+     * Procesa un archivo de ventas informando el error en lugar de propagarlo.
+     *
+     * @param archivo archivo de ventas a procesar
+     * @param cantidades arreglo donde se acumulan las cantidades por índice de producto
+     * @param cruce matriz donde se acumulan las unidades por par, o null
+     * @param diario series diarias donde se acumulan las líneas con fecha, o null
+     * @return resultado del archivo, o null si no se pudo procesar
+     */
+    private static VentaArchivo procesarArchivoVentaSinFallar(File archivo, long[] cantidades, MatrizVentas cruce,
+                                                              VentasDiarias diario) {
+        try {
+            return procesarArchivoVenta(archivo, cantidades, cruce, diario, null);
+        } catch (Exception e) {
+            System.err.println("Error procesando " + archivo.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Procesa un archivo de ventas pendiente del modo incremental y obtiene su aporte parcial.
+     * Si el contenido coincide con el registrado solo se actualiza la fecha de modificación.
+     *
+     * @param archivo archivo de ventas a procesar
+     * @param anterior registro previo del archivo, o null si es nuevo
+     * @param cantidades arreglo auxiliar en ceros, del tamaño del catálogo de productos
+     * @return registro del archivo, o null si no se pudo procesar
+     */
+    private static EstadoIncremental.ArchivoRegistrado registrarArchivoVentaSinFallar(
+            File archivo, EstadoIncremental.ArchivoRegistrado anterior, long[] cantidades) {
+        try {
+            long tamano = archivo.length();
+            long fecha = archivo.lastModified();
+            long hash = EstadoIncremental.calcularHashContenido(archivo.toPath());
+
+            if (anterior != null && anterior.getHashContenido() == hash) {
+                return anterior.conFecha(fecha);
+            }
+
+            // Los problemas se guardan con el archivo y se registran al aplicar el estado
+            Diagnosticos.Pendientes problemas = new Diagnosticos.Pendientes();
+            VentaArchivo venta = procesarArchivoVenta(archivo, cantidades, null, null, problemas);
+
+            // Compactar las cantidades del archivo y dejar el arreglo auxiliar en ceros
+            int distintos = 0;
+            for (long cantidad : cantidades) {
+                if (cantidad != 0) {
+                    distintos++;
+                }
+            }
+
+            int[] indices = new int[distintos];
+            long[] cantidadesArchivo = new long[distintos];
+            for (int i = 0, j = 0; i < cantidades.length; i++) {
+                if (cantidades[i] != 0) {
+                    indices[j] = i;
+                    cantidadesArchivo[j++] = cantidades[i];
+                    cantidades[i] = 0;
+                }
+            }
+
+            return new EstadoIncremental.ArchivoRegistrado(archivo.getName(), tamano, fecha, hash,
+                    venta.indiceVendedor, venta.totalVentas, indices, cantidadesArchivo, problemas);
+        } catch (Exception e) {
+            Arrays.fill(cantidades, 0);
+            System.err.println("Error procesando " + archivo.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Suma el total de un archivo de ventas al vendedor correspondiente.
+     *
+     * @param venta resultado del procesamiento de un archivo
+     */
+    private static void acumularVentaArchivo(VentaArchivo venta) {
+        if (venta.indiceVendedor != TablaVendedores.NO_ENCONTRADO) {
+            vendedores.agregarVenta(venta.indiceVendedor, venta.totalVentas);
+        }
+    }
+
+    /**
+     * Procesa un archivo individual de ventas de un vendedor.
+     * Formato: Primera línea: TipoDocumento;NúmeroDocumento
+     *         Líneas siguientes: IDProducto1;Cantidad1;IDProducto2;Cantidad2;...
+     *
+     * Si se indican, acumula también las unidades por par (vendedor, producto) en la
+     * matriz y las ventas por día de las líneas con marca de tiempo en las series.
+     *
+     * @param archivo archivo de ventas a procesar
+     * @param cantidades arreglo donde se acumulan las cantidades por índice de producto
+     * @param cruce matriz donde se acumulan las unidades por par, o null
+     * @param diario series diarias donde se acumulan las líneas con fecha, o null
+     * @param problemas donde se guardan los problemas del archivo, o null para registrarlos directamente
+     * @return índice del vendedor del archivo y total vendido en el archivo
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    private static VentaArchivo procesarArchivoVenta(File archivo, long[] cantidades, MatrizVentas cruce,
+                                                     VentasDiarias diario, Diagnosticos.Pendientes problemas)
+            throws IOException {
+        if (tamanoTramo > 0 && poolVentas != null && archivo.length() > tamanoTramo
+                && !EntradaComprimida.esComprimido(archivo.getName())) {
+            return procesarArchivoVentaPorTramos(archivo, cantidades, cruce, diario, problemas);
+        }
+
+        // El archivo se recorre por bytes con el buffer del hilo: la memoria usada no depende de su tamaño
+        LectorVentas lector = lectoresVentas.get();
+        Metricas.MedicionArchivo medicion = metricas.iniciarArchivo(archivo.getName(), archivo.length());
+
+        try (InputStream entrada = EntradaComprimida.abrir(archivo.toPath())) {
+            lector.iniciar(entrada);
+
+            if (!lector.siguienteLinea()) {
+                throw new IOException("El archivo " + archivo.getName() + " está vacío");
+            }
+
+            VentaArchivo venta = procesarVentasVendedor(lector, archivo.getName(), cantidades, cruce, diario,
+                    problemas);
+            medicion.terminar(lector.getNumeroLinea(), lector.getParesLeidos());
+            return venta;
+        }
+    }
+
+    /**
+     * Procesa un archivo de ventas grande dividiéndolo en tramos de líneas completas, que
+     * se analizan como tareas independientes en poolVentas después de leer el encabezado.
+     * Cada tramo acumula sus cantidades, su total y sus problemas por separado, y los
+     * resultados se combinan en el orden del archivo: los totales y los números de línea
+     * de los registros rechazados son los mismos que al leerlo de corrido. Como mucho hay
+     * dos tramos por hilo en curso, lo que acota la memoria de los acumulados parciales.
+     *
+     * @param archivo archivo de ventas sin comprimir
+     * @param cantidades arreglo donde se acumulan las cantidades por índice de producto
+     * @param cruce matriz donde se acumulan las unidades por par, o null
+     * @param diario series diarias donde se acumulan las líneas con fecha, o null
+     * @param problemas donde se guardan los problemas del archivo, o null para registrarlos directamente
+     * @return índice del vendedor del archivo y total vendido en el archivo
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    private static VentaArchivo procesarArchivoVentaPorTramos(File archivo, long[] cantidades, MatrizVentas cruce,
+                                                              VentasDiarias diario, Diagnosticos.Pendientes problemas)
+            throws IOException {
+        Metricas.MedicionArchivo medicion = metricas.iniciarArchivo(archivo.getName(), archivo.length());
+
+        try (FileChannel canal = FileChannel.open(archivo.toPath(), StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            if (tamano == 0) {
+                throw new IOException("El archivo " + archivo.getName() + " está vacío");
+            }
+
+            // Primera línea: se lee aparte para conocer al vendedor antes de repartir el resto
+            long inicioVentas = TramosArchivo.inicioLinea(canal, 1);
+            byte[] encabezado = TramosArchivo.leerRango(canal, 0, inicioVentas);
+            LectorVentas lector = lectoresVentas.get();
+            lector.iniciar(encabezado, 0, encabezado.length, 0);
+            lector.siguienteLinea();
+
+            int indiceVendedor = buscarVendedorVentas(lector, archivo.getName(), problemas);
+            if (indiceVendedor == TablaVendedores.NO_ENCONTRADO) {
+                medicion.terminar(1, 0);
+                return new VentaArchivo(TablaVendedores.NO_ENCONTRADO, new MontoCentavos());
+            }
+
+            long numeroTramos = (tamano - inicioVentas + tamanoTramo - 1) / tamanoTramo;
+            int maximoEnCurso = 2 * poolVentas.getParallelism();
+            Deque<TramoVentas> enCurso = new ArrayDeque<>();
+            Deque<long[]> cantidadesLibres = new ArrayDeque<>();
+            MontoCentavos totalArchivo = new MontoCentavos();
+            int lineas = 1;
+            long pares = 0;
+
+            try {
+                long siguiente = 0;
+                while (siguiente < numeroTramos || !enCurso.isEmpty()) {
+                    if (siguiente < numeroTramos && enCurso.size() < maximoEnCurso) {
+                        long[] cantidadesTramo = cantidadesLibres.isEmpty()
+                                ? new long[cantidades.length] : cantidadesLibres.pop();
+                        long desde = inicioVentas + siguiente * tamanoTramo;
+                        TramoVentas tramo = new TramoVentas(canal, archivo.getName(), indiceVendedor, desde,
+                                Math.min(tamano, desde + tamanoTramo), cantidadesTramo,
+                                (cruce != null) ? new MatrizVentas() : null,
+                                (diario != null) ? new VentasDiarias() : null);
+                        enCurso.add(tramo);
+                        poolVentas.execute(tramo);
+                        siguiente++;
+                        continue;
+                    }
+
+                    // Combinar los tramos en el orden del archivo para numerar bien sus líneas
+                    TramoVentas terminado = enCurso.poll();
+                    terminado.combinarEn(cantidades, cruce, diario, totalArchivo, lineas, problemas);
+                    lineas += terminado.lineas;
+                    pares += terminado.pares;
+                    cantidadesLibres.push(terminado.cantidades);
+                }
+            } finally {
+                // Ante un error, esperar a los tramos en curso antes de cerrar el canal
+                for (TramoVentas tramo : enCurso) {
+                    tramo.quietlyJoin();
+                }
+            }
+
+            medicion.terminar(lineas, pares);
+            return new VentaArchivo(indiceVendedor, totalArchivo);
+        }
+    }
+
+    /**
+     * Procesa el contenido de un archivo de ventas a partir de su primera línea,
+     * leyendo las líneas de venta restantes a medida que se consumen del lector.
+     *
+     * @param lector lector posicionado en la primera línea del archivo
+     * @param nombreArchivo nombre del archivo para mensajes de error
+     * @param cantidades arreglo donde se acumulan las cantidades por índice de producto
+     * @param cruce matriz donde se acumulan las unidades por par, o null
+     * @param diario series diarias donde se acumulan las líneas con fecha, o null
+     * @param problemas donde se guardan los problemas del archivo, o null para registrarlos directamente
+     * @return índice del vendedor del archivo y total vendido en el archivo
+     * @throws IOException si ocurre un error de lectura o el encabezado es inválido
+     */
+    private static VentaArchivo procesarVentasVendedor(LectorVentas lector, String nombreArchivo,
+                                                       long[] cantidades, MatrizVentas cruce,
+                                                       VentasDiarias diario, Diagnosticos.Pendientes problemas)
+            throws IOException {
+        int indiceVendedor = buscarVendedorVentas(lector, nombreArchivo, problemas);
+        if (indiceVendedor == TablaVendedores.NO_ENCONTRADO) {
+            return new VentaArchivo(TablaVendedores.NO_ENCONTRADO, new MontoCentavos());
+        }
+
+        // Procesar líneas de ventas a medida que se leen, sumando el valor en centavos
+        MontoCentavos totalArchivo = new MontoCentavos();
+        while (lector.siguienteLinea()) {
+            procesarLineaVenta(lector, nombreArchivo, cantidades, totalArchivo, cruce, diario, indiceVendedor,
+                    problemas);
+        }
+
+        return new VentaArchivo(indiceVendedor, totalArchivo);
+    }
+
+    /**
+     * Interpreta la primera línea de un archivo de ventas y busca su vendedor. Si el
+     * vendedor no existe se registra el problema.
+     *
+     * @param lector lector posicionado en la primera línea del archivo
+     * @param nombreArchivo nombre del archivo para mensajes de error
+     * @param problemas donde se guardan los problemas del archivo, o null para registrarlos directamente
+     * @return índice del vendedor, o TablaVendedores.NO_ENCONTRADO si no existe
+     * @throws IOException si el encabezado es inválido
+     */
+    private static int buscarVendedorVentas(LectorVentas lector, String nombreArchivo,
+                                            Diagnosticos.Pendientes problemas) throws IOException {
+        // Primera línea: información del vendedor
+        String[] infoVendedor = lector.getLineaComoTexto().split(";");
+        if (infoVendedor.length < 2) {
+            throw new IOException("Formato incorrecto en primera línea de " + nombreArchivo);
+        }
+
+        long documentoVendedor;
+        try {
+            documentoVendedor = Long.parseLong(infoVendedor[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Número de documento inválido en " + nombreArchivo);
+        }
+
+        // Verificar que el vendedor exista
+        int indiceVendedor = vendedores.buscar(documentoVendedor);
+        if (indiceVendedor == TablaVendedores.NO_ENCONTRADO) {
+            registrarProblema(problemas, Diagnosticos.Categoria.VENDEDOR_DESCONOCIDO,
+                    nombreArchivo, lector.getNumeroLinea(), lector.getLineaComoTexto());
+        }
+        return indiceVendedor;
+    }
+
+    /**
+     * Procesa la línea de venta actual del lector.
+     * Las cantidades se suman en el arreglo indexado por producto y el valor de cada
+     * par (precio en centavos por cantidad) se suma de forma exacta al total del archivo.
+     * Si se indica una matriz, las unidades de cada par se suman también al cruce
+     * (vendedor, producto) en la misma pasada; si se indican series diarias, los pares
+     * de una línea con marca de tiempo se suman también al día de la línea.
+     *
+     * @param lector lector posicionado en la línea de venta
+     * @param nombreArchivo nombre del archivo para mensajes de error
+     * @param cantidades arreglo donde se acumulan las cantidades por índice de producto
+     * @param totalArchivo acumulador del valor vendido en el archivo
+     * @param cruce matriz donde se acumulan las unidades por par, o null
+     * @param diario series diarias donde se acumulan las líneas con fecha, o null
+     * @param indiceVendedor índice del vendedor del archivo (solo se usa con cruce o diario)
+     * @param pendientes problemas del tramo o del archivo que se analiza, o null para registrarlos directamente
+     */
+    private static void procesarLineaVenta(LectorVentas lector, String nombreArchivo, long[] cantidades,
+                                           MontoCentavos totalArchivo, MatrizVentas cruce, VentasDiarias diario,
+                                           int indiceVendedor, Diagnosticos.Pendientes pendientes) {
+        int numeroLinea = lector.getNumeroLinea();
+        int estadoLinea = lector.prepararPares();
+
+        if (estadoLinea == LectorVentas.LINEA_VACIA) {
+            return;
+        }
+
+        if (estadoLinea == LectorVentas.ELEMENTOS_IMPARES) {
+            registrarProblema(pendientes, Diagnosticos.Categoria.ELEMENTOS_IMPARES,
+                    nombreArchivo, numeroLinea, lector.getLineaComoTexto());
+            return;
+        }
+
+        if (estadoLinea == LectorVentas.FECHA_INVALIDA) {
+            registrarProblema(pendientes, Diagnosticos.Categoria.FECHA_INVALIDA,
+                    nombreArchivo, numeroLinea, lector.getLineaComoTexto());
+            return;
+        }
+
+        int dia = lector.getDia();
+        boolean conDiario = diario != null && dia != LectorVentas.SIN_FECHA;
+        if (diario != null && !conDiario) {
+            diario.contarLineaSinFecha();
+        }
+
+        // Procesar pares de (IDProducto, Cantidad)
+        int estadoPar;
+        while ((estadoPar = lector.siguientePar()) != LectorVentas.FIN_LINEA) {
+            if (estadoPar == LectorVentas.CANTIDAD_INVALIDA) {
+                registrarProblema(pendientes, Diagnosticos.Categoria.CANTIDAD_INVALIDA,
+                        nombreArchivo, numeroLinea, lector.getParComoTexto());
+                continue;
+            }
+
+            int cantidad = lector.getCantidad();
+            if (cantidad < 0) {
+                // Se usará el valor absoluto
+                registrarProblema(pendientes, Diagnosticos.Categoria.CANTIDAD_NEGATIVA,
+                        nombreArchivo, numeroLinea, lector.getParComoTexto());
+                cantidad = Math.abs(cantidad);
+            }
+
+            // Verificar que el producto exista
+            int indiceProducto = lector.buscarProducto(productos);
+            if (indiceProducto == DiccionarioProductos.NO_ENCONTRADO) {
+                registrarProblema(pendientes, Diagnosticos.Categoria.PRODUCTO_DESCONOCIDO,
+                        nombreArchivo, numeroLinea, lector.getParComoTexto());
+                continue;
+            }
+
+            // Actualizar cantidad vendida del producto
+            cantidades[indiceProducto] += cantidad;
+            if (cruce != null) {
+                cruce.agregar(indiceVendedor, indiceProducto, cantidad);
+            }
+
+            // Calcular valor de la venta
+            long precio = productos.getPrecioCentavos(indiceProducto);
+            totalArchivo.sumarProducto(precio, cantidad);
+            if (conDiario) {
+                diario.agregar(dia, indiceVendedor, indiceProducto, cantidad, precio);
+            }
+        }
+    }
+
+    /**
+     * Registra un problema de un archivo de ventas, o lo guarda en los pendientes del tramo
+     * o del archivo que se está analizando.
+     *
+     * @param pendientes problemas del tramo o del archivo, o null para registrarlo directamente
+     * @param categoria categoría del problema
+     * @param nombreArchivo nombre del archivo donde se encontró
+     * @param numeroLinea número de línea (dentro del tramo si hay pendientes)
+     * @param registro contenido rechazado
+     */
+    private static void registrarProblema(Diagnosticos.Pendientes pendientes, Diagnosticos.Categoria categoria,
+                                          String nombreArchivo, int numeroLinea, String registro) {
+        if (pendientes != null) {
+            pendientes.agregar(categoria, numeroLinea, registro);
+        } else {
+            diagnosticos.registrar(categoria, nombreArchivo, numeroLinea, registro);
+        }
+    }
+
+    /**
+     * Inicia el servidor HTTP de reportes con los totales del procesamiento recién
+     * terminado. El servidor sigue atendiendo después de que main termina (o mientras
+     * se vigila la carpeta de ventas) hasta que se detiene el proceso.
+     *
+     * @param opciones opciones de ejecución con la dirección del servidor
+     * @throws IOException si no se puede abrir el puerto
+     */
+    private static void iniciarServidorReportes(OpcionesEjecucion opciones) throws IOException {
+        servidorReportes = new ServidorReportes(
+                new InetSocketAddress(opciones.getDireccionServidor(), opciones.getPuertoServidor()), consultaVentas);
+        servidorReportes.iniciar();
+        System.out.println("\n Sirviendo reportes en http://" + opciones.getDireccionServidor() + ":" +
+                servidorReportes.getPuerto() + "/ (vendedores, productos y resumen en .csv o .json). " +
+                "Presiona Ctrl+C para terminar.");
+    }
+
+    /**
+     * Obtiene los índices de consulta construidos al terminar la última agregación.
+     * En modo vigilancia se reemplazan después de cada actualización.
+     *
+     * @return índices de consulta, o null si no se usó --consultas o aún no hay agregación
+     */
+    public static ConsultaVentas getConsultaVentas() {
+        return consultaVentas;
+    }
+
+    /**
+     * Genera los dos reportes a la vez: el de productos en un hilo aparte mientras
+     * el hilo actual escribe el de vendedores (y después los del cruce, si se pidió).
+     * Con --consultas también construye los índices de consulta.
+     *
+     * @param opciones opciones de ejecución con la página del reporte
+     * @throws IOException si ocurre un error al escribir alguno de los archivos
+     */
+    private static void generarReportes(OpcionesEjecucion opciones) throws IOException {
+        FutureTask<Void> tareaProductos = new FutureTask<>(() -> {
+            metricas.medir("reporte_productos", () -> generarReporteProductos(opciones));
+            return null;
+        });
+        new Thread(tareaProductos, "reporte-productos").start();
+
+        metricas.medir("reporte_vendedores", () -> generarReporteVendedores(opciones));
+        if (cruceVentas != null) {
+            metricas.medir("reportes_cruce", () -> generarReportesCruce(opciones));
+        }
+        if (ventasDiarias != null) {
+            metricas.medir("reportes_diarios", () -> generarReportesDiarios());
+        }
+        if (opciones.esConsultas()) {
+            // Los índices se publican de una vez, así que quien consulta nunca ve una mezcla
+            consultaVentas = metricas.medir("indices_consulta", () -> ConsultaVentas.construir(vendedores, productos));
+            // El servidor descarta su caché solo aquí, cuando hay totales nuevos
+            if (servidorReportes != null) {
+                metricas.medir("servidor_publicar", () -> servidorReportes.publicar(consultaVentas));
+            }
+        }
+
+        try {
+            tareaProductos.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Generación de reportes interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Error generando el reporte de productos: " + e.getCause().getMessage(), e);
+        }
+    }
+
+    /**
+     * Genera el reporte de vendedores ordenado por ventas (mayor a menor).
+     * Formato: NombresVendedor;ApellidosVendedor;TotalRecaudado
+     * Con --top o --desde solo se seleccionan las filas de la página pedida.
+     *
+     * @param opciones opciones de ejecución con la página del reporte
+     * @throws IOException si ocurre un error al escribir el archivo
+     */
+    private static void generarReporteVendedores(OpcionesEjecucion opciones) throws IOException {
+        String rutaArchivo = CARPETA_REPORTES + "/reporte_vendedores.csv";
+
+        // Ordenar los índices (o solo la página pedida) con un montículo acotado
+        int[] indices = SeleccionParcial.seleccionar(vendedores.getTamano(), opciones.getDesdeReporte(),
+                opciones.getLimiteReporte(), Main::compararVendedores);
+
+        try (EscritorReporte escritor = new EscritorReporte(Paths.get(rutaArchivo))) {
+            // Escribir encabezado
+            escritor.escribir("NombresVendedor;ApellidosVendedor;TotalRecaudado").nuevaLinea();
+
+            // Escribir datos de vendedores
+            for (int indice : indices) {
+                escritor.escribir(vendedores.getNombres(indice)).escribir(';')
+                        .escribir(vendedores.getApellidos(indice)).escribir(';')
+                        .escribirCentavos(vendedores.getTotalAlto(indice), vendedores.getTotalBajo(indice))
+                        .nuevaLinea();
+            }
+
+            escritor.publicar();
+        }
+
+        System.out.println("   → Archivo creado: " + rutaArchivo);
+    }
+
+    /**
+     * Genera el reporte de productos ordenado por cantidad vendida (mayor a menor).
+     * Formato: NombreProducto;PrecioUnitario;CantidadVendida
+     * Con --top o --desde solo se seleccionan las filas de la página pedida.
+     *
+     * @param opciones opciones de ejecución con la página del reporte
+     * @throws IOException si ocurre un error al escribir el archivo
+     */
+    private static void generarReporteProductos(OpcionesEjecucion opciones) throws IOException {
+        String rutaArchivo = CARPETA_REPORTES + "/reporte_productos.csv";
+
+        // Ordenar los índices (o solo la página pedida) con un montículo acotado
+        int[] indices = SeleccionParcial.seleccionar(productos.getTamano(), opciones.getDesdeReporte(),
+                opciones.getLimiteReporte(), Main::compararProductos);
+
+        try (EscritorReporte escritor = new EscritorReporte(Paths.get(rutaArchivo))) {
+            // Escribir encabezado
+            escritor.escribir("NombreProducto;PrecioUnitario;CantidadVendida").nuevaLinea();
+
+            // Escribir datos de productos
+            for (int indice : indices) {
+                productos.escribirNombre(indice, escritor);
+                escritor.escribir(';')
+                        .escribirCentavos(productos.getPrecioCentavos(indice)).escribir(';')
+                        .escribirEntero(productos.getCantidadVendida(indice))
+                        .nuevaLinea();
+            }
+
+            escritor.publicar();
+        }
+
+        System.out.println("   → Archivo creado: " + rutaArchivo);
+    }
+
+    /**
+     * Genera los reportes del cruce vendedor × producto a partir de la matriz dispersa:
+     * - reporte_vendedor_producto.csv: todos los pares con ventas, por vendedor y producto
+     *   en el orden de los catálogos
+     * - reporte_top_productos_vendedor.csv: los productos con mayor valor vendido de cada
+     *   vendedor (a igual valor, en el orden del archivo de productos)
+     * Formato: NumeroDocumento;NombresVendedor;ApellidosVendedor;[Posicion;]IDProducto;
+     *          NombreProducto;CantidadVendida;TotalRecaudado
+     * El valor de cada par se calcula de forma exacta como precio por unidades.
+     *
+     * @param opciones opciones de ejecución con el número de productos por vendedor
+     * @throws IOException si ocurre un error al escribir alguno de los archivos
+     */
+    private static void generarReportesCruce(OpcionesEjecucion opciones) throws IOException {
+        String rutaPares = CARPETA_REPORTES + "/reporte_vendedor_producto.csv";
+        String rutaTop = CARPETA_REPORTES + "/reporte_top_productos_vendedor.csv";
+        long[] claves = cruceVentas.clavesOrdenadas();
+
+        try (EscritorReporte pares = new EscritorReporte(Paths.get(rutaPares));
+             EscritorReporte top = new EscritorReporte(Paths.get(rutaTop))) {
+            pares.escribir("NumeroDocumento;NombresVendedor;ApellidosVendedor;IDProducto;NombreProducto;" +
+                    "CantidadVendida;TotalRecaudado").nuevaLinea();
+            top.escribir("NumeroDocumento;NombresVendedor;ApellidosVendedor;Posicion;IDProducto;NombreProducto;" +
+                    "CantidadVendida;TotalRecaudado").nuevaLinea();
+
+            // Las claves ordenadas quedan agrupadas por vendedor
+            for (int inicio = 0, fin; inicio < claves.length; inicio = fin) {
+                int indiceVendedor = MatrizVentas.vendedorDe(claves[inicio]);
+                fin = inicio;
+                while (fin < claves.length && MatrizVentas.vendedorDe(claves[fin]) == indiceVendedor) {
+                    escribirParCruce(pares, claves[fin], -1);
+                    fin++;
+                }
+
+                int desdeGrupo = inicio;
+                int[] posiciones = SeleccionParcial.seleccionar(fin - inicio, 0, opciones.getLimiteCruce(),
+                        (a, b) -> compararParesCruce(claves[desdeGrupo + a], claves[desdeGrupo + b]));
+                for (int i = 0; i < posiciones.length; i++) {
+                    escribirParCruce(top, claves[desdeGrupo + posiciones[i]], i + 1);
+                }
+            }
+
+            pares.publicar();
+            top.publicar();
+        }
+
+        System.out.println("   → Archivo creado: " + rutaPares);
+        System.out.println("   → Archivo creado: " + rutaTop);
+    }
+
+    /**
+     * Escribe una fila de un reporte del cruce.
+     *
+     * @param escritor reporte de destino
+     * @param clave clave del par (vendedor, producto)
+     * @param posicion posición del producto dentro del vendedor, o -1 para omitir la columna
+     * @throws IOException si ocurre un error al escribir
+     */
+    private static void escribirParCruce(EscritorReporte escritor, long clave, int posicion) throws IOException {
+        int indiceVendedor = MatrizVentas.vendedorDe(clave);
+        int indiceProducto = MatrizVentas.productoDe(clave);
+        long unidades = cruceVentas.getUnidades(clave);
+        long precio = productos.getPrecioCentavos(indiceProducto);
+
+        escritor.escribirEntero(vendedores.getDocumento(indiceVendedor)).escribir(';')
+                .escribir(vendedores.getNombres(indiceVendedor)).escribir(';')
+                .escribir(vendedores.getApellidos(indiceVendedor)).escribir(';');
+        if (posicion > 0) {
+            escritor.escribirEntero(posicion).escribir(';');
+        }
+        productos.escribirId(indiceProducto, escritor);
+        escritor.escribir(';');
+        productos.escribirNombre(indiceProducto, escritor);
+        escritor.escribir(';')
+                .escribirEntero(unidades).escribir(';')
+                .escribirCentavos(Math.multiplyHigh(precio, unidades), precio * unidades)
+                .nuevaLinea();
+    }
+
+    /**
+     * Compara dos pares del mismo vendedor por valor vendido (mayor primero). A igual
+     * valor se respeta el orden del archivo de productos.
+     *
+     * @param a clave del primer par
+     * @param b clave del segundo par
+     * @return resultado de la comparación
+     */
+    private static int compararParesCruce(long a, long b) {
+        long precioA = productos.getPrecioCentavos(MatrizVentas.productoDe(a));
+        long precioB = productos.getPrecioCentavos(MatrizVentas.productoDe(b));
+        long unidadesA = cruceVentas.getUnidades(a);
+        long unidadesB = cruceVentas.getUnidades(b);
+
+        int comparacion = MontoCentavos.comparar(Math.multiplyHigh(precioB, unidadesB), precioB * unidadesB,
+                Math.multiplyHigh(precioA, unidadesA), precioA * unidadesA);
+        return (comparacion != 0) ? comparacion : Long.compare(a, b);
+    }
+
+    /**
+     * Genera los reportes de series diarias (--diario) con las ventas de las líneas con
+     * marca de tiempo, ordenados por fecha y, dentro de cada fecha, en el orden de los
+     * catálogos:
+     * - reporte_ventas_diarias_vendedores.csv: unidades y valor vendido por vendedor y día
+     * - reporte_ventas_diarias_productos.csv: unidades y valor vendido por producto y día
+     *
+     * @throws IOException si ocurre un error al escribir alguno de los archivos
+     */
+    private static void generarReportesDiarios() throws IOException {
+        String rutaVendedores = CARPETA_REPORTES + "/reporte_ventas_diarias_vendedores.csv";
+        String rutaProductos = CARPETA_REPORTES + "/reporte_ventas_diarias_productos.csv";
+
+        try (EscritorReporte reporte = new EscritorReporte(Paths.get(rutaVendedores))) {
+            reporte.escribir("Fecha;NumeroDocumento;NombresVendedor;ApellidosVendedor;CantidadVendida;" +
+                    "TotalRecaudado").nuevaLinea();
+
+            int diaFecha = LectorVentas.SIN_FECHA;
+            String fecha = "";
+            for (long clave : ventasDiarias.clavesVendedoresOrdenadas()) {
+                if (VentasDiarias.diaDe(clave) != diaFecha) {
+                    diaFecha = VentasDiarias.diaDe(clave);
+                    fecha = LocalDate.ofEpochDay(diaFecha).toString();
+                }
+                int indiceVendedor = VentasDiarias.indiceDe(clave);
+                reporte.escribir(fecha).escribir(';')
+                        .escribirEntero(vendedores.getDocumento(indiceVendedor)).escribir(';')
+                        .escribir(vendedores.getNombres(indiceVendedor)).escribir(';')
+                        .escribir(vendedores.getApellidos(indiceVendedor)).escribir(';')
+                        .escribirEntero(ventasDiarias.getUnidadesVendedor(clave)).escribir(';')
+                        .escribirCentavos(ventasDiarias.getAltoVendedor(clave), ventasDiarias.getBajoVendedor(clave))
+                        .nuevaLinea();
+            }
+            reporte.publicar();
+        }
+
+        try (EscritorReporte reporte = new EscritorReporte(Paths.get(rutaProductos))) {
+            reporte.escribir("Fecha;IDProducto;NombreProducto;CantidadVendida;TotalRecaudado").nuevaLinea();
+
+            int diaFecha = LectorVentas.SIN_FECHA;
+            String fecha = "";
+            for (long clave : ventasDiarias.clavesProductosOrdenadas()) {
+                if (VentasDiarias.diaDe(clave) != diaFecha) {
+                    diaFecha = VentasDiarias.diaDe(clave);
+                    fecha = LocalDate.ofEpochDay(diaFecha).toString();
+                }
+                int indiceProducto = VentasDiarias.indiceDe(clave);
+                long unidades = ventasDiarias.getUnidadesProducto(clave);
+                long precio = productos.getPrecioCentavos(indiceProducto);
+
+                reporte.escribir(fecha).escribir(';');
+                productos.escribirId(indiceProducto, reporte);
+                reporte.escribir(';');
+                productos.escribirNombre(indiceProducto, reporte);
+                reporte.escribir(';')
+                        .escribirEntero(unidades).escribir(';')
+                        .escribirCentavos(Math.multiplyHigh(precio, unidades), precio * unidades)
+                        .nuevaLinea();
+            }
+            reporte.publicar();
+        }
+
+        System.out.println("   → Archivo creado: " + rutaVendedores);
+        System.out.println("   → Archivo creado: " + rutaProductos);
+    }
+
+    /**
+     * Compara dos vendedores por total de ventas (mayor primero). A igual total se
+     * respeta el orden del archivo de vendedores.
+     *
+     * @param a índice del primer vendedor
+     * @param b índice del segundo vendedor
+     * @return resultado de la comparación
+     */
+    private static int compararVendedores(int a, int b) {
+        int comparacion = vendedores.compararTotales(b, a);
+        return (comparacion != 0) ? comparacion : Integer.compare(a, b);
+    }
+
+    /**
+     * Compara dos productos por cantidad vendida (mayor primero). A igual cantidad se
+     * respeta el orden del archivo de productos.
+     *
+     * @param a índice del primer producto
+     * @param b índice del segundo producto
+     * @return resultado de la comparación
+     */
+    private static int compararProductos(int a, int b) {
+        int comparacion = Long.compare(productos.getCantidadVendida(b), productos.getCantidadVendida(a));
+        return (comparacion != 0) ? comparacion : Integer.compare(a, b);
+    }
+
+    /**
+     * Construye los objetos VendedorInfo de la tabla con sus totales acumulados,
+     * en el orden del archivo de vendedores.
+     *
+     * @return lista de vendedores para reportes
+     */
+    private static List<VendedorInfo> crearListaVendedores() {
+        List<VendedorInfo> lista = new ArrayList<>(vendedores.getTamano());
+        for (int i = 0; i < vendedores.getTamano(); i++) {
+            lista.add(vendedores.crearVendedorInfo(i));
+        }
+        return lista;
+    }
+
+    /**
+     * Muestra un resumen detallado del procesamiento completado.
+     */
+    private static void mostrarResumenProcesamiento() {
+        // Calcular estadísticas
+        List<VendedorInfo> listaVendedores = crearListaVendedores();
+
+        BigDecimal totalRecaudado = listaVendedores.stream()
+                .map(VendedorInfo::getTotalVentas)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        // Los productos se recorren por índice, sin crear un ProductoInfo por producto
+        long totalProductosVendidos = 0;
+        int productoMasVendido = -1;
+        for (int i = 0; i < productos.getTamano(); i++) {
+            long cantidad = productos.getCantidadVendida(i);
+            totalProductosVendidos += cantidad;
+            if (productoMasVendido < 0 || cantidad > productos.getCantidadVendida(productoMasVendido)) {
+                productoMasVendido = i;
+            }
+        }
+
+        VendedorInfo mejorVendedor = listaVendedores.stream()
+                .max((v1, v2) -> v1.getTotalVentas().compareTo(v2.getTotalVentas()))
+                .orElse(null);
+
+        // Mostrar resumen
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("                PROCESAMIENTO COMPLETADO EXITOSAMENTE");
+        System.out.println("=".repeat(60));
+
+        System.out.println("\n Archivos de reporte generados:");
+        System.out.println("   " + CARPETA_REPORTES + "/");
         System.out.println("   ├──  reporte_vendedores.csv");
-        System.out.println("   └──  reporte_productos.csv");
+        System.out.println("   ├──  reporte_productos.csv");
+        if (cruceVentas != null) {
+            System.out.println("   ├──  reporte_vendedor_producto.csv (" + cruceVentas.getTamano() + " pares)");
+            System.out.println("   ├──  reporte_top_productos_vendedor.csv");
+        }
+        if (ventasDiarias != null) {
+            System.out.println("   ├──  reporte_ventas_diarias_vendedores.csv (" +
+                    ventasDiarias.getTamanoVendedores() + " filas)");
+            System.out.println("   ├──  reporte_ventas_diarias_productos.csv (" +
+                    ventasDiarias.getTamanoProductos() + " filas)");
+        }
+        System.out.println("   ├──  rechazados.csv");
+        System.out.println("   └──  metricas.json");
 
         System.out.println("\n Estadísticas del procesamiento:");
-        System.out.println("   • Total de vendedores: " + vendedores.size());
-        System.out.println("   • Total de productos: " + productos.size());
+        System.out.println("   • Total de vendedores: " + vendedores.getTamano());
+        System.out.println("   • Total de productos: " + productos.getTamano());
+        if (productos.estaFueraDelHeap()) {
+            System.out.println("   • Catálogo de productos fuera del heap: "
+                    + (productos.getBytesFueraDelHeap() >> 20) + " MB");
+        }
         System.out.println("   • Total recaudado: $" + formatoDecimal.format(totalRecaudado));
         System.out.println("   • Total productos vendidos: " + totalProductosVendidos);
+        if (ventasDiarias != null) {
+            System.out.println("   • Líneas de venta sin fecha (fuera de las series diarias): "
+                    + ventasDiarias.getLineasSinFecha());
+        }
 
         if (mejorVendedor != null) {
             System.out.println("   • Mejor vendedor: " + mejorVendedor.getNombreCompleto() +
                     " ($" + formatoDecimal.format(mejorVendedor.getTotalVentas()) + ")");
         }
 
-        if (productoMasVendido != null) {
-            System.out.println("   • Producto más vendido: " + productoMasVendido.getNombreProducto() +
-                    " (" + productoMasVendido.getCantidadVendida() + " unidades)");
+        if (productoMasVendido >= 0) {
+            System.out.println("   • Producto más vendido: " + productos.getNombre(productoMasVendido) +
+                    " (" + productos.getCantidadVendida(productoMasVendido) + " unidades)");
         }
 
+        System.out.println("\n Tiempos por fase:");
+        metricas.imprimirResumen(System.out);
+
+        System.out.println("\n Registros con problemas:");
+        diagnosticos.imprimirResumen(System.out);
+
         System.out.println("\n Los reportes CSV están listos para su análisis");
         System.out.println("\n" + "=".repeat(60));
     }
+
+    /**
+     * Implementación de {@link AccesoAplicacion} para los benchmarks, registrada en
+     * META-INF/services. Llama directamente a los métodos de Main, así que un cambio en
+     * sus firmas se detecta al compilar.
+     */
+    public static final class AccesoBenchmarks implements AccesoAplicacion {
+
+        /** Opciones por defecto de los reportes (sin paginación) */
+        private final OpcionesEjecucion opciones = OpcionesEjecucion.desdeArgumentos(new String[0]);
+
+        @Override
+        public void crearArchivoVendedores(int vendedores) throws IOException {
+            GenerateInfoFiles.createSalesManInfoFile(vendedores);
+        }
+
+        @Override
+        public void crearArchivoProductos(int productos) throws IOException {
+            GenerateInfoFiles.createProductsFile(productos);
+        }
+
+        @Override
+        public void crearArchivoVentas(int lineas, String nombre, long documento) throws IOException {
+            GenerateInfoFiles.createSalesMenFile(lineas, nombre, documento);
+        }
+
+        @Override
+        public void abrirDiagnosticos(Path archivo) throws IOException {
+            diagnosticos = new Diagnosticos(archivo, false);
+        }
+
+        @Override
+        public void leerArchivoVendedores() throws IOException {
+            Main.leerArchivoVendedores();
+        }
+
+        @Override
+        public void leerArchivoProductos() throws IOException {
+            Main.leerArchivoProductos();
+        }
+
+        @Override
+        public void cargarArchivoVendedores() throws IOException {
+            Main.cargarArchivoVendedores();
+        }
+
+        @Override
+        public void cargarArchivoProductos() throws IOException {
+            Main.cargarArchivoProductos();
+        }
+
+        @Override
+        public int procesarArchivosVentas(int paralelismo) throws IOException {
+            return Main.procesarArchivosVentas(paralelismo);
+        }
+
+        @Override
+        public Object procesarArchivoVenta(File archivo, long[] cantidades) throws IOException {
+            return Main.procesarArchivoVenta(archivo, cantidades, null, null, null);
+        }
+
+        @Override
+        public RecorridoVentas crearRecorridoVentas() {
+            return new RecorridoVentas() {
+
+                /** Lector propio del recorrido */
+                private final LectorVentas lector = new LectorVentas();
+
+                /** Valor vendido en las líneas procesadas */
+                private final MontoCentavos total = new MontoCentavos();
+
+                @Override
+                public void iniciar(byte[] contenido) {
+                    lector.iniciar(contenido, 0, contenido.length, 0);
+                }
+
+                @Override
+                public boolean siguienteLinea() throws IOException {
+                    return lector.siguienteLinea();
+                }
+
+                @Override
+                public void procesarLinea(long[] cantidades) {
+                    procesarLineaVenta(lector, "benchmark", cantidades, total, null, null,
+                            TablaVendedores.NO_ENCONTRADO, null);
+                }
+
+                @Override
+                public Object getTotal() {
+                    return total;
+                }
+            };
+        }
+
+        @Override
+        public void generarReporteVendedores() throws IOException {
+            Main.generarReporteVendedores(opciones);
+        }
+
+        @Override
+        public void generarReporteProductos() throws IOException {
+            Main.generarReporteProductos(opciones);
+        }
+    }
+
+    /**
+     * Tarea que analiza un tramo de un archivo de ventas grande. Los límites recibidos son
+     * aproximados: la tarea los lleva al inicio de la línea siguiente, así que el tramo solo
+     * contiene líneas completas. Acumula en sus propios arreglos y guarda los problemas con
+     * el número de línea dentro del tramo, hasta que se combinan en el orden del archivo.
+     */
+    private static final class TramoVentas extends RecursiveAction {
+
+        /** Versión de serialización (RecursiveAction es serializable; los tramos nunca se serializan) */
+        private static final long serialVersionUID = 1L;
+
+        /** Canal del archivo, compartido por todos sus tramos */
+        private final FileChannel canal;
+
+        /** Nombre del archivo para mensajes de error */
+        private final String nombreArchivo;
+
+        /** Índice del vendedor del archivo */
+        private final int indiceVendedor;
+
+        /** Inicio aproximado del tramo */
+        private final long inicioAproximado;
+
+        /** Fin aproximado (exclusivo) del tramo */
+        private final long finAproximado;
+
+        /** Cantidades del tramo por índice de producto; se entrega en ceros */
+        private final long[] cantidades;
+
+        /** Unidades del tramo por par (vendedor, producto), o null */
+        private final MatrizVentas cruce;
+
+        /** Ventas por día de las líneas con fecha del tramo, o null */
+        private final VentasDiarias diario;
+
+        /** Total vendido en el tramo */
+        private final MontoCentavos total = new MontoCentavos();
+
+        /** Problemas del tramo, con su número de línea dentro del tramo */
+        private final Diagnosticos.Pendientes pendientes = new Diagnosticos.Pendientes();
+
+        /** Número de líneas del tramo */
+        private int lineas;
+
+        /** Número de pares recorridos en el tramo */
+        private long pares;
+
+        private TramoVentas(FileChannel canal, String nombreArchivo, int indiceVendedor, long inicioAproximado,
+                            long finAproximado, long[] cantidades, MatrizVentas cruce, VentasDiarias diario) {
+            this.canal = canal;
+            this.nombreArchivo = nombreArchivo;
+            this.indiceVendedor = indiceVendedor;
+            this.inicioAproximado = inicioAproximado;
+            this.finAproximado = finAproximado;
+            this.cantidades = cantidades;
+            this.cruce = cruce;
+            this.diario = diario;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                long desde = TramosArchivo.inicioLinea(canal, inicioAproximado);
+                long hasta = TramosArchivo.inicioLinea(canal, finAproximado);
+
+                LectorVentas lector = lectoresVentas.get();
+                lector.iniciar(TramosArchivo.abrirRango(canal, desde, hasta));
+                while (lector.siguienteLinea()) {
+                    procesarLineaVenta(lector, nombreArchivo, cantidades, total, cruce, diario, indiceVendedor,
+                            pendientes);
+                }
+                lineas = lector.getNumeroLinea();
+                pares = lector.getParesLeidos();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Espera a que termine el tramo y suma sus resultados a los del archivo. Las
+         * cantidades del tramo quedan en ceros para reutilizar el arreglo.
+         *
+         * @param cantidadesArchivo cantidades del archivo por índice de producto
+         * @param cruceArchivo unidades del archivo por par, o null
+         * @param diarioArchivo ventas por día del archivo, o null
+         * @param totalArchivo total vendido en el archivo
+         * @param lineasPrevias número de líneas del archivo anteriores al tramo
+         * @param problemasArchivo problemas del archivo, o null para registrar los del tramo directamente
+         * @throws IOException si el tramo no se pudo leer
+         */
+        private void combinarEn(long[] cantidadesArchivo, MatrizVentas cruceArchivo, VentasDiarias diarioArchivo,
+                                MontoCentavos totalArchivo, int lineasPrevias,
+                                Diagnosticos.Pendientes problemasArchivo) throws IOException {
+            try {
+                join();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            for (int i = 0; i < cantidades.length; i++) {
+                if (cantidades[i] != 0) {
+                    cantidadesArchivo[i] += cantidades[i];
+                    cantidades[i] = 0;
+                }
+            }
+            if (cruceArchivo != null) {
+                cruceArchivo.agregarTodo(cruce);
+            }
+            if (diarioArchivo != null) {
+                diarioArchivo.agregarTodo(diario);
+            }
+            totalArchivo.sumar(total);
+            if (problemasArchivo != null) {
+                problemasArchivo.agregarTodos(pendientes, lineasPrevias);
+            } else {
+                diagnosticos.registrarPendientes(nombreArchivo, pendientes, lineasPrevias);
+            }
+        }
+    }
+
+    /**
+     * Resultado del procesamiento de un archivo de ventas: el índice del vendedor
+     * al que pertenece y el total vendido en el archivo.
+     */
+    private static final class VentaArchivo {
+
+        /** Índice del vendedor del archivo, o NO_ENCONTRADO si no existe en el archivo de vendedores */
+        private final int indiceVendedor;
+
+        /** Total vendido en el archivo, en centavos */
+        private final MontoCentavos totalVentas;
+
+        private VentaArchivo(int indiceVendedor, MontoCentavos totalVentas) {
+            this.indiceVendedor = indiceVendedor;
+            this.totalVentas = totalVentas;
+        }
+    }
 }
\ No newline at end of file
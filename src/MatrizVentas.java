@@ -0,0 +1,227 @@
+import java.util.Arrays;
+
+/**
+ * Clase que acumula las unidades vendidas por cada par (vendedor, producto) en una
+ * matriz dispersa: solo se guardan los pares que aparecen en las ventas.
+ *
+ * Cada par se codifica en una clave long primitiva (índice del vendedor en los 32 bits
+ * altos, índice del producto en los 32 bits bajos) y se guarda en una tabla hash de
+ * direccionamiento abierto con dos arreglos paralelos (claves y unidades), sin objetos
+ * por par. El valor vendido de un par no se guarda: como el precio de cada producto es
+ * fijo, es exactamente precio por unidades y se calcula al generar los reportes.
+ *
+ * Una matriz no es segura para varios hilos; cada hilo llena la suya y al final se
+ * suman con agregarTodo.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class MatrizVentas {
+
+    /** Clave que marca una posición libre (las claves válidas no son negativas) */
+    private static final long LIBRE = -1L;
+
+    /** Capacidad inicial de la tabla */
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    /** Constante multiplicativa para dispersar las claves (hash de Fibonacci) */
+    private static final long DISPERSION = 0x9E3779B97F4A7C15L;
+
+    /** Número de pares registrados */
+    private int tamano;
+
+    /** Claves de los pares, por posición de la tabla (LIBRE si está vacía) */
+    private long[] claves = crearClaves(CAPACIDAD_INICIAL);
+
+    /** Unidades vendidas, por posición de la tabla */
+    private long[] unidades = new long[CAPACIDAD_INICIAL];
+
+    /** Desplazamiento para obtener la posición a partir de los bits altos del hash */
+    private int desplazamiento = Long.numberOfLeadingZeros(CAPACIDAD_INICIAL - 1);
+
+    /**
+     * Suma unidades vendidas a un par (vendedor, producto).
+     *
+     * @param indiceVendedor índice del vendedor
+     * @param indiceProducto índice del producto
+     * @param cantidad unidades a sumar
+     */
+    public void agregar(int indiceVendedor, int indiceProducto, long cantidad) {
+        agregarClave(codificar(indiceVendedor, indiceProducto), cantidad);
+    }
+
+    /**
+     * Suma unidades vendidas al par de una clave.
+     *
+     * @param clave clave del par
+     * @param cantidad unidades a sumar
+     */
+    private void agregarClave(long clave, long cantidad) {
+        int mascara = claves.length - 1;
+        int posicion = posicionInicial(clave);
+
+        while (claves[posicion] != LIBRE) {
+            if (claves[posicion] == clave) {
+                unidades[posicion] += cantidad;
+                return;
+            }
+            posicion = (posicion + 1) & mascara;
+        }
+
+        claves[posicion] = clave;
+        unidades[posicion] = cantidad;
+        // La tabla se mantiene con un factor de carga máximo de 0.5
+        if (++tamano * 2 > claves.length) {
+            crecer();
+        }
+    }
+
+    /**
+     * Suma a esta matriz todos los pares de otra.
+     *
+     * @param otra matriz a sumar
+     */
+    public void agregarTodo(MatrizVentas otra) {
+        for (int i = 0; i < otra.claves.length; i++) {
+            if (otra.claves[i] != LIBRE) {
+                agregarClave(otra.claves[i], otra.unidades[i]);
+            }
+        }
+    }
+
+    /**
+     * Elimina todos los pares.
+     */
+    public void reiniciar() {
+        Arrays.fill(claves, LIBRE);
+        Arrays.fill(unidades, 0L);
+        tamano = 0;
+    }
+
+    /**
+     * Obtiene las claves de todos los pares ordenadas, es decir, agrupadas por vendedor
+     * y, dentro de cada vendedor, por índice de producto.
+     *
+     * @return claves ordenadas
+     */
+    public long[] clavesOrdenadas() {
+        long[] ordenadas = new long[tamano];
+        int j = 0;
+        for (long clave : claves) {
+            if (clave != LIBRE) {
+                ordenadas[j++] = clave;
+            }
+        }
+        Arrays.parallelSort(ordenadas);
+        return ordenadas;
+    }
+
+    /**
+     * Obtiene las unidades vendidas de un par.
+     *
+     * @param clave clave del par
+     * @return unidades vendidas, o 0 si el par no está registrado
+     */
+    public long getUnidades(long clave) {
+        int mascara = claves.length - 1;
+
+        for (int posicion = posicionInicial(clave); claves[posicion] != LIBRE; posicion = (posicion + 1) & mascara) {
+            if (claves[posicion] == clave) {
+                return unidades[posicion];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Codifica un par (vendedor, producto) en una clave.
+     *
+     * @param indiceVendedor índice del vendedor
+     * @param indiceProducto índice del producto
+     * @return clave del par
+     */
+    public static long codificar(int indiceVendedor, int indiceProducto) {
+        return ((long) indiceVendedor << 32) | (indiceProducto & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Obtiene el índice del vendedor de una clave.
+     *
+     * @param clave clave del par
+     * @return índice del vendedor
+     */
+    public static int vendedorDe(long clave) {
+        return (int) (clave >>> 32);
+    }
+
+    /**
+     * Obtiene el índice del producto de una clave.
+     *
+     * @param clave clave del par
+     * @return índice del producto
+     */
+    public static int productoDe(long clave) {
+        return (int) clave;
+    }
+
+    /**
+     * Calcula la posición inicial de una clave en la tabla.
+     *
+     * @param clave clave del par
+     * @return posición inicial de búsqueda
+     */
+    private int posicionInicial(long clave) {
+        return (int) ((clave * DISPERSION) >>> desplazamiento);
+    }
+
+    /**
+     * Duplica la capacidad de la tabla y vuelve a insertar los pares.
+     */
+    private void crecer() {
+        long[] clavesAnteriores = claves;
+        long[] unidadesAnteriores = unidades;
+
+        claves = crearClaves(clavesAnteriores.length * 2);
+        unidades = new long[clavesAnteriores.length * 2];
+        desplazamiento = Long.numberOfLeadingZeros(claves.length - 1);
+
+        int mascara = claves.length - 1;
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            if (clavesAnteriores[i] != LIBRE) {
+                int posicion = posicionInicial(clavesAnteriores[i]);
+                while (claves[posicion] != LIBRE) {
+                    posicion = (posicion + 1) & mascara;
+                }
+                claves[posicion] = clavesAnteriores[i];
+                unidades[posicion] = unidadesAnteriores[i];
+            }
+        }
+    }
+
+    /**
+     * Crea un arreglo de claves con todas sus posiciones libres.
+     *
+     * @param capacidad número de posiciones (potencia de 2)
+     * @return arreglo de claves libres
+     */
+    private static long[] crearClaves(int capacidad) {
+        long[] nuevas = new long[capacidad];
+        Arrays.fill(nuevas, LIBRE);
+        return nuevas;
+    }
+
+    // Getters
+
+    /**
+     * Obtiene el número de pares (vendedor, producto) registrados.
+     *
+     * @return cantidad de pares
+     */
+    public int getTamano() {
+        return tamano;
+    }
+}
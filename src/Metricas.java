@@ -0,0 +1,704 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Clase que mide el tiempo de reloj, el tiempo de CPU y los bytes asignados de cada
+ * fase del procesamiento y de cada archivo de ventas, y cuenta las líneas, pares y
+ * bytes leídos.
+ *
+ * Una fase se mide en el hilo que la abre; el trabajo de los archivos procesados en
+ * otros hilos (el ForkJoinPool de ventas) se suma a la fase que estaba abierta mientras
+ * se procesaban. Al terminar, las métricas se guardan en metricas.json junto a los
+ * reportes. Además, cada fase y cada archivo se emiten como eventos de JFR (cfp.Fase y
+ * cfp.ArchivoVentas), que solo tienen costo cuando hay una grabación activa.
+ *
+ * Los contadores por archivo son LongAdder, así que los hilos de ventas no compiten
+ * por un mismo contador; solo la lista de los archivos más lentos usa un candado.
+ *
+ * Con la tubería de ventas un archivo pasa por varios hilos, así que no se mide por
+ * archivo: la tubería registra sus totales y la ocupación de cada cola al terminar.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class Metricas {
+
+    /** Número de archivos más lentos que se conservan */
+    private static final int ARCHIVOS_LENTOS = 10;
+
+    /** Medidor de tiempo de CPU de los hilos */
+    private static final ThreadMXBean HILOS = ManagementFactory.getThreadMXBean();
+
+    /** Medidor de bytes asignados por hilo (extensión de HotSpot), o null si no está disponible */
+    private static final com.sun.management.ThreadMXBean ASIGNACIONES = crearMedidorAsignaciones();
+
+    /** Número de fases abiertas en el hilo actual */
+    private static final ThreadLocal<int[]> fasesAbiertas = ThreadLocal.withInitial(() -> new int[1]);
+
+    /** Momento de inicio de la medición */
+    private final Instant inicio = Instant.now();
+
+    /** Referencia de System.nanoTime() del inicio de la medición */
+    private final long inicioNanos = System.nanoTime();
+
+    /** Fases terminadas */
+    private final List<FaseMedida> fases = new ArrayList<>();
+
+    /** Tiempo de CPU de los archivos procesados fuera de una fase de su hilo */
+    private final LongAdder cpuTrabajadores = new LongAdder();
+
+    /** Bytes asignados por los archivos procesados fuera de una fase de su hilo */
+    private final LongAdder asignadoTrabajadores = new LongAdder();
+
+    // Totales de los archivos de ventas
+    private final LongAdder archivos = new LongAdder();
+    private final LongAdder lineas = new LongAdder();
+    private final LongAdder pares = new LongAdder();
+    private final LongAdder bytesLeidos = new LongAdder();
+
+    /** Inicio del primer archivo de ventas (nanoTime) */
+    private final LongAccumulator primerArchivo = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    /** Fin del último archivo de ventas (nanoTime) */
+    private final LongAccumulator ultimoArchivo = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    /** Colas de la tubería de ventas */
+    private final List<ColaMedida> colas = new ArrayList<>();
+
+    /** Archivos más lentos, con el más rápido de ellos en la cabeza */
+    private final PriorityQueue<ArchivoMedido> archivosLentos =
+            new PriorityQueue<>(Comparator.comparingLong((ArchivoMedido archivo) -> archivo.tiempo));
+
+    /**
+     * Comienza la medición de una fase en el hilo actual. Se termina al cerrarla; si
+     * la fase es un solo bloque de código, es más simple usar medir.
+     *
+     * @param nombre nombre de la fase
+     * @return fase abierta
+     */
+    public Fase iniciarFase(String nombre) {
+        return new Fase(nombre);
+    }
+
+    /**
+     * Ejecuta un trabajo en el hilo actual como una fase completa.
+     *
+     * @param nombre nombre de la fase
+     * @param trabajo trabajo de la fase
+     * @throws IOException si el trabajo falla (la fase se registra igual)
+     */
+    public void medir(String nombre, TrabajoFase trabajo) throws IOException {
+        Fase fase = iniciarFase(nombre);
+        try {
+            trabajo.ejecutar();
+        } finally {
+            fase.close();
+        }
+    }
+
+    /**
+     * Ejecuta un trabajo que produce un resultado en el hilo actual como una fase completa.
+     *
+     * @param <T> tipo del resultado
+     * @param nombre nombre de la fase
+     * @param trabajo trabajo de la fase
+     * @return resultado del trabajo
+     * @throws IOException si el trabajo falla (la fase se registra igual)
+     */
+    public <T> T medir(String nombre, CalculoFase<T> trabajo) throws IOException {
+        Fase fase = iniciarFase(nombre);
+        try {
+            return trabajo.ejecutar();
+        } finally {
+            fase.close();
+        }
+    }
+
+    /**
+     * Comienza la medición de un archivo de ventas en el hilo actual.
+     *
+     * @param nombreArchivo nombre del archivo
+     * @param bytes tamaño del archivo en bytes
+     * @return medición abierta del archivo
+     */
+    public MedicionArchivo iniciarArchivo(String nombreArchivo, long bytes) {
+        return new MedicionArchivo(nombreArchivo, bytes);
+    }
+
+    /**
+     * Ejecuta una tarea en el hilo actual y suma su tiempo de CPU y sus bytes asignados
+     * a la fase abierta en otro hilo. Lo usan los hilos de trabajo de larga duración.
+     *
+     * @param tarea tarea a ejecutar
+     */
+    public void medirTrabajo(Runnable tarea) {
+        long cpuInicial = cpuHiloActual();
+        long asignadoInicial = asignadoHiloActual();
+        try {
+            tarea.run();
+        } finally {
+            cpuTrabajadores.add(cpuHiloActual() - cpuInicial);
+            asignadoTrabajadores.add(asignadoHiloActual() - asignadoInicial);
+        }
+    }
+
+    /**
+     * Registra los totales de archivos de ventas leídos sin medición por archivo.
+     *
+     * @param archivosLeidos número de archivos
+     * @param lineasLeidas número de líneas
+     * @param paresLeidos número de pares
+     * @param bytes número de bytes leídos
+     * @param desde inicio de la lectura (System.nanoTime())
+     * @param hasta fin de la lectura (System.nanoTime())
+     */
+    public void registrarVentas(long archivosLeidos, long lineasLeidas, long paresLeidos, long bytes,
+                                long desde, long hasta) {
+        archivos.add(archivosLeidos);
+        lineas.add(lineasLeidas);
+        pares.add(paresLeidos);
+        bytesLeidos.add(bytes);
+        primerArchivo.accumulate(desde);
+        ultimoArchivo.accumulate(hasta);
+    }
+
+    /**
+     * Registra la ocupación de una cola de la tubería de ventas. Una cola casi llena con
+     * productores esperando indica que la etapa que la consume es el cuello de botella;
+     * una cola casi vacía con consumidores esperando, que lo es la etapa que la llena.
+     *
+     * @param nombre nombre de la cola
+     * @param capacidad capacidad de la cola
+     * @param ocupacionMedia ocupación media observada al poner cada elemento
+     * @param ocupacionMaxima ocupación máxima observada
+     * @param esperaProductores tiempo total que esperaron los productores por espacio, en nanosegundos
+     * @param esperaConsumidores tiempo total que esperaron los consumidores por elementos, en nanosegundos
+     */
+    public void registrarCola(String nombre, int capacidad, double ocupacionMedia, int ocupacionMaxima,
+                              long esperaProductores, long esperaConsumidores) {
+        synchronized (colas) {
+            colas.add(new ColaMedida(nombre, capacidad, ocupacionMedia, ocupacionMaxima,
+                    esperaProductores, esperaConsumidores));
+        }
+    }
+
+    /**
+     * Guarda las métricas en formato JSON.
+     *
+     * @param ruta ruta del archivo de métricas
+     * @throws IOException si ocurre un error al escribir el archivo
+     */
+    public void guardar(Path ruta) throws IOException {
+        long duracion = System.nanoTime() - inicioNanos;
+
+        try (EscritorReporte escritor = new EscritorReporte(ruta)) {
+            escritor.escribir("{").nuevaLinea();
+            escritor.escribir("  \"inicio\": \"").escribir(inicio.toString()).escribir("\",").nuevaLinea();
+            escritor.escribir("  \"duracionMs\": ").escribir(milisegundos(duracion)).escribir(",").nuevaLinea();
+
+            escritor.escribir("  \"fases\": [").nuevaLinea();
+            List<FaseMedida> ordenadas = getFases();
+            for (int i = 0; i < ordenadas.size(); i++) {
+                FaseMedida fase = ordenadas.get(i);
+                escritor.escribir("    {\"nombre\": \"").escribir(escaparJson(fase.nombre))
+                        .escribir("\", \"tiempoMs\": ").escribir(milisegundos(fase.tiempo))
+                        .escribir(", \"cpuMs\": ").escribir(milisegundos(fase.cpu))
+                        .escribir(", \"bytesAsignados\": ").escribirEntero(fase.asignado)
+                        .escribir(i < ordenadas.size() - 1 ? "}," : "}").nuevaLinea();
+            }
+            escritor.escribir("  ],").nuevaLinea();
+
+            long tiempoVentas = getTiempoVentas();
+            escritor.escribir("  \"ventas\": {").nuevaLinea();
+            escritor.escribir("    \"archivos\": ").escribirEntero(archivos.sum()).escribir(",").nuevaLinea();
+            escritor.escribir("    \"lineas\": ").escribirEntero(lineas.sum()).escribir(",").nuevaLinea();
+            escritor.escribir("    \"pares\": ").escribirEntero(pares.sum()).escribir(",").nuevaLinea();
+            escritor.escribir("    \"bytes\": ").escribirEntero(bytesLeidos.sum()).escribir(",").nuevaLinea();
+            escritor.escribir("    \"tiempoMs\": ").escribir(milisegundos(tiempoVentas)).escribir(",").nuevaLinea();
+            escritor.escribir("    \"lineasPorSegundo\": ").escribirEntero(porSegundo(lineas.sum(), tiempoVentas))
+                    .escribir(",").nuevaLinea();
+            escritor.escribir("    \"bytesPorSegundo\": ").escribirEntero(porSegundo(bytesLeidos.sum(), tiempoVentas))
+                    .nuevaLinea();
+            escritor.escribir("  },").nuevaLinea();
+
+            escritor.escribir("  \"colas\": [").nuevaLinea();
+            List<ColaMedida> medidas = getColas();
+            for (int i = 0; i < medidas.size(); i++) {
+                ColaMedida cola = medidas.get(i);
+                escritor.escribir("    {\"nombre\": \"").escribir(escaparJson(cola.nombre))
+                        .escribir("\", \"capacidad\": ").escribirEntero(cola.capacidad)
+                        .escribir(", \"ocupacionMedia\": ")
+                        .escribir(String.format(Locale.ROOT, "%.2f", cola.ocupacionMedia))
+                        .escribir(", \"ocupacionMaxima\": ").escribirEntero(cola.ocupacionMaxima)
+                        .escribir(", \"esperaProductoresMs\": ").escribir(milisegundos(cola.esperaProductores))
+                        .escribir(", \"esperaConsumidoresMs\": ").escribir(milisegundos(cola.esperaConsumidores))
+                        .escribir(i < medidas.size() - 1 ? "}," : "}").nuevaLinea();
+            }
+            escritor.escribir("  ],").nuevaLinea();
+
+            escritor.escribir("  \"archivosMasLentos\": [").nuevaLinea();
+            List<ArchivoMedido> lentos = getArchivosLentos();
+            for (int i = 0; i < lentos.size(); i++) {
+                ArchivoMedido archivo = lentos.get(i);
+                escritor.escribir("    {\"archivo\": \"").escribir(escaparJson(archivo.nombre))
+                        .escribir("\", \"tiempoMs\": ").escribir(milisegundos(archivo.tiempo))
+                        .escribir(", \"cpuMs\": ").escribir(milisegundos(archivo.cpu))
+                        .escribir(", \"bytesAsignados\": ").escribirEntero(archivo.asignado)
+                        .escribir(", \"bytes\": ").escribirEntero(archivo.bytes)
+                        .escribir(", \"lineas\": ").escribirEntero(archivo.lineas)
+                        .escribir(", \"pares\": ").escribirEntero(archivo.pares)
+                        .escribir(i < lentos.size() - 1 ? "}," : "}").nuevaLinea();
+            }
+            escritor.escribir("  ]").nuevaLinea();
+            escritor.escribir("}").nuevaLinea();
+
+            escritor.publicar();
+        }
+    }
+
+    /**
+     * Imprime el tiempo de cada fase y el rendimiento de la lectura de ventas.
+     *
+     * @param salida flujo donde se imprime el resumen
+     */
+    public void imprimirResumen(PrintStream salida) {
+        for (FaseMedida fase : getFases()) {
+            salida.println("   • " + fase.nombre + ": " + milisegundos(fase.tiempo) + " ms (CPU " +
+                    milisegundos(fase.cpu) + " ms)");
+        }
+
+        long tiempoVentas = getTiempoVentas();
+        if (archivos.sum() > 0) {
+            salida.println("   • Ventas: " + porSegundo(lineas.sum(), tiempoVentas) + " líneas/s, " +
+                    porSegundo(bytesLeidos.sum(), tiempoVentas) / 1024 + " KB/s");
+        }
+
+        for (ColaMedida cola : getColas()) {
+            salida.println("   • Cola " + cola.nombre + ": ocupación media " +
+                    String.format(Locale.ROOT, "%.1f", cola.ocupacionMedia) + " de " + cola.capacidad +
+                    ", espera al poner " + milisegundos(cola.esperaProductores) + " ms, al tomar " +
+                    milisegundos(cola.esperaConsumidores) + " ms");
+        }
+    }
+
+    /**
+     * Obtiene las colas registradas.
+     *
+     * @return colas medidas
+     */
+    private List<ColaMedida> getColas() {
+        synchronized (colas) {
+            return new ArrayList<>(colas);
+        }
+    }
+
+    /**
+     * Obtiene las fases terminadas en el orden en que empezaron.
+     *
+     * @return fases medidas
+     */
+    private List<FaseMedida> getFases() {
+        List<FaseMedida> copia;
+        synchronized (fases) {
+            copia = new ArrayList<>(fases);
+        }
+        copia.sort(Comparator.comparingLong((FaseMedida fase) -> fase.desde));
+        return copia;
+    }
+
+    /**
+     * Obtiene los archivos más lentos, del más lento al más rápido.
+     *
+     * @return archivos más lentos
+     */
+    private List<ArchivoMedido> getArchivosLentos() {
+        List<ArchivoMedido> copia;
+        synchronized (archivosLentos) {
+            copia = new ArrayList<>(archivosLentos);
+        }
+        copia.sort(Comparator.comparingLong((ArchivoMedido archivo) -> archivo.tiempo).reversed());
+        return copia;
+    }
+
+    /**
+     * Obtiene el tiempo transcurrido entre el inicio del primer archivo de ventas y el
+     * fin del último, que incluye el trabajo en paralelo de todos los hilos.
+     *
+     * @return tiempo en nanosegundos, o 0 si no se procesaron archivos
+     */
+    private long getTiempoVentas() {
+        long desde = primerArchivo.get();
+        long hasta = ultimoArchivo.get();
+        return hasta > desde ? hasta - desde : 0;
+    }
+
+    /**
+     * Registra el resultado de un archivo de ventas.
+     *
+     * @param archivo medición terminada del archivo
+     * @param enFase true si el hilo tenía una fase abierta que ya incluye su trabajo
+     */
+    private void registrarArchivo(ArchivoMedido archivo, boolean enFase) {
+        archivos.increment();
+        lineas.add(archivo.lineas);
+        pares.add(archivo.pares);
+        bytesLeidos.add(archivo.bytes);
+        if (!enFase) {
+            cpuTrabajadores.add(archivo.cpu);
+            asignadoTrabajadores.add(archivo.asignado);
+        }
+
+        synchronized (archivosLentos) {
+            if (archivosLentos.size() < ARCHIVOS_LENTOS) {
+                archivosLentos.add(archivo);
+            } else if (archivosLentos.peek().tiempo < archivo.tiempo) {
+                archivosLentos.poll();
+                archivosLentos.add(archivo);
+            }
+        }
+    }
+
+    /**
+     * Convierte nanosegundos a milisegundos con tres decimales.
+     *
+     * @param nanos tiempo en nanosegundos
+     * @return texto con el tiempo en milisegundos
+     */
+    private static String milisegundos(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Calcula una tasa por segundo.
+     *
+     * @param cantidad cantidad procesada
+     * @param nanos tiempo empleado en nanosegundos
+     * @return cantidad por segundo, o 0 si el tiempo es 0
+     */
+    private static long porSegundo(long cantidad, long nanos) {
+        return nanos > 0 ? (long) (cantidad * 1_000_000_000.0 / nanos) : 0;
+    }
+
+    /**
+     * Escapa un texto para incluirlo entre comillas en JSON.
+     *
+     * @param texto texto a escapar
+     * @return texto escapado
+     */
+    public static String escaparJson(String texto) {
+        StringBuilder resultado = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"' || c == '\\') {
+                resultado.append('\\').append(c);
+            } else if (c < 0x20) {
+                resultado.append(String.format("\\u%04x", (int) c));
+            } else {
+                resultado.append(c);
+            }
+        }
+        return resultado.toString();
+    }
+
+    /**
+     * Obtiene el tiempo de CPU del hilo actual.
+     *
+     * @return nanosegundos de CPU, o 0 si la JVM no lo permite medir
+     */
+    private static long cpuHiloActual() {
+        return HILOS.isCurrentThreadCpuTimeSupported() ? HILOS.getCurrentThreadCpuTime() : 0;
+    }
+
+    /**
+     * Obtiene los bytes asignados por el hilo actual desde que empezó.
+     *
+     * @return bytes asignados, o 0 si la JVM no lo permite medir
+     */
+    private static long asignadoHiloActual() {
+        return ASIGNACIONES != null ? ASIGNACIONES.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * Obtiene el medidor de bytes asignados por hilo de HotSpot.
+     *
+     * @return medidor, o null si la JVM no lo ofrece o no está habilitado
+     */
+    private static com.sun.management.ThreadMXBean crearMedidorAsignaciones() {
+        if (HILOS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean medidor = (com.sun.management.ThreadMXBean) HILOS;
+            if (medidor.isThreadAllocatedMemorySupported() && medidor.isThreadAllocatedMemoryEnabled()) {
+                return medidor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Trabajo de una fase sin resultado.
+     */
+    @FunctionalInterface
+    public interface TrabajoFase {
+
+        /**
+         * Ejecuta el trabajo de la fase.
+         *
+         * @throws IOException si ocurre un error de entrada o salida
+         */
+        void ejecutar() throws IOException;
+    }
+
+    /**
+     * Trabajo de una fase que produce un resultado.
+     *
+     * @param <T> tipo del resultado
+     */
+    @FunctionalInterface
+    public interface CalculoFase<T> {
+
+        /**
+         * Ejecuta el trabajo de la fase.
+         *
+         * @return resultado del trabajo
+         * @throws IOException si ocurre un error de entrada o salida
+         */
+        T ejecutar() throws IOException;
+    }
+
+    /**
+     * Fase abierta del procesamiento. Al cerrarla se registra su medición y se emite
+     * su evento de JFR.
+     */
+    public final class Fase implements AutoCloseable {
+
+        private final String nombre;
+        private final long desde;
+        private final long cpuInicial;
+        private final long asignadoInicial;
+        private final long cpuTrabajadoresInicial;
+        private final long asignadoTrabajadoresInicial;
+        private final EventoFase evento = new EventoFase();
+
+        private Fase(String nombre) {
+            this.nombre = nombre;
+            fasesAbiertas.get()[0]++;
+            evento.begin();
+            this.cpuTrabajadoresInicial = cpuTrabajadores.sum();
+            this.asignadoTrabajadoresInicial = asignadoTrabajadores.sum();
+            this.cpuInicial = cpuHiloActual();
+            this.asignadoInicial = asignadoHiloActual();
+            this.desde = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            long tiempo = System.nanoTime() - desde;
+            long cpu = cpuHiloActual() - cpuInicial + cpuTrabajadores.sum() - cpuTrabajadoresInicial;
+            long asignado = asignadoHiloActual() - asignadoInicial +
+                    asignadoTrabajadores.sum() - asignadoTrabajadoresInicial;
+            fasesAbiertas.get()[0]--;
+
+            synchronized (fases) {
+                fases.add(new FaseMedida(nombre, desde - inicioNanos, tiempo, cpu, asignado));
+            }
+
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.fase = nombre;
+                evento.tiempoCpu = cpu;
+                evento.bytesAsignados = asignado;
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Medición abierta de un archivo de ventas.
+     */
+    public final class MedicionArchivo {
+
+        private final String nombre;
+        private final long bytes;
+        private final long desde;
+        private final long cpuInicial;
+        private final long asignadoInicial;
+        private final EventoArchivo evento = new EventoArchivo();
+
+        private MedicionArchivo(String nombre, long bytes) {
+            this.nombre = nombre;
+            this.bytes = bytes;
+            evento.begin();
+            this.cpuInicial = cpuHiloActual();
+            this.asignadoInicial = asignadoHiloActual();
+            this.desde = System.nanoTime();
+        }
+
+        /**
+         * Termina la medición del archivo y la registra.
+         *
+         * @param lineasLeidas número de líneas leídas del archivo
+         * @param paresLeidos número de pares leídos del archivo
+         */
+        public void terminar(long lineasLeidas, long paresLeidos) {
+            long hasta = System.nanoTime();
+            ArchivoMedido medido = new ArchivoMedido(nombre, hasta - desde, cpuHiloActual() - cpuInicial,
+                    asignadoHiloActual() - asignadoInicial, bytes, lineasLeidas, paresLeidos);
+
+            primerArchivo.accumulate(desde);
+            ultimoArchivo.accumulate(hasta);
+            registrarArchivo(medido, fasesAbiertas.get()[0] > 0);
+
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.archivo = nombre;
+                evento.bytes = bytes;
+                evento.lineas = lineasLeidas;
+                evento.pares = paresLeidos;
+                evento.tiempoCpu = medido.cpu;
+                evento.bytesAsignados = medido.asignado;
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Medición terminada de una fase.
+     */
+    private static final class FaseMedida {
+
+        private final String nombre;
+        private final long desde;
+        private final long tiempo;
+        private final long cpu;
+        private final long asignado;
+
+        private FaseMedida(String nombre, long desde, long tiempo, long cpu, long asignado) {
+            this.nombre = nombre;
+            this.desde = desde;
+            this.tiempo = tiempo;
+            this.cpu = cpu;
+            this.asignado = asignado;
+        }
+    }
+
+    /**
+     * Ocupación registrada de una cola de la tubería.
+     */
+    private static final class ColaMedida {
+
+        private final String nombre;
+        private final int capacidad;
+        private final double ocupacionMedia;
+        private final int ocupacionMaxima;
+        private final long esperaProductores;
+        private final long esperaConsumidores;
+
+        private ColaMedida(String nombre, int capacidad, double ocupacionMedia, int ocupacionMaxima,
+                           long esperaProductores, long esperaConsumidores) {
+            this.nombre = nombre;
+            this.capacidad = capacidad;
+            this.ocupacionMedia = ocupacionMedia;
+            this.ocupacionMaxima = ocupacionMaxima;
+            this.esperaProductores = esperaProductores;
+            this.esperaConsumidores = esperaConsumidores;
+        }
+    }
+
+    /**
+     * Medición terminada de un archivo de ventas.
+     */
+    private static final class ArchivoMedido {
+
+        private final String nombre;
+        private final long tiempo;
+        private final long cpu;
+        private final long asignado;
+        private final long bytes;
+        private final long lineas;
+        private final long pares;
+
+        private ArchivoMedido(String nombre, long tiempo, long cpu, long asignado, long bytes,
+                              long lineas, long pares) {
+            this.nombre = nombre;
+            this.tiempo = tiempo;
+            this.cpu = cpu;
+            this.asignado = asignado;
+            this.bytes = bytes;
+            this.lineas = lineas;
+            this.pares = pares;
+        }
+    }
+
+    /**
+     * Evento de JFR de una fase del procesamiento.
+     */
+    @Name("cfp.Fase")
+    @Label("Fase de procesamiento")
+    @Category({"CFP", "Procesamiento"})
+    @Description("Duración, tiempo de CPU y bytes asignados de una fase")
+    static final class EventoFase extends Event {
+
+        @Label("Fase")
+        String fase;
+
+        @Label("Tiempo de CPU")
+        @Timespan
+        long tiempoCpu;
+
+        @Label("Bytes asignados")
+        @DataAmount
+        long bytesAsignados;
+    }
+
+    /**
+     * Evento de JFR del procesamiento de un archivo de ventas.
+     */
+    @Name("cfp.ArchivoVentas")
+    @Label("Archivo de ventas")
+    @Category({"CFP", "Procesamiento"})
+    @Description("Lectura y acumulación de un archivo de ventas")
+    static final class EventoArchivo extends Event {
+
+        @Label("Archivo")
+        String archivo;
+
+        @Label("Tamaño")
+        @DataAmount
+        long bytes;
+
+        @Label("Líneas")
+        long lineas;
+
+        @Label("Pares")
+        long pares;
+
+        @Label("Tiempo de CPU")
+        @Timespan
+        long tiempoCpu;
+
+        @Label("Bytes asignados")
+        @DataAmount
+        long bytesAsignados;
+    }
+}
@@ -0,0 +1,178 @@
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Clase para acumular montos de dinero de forma exacta en centavos.
+ * El monto se guarda como un entero de 128 bits repartido en dos long: la parte baja
+ * es el valor escalado habitual y la parte alta recibe el acarreo cuando la suma ya
+ * no cabe en un long. Así las sumas no dependen del orden en que se hacen (son
+ * asociativas) y dan el mismo resultado bit a bit con cualquier número de hilos.
+ *
+ * Los métodos estáticos permiten trabajar con montos guardados en pares de arreglos
+ * (parte alta y parte baja) sin crear objetos en el camino crítico.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class MontoCentavos {
+
+    /** Número de decimales de los montos (centavos) */
+    public static final int DECIMALES = 2;
+
+    /** Parte alta del monto (con signo) */
+    private long alto;
+
+    /** Parte baja del monto (sin signo dentro del par) */
+    private long bajo;
+
+    /**
+     * Suma el producto de un precio en centavos por una cantidad.
+     *
+     * @param precioCentavos precio por unidad en centavos
+     * @param cantidad cantidad vendida
+     */
+    public void sumarProducto(long precioCentavos, long cantidad) {
+        sumar(Math.multiplyHigh(precioCentavos, cantidad), precioCentavos * cantidad);
+    }
+
+    /**
+     * Suma un monto de 128 bits.
+     *
+     * @param altoSumando parte alta del monto a sumar
+     * @param bajoSumando parte baja del monto a sumar
+     */
+    public void sumar(long altoSumando, long bajoSumando) {
+        long nuevoBajo = bajo + bajoSumando;
+        alto += altoSumando + acarreo(bajo, nuevoBajo);
+        bajo = nuevoBajo;
+    }
+
+    /**
+     * Suma otro acumulador a este.
+     *
+     * @param otro acumulador a sumar
+     */
+    public void sumar(MontoCentavos otro) {
+        sumar(otro.alto, otro.bajo);
+    }
+
+    /**
+     * Pone el acumulador en cero.
+     */
+    public void reiniciar() {
+        alto = 0;
+        bajo = 0;
+    }
+
+    /**
+     * Suma un monto de 128 bits a la posición de un par de arreglos.
+     *
+     * @param altos arreglo con las partes altas
+     * @param bajos arreglo con las partes bajas
+     * @param indice posición a actualizar
+     * @param altoSumando parte alta del monto a sumar
+     * @param bajoSumando parte baja del monto a sumar
+     */
+    public static void sumar(long[] altos, long[] bajos, int indice, long altoSumando, long bajoSumando) {
+        long anterior = bajos[indice];
+        long nuevoBajo = anterior + bajoSumando;
+        altos[indice] += altoSumando + acarreo(anterior, nuevoBajo);
+        bajos[indice] = nuevoBajo;
+    }
+
+    /**
+     * Calcula el acarreo de una suma sin signo de la parte baja.
+     *
+     * @param antes parte baja antes de la suma
+     * @param despues parte baja después de la suma
+     * @return 1 si la suma desbordó la parte baja, 0 en otro caso
+     */
+    private static long acarreo(long antes, long despues) {
+        return Long.compareUnsigned(despues, antes) < 0 ? 1 : 0;
+    }
+
+    /**
+     * Compara dos montos de 128 bits.
+     *
+     * @param altoA parte alta del primer monto
+     * @param bajoA parte baja del primer monto
+     * @param altoB parte alta del segundo monto
+     * @param bajoB parte baja del segundo monto
+     * @return negativo, cero o positivo si el primero es menor, igual o mayor
+     */
+    public static int comparar(long altoA, long bajoA, long altoB, long bajoB) {
+        int comparacion = Long.compare(altoA, altoB);
+        return (comparacion != 0) ? comparacion : Long.compareUnsigned(bajoA, bajoB);
+    }
+
+    /**
+     * Convierte un monto de 128 bits en centavos a un BigDecimal con dos decimales.
+     * Si el monto cabe en un long no se construye ningún BigInteger intermedio.
+     *
+     * @param alto parte alta del monto
+     * @param bajo parte baja del monto
+     * @return monto en unidades monetarias
+     */
+    public static BigDecimal aBigDecimal(long alto, long bajo) {
+        if (alto == (bajo >> 63)) {
+            return BigDecimal.valueOf(bajo, DECIMALES);
+        }
+
+        BigInteger partBaja = new BigInteger(Long.toUnsignedString(bajo));
+        BigInteger centavos = BigInteger.valueOf(alto).shiftLeft(64).add(partBaja);
+        return new BigDecimal(centavos, DECIMALES);
+    }
+
+    /**
+     * Convierte un texto decimal (por ejemplo "3317000" o "12.5") a centavos.
+     * Los decimales adicionales se redondean al centavo más cercano (mitad al par).
+     *
+     * @param texto número decimal
+     * @return valor en centavos
+     * @throws NumberFormatException si el texto no es un número o no cabe en un long
+     */
+    public static long parsearCentavos(String texto) {
+        try {
+            return new BigDecimal(texto)
+                    .setScale(DECIMALES, RoundingMode.HALF_EVEN)
+                    .unscaledValue()
+                    .longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Valor fuera de rango: " + texto);
+        }
+    }
+
+    // Getters
+
+    /**
+     * Obtiene la parte alta del monto.
+     *
+     * @return parte alta
+     */
+    public long getAlto() {
+        return alto;
+    }
+
+    /**
+     * Obtiene la parte baja del monto.
+     *
+     * @return parte baja
+     */
+    public long getBajo() {
+        return bajo;
+    }
+
+    /**
+     * Obtiene el monto como BigDecimal con dos decimales.
+     *
+     * @return monto en unidades monetarias
+     */
+    public BigDecimal aBigDecimal() {
+        return aBigDecimal(alto, bajo);
+    }
+}
\ No newline at end of file
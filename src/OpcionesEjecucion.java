@@ -0,0 +1,752 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase para interpretar las opciones de línea de comandos del procesador de ventas.
+ * Reúne en un solo lugar los parámetros que modifican la forma de procesar los
+ * archivos, sin alterar el formato de los reportes generados.
+ *
+ * Opciones soportadas:
+ * - --paralelismo N : número de hilos para procesar los archivos de ventas (por defecto 1)
+ * - --tramo KB      : con --paralelismo mayor que 1, los archivos de ventas sin comprimir más grandes
+ *                     se dividen en tramos de este tamaño que se analizan a la vez (por defecto 16384)
+ * - --incremental   : solo vuelve a leer los archivos de ventas nuevos o modificados
+ * - --vigilar       : sigue en ejecución y regenera los reportes cuando cambian los archivos de ventas
+ * - --intervalo-vigilancia MS : tiempo para agrupar cambios antes de regenerar (por defecto 2000)
+ * - --punto-control S : guarda el avance de las ventas en datos/estado/punto_control.dat cada S
+ *                     segundos como mínimo, entre lotes de archivos (0 = después de cada lote)
+ * - --reanudar      : continúa desde el último punto de control, leyendo solo los archivos de
+ *                     ventas restantes; sigue guardando puntos de control (cada 60 s si no se indica)
+ * - --top N         : solo escribe las primeras N filas de cada reporte
+ * - --desde K       : omite las primeras K filas de cada reporte (paginación junto con --top)
+ * - --mapa K/N      : modo mapa; procesa solo los archivos de ventas cuyo nombre cae en la
+ *                     parte K de N (hash del nombre módulo N) y guarda un agregado parcial
+ * - --mapa-lista RUTA : modo mapa con los archivos de ventas listados en RUTA (un nombre por línea)
+ * - --parcial RUTA  : archivo donde el modo mapa guarda el agregado parcial
+ * - --reducir RUTAS : modo reducción; combina los agregados parciales indicados (separados por
+ *                     comas; una carpeta incluye todos sus archivos .parcial) y genera los reportes
+ * - --cruce         : acumula las ventas por par (vendedor, producto) y genera sus reportes
+ * - --cruce-top N   : número de productos por vendedor en el reporte de más vendidos (por defecto 5)
+ * - --diario        : acumula por día las ventas de las líneas con marca de tiempo (formato v2)
+ *                     y genera los reportes de series diarias por vendedor y por producto
+ * - --tuberia       : procesa las ventas en etapas conectadas por colas acotadas: los lectores,
+ *                     --paralelismo analizadores y los agregadores
+ * - --lectores N    : número de lectores de la tubería, que leen y descomprimen archivos a la vez (por defecto 1)
+ * - --cola N        : lotes que caben en cada cola de la tubería (por defecto 32)
+ * - --lote KB       : tamaño aproximado de cada lote de bytes leído, en KB (por defecto 256)
+ * - --agregadores N : número de agregadores de la tubería (por defecto 1)
+ * - --consultas    : construye los índices de consulta en memoria al terminar cada agregación
+ *                     (ver ConsultaVentas y Main.getConsultaVentas)
+ * - --servidor [HOST:]PUERTO : al terminar el procesamiento sirve los reportes y el resumen por HTTP
+ *                     (ver ServidorReportes); por defecto solo en 127.0.0.1. Implica --consultas
+ * - --fuera-del-heap : guarda el catálogo de productos y sus cantidades en memoria directa,
+ *                     fuera del heap (para catálogos de decenas de millones de productos)
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class OpcionesEjecucion {
+
+    /** Número de hilos usados para procesar los archivos de ventas (1 = secuencial) */
+    private int paralelismo;
+
+    /** Tamaño aproximado de cada tramo de un archivo de ventas grande, en bytes */
+    private int tamanoTramo;
+
+    /** Indica si se reutiliza el estado guardado de la ejecución anterior */
+    private boolean incremental;
+
+    /** Indica si se vigila la carpeta de ventas después del primer procesamiento */
+    private boolean vigilar;
+
+    /** Milisegundos durante los que se agrupan los cambios antes de regenerar los reportes */
+    private int intervaloVigilancia;
+
+    /** Segundos mínimos entre dos puntos de control, o -1 si no se guardan */
+    private int intervaloPuntoControl;
+
+    /** Indica si se continúa desde el último punto de control */
+    private boolean reanudar;
+
+    /** Número máximo de filas por reporte */
+    private int limiteReporte;
+
+    /** Número de filas iniciales que se omiten en cada reporte */
+    private int desdeReporte;
+
+    /** Indica si se pidió una página de los reportes en lugar del reporte completo */
+    private boolean reportePaginado;
+
+    /** Parte de los archivos de ventas que procesa el modo mapa (0 .. totalPartesMapa-1), o -1 */
+    private int parteMapa;
+
+    /** Número de partes en que se reparten los archivos de ventas en modo mapa */
+    private int totalPartesMapa;
+
+    /** Archivo con la lista de archivos de ventas del modo mapa, o null */
+    private String listaMapa;
+
+    /** Archivo donde el modo mapa guarda el agregado parcial, o null para la ruta por defecto */
+    private String rutaParcial;
+
+    /** Agregados parciales (archivos o carpetas) que combina el modo reducción */
+    private final List<String> parcialesReducir;
+
+    /** Indica si se acumulan las ventas por par (vendedor, producto) */
+    private boolean cruce;
+
+    /** Número de productos por vendedor en el reporte de productos más vendidos */
+    private int limiteCruce;
+
+    /** Indica si se acumulan las ventas por día de las líneas con marca de tiempo */
+    private boolean diario;
+
+    /** Indica si las ventas se procesan con la tubería de etapas */
+    private boolean tuberia;
+
+    /** Capacidad de cada cola de la tubería, en lotes */
+    private int capacidadCola;
+
+    /** Tamaño de cada lote de la tubería, en bytes */
+    private int tamanoLote;
+
+    /** Número de agregadores de la tubería */
+    private int agregadores;
+
+    /** Número de lectores de la tubería */
+    private int lectores;
+
+    /** Indica si se construyen los índices de consulta al terminar cada agregación */
+    private boolean consultas;
+
+    /** Dirección donde escucha el servidor de reportes */
+    private String direccionServidor;
+
+    /** Puerto del servidor de reportes (0 = uno libre), o -1 si no se pidió --servidor */
+    private int puertoServidor;
+
+    /** Indica si el catálogo de productos se guarda fuera del heap */
+    private boolean fueraDelHeap;
+
+    /**
+     * Constructor que crea las opciones con sus valores por defecto.
+     */
+    public OpcionesEjecucion() {
+        this.paralelismo = 1;
+        this.tamanoTramo = 16 * 1024 * 1024;
+        this.incremental = false;
+        this.vigilar = false;
+        this.intervaloVigilancia = 2000;
+        this.intervaloPuntoControl = -1;
+        this.reanudar = false;
+        this.limiteReporte = Integer.MAX_VALUE;
+        this.desdeReporte = 0;
+        this.reportePaginado = false;
+        this.parteMapa = -1;
+        this.totalPartesMapa = 0;
+        this.listaMapa = null;
+        this.rutaParcial = null;
+        this.parcialesReducir = new ArrayList<>();
+        this.cruce = false;
+        this.limiteCruce = 5;
+        this.diario = false;
+        this.tuberia = false;
+        this.capacidadCola = 32;
+        this.tamanoLote = 256 * 1024;
+        this.agregadores = 1;
+        this.lectores = 1;
+        this.consultas = false;
+        this.direccionServidor = "127.0.0.1";
+        this.puertoServidor = -1;
+        this.fueraDelHeap = false;
+    }
+
+    /**
+     * Interpreta los argumentos de línea de comandos.
+     *
+     * @param args argumentos recibidos por el metodo main
+     * @return opciones de ejecución configuradas
+     * @throws IllegalArgumentException si alguna opción es desconocida o tiene un valor inválido
+     */
+    public static OpcionesEjecucion desdeArgumentos(String[] args) {
+        OpcionesEjecucion opciones = new OpcionesEjecucion();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--paralelismo":
+                    opciones.paralelismo = leerEnteroPositivo(args, ++i, "--paralelismo");
+                    break;
+                case "--tramo":
+                    opciones.tamanoTramo = leerKilobytes(args, ++i, "--tramo");
+                    break;
+                case "--incremental":
+                    opciones.incremental = true;
+                    break;
+                case "--vigilar":
+                    opciones.vigilar = true;
+                    break;
+                case "--intervalo-vigilancia":
+                    opciones.intervaloVigilancia = leerEnteroPositivo(args, ++i, "--intervalo-vigilancia");
+                    break;
+                case "--punto-control":
+                    opciones.intervaloPuntoControl = leerEnteroNoNegativo(args, ++i, "--punto-control");
+                    break;
+                case "--reanudar":
+                    opciones.reanudar = true;
+                    break;
+                case "--top":
+                    opciones.limiteReporte = leerEnteroPositivo(args, ++i, "--top");
+                    opciones.reportePaginado = true;
+                    break;
+                case "--desde":
+                    opciones.desdeReporte = leerEnteroNoNegativo(args, ++i, "--desde");
+                    opciones.reportePaginado = true;
+                    break;
+                case "--mapa":
+                    leerParteMapa(opciones, args, ++i);
+                    break;
+                case "--mapa-lista":
+                    opciones.listaMapa = leerTexto(args, ++i, "--mapa-lista");
+                    break;
+                case "--parcial":
+                    opciones.rutaParcial = leerTexto(args, ++i, "--parcial");
+                    break;
+                case "--reducir":
+                    for (String ruta : leerTexto(args, ++i, "--reducir").split(",")) {
+                        if (!ruta.trim().isEmpty()) {
+                            opciones.parcialesReducir.add(ruta.trim());
+                        }
+                    }
+                    break;
+                case "--cruce":
+                    opciones.cruce = true;
+                    break;
+                case "--cruce-top":
+                    opciones.limiteCruce = leerEnteroPositivo(args, ++i, "--cruce-top");
+                    opciones.cruce = true;
+                    break;
+                case "--diario":
+                    opciones.diario = true;
+                    break;
+                case "--tuberia":
+                    opciones.tuberia = true;
+                    break;
+                case "--cola":
+                    opciones.capacidadCola = leerEnteroPositivo(args, ++i, "--cola");
+                    opciones.tuberia = true;
+                    break;
+                case "--lote":
+                    opciones.tamanoLote = leerKilobytes(args, ++i, "--lote");
+                    opciones.tuberia = true;
+                    break;
+                case "--lectores":
+                    opciones.lectores = leerEnteroPositivo(args, ++i, "--lectores");
+                    opciones.tuberia = true;
+                    break;
+                case "--agregadores":
+                    opciones.agregadores = leerEnteroPositivo(args, ++i, "--agregadores");
+                    opciones.tuberia = true;
+                    break;
+                case "--consultas":
+                    opciones.consultas = true;
+                    break;
+                case "--servidor":
+                    leerServidor(opciones, args, ++i);
+                    opciones.consultas = true;
+                    break;
+                case "--fuera-del-heap":
+                    opciones.fueraDelHeap = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+
+        if (opciones.reanudar && opciones.intervaloPuntoControl < 0) {
+            opciones.intervaloPuntoControl = 60;
+        }
+
+        validarModos(opciones);
+        return opciones;
+    }
+
+    /**
+     * Verifica que los modos mapa y reducción no se combinen entre sí ni con los modos
+     * que mantienen estado entre ejecuciones. Las series diarias solo se acumulan al
+     * leer los archivos de ventas en una sola pasada: el estado guardado de los demás
+     * modos no conserva los días de cada venta.
+     *
+     * @param opciones opciones leídas
+     * @throws IllegalArgumentException si la combinación de opciones no es válida
+     */
+    private static void validarModos(OpcionesEjecucion opciones) {
+        if (opciones.parteMapa >= 0 && opciones.listaMapa != null) {
+            throw new IllegalArgumentException("Use --mapa o --mapa-lista, no ambas");
+        }
+        if (opciones.esMapa() && opciones.esReducir()) {
+            throw new IllegalArgumentException("--reducir no se puede combinar con --mapa");
+        }
+        if ((opciones.esMapa() || opciones.esReducir()) && (opciones.incremental || opciones.vigilar)) {
+            throw new IllegalArgumentException("--incremental y --vigilar no se pueden usar en modo mapa o reducción");
+        }
+        if (opciones.intervaloPuntoControl >= 0
+                && (opciones.esMapa() || opciones.esReducir() || opciones.incremental || opciones.vigilar)) {
+            throw new IllegalArgumentException("--punto-control y --reanudar no se pueden combinar con " +
+                    "--mapa, --reducir, --incremental ni --vigilar");
+        }
+        if (opciones.rutaParcial != null && !opciones.esMapa()) {
+            throw new IllegalArgumentException("--parcial solo se usa junto con --mapa o --mapa-lista");
+        }
+        if (opciones.esMapa() && opciones.puertoServidor >= 0) {
+            throw new IllegalArgumentException("--servidor no se puede usar en modo mapa, que no genera reportes");
+        }
+        if (opciones.esMapa() && opciones.reportePaginado) {
+            throw new IllegalArgumentException("--top y --desde se aplican en la reducción, no en modo mapa");
+        }
+        if (opciones.tuberia && (opciones.incremental || opciones.vigilar || opciones.esReducir())) {
+            throw new IllegalArgumentException(
+                    "--tuberia no se puede combinar con --incremental, --vigilar ni --reducir");
+        }
+        if (opciones.diario && (opciones.incremental || opciones.vigilar || opciones.esMapa()
+                || opciones.esReducir() || opciones.tuberia || opciones.intervaloPuntoControl >= 0)) {
+            throw new IllegalArgumentException("--diario no se puede combinar con --incremental, --vigilar, " +
+                    "--mapa, --reducir, --tuberia, --punto-control ni --reanudar");
+        }
+    }
+
+    /**
+     * Lee la parte del modo mapa con el formato K/N.
+     *
+     * @param opciones opciones donde se guarda la parte
+     * @param args argumentos de línea de comandos
+     * @param indice posición del valor dentro de los argumentos
+     * @throws IllegalArgumentException si el valor falta o no tiene el formato K/N con 0 <= K < N
+     */
+    private static void leerParteMapa(OpcionesEjecucion opciones, String[] args, int indice) {
+        String valor = leerTexto(args, indice, "--mapa");
+        String[] partes = valor.split("/");
+
+        try {
+            if (partes.length == 2) {
+                opciones.parteMapa = Integer.parseInt(partes[0].trim());
+                opciones.totalPartesMapa = Integer.parseInt(partes[1].trim());
+            }
+        } catch (NumberFormatException e) {
+            opciones.totalPartesMapa = 0;
+        }
+
+        if (partes.length != 2 || opciones.totalPartesMapa <= 0
+                || opciones.parteMapa < 0 || opciones.parteMapa >= opciones.totalPartesMapa) {
+            throw new IllegalArgumentException("Valor inválido para --mapa (se espera K/N con 0 <= K < N): " + valor);
+        }
+    }
+
+    /**
+     * Lee la dirección del servidor de reportes con el formato PUERTO o HOST:PUERTO.
+     *
+     * @param opciones opciones donde se guarda la dirección
+     * @param args argumentos de línea de comandos
+     * @param indice posición del valor dentro de los argumentos
+     * @throws IllegalArgumentException si el valor falta o el puerto no está entre 0 y 65535
+     */
+    private static void leerServidor(OpcionesEjecucion opciones, String[] args, int indice) {
+        String valor = leerTexto(args, indice, "--servidor").trim();
+        int separador = valor.lastIndexOf(':');
+        if (separador >= 0) {
+            opciones.direccionServidor = valor.substring(0, separador);
+        }
+
+        try {
+            opciones.puertoServidor = Integer.parseInt(valor.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            opciones.puertoServidor = -1;
+        }
+
+        if (opciones.puertoServidor < 0 || opciones.puertoServidor > 65535 || opciones.direccionServidor.isEmpty()) {
+            throw new IllegalArgumentException("Valor inválido para --servidor (se espera PUERTO o HOST:PUERTO): "
+                    + valor);
+        }
+    }
+
+    /**
+     * Lee el valor de texto de una opción.
+     *
+     * @param args argumentos de línea de comandos
+     * @param indice posición del valor dentro de los argumentos
+     * @param opcion nombre de la opción para mensajes de error
+     * @return valor leído
+     * @throws IllegalArgumentException si el valor falta
+     */
+    private static String leerTexto(String[] args, int indice, String opcion) {
+        if (indice >= args.length) {
+            throw new IllegalArgumentException("Falta el valor de la opción " + opcion);
+        }
+        return args[indice];
+    }
+
+    /**
+     * Lee el valor entero positivo de una opción.
+     *
+     * @param args argumentos de línea de comandos
+     * @param indice posición del valor dentro de los argumentos
+     * @param opcion nombre de la opción para mensajes de error
+     * @return valor leído
+     * @throws IllegalArgumentException si el valor falta o no es un entero positivo
+     */
+    private static int leerEnteroPositivo(String[] args, int indice, String opcion) {
+        int valor = leerEntero(args, indice, opcion);
+        if (valor <= 0) {
+            throw new IllegalArgumentException("El valor de " + opcion + " debe ser positivo");
+        }
+        return valor;
+    }
+
+    /**
+     * Lee un tamaño en KB y lo convierte a bytes.
+     *
+     * @param args argumentos de línea de comandos
+     * @param indice posición del valor dentro de los argumentos
+     * @param opcion nombre de la opción para mensajes de error
+     * @return tamaño en bytes
+     * @throws IllegalArgumentException si el valor falta, no es positivo o supera 512 MB
+     */
+    private static int leerKilobytes(String[] args, int indice, String opcion) {
+        int kilobytes = leerEnteroPositivo(args, indice, opcion);
+        if (kilobytes > 512 * 1024) {
+            throw new IllegalArgumentException("El valor de " + opcion + " no puede superar 524288 KB");
+        }
+        return kilobytes * 1024;
+    }
+
+    /**
+     * Lee el valor entero mayor o igual a cero de una opción.
+     *
+     * @param args argumentos de línea de comandos
+     * @param indice posición del valor dentro de los argumentos
+     * @param opcion nombre de la opción para mensajes de error
+     * @return valor leído
+     * @throws IllegalArgumentException si el valor falta o es negativo
+     */
+    private static int leerEnteroNoNegativo(String[] args, int indice, String opcion) {
+        int valor = leerEntero(args, indice, opcion);
+        if (valor < 0) {
+            throw new IllegalArgumentException("El valor de " + opcion + " no puede ser negativo");
+        }
+        return valor;
+    }
+
+    /**
+     * Lee el valor entero de una opción.
+     *
+     * @param args argumentos de línea de comandos
+     * @param indice posición del valor dentro de los argumentos
+     * @param opcion nombre de la opción para mensajes de error
+     * @return valor leído
+     * @throws IllegalArgumentException si el valor falta o no es un entero
+     */
+    private static int leerEntero(String[] args, int indice, String opcion) {
+        if (indice >= args.length) {
+            throw new IllegalArgumentException("Falta el valor de la opción " + opcion);
+        }
+
+        try {
+            return Integer.parseInt(args[indice].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + opcion + ": " + args[indice]);
+        }
+    }
+
+    // Getters
+
+    /**
+     * Obtiene el número de hilos para procesar los archivos de ventas.
+     *
+     * @return grado de paralelismo (1 = secuencial)
+     */
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    /**
+     * Obtiene el tamaño a partir del cual un archivo de ventas se divide en tramos.
+     *
+     * @return tamaño de cada tramo en bytes
+     */
+    public int getTamanoTramo() {
+        return tamanoTramo;
+    }
+
+    /**
+     * Indica si se debe usar el procesamiento incremental.
+     *
+     * @return true si solo se procesan los archivos nuevos o modificados
+     */
+    public boolean esIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Indica si se debe vigilar la carpeta de ventas.
+     *
+     * @return true si el programa queda en ejecución regenerando los reportes
+     */
+    public boolean esVigilar() {
+        return vigilar;
+    }
+
+    /**
+     * Obtiene el intervalo para agrupar los cambios detectados en modo vigilancia.
+     *
+     * @return intervalo en milisegundos
+     */
+    public int getIntervaloVigilancia() {
+        return intervaloVigilancia;
+    }
+
+    /**
+     * Indica si se guardan puntos de control durante el procesamiento de las ventas.
+     *
+     * @return true si se guardan puntos de control
+     */
+    public boolean esPuntoControl() {
+        return intervaloPuntoControl >= 0;
+    }
+
+    /**
+     * Obtiene el tiempo mínimo entre dos puntos de control.
+     *
+     * @return segundos entre puntos de control (0 = después de cada lote)
+     */
+    public int getIntervaloPuntoControl() {
+        return intervaloPuntoControl;
+    }
+
+    /**
+     * Indica si se continúa desde el último punto de control.
+     *
+     * @return true si se pidió --reanudar
+     */
+    public boolean esReanudar() {
+        return reanudar;
+    }
+
+    /**
+     * Indica si los reportes deben limitarse a una página de filas.
+     *
+     * @return true si se usó --top o --desde
+     */
+    public boolean esReportePaginado() {
+        return reportePaginado;
+    }
+
+    /**
+     * Obtiene el número máximo de filas de cada reporte.
+     *
+     * @return límite de filas (Integer.MAX_VALUE si no hay límite)
+     */
+    public int getLimiteReporte() {
+        return limiteReporte;
+    }
+
+    /**
+     * Obtiene el número de filas iniciales que se omiten en cada reporte.
+     *
+     * @return desplazamiento de la página
+     */
+    public int getDesdeReporte() {
+        return desdeReporte;
+    }
+
+    /**
+     * Indica si los archivos de ventas se deben procesar en paralelo.
+     *
+     * @return true si el paralelismo es mayor que 1
+     */
+    public boolean esParalelo() {
+        return paralelismo > 1;
+    }
+
+    /**
+     * Indica si el proceso trabaja en modo mapa (una parte de los archivos de ventas).
+     *
+     * @return true si se usó --mapa o --mapa-lista
+     */
+    public boolean esMapa() {
+        return parteMapa >= 0 || listaMapa != null;
+    }
+
+    /**
+     * Obtiene la parte de los archivos de ventas que procesa el modo mapa.
+     *
+     * @return parte K (0 .. N-1), o -1 si el modo mapa usa una lista de archivos
+     */
+    public int getParteMapa() {
+        return parteMapa;
+    }
+
+    /**
+     * Obtiene el número de partes en que se reparten los archivos de ventas.
+     *
+     * @return número de partes N, o 0 si el modo mapa usa una lista de archivos
+     */
+    public int getTotalPartesMapa() {
+        return totalPartesMapa;
+    }
+
+    /**
+     * Obtiene el archivo con la lista de archivos de ventas del modo mapa.
+     *
+     * @return ruta de la lista, o null si no se usó --mapa-lista
+     */
+    public String getListaMapa() {
+        return listaMapa;
+    }
+
+    /**
+     * Obtiene el archivo donde el modo mapa guarda el agregado parcial.
+     *
+     * @return ruta del agregado parcial, o null para usar la ruta por defecto
+     */
+    public String getRutaParcial() {
+        return rutaParcial;
+    }
+
+    /**
+     * Indica si el proceso trabaja en modo reducción.
+     *
+     * @return true si se usó --reducir
+     */
+    public boolean esReducir() {
+        return !parcialesReducir.isEmpty();
+    }
+
+    /**
+     * Obtiene los agregados parciales que combina el modo reducción.
+     *
+     * @return rutas de archivos o carpetas de agregados parciales
+     */
+    public List<String> getParcialesReducir() {
+        return parcialesReducir;
+    }
+
+    /**
+     * Indica si se acumulan las ventas por par (vendedor, producto).
+     *
+     * @return true si se usó --cruce o --cruce-top
+     */
+    public boolean esCruce() {
+        return cruce;
+    }
+
+    /**
+     * Indica si se acumulan las ventas por día de las líneas con marca de tiempo.
+     *
+     * @return true si se usó --diario
+     */
+    public boolean esDiario() {
+        return diario;
+    }
+
+    /**
+     * Obtiene el número de productos por vendedor del reporte de productos más vendidos.
+     *
+     * @return límite de productos por vendedor
+     */
+    public int getLimiteCruce() {
+        return limiteCruce;
+    }
+
+    /**
+     * Indica si las ventas se procesan con la tubería de etapas.
+     *
+     * @return true si se usó --tuberia, --cola, --lote, --lectores o --agregadores
+     */
+    public boolean esTuberia() {
+        return tuberia;
+    }
+
+    /**
+     * Obtiene la capacidad de cada cola de la tubería.
+     *
+     * @return número máximo de lotes en cada cola
+     */
+    public int getCapacidadCola() {
+        return capacidadCola;
+    }
+
+    /**
+     * Obtiene el tamaño de cada lote de la tubería.
+     *
+     * @return tamaño del lote en bytes
+     */
+    public int getTamanoLote() {
+        return tamanoLote;
+    }
+
+    /**
+     * Obtiene el número de agregadores de la tubería.
+     *
+     * @return número de agregadores
+     */
+    public int getAgregadores() {
+        return agregadores;
+    }
+
+    /**
+     * Obtiene el número de lectores de la tubería.
+     *
+     * @return número de lectores
+     */
+    public int getLectores() {
+        return lectores;
+    }
+
+    /**
+     * Indica si se construyen los índices de consulta al terminar cada agregación.
+     *
+     * @return true si se usó --consultas
+     */
+    public boolean esConsultas() {
+        return consultas;
+    }
+
+    /**
+     * Indica si se sirven los reportes por HTTP al terminar el procesamiento.
+     *
+     * @return true si se usó --servidor
+     */
+    public boolean esServidor() {
+        return puertoServidor >= 0;
+    }
+
+    /**
+     * Obtiene la dirección donde escucha el servidor de reportes.
+     *
+     * @return nombre o dirección IP
+     */
+    public String getDireccionServidor() {
+        return direccionServidor;
+    }
+
+    /**
+     * Obtiene el puerto del servidor de reportes.
+     *
+     * @return puerto (0 = uno libre)
+     */
+    public int getPuertoServidor() {
+        return puertoServidor;
+    }
+
+    /**
+     * Indica si el catálogo de productos se guarda fuera del heap.
+     *
+     * @return true si se usó --fuera-del-heap
+     */
+    public boolean esFueraDelHeap() {
+        return fueraDelHeap;
+    }
+}
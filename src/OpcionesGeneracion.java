@@ -0,0 +1,225 @@
+/**
+ * Clase para interpretar las opciones de línea de comandos del generador de archivos.
+ * Permite generar desde los archivos pequeños de siempre hasta corpus de prueba de
+ * carga, y repetir exactamente una generación anterior usando la misma semilla.
+ *
+ * Opciones soportadas:
+ * - --vendedores N : número de vendedores a generar (por defecto 15)
+ * - --productos N  : número de productos a generar (por defecto 25)
+ * - --ventas-min N : mínimo de líneas de venta por vendedor (por defecto 10)
+ * - --ventas-max N : máximo de líneas de venta por vendedor (por defecto 29)
+ * - --semilla S    : semilla de los números pseudoaleatorios (por defecto, una al azar)
+ * - --hilos N      : número de hilos para escribir los archivos de ventas (por defecto, los núcleos disponibles)
+ * - --comprimir    : escribe todos los archivos comprimidos con gzip (.txt.gz)
+ * - --dias N       : escribe las ventas en formato v2, con una marca de tiempo dentro de los
+ *                   N días que empiezan el 2025-01-01 (por defecto 0, formato sin marca de tiempo)
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class OpcionesGeneracion {
+
+    /** Número de vendedores a generar */
+    private int vendedores;
+
+    /** Número de productos a generar */
+    private int productos;
+
+    /** Mínimo de líneas de venta por vendedor */
+    private int ventasMinimas;
+
+    /** Máximo de líneas de venta por vendedor */
+    private int ventasMaximas;
+
+    /** Semilla de los números pseudoaleatorios */
+    private long semilla;
+
+    /** Número de hilos usados para escribir los archivos de ventas */
+    private int hilos;
+
+    /** Indica si los archivos se escriben comprimidos con gzip */
+    private boolean comprimir;
+
+    /** Días que abarcan las marcas de tiempo de las ventas (0 = sin marcas de tiempo) */
+    private int diasVentas;
+
+    /**
+     * Constructor que crea las opciones con sus valores por defecto.
+     */
+    public OpcionesGeneracion() {
+        this.vendedores = 15;
+        this.productos = 25;
+        this.ventasMinimas = 10;
+        this.ventasMaximas = 29;
+        this.semilla = System.nanoTime();
+        this.hilos = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Interpreta los argumentos de línea de comandos.
+     *
+     * @param args argumentos recibidos por el metodo main
+     * @return opciones de generación configuradas
+     * @throws IllegalArgumentException si alguna opción es desconocida o tiene un valor inválido
+     */
+    public static OpcionesGeneracion desdeArgumentos(String[] args) {
+        OpcionesGeneracion opciones = new OpcionesGeneracion();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--vendedores":
+                    opciones.vendedores = leerEnteroPositivo(args, ++i, "--vendedores");
+                    break;
+                case "--productos":
+                    opciones.productos = leerEnteroPositivo(args, ++i, "--productos");
+                    break;
+                case "--ventas-min":
+                    opciones.ventasMinimas = leerEnteroPositivo(args, ++i, "--ventas-min");
+                    break;
+                case "--ventas-max":
+                    opciones.ventasMaximas = leerEnteroPositivo(args, ++i, "--ventas-max");
+                    break;
+                case "--semilla":
+                    opciones.semilla = leerLong(args, ++i, "--semilla");
+                    break;
+                case "--hilos":
+                    opciones.hilos = leerEnteroPositivo(args, ++i, "--hilos");
+                    break;
+                case "--comprimir":
+                    opciones.comprimir = true;
+                    break;
+                case "--dias":
+                    opciones.diasVentas = leerEnteroPositivo(args, ++i, "--dias");
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+
+        if (opciones.diasVentas > 36500) {
+            throw new IllegalArgumentException("El valor de --dias no puede superar 36500");
+        }
+
+        if (opciones.ventasMinimas > opciones.ventasMaximas) {
+            throw new IllegalArgumentException("--ventas-min no puede ser mayor que --ventas-max");
+        }
+
+        return opciones;
+    }
+
+    /**
+     * Lee el valor entero positivo de una opción.
+     *
+     * @param args argumentos de línea de comandos
+     * @param indice posición del valor dentro de los argumentos
+     * @param opcion nombre de la opción para mensajes de error
+     * @return valor leído
+     * @throws IllegalArgumentException si el valor falta o no es un entero positivo
+     */
+    private static int leerEnteroPositivo(String[] args, int indice, String opcion) {
+        long valor = leerLong(args, indice, opcion);
+        if (valor <= 0 || valor > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El valor de " + opcion + " debe ser un entero positivo");
+        }
+        return (int) valor;
+    }
+
+    /**
+     * Lee el valor entero largo de una opción.
+     *
+     * @param args argumentos de línea de comandos
+     * @param indice posición del valor dentro de los argumentos
+     * @param opcion nombre de la opción para mensajes de error
+     * @return valor leído
+     * @throws IllegalArgumentException si el valor falta o no es un entero
+     */
+    private static long leerLong(String[] args, int indice, String opcion) {
+        if (indice >= args.length) {
+            throw new IllegalArgumentException("Falta el valor de la opción " + opcion);
+        }
+
+        try {
+            return Long.parseLong(args[indice].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + opcion + ": " + args[indice]);
+        }
+    }
+
+    // Getters
+
+    /**
+     * Obtiene el número de vendedores a generar.
+     *
+     * @return cantidad de vendedores
+     */
+    public int getVendedores() {
+        return vendedores;
+    }
+
+    /**
+     * Obtiene el número de productos a generar.
+     *
+     * @return cantidad de productos
+     */
+    public int getProductos() {
+        return productos;
+    }
+
+    /**
+     * Obtiene el mínimo de líneas de venta por vendedor.
+     *
+     * @return mínimo de ventas
+     */
+    public int getVentasMinimas() {
+        return ventasMinimas;
+    }
+
+    /**
+     * Obtiene el máximo de líneas de venta por vendedor.
+     *
+     * @return máximo de ventas
+     */
+    public int getVentasMaximas() {
+        return ventasMaximas;
+    }
+
+    /**
+     * Obtiene la semilla de los números pseudoaleatorios.
+     *
+     * @return semilla
+     */
+    public long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Obtiene el número de hilos para escribir los archivos de ventas.
+     *
+     * @return número de hilos
+     */
+    public int getHilos() {
+        return hilos;
+    }
+
+    /**
+     * Indica si los archivos se escriben comprimidos con gzip.
+     *
+     * @return true si se usó --comprimir
+     */
+    public boolean esComprimir() {
+        return comprimir;
+    }
+
+    /**
+     * Obtiene los días que abarcan las marcas de tiempo de las ventas.
+     *
+     * @return número de días, o 0 si las ventas se escriben sin marca de tiempo
+     */
+    public int getDiasVentas() {
+        return diasVentas;
+    }
+}
\ No newline at end of file
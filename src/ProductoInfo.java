@@ -1,6 +1,10 @@
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Clase para almacenar la información de un producto y sus ventas totales.
  * Contiene los datos del producto y la cantidad total vendida.
+ * El precio se guarda en centavos para que los ingresos se calculen de forma exacta.
  *
  * @author FABIAN ESTIBEN ROMERO VILLAMIL
  * @author JOHANNA LONDOÑO ALZATE
@@ -17,24 +21,24 @@ public class ProductoInfo {
     /** Nombre descriptivo del producto */
     private String nombreProducto;
 
-    /** Precio por unidad del producto */
-    private double precio;
+    /** Precio por unidad del producto en centavos */
+    private long precioCentavos;
 
-    /** Cantidad total vendida del producto */
-    private int cantidadVendida;
+    /** Cantidad total vendida del producto (segura para actualizaciones desde varios hilos) */
+    private final AtomicLong cantidadVendida;
 
     /**
      * Constructor para crear un objeto ProductoInfo.
      *
      * @param idProducto ID único del producto
      * @param nombreProducto nombre descriptivo del producto
-     * @param precio precio por unidad del producto
+     * @param precioCentavos precio por unidad del producto en centavos
      */
-    public ProductoInfo(String idProducto, String nombreProducto, double precio) {
+    public ProductoInfo(String idProducto, String nombreProducto, long precioCentavos) {
         this.idProducto = idProducto;
         this.nombreProducto = nombreProducto;
-        this.precio = precio;
-        this.cantidadVendida = 0;
+        this.precioCentavos = precioCentavos;
+        this.cantidadVendida = new AtomicLong(0);
     }
 
     // Getters
@@ -60,10 +64,19 @@ public class ProductoInfo {
     /**
      * Obtiene el precio por unidad del producto.
      *
-     * @return precio por unidad
+     * @return precio por unidad, con dos decimales
+     */
+    public BigDecimal getPrecio() {
+        return BigDecimal.valueOf(precioCentavos, MontoCentavos.DECIMALES);
+    }
+
+    /**
+     * Obtiene el precio por unidad del producto en centavos.
+     *
+     * @return precio por unidad en centavos
      */
-    public double getPrecio() {
-        return precio;
+    public long getPrecioCentavos() {
+        return precioCentavos;
     }
 
     /**
@@ -71,8 +84,8 @@ public class ProductoInfo {
      *
      * @return cantidad vendida
      */
-    public int getCantidadVendida() {
-        return cantidadVendida;
+    public long getCantidadVendida() {
+        return cantidadVendida.get();
     }
 
     // Setters
@@ -82,26 +95,29 @@ public class ProductoInfo {
      *
      * @param cantidadVendida nueva cantidad vendida
      */
-    public void setCantidadVendida(int cantidadVendida) {
-        this.cantidadVendida = cantidadVendida;
+    public void setCantidadVendida(long cantidadVendida) {
+        this.cantidadVendida.set(cantidadVendida);
     }
 
     /**
      * Añade una cantidad a la cantidad total vendida.
+     * Es segura para ser llamada desde varios hilos a la vez.
      *
      * @param cantidad cantidad a añadir
      */
-    public void agregarVenta(int cantidad) {
-        this.cantidadVendida += cantidad;
+    public void agregarVenta(long cantidad) {
+        this.cantidadVendida.addAndGet(cantidad);
     }
 
     /**
      * Calcula el total de ingresos generados por este producto.
      *
-     * @return total de ingresos (precio * cantidad vendida)
+     * @return total de ingresos (precio * cantidad vendida), calculado sin redondeos
      */
-    public double getTotalIngresos() {
-        return precio * cantidadVendida;
+    public BigDecimal getTotalIngresos() {
+        MontoCentavos ingresos = new MontoCentavos();
+        ingresos.sumarProducto(precioCentavos, cantidadVendida.get());
+        return ingresos.aBigDecimal();
     }
 
     /**
@@ -112,6 +128,6 @@ public class ProductoInfo {
     @Override
     public String toString() {
         return String.format("ProductoInfo{id='%s', nombre='%s', precio=%.2f, cantidadVendida=%d}",
-                idProducto, nombreProducto, precio, cantidadVendida);
+                idProducto, nombreProducto, getPrecio(), cantidadVendida.get());
     }
 }
\ No newline at end of file
@@ -0,0 +1,321 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase que guarda los datos del catálogo de productos fuera del heap, en ByteBuffers
+ * directos, para catálogos de decenas de millones de productos.
+ *
+ * Cada producto ocupa un registro de ancho fijo con su precio, su cantidad vendida, el
+ * hash de su ID y las referencias a su ID y su nombre. Los textos se guardan como bytes
+ * UTF-8 precedidos de su longitud en un área aparte, de modo que el catálogo no crea
+ * ningún objeto por producto y el recolector de basura no tiene nada que recorrer. El
+ * total vendido de un producto no se guarda: es exactamente precio por cantidad.
+ *
+ * Los registros y los textos se reservan por bloques, así que el catálogo puede superar
+ * los 2 GB de un solo ByteBuffer. La memoria directa disponible se limita con
+ * -XX:MaxDirectMemorySize. Varios hilos pueden leer a la vez una vez terminada la
+ * carga; agregar productos y cambiar cantidades no es seguro para varios hilos.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class ProductosFueraDelHeap {
+
+    /** Desplazamiento del precio en centavos dentro de un registro */
+    private static final int PRECIO = 0;
+
+    /** Desplazamiento de la cantidad vendida dentro de un registro */
+    private static final int CANTIDAD = 8;
+
+    /** Desplazamiento de la referencia al ID dentro de un registro */
+    private static final int ID = 16;
+
+    /** Desplazamiento de la referencia al nombre dentro de un registro */
+    private static final int NOMBRE = 24;
+
+    /** Desplazamiento del hash del ID dentro de un registro */
+    private static final int HASH = 32;
+
+    /** Bytes de cada registro (alineado a 8) */
+    private static final int BYTES_REGISTRO = 40;
+
+    /** Bits del índice de un registro dentro de su bloque */
+    private static final int BITS_BLOQUE = 16;
+
+    /** Registros por bloque */
+    private static final int REGISTROS_POR_BLOQUE = 1 << BITS_BLOQUE;
+
+    /** Tamaño de cada bloque de textos */
+    private static final int TAMANO_BLOQUE_TEXTOS = 4 << 20;
+
+    /** Bloques de registros */
+    private final List<ByteBuffer> registros = new ArrayList<>();
+
+    /** Bloques de textos; una referencia guarda el bloque en los 32 bits altos y la posición en los bajos */
+    private final List<ByteBuffer> textos = new ArrayList<>();
+
+    /** Número de productos registrados */
+    private int tamano;
+
+    /** Bytes de memoria directa reservados */
+    private long bytesReservados;
+
+    /**
+     * Agrega el registro de un producto nuevo, con cantidad vendida cero.
+     *
+     * @param id bytes UTF-8 del ID del producto
+     * @param hash hash de los bytes del ID
+     * @return índice del producto
+     */
+    public int agregar(byte[] id, int hash) {
+        if ((tamano & (REGISTROS_POR_BLOQUE - 1)) == 0) {
+            registros.add(reservar(REGISTROS_POR_BLOQUE * BYTES_REGISTRO));
+        }
+
+        int indice = tamano++;
+        int base = base(indice);
+        ByteBuffer bloque = bloque(indice);
+        bloque.putLong(base + ID, guardarTexto(id));
+        bloque.putInt(base + HASH, hash);
+        return indice;
+    }
+
+    /**
+     * Cambia el nombre y el precio de un producto.
+     *
+     * @param indice índice del producto
+     * @param nombre bytes UTF-8 del nombre
+     * @param precioCentavos precio por unidad en centavos
+     */
+    public void actualizar(int indice, byte[] nombre, long precioCentavos) {
+        int base = base(indice);
+        ByteBuffer bloque = bloque(indice);
+        bloque.putLong(base + NOMBRE, guardarTexto(nombre));
+        bloque.putLong(base + PRECIO, precioCentavos);
+    }
+
+    /**
+     * Indica si el ID de un producto es igual a un rango de bytes.
+     *
+     * @param indice índice del producto
+     * @param hash hash de los bytes buscados
+     * @param bytes arreglo que contiene el ID buscado
+     * @param inicio posición inicial del ID
+     * @param fin posición final (exclusiva) del ID
+     * @return true si el ID coincide
+     */
+    public boolean tieneId(int indice, int hash, byte[] bytes, int inicio, int fin) {
+        int base = base(indice);
+        ByteBuffer bloque = bloque(indice);
+        if (bloque.getInt(base + HASH) != hash) {
+            return false;
+        }
+
+        long referencia = bloque.getLong(base + ID);
+        ByteBuffer bloqueTexto = textos.get((int) (referencia >>> 32));
+        int posicion = (int) referencia;
+        if (bloqueTexto.getInt(posicion) != fin - inicio) {
+            return false;
+        }
+
+        posicion += Integer.BYTES;
+        for (int i = inicio; i < fin; i++) {
+            if (bloqueTexto.get(posicion++) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Suma cantidades vendidas a los productos.
+     *
+     * @param cantidadesParciales cantidades por índice de producto
+     */
+    public void agregarCantidades(long[] cantidadesParciales) {
+        for (int i = 0; i < tamano; i++) {
+            if (cantidadesParciales[i] != 0) {
+                int base = base(i) + CANTIDAD;
+                ByteBuffer bloque = bloque(i);
+                bloque.putLong(base, bloque.getLong(base) + cantidadesParciales[i]);
+            }
+        }
+    }
+
+    /**
+     * Pone en cero las cantidades vendidas de todos los productos.
+     */
+    public void reiniciarCantidades() {
+        for (int i = 0; i < tamano; i++) {
+            bloque(i).putLong(base(i) + CANTIDAD, 0L);
+        }
+    }
+
+    /**
+     * Escribe el ID de un producto en un reporte sin crear un String.
+     *
+     * @param indice índice del producto
+     * @param escritor escritor del reporte
+     * @throws IOException si ocurre un error al escribir
+     */
+    public void escribirId(int indice, EscritorReporte escritor) throws IOException {
+        escribirTexto(bloque(indice).getLong(base(indice) + ID), escritor);
+    }
+
+    /**
+     * Escribe el nombre de un producto en un reporte sin crear un String.
+     *
+     * @param indice índice del producto
+     * @param escritor escritor del reporte
+     * @throws IOException si ocurre un error al escribir
+     */
+    public void escribirNombre(int indice, EscritorReporte escritor) throws IOException {
+        escribirTexto(bloque(indice).getLong(base(indice) + NOMBRE), escritor);
+    }
+
+    /**
+     * Guarda un texto al final del área de textos.
+     *
+     * @param bytes bytes UTF-8 del texto
+     * @return referencia al texto
+     */
+    private long guardarTexto(byte[] bytes) {
+        int necesario = Integer.BYTES + bytes.length;
+        ByteBuffer bloque = textos.isEmpty() ? null : textos.get(textos.size() - 1);
+        if (bloque == null || bloque.remaining() < necesario) {
+            bloque = reservar(Math.max(TAMANO_BLOQUE_TEXTOS, necesario));
+            textos.add(bloque);
+        }
+
+        long referencia = ((long) (textos.size() - 1) << 32) | bloque.position();
+        bloque.putInt(bytes.length).put(bytes);
+        return referencia;
+    }
+
+    /**
+     * Lee un texto del área de textos.
+     *
+     * @param referencia referencia al texto
+     * @return texto decodificado
+     */
+    private String leerTexto(long referencia) {
+        ByteBuffer bloque = textos.get((int) (referencia >>> 32));
+        int posicion = (int) referencia;
+        byte[] bytes = new byte[bloque.getInt(posicion)];
+        bloque.get(posicion + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copia un texto del área de textos a un reporte.
+     *
+     * @param referencia referencia al texto
+     * @param escritor escritor del reporte
+     * @throws IOException si ocurre un error al escribir
+     */
+    private void escribirTexto(long referencia, EscritorReporte escritor) throws IOException {
+        ByteBuffer bloque = textos.get((int) (referencia >>> 32));
+        int posicion = (int) referencia;
+        escritor.escribir(bloque, posicion + Integer.BYTES, bloque.getInt(posicion));
+    }
+
+    /**
+     * Reserva un bloque de memoria directa con el orden de bytes nativo.
+     *
+     * @param capacidad bytes del bloque
+     * @return bloque reservado (lleno de ceros)
+     */
+    private ByteBuffer reservar(int capacidad) {
+        bytesReservados += capacidad;
+        return ByteBuffer.allocateDirect(capacidad).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Obtiene el bloque que contiene el registro de un producto.
+     *
+     * @param indice índice del producto
+     * @return bloque del registro
+     */
+    private ByteBuffer bloque(int indice) {
+        return registros.get(indice >>> BITS_BLOQUE);
+    }
+
+    /**
+     * Calcula la posición del registro de un producto dentro de su bloque.
+     *
+     * @param indice índice del producto
+     * @return posición del registro
+     */
+    private static int base(int indice) {
+        return (indice & (REGISTROS_POR_BLOQUE - 1)) * BYTES_REGISTRO;
+    }
+
+    // Getters
+
+    /**
+     * Obtiene el ID de un producto.
+     *
+     * @param indice índice del producto
+     * @return ID del producto
+     */
+    public String getId(int indice) {
+        return leerTexto(bloque(indice).getLong(base(indice) + ID));
+    }
+
+    /**
+     * Obtiene el nombre de un producto.
+     *
+     * @param indice índice del producto
+     * @return nombre del producto
+     */
+    public String getNombre(int indice) {
+        return leerTexto(bloque(indice).getLong(base(indice) + NOMBRE));
+    }
+
+    /**
+     * Obtiene el precio por unidad de un producto en centavos.
+     *
+     * @param indice índice del producto
+     * @return precio en centavos
+     */
+    public long getPrecioCentavos(int indice) {
+        return bloque(indice).getLong(base(indice) + PRECIO);
+    }
+
+    /**
+     * Obtiene la cantidad vendida acumulada de un producto.
+     *
+     * @param indice índice del producto
+     * @return cantidad vendida
+     */
+    public long getCantidadVendida(int indice) {
+        return bloque(indice).getLong(base(indice) + CANTIDAD);
+    }
+
+    /**
+     * Obtiene el hash del ID de un producto.
+     *
+     * @param indice índice del producto
+     * @return hash del ID
+     */
+    public int getHash(int indice) {
+        return bloque(indice).getInt(base(indice) + HASH);
+    }
+
+    /**
+     * Obtiene los bytes de memoria directa reservados por el catálogo.
+     *
+     * @return bytes reservados
+     */
+    public long getBytesReservados() {
+        return bytesReservados;
+    }
+}
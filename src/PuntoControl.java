@@ -0,0 +1,277 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase que guarda periódicamente el avance de un procesamiento largo de los archivos
+ * de ventas, para poder reanudarlo (--reanudar) si el proceso se detiene a la mitad.
+ *
+ * Un punto de control contiene:
+ * - los acumulados de ese momento, con el mismo formato que un {@link AgregadoParcial}
+ *   (incluida la huella de los catálogos, que deben ser los mismos al reanudar)
+ * - el nombre, el tamaño y la fecha de modificación de cada archivo de ventas ya leído
+ * - el tamaño del archivo de rechazados y los contadores de problemas de ese momento
+ *
+ * Los puntos de control se guardan entre dos lotes de archivos, cuando ninguno está a
+ * medio procesar, así que al reanudar basta con sumar los acumulados guardados y leer
+ * los archivos restantes: como las sumas son exactas, los reportes resultan idénticos a
+ * los de una ejecución sin interrupciones. Un archivo ya leído que cambió o desapareció
+ * impide reanudar, porque su aporte no se puede descontar.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class PuntoControl {
+
+    /** Identificador del formato del punto de control */
+    private static final int FIRMA = 0x43465043;
+
+    /** Versión del formato del punto de control */
+    private static final int VERSION = 1;
+
+    /** Número de registros de problemas de los catálogos, anteriores a las ventas */
+    private final long registrosCatalogos;
+
+    /** Nombres de los archivos de ventas ya leídos */
+    private final List<String> nombresLeidos = new ArrayList<>();
+
+    /** Tamaño de cada archivo leído, en el mismo orden que nombresLeidos */
+    private long[] tamanosLeidos = new long[16];
+
+    /** Fecha de modificación de cada archivo leído, en el mismo orden que nombresLeidos */
+    private long[] fechasLeidas = new long[16];
+
+    /** Acumulados guardados en el punto de control, o null si aún no se guarda ninguno */
+    private AgregadoParcial agregado;
+
+    /** Tamaño del archivo de rechazados al guardar el punto de control */
+    private long longitudRechazados;
+
+    /** Número de problemas por categoría al guardar el punto de control */
+    private long[] problemas = new long[Diagnosticos.Categoria.values().length];
+
+    /**
+     * Constructor que crea un punto de control vacío al iniciar el procesamiento de ventas.
+     *
+     * @param registrosCatalogos número de problemas registrados al cargar los catálogos
+     */
+    public PuntoControl(long registrosCatalogos) {
+        this.registrosCatalogos = registrosCatalogos;
+    }
+
+    /**
+     * Registra un lote de archivos de ventas como leídos, con su tamaño y fecha actuales.
+     *
+     * @param archivos archivos del lote
+     */
+    public void registrarLeidos(File[] archivos) {
+        int total = nombresLeidos.size() + archivos.length;
+        if (total > tamanosLeidos.length) {
+            int capacidad = Math.max(total, tamanosLeidos.length * 2);
+            tamanosLeidos = Arrays.copyOf(tamanosLeidos, capacidad);
+            fechasLeidas = Arrays.copyOf(fechasLeidas, capacidad);
+        }
+
+        for (File archivo : archivos) {
+            tamanosLeidos[nombresLeidos.size()] = archivo.length();
+            fechasLeidas[nombresLeidos.size()] = archivo.lastModified();
+            nombresLeidos.add(archivo.getName());
+        }
+    }
+
+    /**
+     * Guarda el punto de control con los acumulados actuales. Primero espera a que el
+     * archivo de rechazados tenga todas las filas registradas; luego escribe un archivo
+     * temporal que reemplaza al anterior, para no dejar nunca un punto de control a medias.
+     *
+     * @param ruta ruta del punto de control
+     * @param acumulados acumulados de los archivos registrados como leídos
+     * @param diagnosticos registro de problemas de la ejecución
+     * @throws IOException si ocurre un error al escribir el archivo
+     */
+    public void guardar(Path ruta, AgregadoParcial acumulados, Diagnosticos diagnosticos) throws IOException {
+        agregado = acumulados;
+        longitudRechazados = diagnosticos.sincronizar();
+        for (Diagnosticos.Categoria categoria : Diagnosticos.Categoria.values()) {
+            problemas[categoria.ordinal()] = diagnosticos.getCantidad(categoria);
+        }
+
+        Files.createDirectories(ruta.toAbsolutePath().getParent());
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporal), 64 * 1024))) {
+            salida.writeInt(FIRMA);
+            salida.writeInt(VERSION);
+            agregado.escribir(salida);
+
+            salida.writeInt(nombresLeidos.size());
+            for (int i = 0; i < nombresLeidos.size(); i++) {
+                salida.writeUTF(nombresLeidos.get(i));
+                salida.writeLong(tamanosLeidos[i]);
+                salida.writeLong(fechasLeidas[i]);
+            }
+
+            salida.writeLong(registrosCatalogos);
+            salida.writeLong(longitudRechazados);
+            salida.writeInt(problemas.length);
+            for (long cantidad : problemas) {
+                salida.writeLong(cantidad);
+            }
+        }
+
+        Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Carga un punto de control guardado.
+     *
+     * @param ruta ruta del punto de control
+     * @return punto de control, o null si no existe
+     * @throws IOException si el archivo no se puede leer o no es un punto de control válido
+     */
+    public static PuntoControl cargar(Path ruta) throws IOException {
+        if (!Files.exists(ruta)) {
+            return null;
+        }
+
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(ruta), 64 * 1024))) {
+
+            if (entrada.readInt() != FIRMA || entrada.readInt() != VERSION) {
+                throw new IOException(ruta + " no es un punto de control compatible");
+            }
+            AgregadoParcial agregado = AgregadoParcial.leer(entrada, ruta);
+
+            int leidos = entrada.readInt();
+            List<String> nombres = new ArrayList<>(leidos);
+            long[] tamanos = new long[Math.max(leidos, 16)];
+            long[] fechas = new long[Math.max(leidos, 16)];
+            for (int i = 0; i < leidos; i++) {
+                nombres.add(entrada.readUTF());
+                tamanos[i] = entrada.readLong();
+                fechas[i] = entrada.readLong();
+            }
+
+            PuntoControl puntoControl = new PuntoControl(entrada.readLong());
+            puntoControl.agregado = agregado;
+            puntoControl.nombresLeidos.addAll(nombres);
+            puntoControl.tamanosLeidos = tamanos;
+            puntoControl.fechasLeidas = fechas;
+            puntoControl.longitudRechazados = entrada.readLong();
+
+            if (entrada.readInt() != puntoControl.problemas.length) {
+                throw new IOException(ruta + " no es un punto de control compatible");
+            }
+            for (int i = 0; i < puntoControl.problemas.length; i++) {
+                puntoControl.problemas[i] = entrada.readLong();
+            }
+            return puntoControl;
+        } catch (EOFException e) {
+            throw new IOException("El punto de control " + ruta + " está incompleto", e);
+        }
+    }
+
+    /**
+     * Abre el registro de problemas de la ejecución reanudada: conserva las filas del
+     * archivo de rechazados escritas hasta el punto de control, parte de sus contadores
+     * y descarta los problemas de los catálogos, que ya están en esas filas.
+     *
+     * @param rutaRechazados ruta del archivo de rechazados
+     * @return registro de problemas
+     * @throws IOException si el archivo de rechazados no corresponde al punto de control
+     */
+    public Diagnosticos abrirDiagnosticos(Path rutaRechazados) throws IOException {
+        return new Diagnosticos(rutaRechazados, longitudRechazados, problemas, registrosCatalogos);
+    }
+
+    /**
+     * Suma los acumulados guardados a las tablas recién cargadas.
+     *
+     * @param huellaActual huella del contenido de los catálogos cargados
+     * @param vendedores tabla de vendedores donde se suman los totales
+     * @param productos catálogo de productos donde se suman las cantidades
+     * @param cruce matriz donde se suman las unidades por par, o null si no se genera el cruce
+     * @throws IOException si el punto de control se guardó con otros catálogos o sin el cruce pedido
+     */
+    public void restaurarEn(long huellaActual, TablaVendedores vendedores, DiccionarioProductos productos,
+                            MatrizVentas cruce) throws IOException {
+        agregado.sumarA(huellaActual, vendedores, productos, cruce);
+    }
+
+    /**
+     * Obtiene los archivos de ventas que aún no se han leído, verificando que los ya
+     * leídos sigan iguales.
+     *
+     * @param archivos archivos de ventas actuales
+     * @return archivos pendientes, en el mismo orden
+     * @throws IOException si un archivo ya leído desapareció o cambió desde el punto de control
+     */
+    public File[] filtrarPendientes(File[] archivos) throws IOException {
+        Map<String, File> actuales = new HashMap<>(archivos.length * 2);
+        for (File archivo : archivos) {
+            actuales.put(archivo.getName(), archivo);
+        }
+
+        for (int i = 0; i < nombresLeidos.size(); i++) {
+            File archivo = actuales.remove(nombresLeidos.get(i));
+            if (archivo == null || archivo.length() != tamanosLeidos[i] || archivo.lastModified() != fechasLeidas[i]) {
+                throw new IOException("El archivo de ventas " + nombresLeidos.get(i) +
+                        " cambió o desapareció desde el punto de control; ejecute sin --reanudar");
+            }
+        }
+
+        List<File> pendientes = new ArrayList<>(actuales.size());
+        for (File archivo : archivos) {
+            if (actuales.containsKey(archivo.getName())) {
+                pendientes.add(archivo);
+            }
+        }
+        return pendientes.toArray(new File[0]);
+    }
+
+    // Getters
+
+    /**
+     * Obtiene el número de problemas registrados al cargar los catálogos.
+     *
+     * @return registros de problemas anteriores a las ventas
+     */
+    public long getRegistrosCatalogos() {
+        return registrosCatalogos;
+    }
+
+    /**
+     * Obtiene el número de archivos de ventas leídos.
+     *
+     * @return archivos registrados como leídos
+     */
+    public int getArchivosLeidos() {
+        return nombresLeidos.size();
+    }
+
+    /**
+     * Obtiene el número de archivos de ventas procesados exitosamente hasta el punto de control.
+     *
+     * @return archivos procesados, o 0 si aún no se guarda ninguno
+     */
+    public int getArchivosProcesados() {
+        return (agregado != null) ? agregado.getArchivosProcesados() : 0;
+    }
+}
@@ -0,0 +1,134 @@
+import java.util.Arrays;
+
+/**
+ * Clase para obtener los primeros elementos de un orden sin ordenar todo el conjunto.
+ * Trabaja sobre índices enteros (0 .. n-1) y un comparador de índices, manteniendo un
+ * montículo acotado con los mejores elementos vistos hasta el momento.
+ *
+ * Para seleccionar la página [desde, desde + limite) de n elementos el costo es
+ * O(n log k) en tiempo y O(k) en memoria, con k = desde + limite.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class SeleccionParcial {
+
+    /**
+     * Comparador de índices. Un valor negativo indica que el primer índice va antes.
+     */
+    public interface ComparadorIndices {
+
+        /**
+         * Compara dos índices según el orden deseado.
+         *
+         * @param a primer índice
+         * @param b segundo índice
+         * @return negativo si a va antes, positivo si b va antes, 0 si son equivalentes
+         */
+        int comparar(int a, int b);
+    }
+
+    /**
+     * Constructor privado: clase de utilidades.
+     */
+    private SeleccionParcial() {
+    }
+
+    /**
+     * Selecciona una página de índices del orden definido por el comparador.
+     *
+     * @param totalElementos número de elementos (índices 0 .. totalElementos-1)
+     * @param desde posición inicial de la página dentro del orden (0 = primero)
+     * @param limite número máximo de elementos de la página
+     * @param comparador orden total de los índices
+     * @return índices de la página, ya ordenados
+     */
+    public static int[] seleccionar(int totalElementos, int desde, int limite, ComparadorIndices comparador) {
+        if (desde >= totalElementos || limite <= 0) {
+            return new int[0];
+        }
+
+        int capacidad = (int) Math.min((long) desde + limite, totalElementos);
+
+        // Montículo cuya raíz es el peor de los elementos conservados
+        int[] monticulo = new int[capacidad];
+        int tamano = 0;
+
+        for (int indice = 0; indice < totalElementos; indice++) {
+            if (tamano < capacidad) {
+                monticulo[tamano] = indice;
+                subir(monticulo, tamano++, comparador);
+            } else if (comparador.comparar(indice, monticulo[0]) < 0) {
+                monticulo[0] = indice;
+                bajar(monticulo, tamano, comparador);
+            }
+        }
+
+        // Extraer del peor al mejor deja los elementos ordenados de atrás hacia adelante
+        int[] ordenados = new int[tamano];
+        for (int i = tamano - 1; i >= 0; i--) {
+            ordenados[i] = monticulo[0];
+            monticulo[0] = monticulo[i];
+            bajar(monticulo, i, comparador);
+        }
+
+        return Arrays.copyOfRange(ordenados, desde, tamano);
+    }
+
+    /**
+     * Sube un elemento del montículo hasta su posición.
+     *
+     * @param monticulo arreglo del montículo
+     * @param posicion posición del elemento a subir
+     * @param comparador orden de los índices
+     */
+    private static void subir(int[] monticulo, int posicion, ComparadorIndices comparador) {
+        int elemento = monticulo[posicion];
+
+        while (posicion > 0) {
+            int padre = (posicion - 1) >>> 1;
+            if (comparador.comparar(elemento, monticulo[padre]) <= 0) {
+                break;
+            }
+            monticulo[posicion] = monticulo[padre];
+            posicion = padre;
+        }
+        monticulo[posicion] = elemento;
+    }
+
+    /**
+     * Baja el elemento de la raíz hasta su posición.
+     *
+     * @param monticulo arreglo del montículo
+     * @param tamano número de elementos válidos del montículo
+     * @param comparador orden de los índices
+     */
+    private static void bajar(int[] monticulo, int tamano, ComparadorIndices comparador) {
+        if (tamano == 0) {
+            return;
+        }
+
+        int elemento = monticulo[0];
+        int posicion = 0;
+
+        while (true) {
+            int hijo = 2 * posicion + 1;
+            if (hijo >= tamano) {
+                break;
+            }
+            if (hijo + 1 < tamano && comparador.comparar(monticulo[hijo + 1], monticulo[hijo]) > 0) {
+                hijo++;
+            }
+            if (comparador.comparar(monticulo[hijo], elemento) <= 0) {
+                break;
+            }
+            monticulo[posicion] = monticulo[hijo];
+            posicion = hijo;
+        }
+        monticulo[posicion] = elemento;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,597 @@
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Clase que sirve los reportes por HTTP a partir de los totales en memoria (ver
+ * {@link ConsultaVentas}), con el servidor HTTP incluido en el JDK.
+ *
+ * Rutas (GET o HEAD):
+ * - /vendedores.csv, /vendedores.json : reporte de vendedores por total de ventas
+ * - /productos.csv, /productos.json   : reporte de productos por cantidad vendida
+ * - /resumen.csv, /resumen.json       : estadísticas del resumen del procesamiento
+ * Los reportes aceptan ?desde=K&top=N para pedir una página, igual que --desde y --top.
+ * El CSV completo es idéntico byte a byte al archivo del reporte.
+ *
+ * Cada respuesta se serializa una sola vez, se comprime con gzip y se guarda en caché
+ * junto con su ETag (CRC32 y longitud del contenido). Si la petición trae
+ * If-None-Match con esa ETag se responde 304 sin cuerpo, y si acepta gzip se envía la
+ * versión comprimida. Los reportes completos y el resumen se serializan al publicar los
+ * totales; las páginas, la primera vez que se piden. La caché solo se descarta cuando
+ * termina un nuevo procesamiento y se publican sus totales.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class ServidorReportes {
+
+    /** Tamaño mínimo de un cuerpo para comprimirlo: los más pequeños no ganan nada */
+    private static final int MINIMO_GZIP = 1024;
+
+    /** Máximo de respuestas guardadas en caché por publicación (las demás se serializan en cada petición) */
+    private static final int MAXIMO_RESPUESTAS = 256;
+
+    /** Tipo de contenido de las respuestas CSV */
+    private static final String TIPO_CSV = "text/csv; charset=utf-8";
+
+    /** Tipo de contenido de las respuestas JSON */
+    private static final String TIPO_JSON = "application/json; charset=utf-8";
+
+    /**
+     * Respuesta serializada, con su versión comprimida y su ETag.
+     */
+    private static final class Respuesta {
+
+        /** Tipo de contenido */
+        private final String tipo;
+
+        /** Cuerpo sin comprimir */
+        private final byte[] cuerpo;
+
+        /** Cuerpo comprimido con gzip, o null si no vale la pena comprimirlo */
+        private final byte[] cuerpoGzip;
+
+        /** ETag del cuerpo sin comprimir */
+        private final String etag;
+
+        /** ETag del cuerpo comprimido (cada representación tiene la suya) */
+        private final String etagGzip;
+
+        /**
+         * Constructor que comprime el cuerpo y calcula sus ETags.
+         *
+         * @param tipo tipo de contenido
+         * @param cuerpo cuerpo sin comprimir
+         * @throws IOException si ocurre un error al comprimir
+         */
+        private Respuesta(String tipo, byte[] cuerpo) throws IOException {
+            this.tipo = tipo;
+            this.cuerpo = cuerpo;
+            this.cuerpoGzip = (cuerpo.length >= MINIMO_GZIP) ? comprimir(cuerpo) : null;
+
+            CRC32 crc = new CRC32();
+            crc.update(cuerpo);
+            String huella = Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(cuerpo.length);
+            this.etag = "\"" + huella + "\"";
+            this.etagGzip = "\"" + huella + "-gz\"";
+        }
+    }
+
+    /**
+     * Totales publicados por un procesamiento y las respuestas ya serializadas a partir de ellos.
+     */
+    private static final class Publicacion {
+
+        /** Totales del procesamiento */
+        private final ConsultaVentas consulta;
+
+        /** Respuestas en caché, por ruta y página */
+        private final Map<String, Respuesta> respuestas = new ConcurrentHashMap<>();
+
+        /**
+         * Constructor que asocia la caché a unos totales.
+         *
+         * @param consulta totales del procesamiento
+         */
+        private Publicacion(ConsultaVentas consulta) {
+            this.consulta = consulta;
+        }
+    }
+
+    /** Servidor HTTP */
+    private final HttpServer servidor;
+
+    /** Hilos que atienden las peticiones */
+    private final ExecutorService hilos;
+
+    /** Última publicación; se reemplaza completa al terminar cada procesamiento */
+    private volatile Publicacion publicacion;
+
+    /**
+     * Constructor que crea el servidor sin iniciarlo.
+     *
+     * @param direccion dirección y puerto donde escuchar (puerto 0 = uno libre)
+     * @param consulta totales iniciales
+     * @throws IOException si no se puede abrir el puerto o serializar los reportes
+     */
+    public ServidorReportes(InetSocketAddress direccion, ConsultaVentas consulta) throws IOException {
+        publicar(consulta);
+
+        AtomicInteger contador = new AtomicInteger();
+        this.hilos = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), tarea -> {
+            Thread hilo = new Thread(tarea, "servidor-reportes-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.servidor = HttpServer.create(direccion, 0);
+        this.servidor.setExecutor(hilos);
+        this.servidor.createContext("/", this::atender);
+    }
+
+    /**
+     * Empieza a atender peticiones. El hilo del servidor mantiene viva la JVM.
+     */
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Deja de atender peticiones.
+     */
+    public void detener() {
+        servidor.stop(0);
+        hilos.shutdown();
+    }
+
+    /**
+     * Publica los totales de un nuevo procesamiento: descarta la caché anterior y
+     * serializa de inmediato los reportes completos y el resumen.
+     *
+     * @param consulta totales del procesamiento
+     * @throws IOException si ocurre un error al serializar
+     */
+    public void publicar(ConsultaVentas consulta) throws IOException {
+        Publicacion nueva = new Publicacion(consulta);
+        for (String ruta : new String[] {"/vendedores.csv", "/vendedores.json", "/productos.csv",
+                "/productos.json", "/resumen.csv", "/resumen.json"}) {
+            nueva.respuestas.put(clave(ruta, 0, Integer.MAX_VALUE), serializar(consulta, ruta, 0, Integer.MAX_VALUE));
+        }
+        publicacion = nueva;
+    }
+
+    /**
+     * Atiende una petición HTTP.
+     *
+     * @param intercambio petición y respuesta
+     * @throws IOException si ocurre un error al responder
+     */
+    private void atender(HttpExchange intercambio) throws IOException {
+        try {
+            String metodo = intercambio.getRequestMethod();
+            if (!metodo.equals("GET") && !metodo.equals("HEAD")) {
+                intercambio.getResponseHeaders().set("Allow", "GET, HEAD");
+                responderError(intercambio, 405, "Método no permitido: " + metodo);
+                return;
+            }
+
+            String ruta = intercambio.getRequestURI().getPath();
+            if (!esRutaConocida(ruta)) {
+                responderError(intercambio, 404, "Ruta desconocida: " + ruta);
+                return;
+            }
+
+            int desde;
+            int limite;
+            try {
+                String parametros = intercambio.getRequestURI().getRawQuery();
+                desde = leerParametro(parametros, "desde", 0);
+                limite = leerParametro(parametros, "top", Integer.MAX_VALUE);
+            } catch (IllegalArgumentException e) {
+                responderError(intercambio, 400, e.getMessage());
+                return;
+            }
+
+            Publicacion actual = publicacion;
+            Respuesta respuesta = obtenerRespuesta(actual, ruta, desde, limite);
+            enviar(intercambio, respuesta, metodo.equals("HEAD"));
+        } finally {
+            intercambio.close();
+        }
+    }
+
+    /**
+     * Obtiene la respuesta de una ruta desde la caché de una publicación, serializándola
+     * si aún no está.
+     *
+     * @param actual publicación vigente
+     * @param ruta ruta pedida
+     * @param desde posición inicial de la página
+     * @param limite número máximo de filas
+     * @return respuesta serializada
+     * @throws IOException si ocurre un error al serializar
+     */
+    private Respuesta obtenerRespuesta(Publicacion actual, String ruta, int desde, int limite) throws IOException {
+        if (ruta.startsWith("/resumen")) {
+            desde = 0;
+            limite = Integer.MAX_VALUE;
+        }
+
+        String clave = clave(ruta, desde, limite);
+        Respuesta respuesta = actual.respuestas.get(clave);
+        if (respuesta == null) {
+            respuesta = serializar(actual.consulta, ruta, desde, limite);
+            if (actual.respuestas.size() < MAXIMO_RESPUESTAS) {
+                actual.respuestas.putIfAbsent(clave, respuesta);
+            }
+        }
+        return respuesta;
+    }
+
+    /**
+     * Envía una respuesta, o 304 si el cliente ya tiene esa versión.
+     *
+     * @param intercambio petición y respuesta
+     * @param respuesta respuesta serializada
+     * @param soloEncabezados true para una petición HEAD
+     * @throws IOException si ocurre un error al responder
+     */
+    private static void enviar(HttpExchange intercambio, Respuesta respuesta, boolean soloEncabezados)
+            throws IOException {
+        Headers encabezados = intercambio.getResponseHeaders();
+        boolean gzip = respuesta.cuerpoGzip != null && aceptaGzip(intercambio.getRequestHeaders());
+        String etag = gzip ? respuesta.etagGzip : respuesta.etag;
+        byte[] cuerpo = gzip ? respuesta.cuerpoGzip : respuesta.cuerpo;
+
+        encabezados.set("Content-Type", respuesta.tipo);
+        encabezados.set("ETag", etag);
+        encabezados.set("Cache-Control", "no-cache");
+        encabezados.set("Vary", "Accept-Encoding");
+
+        if (coincideEtag(intercambio.getRequestHeaders().getFirst("If-None-Match"), respuesta)) {
+            intercambio.sendResponseHeaders(304, -1);
+            return;
+        }
+
+        if (gzip) {
+            encabezados.set("Content-Encoding", "gzip");
+        }
+        if (soloEncabezados) {
+            encabezados.set("Content-Length", Integer.toString(cuerpo.length));
+            intercambio.sendResponseHeaders(200, -1);
+            return;
+        }
+
+        intercambio.sendResponseHeaders(200, cuerpo.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(cuerpo);
+        }
+    }
+
+    /**
+     * Envía una respuesta de error en texto plano.
+     *
+     * @param intercambio petición y respuesta
+     * @param estado código de estado HTTP
+     * @param mensaje mensaje de error
+     * @throws IOException si ocurre un error al responder
+     */
+    private static void responderError(HttpExchange intercambio, int estado, String mensaje) throws IOException {
+        byte[] cuerpo = (mensaje + "\n").getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        intercambio.sendResponseHeaders(estado, cuerpo.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(cuerpo);
+        }
+    }
+
+    /**
+     * Serializa la respuesta de una ruta a partir de unos totales.
+     *
+     * @param consulta totales del procesamiento
+     * @param ruta ruta pedida
+     * @param desde posición inicial de la página
+     * @param limite número máximo de filas
+     * @return respuesta serializada
+     * @throws IOException si ocurre un error al serializar
+     */
+    private static Respuesta serializar(ConsultaVentas consulta, String ruta, int desde, int limite)
+            throws IOException {
+        boolean json = ruta.endsWith(".json");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (EscritorReporte escritor = new EscritorReporte(bytes)) {
+            if (ruta.startsWith("/vendedores")) {
+                escribirVendedores(escritor, consulta.mejoresVendedores(desde, limite), desde, json);
+            } else if (ruta.startsWith("/productos")) {
+                escribirProductos(escritor, consulta.productosMasVendidos(desde, limite), desde, json);
+            } else {
+                escribirResumen(escritor, consulta, json);
+            }
+            escritor.publicar();
+        }
+        return new Respuesta(json ? TIPO_JSON : TIPO_CSV, bytes.toByteArray());
+    }
+
+    /**
+     * Escribe una página del reporte de vendedores. El CSV tiene el formato del archivo
+     * reporte_vendedores.csv.
+     *
+     * @param escritor destino
+     * @param pagina vendedores de la página
+     * @param desde posición del primer vendedor de la página
+     * @param json true para JSON, false para CSV
+     * @throws IOException si ocurre un error al escribir
+     */
+    private static void escribirVendedores(EscritorReporte escritor, List<VendedorInfo> pagina, int desde,
+                                           boolean json) throws IOException {
+        if (!json) {
+            escritor.escribir("NombresVendedor;ApellidosVendedor;TotalRecaudado").nuevaLinea();
+            for (VendedorInfo vendedor : pagina) {
+                escritor.escribir(vendedor.getNombres()).escribir(';')
+                        .escribir(vendedor.getApellidos()).escribir(';')
+                        .escribirCentavos(vendedor.getTotalVentas())
+                        .nuevaLinea();
+            }
+            return;
+        }
+
+        escritor.escribir('[');
+        for (int i = 0; i < pagina.size(); i++) {
+            VendedorInfo vendedor = pagina.get(i);
+            escritor.escribir(i == 0 ? "\n" : ",\n")
+                    .escribir("  {\"posicion\": ").escribirEntero(desde + i + 1L)
+                    .escribir(", \"tipoDocumento\": \"").escribir(Metricas.escaparJson(vendedor.getTipoDocumento()))
+                    .escribir("\", \"numeroDocumento\": ").escribirEntero(vendedor.getNumeroDocumento())
+                    .escribir(", \"nombres\": \"").escribir(Metricas.escaparJson(vendedor.getNombres()))
+                    .escribir("\", \"apellidos\": \"").escribir(Metricas.escaparJson(vendedor.getApellidos()))
+                    .escribir("\", \"totalRecaudado\": ").escribir(vendedor.getTotalVentas().toPlainString())
+                    .escribir('}');
+        }
+        escritor.escribir("\n]\n");
+    }
+
+    /**
+     * Escribe una página del reporte de productos. El CSV tiene el formato del archivo
+     * reporte_productos.csv.
+     *
+     * @param escritor destino
+     * @param pagina productos de la página
+     * @param desde posición del primer producto de la página
+     * @param json true para JSON, false para CSV
+     * @throws IOException si ocurre un error al escribir
+     */
+    private static void escribirProductos(EscritorReporte escritor, List<ProductoInfo> pagina, int desde,
+                                          boolean json) throws IOException {
+        if (!json) {
+            escritor.escribir("NombreProducto;PrecioUnitario;CantidadVendida").nuevaLinea();
+            for (ProductoInfo producto : pagina) {
+                escritor.escribir(producto.getNombreProducto()).escribir(';')
+                        .escribirCentavos(producto.getPrecioCentavos()).escribir(';')
+                        .escribirEntero(producto.getCantidadVendida())
+                        .nuevaLinea();
+            }
+            return;
+        }
+
+        escritor.escribir('[');
+        for (int i = 0; i < pagina.size(); i++) {
+            ProductoInfo producto = pagina.get(i);
+            escritor.escribir(i == 0 ? "\n" : ",\n")
+                    .escribir("  {\"posicion\": ").escribirEntero(desde + i + 1L)
+                    .escribir(", \"id\": \"").escribir(Metricas.escaparJson(producto.getIdProducto()))
+                    .escribir("\", \"nombre\": \"").escribir(Metricas.escaparJson(producto.getNombreProducto()))
+                    .escribir("\", \"precio\": ").escribir(producto.getPrecio().toPlainString())
+                    .escribir(", \"cantidadVendida\": ").escribirEntero(producto.getCantidadVendida())
+                    .escribir(", \"totalIngresos\": ").escribir(producto.getTotalIngresos().toPlainString())
+                    .escribir('}');
+        }
+        escritor.escribir("\n]\n");
+    }
+
+    /**
+     * Escribe las estadísticas del resumen del procesamiento.
+     *
+     * @param escritor destino
+     * @param consulta totales del procesamiento
+     * @param json true para JSON, false para CSV (Indicador;Valor)
+     * @throws IOException si ocurre un error al escribir
+     */
+    private static void escribirResumen(EscritorReporte escritor, ConsultaVentas consulta, boolean json)
+            throws IOException {
+        List<VendedorInfo> mejores = consulta.mejoresVendedores(0, 1);
+        List<ProductoInfo> masVendidos = consulta.productosMasVendidos(0, 1);
+        VendedorInfo mejorVendedor = mejores.isEmpty() ? null : mejores.get(0);
+        ProductoInfo productoMasVendido = masVendidos.isEmpty() ? null : masVendidos.get(0);
+
+        if (!json) {
+            escritor.escribir("Indicador;Valor").nuevaLinea();
+            escritor.escribir("TotalVendedores;").escribirEntero(consulta.getNumeroVendedores()).nuevaLinea();
+            escritor.escribir("TotalProductos;").escribirEntero(consulta.getNumeroProductos()).nuevaLinea();
+            escritor.escribir("TotalRecaudado;").escribirCentavos(consulta.getTotalRecaudado()).nuevaLinea();
+            escritor.escribir("TotalProductosVendidos;").escribirEntero(consulta.getTotalProductosVendidos())
+                    .nuevaLinea();
+            if (mejorVendedor != null) {
+                escritor.escribir("MejorVendedor;").escribir(mejorVendedor.getNombreCompleto()).nuevaLinea();
+                escritor.escribir("TotalMejorVendedor;").escribirCentavos(mejorVendedor.getTotalVentas())
+                        .nuevaLinea();
+            }
+            if (productoMasVendido != null) {
+                escritor.escribir("ProductoMasVendido;").escribir(productoMasVendido.getNombreProducto())
+                        .nuevaLinea();
+                escritor.escribir("UnidadesProductoMasVendido;")
+                        .escribirEntero(productoMasVendido.getCantidadVendida()).nuevaLinea();
+            }
+            return;
+        }
+
+        escritor.escribir("{\n  \"totalVendedores\": ").escribirEntero(consulta.getNumeroVendedores())
+                .escribir(",\n  \"totalProductos\": ").escribirEntero(consulta.getNumeroProductos())
+                .escribir(",\n  \"totalRecaudado\": ").escribir(consulta.getTotalRecaudado().toPlainString())
+                .escribir(",\n  \"totalProductosVendidos\": ").escribirEntero(consulta.getTotalProductosVendidos());
+        if (mejorVendedor != null) {
+            escritor.escribir(",\n  \"mejorVendedor\": {\"nombre\": \"")
+                    .escribir(Metricas.escaparJson(mejorVendedor.getNombreCompleto()))
+                    .escribir("\", \"totalRecaudado\": ").escribir(mejorVendedor.getTotalVentas().toPlainString())
+                    .escribir('}');
+        }
+        if (productoMasVendido != null) {
+            escritor.escribir(",\n  \"productoMasVendido\": {\"nombre\": \"")
+                    .escribir(Metricas.escaparJson(productoMasVendido.getNombreProducto()))
+                    .escribir("\", \"cantidadVendida\": ").escribirEntero(productoMasVendido.getCantidadVendida())
+                    .escribir('}');
+        }
+        escritor.escribir("\n}\n");
+    }
+
+    /**
+     * Indica si una ruta corresponde a alguna de las respuestas del servidor.
+     *
+     * @param ruta ruta pedida
+     * @return true si la ruta es conocida
+     */
+    private static boolean esRutaConocida(String ruta) {
+        switch (ruta) {
+            case "/vendedores.csv":
+            case "/vendedores.json":
+            case "/productos.csv":
+            case "/productos.json":
+            case "/resumen.csv":
+            case "/resumen.json":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Lee un parámetro entero no negativo de la consulta de la URL.
+     *
+     * @param parametros consulta de la URL (puede ser null)
+     * @param nombre nombre del parámetro
+     * @param porDefecto valor si el parámetro no está
+     * @return valor del parámetro
+     * @throws IllegalArgumentException si el valor no es un entero no negativo
+     */
+    private static int leerParametro(String parametros, String nombre, int porDefecto) {
+        if (parametros == null) {
+            return porDefecto;
+        }
+
+        for (String parametro : parametros.split("&")) {
+            if (parametro.startsWith(nombre + "=")) {
+                String valor = parametro.substring(nombre.length() + 1);
+                try {
+                    int numero = Integer.parseInt(valor);
+                    if (numero >= 0) {
+                        return numero;
+                    }
+                } catch (NumberFormatException e) {
+                    // se informa abajo
+                }
+                throw new IllegalArgumentException("Valor inválido para " + nombre + ": " + valor);
+            }
+        }
+        return porDefecto;
+    }
+
+    /**
+     * Indica si el cliente acepta respuestas comprimidas con gzip.
+     *
+     * @param encabezados encabezados de la petición
+     * @return true si Accept-Encoding incluye gzip
+     */
+    private static boolean aceptaGzip(Headers encabezados) {
+        List<String> valores = encabezados.get("Accept-Encoding");
+        if (valores == null) {
+            return false;
+        }
+        for (String valor : valores) {
+            for (String codificacion : valor.split(",")) {
+                String nombre = codificacion.trim();
+                if (nombre.equals("gzip") || (nombre.startsWith("gzip;") && !nombre.replace(" ", "").endsWith("q=0"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indica si If-None-Match coincide con alguna ETag de la respuesta (comparación débil).
+     *
+     * @param siNoCoincide valor de If-None-Match, o null
+     * @param respuesta respuesta serializada
+     * @return true si el cliente ya tiene esta versión
+     */
+    private static boolean coincideEtag(String siNoCoincide, Respuesta respuesta) {
+        if (siNoCoincide == null) {
+            return false;
+        }
+        for (String etiqueta : siNoCoincide.split(",")) {
+            String valor = etiqueta.trim();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("*") || valor.equals(respuesta.etag) || valor.equals(respuesta.etagGzip)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Construye la clave de caché de una ruta y una página.
+     *
+     * @param ruta ruta pedida
+     * @param desde posición inicial
+     * @param limite número máximo de filas
+     * @return clave de caché
+     */
+    private static String clave(String ruta, int desde, int limite) {
+        return ruta + "?" + desde + "," + limite;
+    }
+
+    /**
+     * Comprime un cuerpo con gzip.
+     *
+     * @param cuerpo bytes sin comprimir
+     * @return bytes comprimidos
+     * @throws IOException si ocurre un error al comprimir
+     */
+    private static byte[] comprimir(byte[] cuerpo) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(cuerpo.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(cuerpo);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Getters
+
+    /**
+     * Obtiene el puerto en que escucha el servidor.
+     *
+     * @return puerto local
+     */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+}
@@ -0,0 +1,320 @@
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Clase que almacena los vendedores en columnas (un arreglo por atributo) en lugar
+ * de un objeto por vendedor. Cada vendedor recibe un índice entero denso y un índice
+ * hash de direccionamiento abierto traduce el número de documento (long primitivo)
+ * a ese índice sin crear objetos Long.
+ *
+ * Los tipos de documento se guardan como un código de un byte que apunta a la lista
+ * de tipos distintos, y el total recaudado se acumula en centavos como un entero de
+ * 128 bits repartido en dos arreglos de long (ver MontoCentavos), de modo que la suma
+ * es exacta sin importar el orden. Los objetos VendedorInfo solo se construyen al
+ * generar los reportes.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class TablaVendedores {
+
+    /** Índice devuelto cuando un documento no pertenece a la tabla */
+    public static final int NO_ENCONTRADO = -1;
+
+    /** Capacidad inicial de las columnas */
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    /** Constante multiplicativa para dispersar los documentos (hash de Fibonacci) */
+    private static final long DISPERSION = 0x9E3779B97F4A7C15L;
+
+    /** Número de vendedores registrados */
+    private int tamano;
+
+    /** Números de documento, por índice */
+    private long[] documentos = new long[CAPACIDAD_INICIAL];
+
+    /** Código del tipo de documento, por índice (posición en tiposDocumento) */
+    private byte[] codigosTipo = new byte[CAPACIDAD_INICIAL];
+
+    /** Nombres, por índice */
+    private String[] nombres = new String[CAPACIDAD_INICIAL];
+
+    /** Apellidos, por índice */
+    private String[] apellidos = new String[CAPACIDAD_INICIAL];
+
+    /** Parte alta del total recaudado en centavos, por índice */
+    private long[] totalesAltos = new long[CAPACIDAD_INICIAL];
+
+    /** Parte baja del total recaudado en centavos, por índice */
+    private long[] totalesBajos = new long[CAPACIDAD_INICIAL];
+
+    /** Tipos de documento distintos encontrados (CC, CE, TI, ...) */
+    private final List<String> tiposDocumento = new ArrayList<>();
+
+    /** Tabla hash: cada posición guarda un índice de vendedor o -1 si está libre */
+    private int[] tabla = crearTabla(CAPACIDAD_INICIAL * 2);
+
+    /** Desplazamiento para obtener la posición a partir de los bits altos del hash */
+    private int desplazamiento = Long.numberOfLeadingZeros(CAPACIDAD_INICIAL * 2 - 1);
+
+    /**
+     * Registra un vendedor. Si el documento ya existe se reemplazan sus datos
+     * conservando el índice asignado.
+     *
+     * @param tipoDocumento tipo de documento (CC, CE, TI)
+     * @param numeroDocumento número de documento único
+     * @param nombresVendedor nombres del vendedor
+     * @param apellidosVendedor apellidos del vendedor
+     * @return índice denso del vendedor
+     */
+    public int agregar(String tipoDocumento, long numeroDocumento, String nombresVendedor,
+                       String apellidosVendedor) {
+        int indice = buscar(numeroDocumento);
+        if (indice == NO_ENCONTRADO) {
+            if (tamano == documentos.length) {
+                crecer();
+            }
+
+            indice = tamano++;
+            documentos[indice] = numeroDocumento;
+            insertarEnTabla(indice);
+        }
+
+        codigosTipo[indice] = codificarTipo(tipoDocumento);
+        nombres[indice] = nombresVendedor;
+        apellidos[indice] = apellidosVendedor;
+        totalesAltos[indice] = 0;
+        totalesBajos[indice] = 0;
+        return indice;
+    }
+
+    /**
+     * Busca el índice de un vendedor por su número de documento.
+     *
+     * @param numeroDocumento número de documento
+     * @return índice del vendedor, o NO_ENCONTRADO si no existe
+     */
+    public int buscar(long numeroDocumento) {
+        int mascara = tabla.length - 1;
+
+        for (int posicion = posicionInicial(numeroDocumento); ; posicion = (posicion + 1) & mascara) {
+            int indice = tabla[posicion];
+            if (indice < 0 || documentos[indice] == numeroDocumento) {
+                return indice;
+            }
+        }
+    }
+
+    /**
+     * Añade un monto al total de ventas de un vendedor.
+     *
+     * @param indice índice del vendedor
+     * @param monto monto en centavos a añadir al total
+     */
+    public void agregarVenta(int indice, MontoCentavos monto) {
+        MontoCentavos.sumar(totalesAltos, totalesBajos, indice, monto.getAlto(), monto.getBajo());
+    }
+
+    /**
+     * Pone en cero el total de ventas de todos los vendedores.
+     */
+    public void reiniciarTotales() {
+        Arrays.fill(totalesAltos, 0L);
+        Arrays.fill(totalesBajos, 0L);
+    }
+
+    /**
+     * Compara el total de ventas de dos vendedores sin redondeos.
+     *
+     * @param a índice del primer vendedor
+     * @param b índice del segundo vendedor
+     * @return negativo, cero o positivo si el total de a es menor, igual o mayor que el de b
+     */
+    public int compararTotales(int a, int b) {
+        return MontoCentavos.comparar(totalesAltos[a], totalesBajos[a], totalesAltos[b], totalesBajos[b]);
+    }
+
+    /**
+     * Crea el objeto VendedorInfo de un vendedor con su total acumulado.
+     *
+     * @param indice índice del vendedor
+     * @return información del vendedor para reportes
+     */
+    public VendedorInfo crearVendedorInfo(int indice) {
+        VendedorInfo vendedor = new VendedorInfo(tiposDocumento.get(codigosTipo[indice]),
+                documentos[indice], nombres[indice], apellidos[indice]);
+        vendedor.setTotalVentas(totalesAltos[indice], totalesBajos[indice]);
+        return vendedor;
+    }
+
+    /**
+     * Obtiene el código de un tipo de documento, registrándolo si es nuevo.
+     *
+     * @param tipoDocumento tipo de documento
+     * @return código de un byte del tipo
+     */
+    private byte codificarTipo(String tipoDocumento) {
+        int codigo = tiposDocumento.indexOf(tipoDocumento);
+        if (codigo < 0) {
+            if (tiposDocumento.size() > Byte.MAX_VALUE) {
+                throw new IllegalStateException("Demasiados tipos de documento distintos");
+            }
+            codigo = tiposDocumento.size();
+            tiposDocumento.add(tipoDocumento);
+        }
+        return (byte) codigo;
+    }
+
+    /**
+     * Calcula la posición inicial de un documento en la tabla hash.
+     *
+     * @param numeroDocumento número de documento
+     * @return posición inicial de búsqueda
+     */
+    private int posicionInicial(long numeroDocumento) {
+        return (int) ((numeroDocumento * DISPERSION) >>> desplazamiento);
+    }
+
+    /**
+     * Inserta un índice de vendedor en la tabla hash.
+     *
+     * @param indice índice del vendedor a insertar
+     */
+    private void insertarEnTabla(int indice) {
+        int mascara = tabla.length - 1;
+        int posicion = posicionInicial(documentos[indice]);
+
+        while (tabla[posicion] >= 0) {
+            posicion = (posicion + 1) & mascara;
+        }
+        tabla[posicion] = indice;
+    }
+
+    /**
+     * Duplica la capacidad de las columnas y reconstruye la tabla hash.
+     */
+    private void crecer() {
+        int capacidad = documentos.length * 2;
+        documentos = Arrays.copyOf(documentos, capacidad);
+        codigosTipo = Arrays.copyOf(codigosTipo, capacidad);
+        nombres = Arrays.copyOf(nombres, capacidad);
+        apellidos = Arrays.copyOf(apellidos, capacidad);
+        totalesAltos = Arrays.copyOf(totalesAltos, capacidad);
+        totalesBajos = Arrays.copyOf(totalesBajos, capacidad);
+
+        // La tabla se mantiene con un factor de carga máximo de 0.5
+        tabla = crearTabla(capacidad * 2);
+        desplazamiento = Long.numberOfLeadingZeros(tabla.length - 1);
+        for (int i = 0; i < tamano; i++) {
+            insertarEnTabla(i);
+        }
+    }
+
+    /**
+     * Crea una tabla hash vacía.
+     *
+     * @param capacidad número de posiciones (potencia de 2)
+     * @return tabla con todas sus posiciones libres
+     */
+    private static int[] crearTabla(int capacidad) {
+        int[] nueva = new int[capacidad];
+        Arrays.fill(nueva, -1);
+        return nueva;
+    }
+
+    // Getters
+
+    /**
+     * Obtiene el número de vendedores registrados.
+     *
+     * @return cantidad de vendedores
+     */
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Obtiene el total de ventas acumulado de un vendedor.
+     *
+     * @param indice índice del vendedor
+     * @return total recaudado, con dos decimales
+     */
+    public BigDecimal getTotalVentas(int indice) {
+        return MontoCentavos.aBigDecimal(totalesAltos[indice], totalesBajos[indice]);
+    }
+
+    /**
+     * Obtiene el número de documento de un vendedor.
+     *
+     * @param indice índice del vendedor
+     * @return número de documento
+     */
+    public long getDocumento(int indice) {
+        return documentos[indice];
+    }
+
+    /**
+     * Obtiene el tipo de documento de un vendedor.
+     *
+     * @param indice índice del vendedor
+     * @return tipo de documento (CC, CE, TI)
+     */
+    public String getTipoDocumento(int indice) {
+        return tiposDocumento.get(codigosTipo[indice]);
+    }
+
+    /**
+     * Obtiene los nombres de un vendedor.
+     *
+     * @param indice índice del vendedor
+     * @return nombres del vendedor
+     */
+    public String getNombres(int indice) {
+        return nombres[indice];
+    }
+
+    /**
+     * Obtiene los apellidos de un vendedor.
+     *
+     * @param indice índice del vendedor
+     * @return apellidos del vendedor
+     */
+    public String getApellidos(int indice) {
+        return apellidos[indice];
+    }
+
+    /**
+     * Obtiene la parte alta del total de ventas en centavos de un vendedor.
+     *
+     * @param indice índice del vendedor
+     * @return parte alta del total
+     */
+    public long getTotalAlto(int indice) {
+        return totalesAltos[indice];
+    }
+
+    /**
+     * Obtiene la parte baja del total de ventas en centavos de un vendedor.
+     *
+     * @param indice índice del vendedor
+     * @return parte baja del total
+     */
+    public long getTotalBajo(int indice) {
+        return totalesBajos[indice];
+    }
+
+    /**
+     * Indica si la tabla no tiene vendedores.
+     *
+     * @return true si no hay vendedores registrados
+     */
+    public boolean estaVacia() {
+        return tamano == 0;
+    }
+}
\ No newline at end of file
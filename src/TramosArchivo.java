@@ -0,0 +1,178 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Clase con las operaciones para dividir un archivo de texto en tramos de líneas
+ * completas que pueden leerse a la vez desde varios hilos.
+ *
+ * Los límites de los tramos se eligen a partir de posiciones aproximadas: cada una se
+ * mueve al inicio de la línea siguiente, con los mismos finales de línea que reconoce
+ * LectorVentas ('\n', '\r' o "\r\n"). Como el tramo que termina en una posición y el
+ * que empieza en ella calculan el mismo límite, cada línea pertenece a un solo tramo.
+ * Las lecturas usan posiciones absolutas del FileChannel, así que varios hilos pueden
+ * compartir el mismo canal.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class TramosArchivo {
+
+    /** Bytes que se leen cada vez al buscar el final de una línea */
+    private static final int TAMANO_VENTANA = 8 * 1024;
+
+    private TramosArchivo() {
+    }
+
+    /**
+     * Busca el primer inicio de línea en una posición dada o después de ella.
+     * Una posición es inicio de línea si es la primera del archivo o si la precede un
+     * final de línea completo (un '\r' seguido de '\n' forma un solo final).
+     *
+     * @param canal canal del archivo
+     * @param posicion posición aproximada
+     * @return inicio de línea, o el tamaño del archivo si no hay más líneas
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public static long inicioLinea(FileChannel canal, long posicion) throws IOException {
+        long tamano = canal.size();
+        if (posicion <= 0) {
+            return 0;
+        }
+        if (posicion >= tamano) {
+            return tamano;
+        }
+
+        // Se revisa desde el byte anterior para saber si la posición ya es inicio de línea
+        ByteBuffer ventana = ByteBuffer.allocate(TAMANO_VENTANA);
+        long inicioVentana = posicion - 1;
+        boolean retornoCarro = false;
+
+        while (inicioVentana < tamano) {
+            ventana.clear();
+            int leidos = leer(canal, ventana, inicioVentana);
+            if (leidos <= 0) {
+                break;
+            }
+
+            for (int i = 0; i < leidos; i++) {
+                byte b = ventana.get(i);
+                if (retornoCarro) {
+                    return (b == '\n') ? inicioVentana + i + 1 : inicioVentana + i;
+                }
+                if (b == '\n') {
+                    return inicioVentana + i + 1;
+                }
+                retornoCarro = b == '\r';
+            }
+            inicioVentana += leidos;
+        }
+        return tamano;
+    }
+
+    /**
+     * Lee un rango del archivo completo en un arreglo. Se usa para rangos pequeños,
+     * como el encabezado.
+     *
+     * @param canal canal del archivo
+     * @param desde inicio del rango
+     * @param hasta fin (exclusivo) del rango
+     * @return bytes del rango
+     * @throws IOException si ocurre un error al leer o el rango no cabe en un arreglo
+     */
+    public static byte[] leerRango(FileChannel canal, long desde, long hasta) throws IOException {
+        if (hasta - desde > Integer.MAX_VALUE - 8) {
+            throw new IOException("El rango de " + (hasta - desde) + " bytes no cabe en memoria");
+        }
+
+        byte[] bytes = new byte[(int) (hasta - desde)];
+        ByteBuffer destino = ByteBuffer.wrap(bytes);
+        if (leer(canal, destino, desde) < bytes.length) {
+            throw new IOException("El archivo terminó antes de lo esperado");
+        }
+        return bytes;
+    }
+
+    /**
+     * Abre un rango del archivo como flujo de bytes. El flujo no cierra el canal.
+     *
+     * @param canal canal del archivo
+     * @param desde inicio del rango
+     * @param hasta fin (exclusivo) del rango
+     * @return flujo con el contenido del rango
+     */
+    public static InputStream abrirRango(FileChannel canal, long desde, long hasta) {
+        return new EntradaRango(canal, desde, hasta);
+    }
+
+    /**
+     * Llena un buffer desde una posición del canal, hasta completarlo o llegar al final.
+     *
+     * @param canal canal del archivo
+     * @param destino buffer a llenar
+     * @param posicion posición inicial de lectura
+     * @return bytes leídos
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    private static int leer(FileChannel canal, ByteBuffer destino, long posicion) throws IOException {
+        int total = 0;
+        while (destino.hasRemaining()) {
+            int leidos = canal.read(destino, posicion + total);
+            if (leidos < 0) {
+                break;
+            }
+            total += leidos;
+        }
+        return total;
+    }
+
+    /**
+     * Flujo de bytes sobre un rango de un archivo, leído con posiciones absolutas.
+     */
+    private static final class EntradaRango extends InputStream {
+
+        /** Canal del archivo */
+        private final FileChannel canal;
+
+        /** Fin (exclusivo) del rango */
+        private final long fin;
+
+        /** Posición del siguiente byte por leer */
+        private long posicion;
+
+        private EntradaRango(FileChannel canal, long desde, long hasta) {
+            this.canal = canal;
+            this.posicion = desde;
+            this.fin = hasta;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] uno = new byte[1];
+            return (read(uno, 0, 1) < 0) ? -1 : (uno[0] & 0xFF);
+        }
+
+        @Override
+        public int read(byte[] destino, int desde, int longitud) throws IOException {
+            if (longitud == 0) {
+                return 0;
+            }
+            if (posicion >= fin) {
+                return -1;
+            }
+
+            int maximo = (int) Math.min(longitud, fin - posicion);
+            int leidos = canal.read(ByteBuffer.wrap(destino, desde, maximo), posicion);
+            if (leidos < 0) {
+                return -1;
+            }
+            posicion += leidos;
+            return leidos;
+        }
+    }
+}
@@ -0,0 +1,977 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+
+/**
+ * Clase que procesa los archivos de ventas en tres etapas conectadas por colas acotadas,
+ * de modo que la lectura del disco, el análisis de las líneas y la acumulación se
+ * solapan en lugar de ocurrir una tras otra en cada archivo:
+ * - los lectores toman los archivos en orden, los descomprimen si son .txt.gz,
+ *   resuelven el vendedor del encabezado y arman lotes de bytes con líneas completas
+ *   (un lote puede tener varios archivos pequeños o un trozo de un archivo grande)
+ * - los analizadores recorren las líneas de cada lote con LectorVentas, registran los
+ *   problemas en los diagnósticos y obtienen los pares (índice de producto, cantidad)
+ * - los agregadores suman las cantidades por producto, el valor de cada archivo y,
+ *   con --cruce, las unidades por par (vendedor, producto)
+ *
+ * Las colas son ArrayBlockingQueue: cuando una etapa se atrasa, la anterior se bloquea
+ * al poner (contrapresión) y la memoria usada queda acotada por la capacidad de las
+ * colas por el tamaño del lote. La ocupación de cada cola y el tiempo que esperaron
+ * sus productores y consumidores se registran en las métricas y se emiten cada segundo
+ * como evento de JFR (cfp.OcupacionCola) mientras la tubería está en marcha.
+ *
+ * Cada agregador tiene sus propios acumulados, que se suman al terminar. Como los
+ * valores son enteros exactos en centavos, el orden de la suma no cambia los totales.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class TuberiaVentas {
+
+    /** Estado de un archivo que no se pudo procesar */
+    private static final int FALLIDO = -2;
+
+    /** Tabla de vendedores (solo se consulta) */
+    private final TablaVendedores vendedores;
+
+    /** Diccionario de productos (solo se consulta) */
+    private final DiccionarioProductos productos;
+
+    /** Registro de líneas y pares con problemas */
+    private final Diagnosticos diagnosticos;
+
+    /** Métricas donde se registran la lectura y las colas */
+    private final Metricas metricas;
+
+    /** Número de lectores */
+    private final int lectores;
+
+    /** Número de analizadores */
+    private final int analizadores;
+
+    /** Número máximo de lotes en cada cola */
+    private final int capacidadCola;
+
+    /** Tamaño aproximado de cada lote, en bytes */
+    private final int tamanoLote;
+
+    /** Indica si se acumulan también las unidades por par (vendedor, producto) */
+    private final boolean conCruce;
+
+    /** Agregadores de la tubería, con sus acumulados */
+    private final List<Agregador> listaAgregadores = new ArrayList<>();
+
+    /** Archivos que se están procesando */
+    private File[] archivos;
+
+    /** Vendedor de cada archivo: su índice, NO_ENCONTRADO o FALLIDO */
+    private int[] vendedorArchivo;
+
+    /** Cola de lotes leídos, hacia los analizadores */
+    private Cola<Lote> lotes;
+
+    /** Cola de lotes analizados, hacia los agregadores */
+    private Cola<ResultadoLote> resultados;
+
+    /** Índice del siguiente archivo que tomará un lector */
+    private AtomicInteger siguienteArchivo;
+
+    /** Lectores que aún no terminan */
+    private AtomicInteger lectoresActivos;
+
+    /** Analizadores que aún no terminan */
+    private AtomicInteger analizadoresActivos;
+
+    /** Hilos de todas las etapas */
+    private final List<Thread> hilos = new ArrayList<>();
+
+    /** Primer error inesperado de una etapa */
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+    /** Líneas recorridas en los archivos procesados */
+    private final LongAdder lineas = new LongAdder();
+
+    /** Pares recorridos en los archivos procesados, correctos o no */
+    private final LongAdder pares = new LongAdder();
+
+    /** Archivos leídos por los lectores */
+    private final LongAdder archivosLeidos = new LongAdder();
+
+    /** Bytes de los archivos leídos */
+    private final LongAdder bytesLeidos = new LongAdder();
+
+    /**
+     * Crea una tubería de ventas.
+     *
+     * @param vendedores tabla de vendedores (solo se consulta)
+     * @param productos diccionario de productos (solo se consulta; las cantidades se devuelven aparte)
+     * @param diagnosticos registro de líneas y pares con problemas
+     * @param metricas métricas donde se registran la lectura y las colas
+     * @param lectores número de lectores (archivos leídos y descomprimidos a la vez)
+     * @param analizadores número de analizadores
+     * @param agregadores número de agregadores
+     * @param capacidadCola número máximo de lotes en cada cola
+     * @param tamanoLote tamaño aproximado de cada lote en bytes
+     * @param conCruce true para acumular también las unidades por par (vendedor, producto)
+     */
+    public TuberiaVentas(TablaVendedores vendedores, DiccionarioProductos productos, Diagnosticos diagnosticos,
+                         Metricas metricas, int lectores, int analizadores, int agregadores,
+                         int capacidadCola, int tamanoLote, boolean conCruce) {
+        this.vendedores = vendedores;
+        this.productos = productos;
+        this.diagnosticos = diagnosticos;
+        this.metricas = metricas;
+        this.lectores = lectores;
+        this.analizadores = analizadores;
+        this.capacidadCola = capacidadCola;
+        this.tamanoLote = tamanoLote;
+        this.conCruce = conCruce;
+        for (int i = 0; i < agregadores; i++) {
+            listaAgregadores.add(new Agregador());
+        }
+    }
+
+    /**
+     * Procesa los archivos de ventas indicados y espera a que terminen todas las etapas.
+     * Los archivos que no se pueden leer se informan por consola y se omiten, igual que
+     * en el procesamiento por archivo.
+     *
+     * @param archivosVentas archivos de ventas a procesar
+     * @throws IOException si una etapa falla inesperadamente o el proceso es interrumpido
+     */
+    public void procesar(File[] archivosVentas) throws IOException {
+        this.archivos = archivosVentas;
+        this.vendedorArchivo = new int[archivosVentas.length];
+        this.lotes = new Cola<>("lotes", capacidadCola);
+        this.resultados = new Cola<>("resultados", capacidadCola);
+        this.siguienteArchivo = new AtomicInteger();
+        this.lectoresActivos = new AtomicInteger(lectores);
+        this.analizadoresActivos = new AtomicInteger(analizadores);
+
+        for (int i = 0; i < lectores; i++) {
+            crearHilo("tuberia-lector-" + (i + 1), this::leerArchivos);
+        }
+        for (int i = 0; i < analizadores; i++) {
+            crearHilo("tuberia-analizador-" + (i + 1), this::analizarLotes);
+        }
+        for (int i = 0; i < listaAgregadores.size(); i++) {
+            crearHilo("tuberia-agregador-" + (i + 1), listaAgregadores.get(i)::agregarResultados);
+        }
+
+        Runnable muestreo = this::emitirOcupacion;
+        FlightRecorder.addPeriodicEvent(EventoCola.class, muestreo);
+        long desde = System.nanoTime();
+        for (Thread hilo : hilos) {
+            hilo.start();
+        }
+        try {
+            for (Thread hilo : hilos) {
+                hilo.join();
+            }
+        } catch (InterruptedException e) {
+            detener(e);
+            Thread.currentThread().interrupt();
+            throw new IOException("Procesamiento de la tubería interrumpido", e);
+        } finally {
+            FlightRecorder.removePeriodicEvent(muestreo);
+        }
+
+        if (error.get() != null) {
+            throw new IOException("Error en la tubería de ventas: " + error.get().getMessage(), error.get());
+        }
+
+        metricas.registrarVentas(archivosLeidos.sum(), lineas.sum(), pares.sum(), bytesLeidos.sum(),
+                desde, System.nanoTime());
+        lotes.registrarEn(metricas);
+        resultados.registrarEn(metricas);
+    }
+
+    /**
+     * Crea el hilo de una etapa. Si la etapa falla, se detiene toda la tubería.
+     *
+     * @param nombre nombre del hilo
+     * @param etapa trabajo de la etapa
+     */
+    private void crearHilo(String nombre, EtapaTuberia etapa) {
+        Thread hilo = new Thread(() -> metricas.medirTrabajo(() -> {
+            try {
+                etapa.ejecutar();
+            } catch (InterruptedException | RuntimeException | Error e) {
+                detener(e);
+            }
+        }), nombre);
+        hilo.setDaemon(true);
+        hilos.add(hilo);
+    }
+
+    /**
+     * Registra el primer error y detiene todas las etapas, para que ninguna quede
+     * bloqueada esperando una cola que ya nadie atiende.
+     *
+     * @param causa error que detiene la tubería
+     */
+    private void detener(Throwable causa) {
+        if (error.compareAndSet(null, causa)) {
+            for (Thread hilo : hilos) {
+                hilo.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Emite la ocupación actual de las colas como eventos de JFR.
+     */
+    private void emitirOcupacion() {
+        lotes.emitirEvento();
+        resultados.emitirEvento();
+    }
+
+    // Etapa de lectura
+
+    /**
+     * Etapa de un lector: toma los archivos en orden y pone sus lotes en la cola.
+     * Con varios lectores, cada uno descomprime sus archivos en su propio hilo.
+     *
+     * @throws InterruptedException si la tubería se detiene
+     */
+    private void leerArchivos() throws InterruptedException {
+        Lectura lectura = new Lectura();
+
+        int i;
+        while ((i = siguienteArchivo.getAndIncrement()) < archivos.length) {
+            try (InputStream entrada = EntradaComprimida.abrir(archivos[i].toPath())) {
+                lectura.leerArchivo(entrada, i);
+                archivosLeidos.increment();
+                bytesLeidos.add(archivos[i].length());
+            } catch (IOException e) {
+                lectura.descartarArchivo();
+                vendedorArchivo[i] = FALLIDO;
+                System.err.println("Error procesando " + archivos[i].getName() + ": " + e.getMessage());
+            }
+        }
+        lectura.enviarLote();
+
+        // El último lector en terminar avisa a los analizadores
+        if (lectoresActivos.decrementAndGet() == 0) {
+            for (int j = 0; j < analizadores; j++) {
+                lotes.poner(Lote.FIN);
+            }
+        }
+    }
+
+    /**
+     * Estado del lector mientras arma los lotes.
+     */
+    private final class Lectura {
+
+        /** Lote que se está llenando */
+        private Lote lote = new Lote(tamanoLote);
+
+        /** Inicio, dentro del lote, de los bytes del archivo actual que aún no forman un segmento */
+        private int inicioSegmento;
+
+        /** Índice del archivo actual */
+        private int archivo;
+
+        /** Líneas del archivo actual anteriores a inicioSegmento */
+        private int lineasPrevias;
+
+        /**
+         * Lee un archivo de ventas y agrega sus líneas al lote actual, enviando los
+         * lotes que se llenan.
+         *
+         * @param entrada flujo del archivo
+         * @param indiceArchivo índice del archivo
+         * @throws IOException si ocurre un error al leer o el encabezado es inválido
+         * @throws InterruptedException si la tubería se detiene mientras se envía un lote
+         */
+        private void leerArchivo(InputStream entrada, int indiceArchivo) throws IOException, InterruptedException {
+            archivo = indiceArchivo;
+            inicioSegmento = lote.longitud;
+            lineasPrevias = 0;
+            boolean conEncabezado = false;
+
+            while (true) {
+                if (lote.longitud == lote.datos.length) {
+                    hacerEspacio(conEncabezado);
+                }
+
+                int leidos = entrada.read(lote.datos, lote.longitud, lote.datos.length - lote.longitud);
+                if (leidos < 0) {
+                    break;
+                }
+                lote.longitud += leidos;
+
+                if (!conEncabezado) {
+                    conEncabezado = leerEncabezado(false);
+                    if (conEncabezado && vendedorArchivo[archivo] == TablaVendedores.NO_ENCONTRADO) {
+                        // Igual que en el procesamiento por archivo, el resto del archivo se omite
+                        lote.longitud = inicioSegmento;
+                        return;
+                    }
+                }
+            }
+
+            if (!conEncabezado) {
+                if (lote.longitud == inicioSegmento) {
+                    throw new IOException("El archivo " + archivos[archivo].getName() + " está vacío");
+                }
+                leerEncabezado(true);
+                if (vendedorArchivo[archivo] == TablaVendedores.NO_ENCONTRADO) {
+                    lote.longitud = inicioSegmento;
+                    return;
+                }
+            }
+
+            if (lote.longitud > inicioSegmento) {
+                cerrarSegmento(lote.longitud);
+            }
+        }
+
+        /**
+         * Busca el encabezado del archivo en los bytes leídos y resuelve su vendedor.
+         *
+         * @param finArchivo true si ya no quedan bytes por leer
+         * @return true si se encontró el encabezado completo
+         * @throws IOException si el encabezado tiene un formato inválido
+         */
+        private boolean leerEncabezado(boolean finArchivo) throws IOException {
+            byte[] datos = lote.datos;
+            int finLinea = inicioSegmento;
+            while (finLinea < lote.longitud && datos[finLinea] != '\n' && datos[finLinea] != '\r') {
+                finLinea++;
+            }
+
+            int siguiente;
+            if (finLinea < lote.longitud) {
+                siguiente = finLinea + 1;
+                if (datos[finLinea] == '\r') {
+                    if (siguiente == lote.longitud && !finArchivo) {
+                        // Falta saber si después del '\r' viene un '\n'
+                        return false;
+                    }
+                    if (siguiente < lote.longitud && datos[siguiente] == '\n') {
+                        siguiente++;
+                    }
+                }
+            } else if (finArchivo) {
+                siguiente = finLinea;
+            } else {
+                return false;
+            }
+
+            String encabezado = new String(datos, inicioSegmento, finLinea - inicioSegmento, StandardCharsets.UTF_8);
+            vendedorArchivo[archivo] = resolverVendedor(encabezado, archivos[archivo].getName());
+            lineas.increment();
+            if (vendedorArchivo[archivo] != TablaVendedores.NO_ENCONTRADO) {
+                inicioSegmento = siguiente;
+                lineasPrevias = 1;
+            }
+            return true;
+        }
+
+        /**
+         * Libera espacio en el lote lleno: cierra las líneas completas del archivo actual
+         * en un segmento y envía el lote, o agranda el lote si una línea no cabe en él.
+         *
+         * @param conEncabezado true si ya se leyó el encabezado del archivo actual
+         * @throws InterruptedException si la tubería se detiene mientras se envía el lote
+         */
+        private void hacerEspacio(boolean conEncabezado) throws InterruptedException {
+            if (conEncabezado) {
+                int ultimoSalto = lote.longitud - 1;
+                while (ultimoSalto >= inicioSegmento && lote.datos[ultimoSalto] != '\n') {
+                    ultimoSalto--;
+                }
+                if (ultimoSalto >= inicioSegmento) {
+                    cerrarSegmento(ultimoSalto + 1);
+                }
+            }
+
+            if (inicioSegmento > 0) {
+                // Los bytes pendientes pasan al inicio de un lote nuevo
+                Lote nuevo = new Lote(tamanoLote);
+                int pendientes = lote.longitud - inicioSegmento;
+                System.arraycopy(lote.datos, inicioSegmento, nuevo.datos, 0, pendientes);
+                nuevo.longitud = pendientes;
+                lote.longitud = inicioSegmento;
+                enviarLote();
+                lote = nuevo;
+                inicioSegmento = 0;
+            } else {
+                lote.datos = Arrays.copyOf(lote.datos, lote.datos.length * 2);
+            }
+        }
+
+        /**
+         * Cierra un segmento del archivo actual que termina en un fin de línea.
+         *
+         * @param fin fin (exclusivo) del segmento dentro del lote
+         */
+        private void cerrarSegmento(int fin) {
+            lote.agregarSegmento(archivo, vendedorArchivo[archivo], inicioSegmento, fin, lineasPrevias);
+            lineasPrevias += contarLineas(lote.datos, inicioSegmento, fin);
+            inicioSegmento = fin;
+        }
+
+        /**
+         * Descarta los bytes del archivo actual que aún no forman un segmento.
+         */
+        private void descartarArchivo() {
+            lote.longitud = inicioSegmento;
+        }
+
+        /**
+         * Envía el lote actual si tiene segmentos y empieza uno vacío.
+         *
+         * @throws InterruptedException si la tubería se detiene mientras se envía
+         */
+        private void enviarLote() throws InterruptedException {
+            if (lote.segmentos > 0) {
+                lotes.poner(lote);
+                lote = new Lote(tamanoLote);
+            } else {
+                lote.longitud = 0;
+            }
+            inicioSegmento = 0;
+        }
+    }
+
+    /**
+     * Obtiene el vendedor de la primera línea de un archivo de ventas, con las mismas
+     * reglas que el procesamiento por archivo.
+     *
+     * @param encabezado primera línea del archivo
+     * @param nombreArchivo nombre del archivo para mensajes de error
+     * @return índice del vendedor, o NO_ENCONTRADO si no está en el archivo de vendedores
+     * @throws IOException si el encabezado tiene un formato inválido
+     */
+    private int resolverVendedor(String encabezado, String nombreArchivo) throws IOException {
+        String[] infoVendedor = encabezado.split(";");
+        if (infoVendedor.length < 2) {
+            throw new IOException("Formato incorrecto en primera línea de " + nombreArchivo);
+        }
+
+        long documentoVendedor;
+        try {
+            documentoVendedor = Long.parseLong(infoVendedor[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Número de documento inválido en " + nombreArchivo);
+        }
+
+        int indiceVendedor = vendedores.buscar(documentoVendedor);
+        if (indiceVendedor == TablaVendedores.NO_ENCONTRADO) {
+            diagnosticos.registrar(Diagnosticos.Categoria.VENDEDOR_DESCONOCIDO, nombreArchivo, 1, encabezado);
+        }
+        return indiceVendedor;
+    }
+
+    /**
+     * Cuenta las líneas de un rango con la misma regla que LectorVentas ("\r\n" es un
+     * solo fin de línea). El rango empieza al inicio de una línea.
+     *
+     * @param datos arreglo con el contenido
+     * @param desde inicio del rango
+     * @param hasta fin (exclusivo) del rango, justo después de un fin de línea
+     * @return número de líneas del rango
+     */
+    private static int contarLineas(byte[] datos, int desde, int hasta) {
+        int cantidad = 0;
+        for (int i = desde; i < hasta; i++) {
+            byte b = datos[i];
+            if (b == '\r' || (b == '\n' && (i == desde || datos[i - 1] != '\r'))) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    // Etapa de análisis
+
+    /**
+     * Etapa de un analizador: convierte cada lote en sus pares válidos.
+     *
+     * @throws InterruptedException si la tubería se detiene
+     */
+    private void analizarLotes() throws InterruptedException {
+        LectorVentas lector = new LectorVentas();
+
+        Lote lote;
+        while ((lote = lotes.tomar()) != Lote.FIN) {
+            resultados.poner(analizarLote(lector, lote));
+        }
+
+        // El último analizador en terminar avisa a los agregadores
+        if (analizadoresActivos.decrementAndGet() == 0) {
+            for (int i = 0; i < listaAgregadores.size(); i++) {
+                resultados.poner(ResultadoLote.FIN);
+            }
+        }
+    }
+
+    /**
+     * Recorre las líneas de cada segmento de un lote y obtiene sus pares válidos.
+     *
+     * @param lector lector de bytes del analizador
+     * @param lote lote a analizar
+     * @return pares válidos del lote
+     */
+    private ResultadoLote analizarLote(LectorVentas lector, Lote lote) {
+        ResultadoLote resultado = new ResultadoLote(lote, lote.longitud / 8);
+        long lineasLote = 0;
+        long paresLote = 0;
+
+        for (int s = 0; s < lote.segmentos; s++) {
+            String nombreArchivo = archivos[lote.archivos[s]].getName();
+            lector.iniciar(lote.datos, lote.inicios[s], lote.fines[s], lote.lineasPrevias[s]);
+
+            try {
+                while (lector.siguienteLinea()) {
+                    analizarLinea(lector, nombreArchivo, resultado);
+                }
+            } catch (IOException e) {
+                // Un rango en memoria no lee del disco, así que no debería ocurrir
+                throw new UncheckedIOException(e);
+            }
+
+            resultado.finPares[s] = resultado.pares;
+            lineasLote += lector.getNumeroLinea() - lote.lineasPrevias[s];
+            paresLote += lector.getParesLeidos();
+        }
+
+        lineas.add(lineasLote);
+        pares.add(paresLote);
+        // Los bytes ya no se necesitan; solo se conservan los datos de los segmentos
+        lote.datos = null;
+        return resultado;
+    }
+
+    /**
+     * Analiza la línea actual del lector con las mismas reglas que el procesamiento por
+     * archivo y agrega sus pares válidos al resultado.
+     *
+     * @param lector lector posicionado en la línea de venta
+     * @param nombreArchivo nombre del archivo para los diagnósticos
+     * @param resultado pares válidos del lote
+     */
+    private void analizarLinea(LectorVentas lector, String nombreArchivo, ResultadoLote resultado) {
+        int numeroLinea = lector.getNumeroLinea();
+        int estadoLinea = lector.prepararPares();
+
+        if (estadoLinea == LectorVentas.LINEA_VACIA) {
+            return;
+        }
+
+        if (estadoLinea == LectorVentas.ELEMENTOS_IMPARES) {
+            diagnosticos.registrar(Diagnosticos.Categoria.ELEMENTOS_IMPARES,
+                    nombreArchivo, numeroLinea, lector.getLineaComoTexto());
+            return;
+        }
+
+        if (estadoLinea == LectorVentas.FECHA_INVALIDA) {
+            diagnosticos.registrar(Diagnosticos.Categoria.FECHA_INVALIDA,
+                    nombreArchivo, numeroLinea, lector.getLineaComoTexto());
+            return;
+        }
+
+        int estadoPar;
+        while ((estadoPar = lector.siguientePar()) != LectorVentas.FIN_LINEA) {
+            if (estadoPar == LectorVentas.CANTIDAD_INVALIDA) {
+                diagnosticos.registrar(Diagnosticos.Categoria.CANTIDAD_INVALIDA,
+                        nombreArchivo, numeroLinea, lector.getParComoTexto());
+                continue;
+            }
+
+            int cantidad = lector.getCantidad();
+            if (cantidad < 0) {
+                diagnosticos.registrar(Diagnosticos.Categoria.CANTIDAD_NEGATIVA,
+                        nombreArchivo, numeroLinea, lector.getParComoTexto());
+                cantidad = Math.abs(cantidad);
+            }
+
+            int indiceProducto = lector.buscarProducto(productos);
+            if (indiceProducto == DiccionarioProductos.NO_ENCONTRADO) {
+                diagnosticos.registrar(Diagnosticos.Categoria.PRODUCTO_DESCONOCIDO,
+                        nombreArchivo, numeroLinea, lector.getParComoTexto());
+                continue;
+            }
+
+            resultado.agregarPar(indiceProducto, cantidad);
+        }
+    }
+
+    // Resultados
+
+    /**
+     * Indica si un archivo se procesó, aunque su vendedor no exista.
+     *
+     * @param indice índice del archivo
+     * @return false si el archivo no se pudo leer o su encabezado es inválido
+     */
+    public boolean fueProcesado(int indice) {
+        return vendedorArchivo[indice] != FALLIDO;
+    }
+
+    /**
+     * Obtiene el vendedor de un archivo procesado.
+     *
+     * @param indice índice del archivo
+     * @return índice del vendedor, o TablaVendedores.NO_ENCONTRADO
+     */
+    public int getIndiceVendedor(int indice) {
+        return vendedorArchivo[indice];
+    }
+
+    /**
+     * Obtiene el total vendido en un archivo, sumando el aporte de cada agregador.
+     *
+     * @param indice índice del archivo
+     * @return total del archivo en centavos
+     */
+    public MontoCentavos getTotalVentas(int indice) {
+        MontoCentavos total = new MontoCentavos();
+        for (Agregador agregador : listaAgregadores) {
+            if (agregador.totales[indice] != null) {
+                total.sumar(agregador.totales[indice]);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene las cantidades por producto acumuladas por cada agregador.
+     *
+     * @return un arreglo por agregador, indexado por producto
+     */
+    public List<long[]> getCantidadesParciales() {
+        List<long[]> cantidades = new ArrayList<>();
+        for (Agregador agregador : listaAgregadores) {
+            cantidades.add(agregador.cantidades);
+        }
+        return cantidades;
+    }
+
+    /**
+     * Obtiene las unidades por par acumuladas por cada agregador.
+     *
+     * @return una matriz por agregador (vacía si no se pidió el cruce)
+     */
+    public List<MatrizVentas> getCrucesParciales() {
+        List<MatrizVentas> cruces = new ArrayList<>();
+        for (Agregador agregador : listaAgregadores) {
+            if (agregador.cruce != null) {
+                cruces.add(agregador.cruce);
+            }
+        }
+        return cruces;
+    }
+
+    // Etapa de agregación
+
+    /**
+     * Agregador con sus propios acumulados.
+     */
+    private final class Agregador {
+
+        /** Cantidades vendidas por índice de producto */
+        private final long[] cantidades = new long[productos.getTamano()];
+
+        /** Unidades por par (vendedor, producto), o null sin cruce */
+        private final MatrizVentas cruce = conCruce ? new MatrizVentas() : null;
+
+        /** Total vendido por archivo; null si el agregador no recibió líneas del archivo */
+        private MontoCentavos[] totales;
+
+        /**
+         * Etapa del agregador: suma los pares de cada lote analizado.
+         *
+         * @throws InterruptedException si la tubería se detiene
+         */
+        private void agregarResultados() throws InterruptedException {
+            totales = new MontoCentavos[archivos.length];
+
+            ResultadoLote resultado;
+            while ((resultado = resultados.tomar()) != ResultadoLote.FIN) {
+                agregar(resultado);
+            }
+        }
+
+        /**
+         * Suma los pares de un lote analizado.
+         *
+         * @param resultado pares válidos del lote, por segmento
+         */
+        private void agregar(ResultadoLote resultado) {
+            Lote lote = resultado.lote;
+            int par = 0;
+
+            for (int s = 0; s < lote.segmentos; s++) {
+                int archivo = lote.archivos[s];
+                int indiceVendedor = lote.vendedores[s];
+                MontoCentavos total = totales[archivo];
+                if (total == null) {
+                    total = new MontoCentavos();
+                    totales[archivo] = total;
+                }
+
+                for (int fin = resultado.finPares[s]; par < fin; par++) {
+                    int indiceProducto = resultado.productos[par];
+                    int cantidad = resultado.cantidades[par];
+
+                    cantidades[indiceProducto] += cantidad;
+                    if (cruce != null) {
+                        cruce.agregar(indiceVendedor, indiceProducto, cantidad);
+                    }
+                    total.sumarProducto(productos.getPrecioCentavos(indiceProducto), cantidad);
+                }
+            }
+        }
+    }
+
+    /**
+     * Trabajo de una etapa de la tubería.
+     */
+    @FunctionalInterface
+    private interface EtapaTuberia {
+
+        /**
+         * Ejecuta la etapa hasta recibir el fin de su cola de entrada.
+         *
+         * @throws InterruptedException si la tubería se detiene
+         */
+        void ejecutar() throws InterruptedException;
+    }
+
+    /**
+     * Lote de bytes leído: líneas completas de uno o varios archivos, divididas en
+     * segmentos de un solo archivo.
+     */
+    private static final class Lote {
+
+        /** Marca de fin de la cola de lotes */
+        private static final Lote FIN = new Lote(0);
+
+        /** Bytes del lote */
+        private byte[] datos;
+
+        /** Cantidad de bytes válidos en datos */
+        private int longitud;
+
+        /** Número de segmentos del lote */
+        private int segmentos;
+
+        /** Índice del archivo de cada segmento */
+        private int[] archivos = new int[4];
+
+        /** Índice del vendedor del archivo de cada segmento */
+        private int[] vendedores = new int[4];
+
+        /** Inicio de cada segmento dentro de datos */
+        private int[] inicios = new int[4];
+
+        /** Fin (exclusivo) de cada segmento dentro de datos */
+        private int[] fines = new int[4];
+
+        /** Número de líneas del archivo anteriores a cada segmento */
+        private int[] lineasPrevias = new int[4];
+
+        private Lote(int capacidad) {
+            this.datos = new byte[capacidad];
+        }
+
+        private void agregarSegmento(int archivo, int vendedor, int inicio, int fin, int lineas) {
+            if (segmentos == archivos.length) {
+                int capacidad = segmentos * 2;
+                archivos = Arrays.copyOf(archivos, capacidad);
+                vendedores = Arrays.copyOf(vendedores, capacidad);
+                inicios = Arrays.copyOf(inicios, capacidad);
+                fines = Arrays.copyOf(fines, capacidad);
+                lineasPrevias = Arrays.copyOf(lineasPrevias, capacidad);
+            }
+            archivos[segmentos] = archivo;
+            vendedores[segmentos] = vendedor;
+            inicios[segmentos] = inicio;
+            fines[segmentos] = fin;
+            lineasPrevias[segmentos] = lineas;
+            segmentos++;
+        }
+    }
+
+    /**
+     * Pares válidos de un lote analizado. Los pares del segmento s del lote ocupan
+     * las posiciones desde finPares[s - 1] hasta finPares[s].
+     */
+    private static final class ResultadoLote {
+
+        /** Marca de fin de la cola de resultados */
+        private static final ResultadoLote FIN = new ResultadoLote(Lote.FIN, 0);
+
+        /** Lote analizado */
+        private final Lote lote;
+
+        /** Fin (exclusivo) de los pares de cada segmento */
+        private final int[] finPares;
+
+        /** Índice del producto de cada par */
+        private int[] productos;
+
+        /** Cantidad de cada par */
+        private int[] cantidades;
+
+        /** Número de pares válidos */
+        private int pares;
+
+        private ResultadoLote(Lote lote, int capacidad) {
+            this.lote = lote;
+            this.finPares = new int[lote.segmentos];
+            this.productos = new int[Math.max(capacidad, 16)];
+            this.cantidades = new int[productos.length];
+        }
+
+        private void agregarPar(int indiceProducto, int cantidad) {
+            if (pares == productos.length) {
+                productos = Arrays.copyOf(productos, pares * 2);
+                cantidades = Arrays.copyOf(cantidades, pares * 2);
+            }
+            productos[pares] = indiceProducto;
+            cantidades[pares++] = cantidad;
+        }
+    }
+
+    /**
+     * Cola acotada entre dos etapas que mide su ocupación y las esperas de sus extremos.
+     *
+     * @param <T> tipo de los elementos
+     */
+    private static final class Cola<T> {
+
+        /** Nombre de la cola en las métricas */
+        private final String nombre;
+
+        /** Número máximo de elementos */
+        private final int capacidad;
+
+        /** Elementos en espera */
+        private final ArrayBlockingQueue<T> elementos;
+
+        /** Número de veces que se midió la ocupación */
+        private final LongAdder muestras = new LongAdder();
+
+        /** Suma de las ocupaciones medidas */
+        private final LongAdder sumaOcupacion = new LongAdder();
+
+        /** Mayor ocupación medida */
+        private final LongAccumulator ocupacionMaxima = new LongAccumulator(Math::max, 0);
+
+        /** Tiempo total que esperaron los productores con la cola llena, en nanosegundos */
+        private final LongAdder esperaProductores = new LongAdder();
+
+        /** Tiempo total que esperaron los consumidores con la cola vacía, en nanosegundos */
+        private final LongAdder esperaConsumidores = new LongAdder();
+
+        private Cola(String nombre, int capacidad) {
+            this.nombre = nombre;
+            this.capacidad = capacidad;
+            this.elementos = new ArrayBlockingQueue<>(capacidad);
+        }
+
+        /**
+         * Pone un elemento, esperando si la cola está llena.
+         *
+         * @param elemento elemento a poner
+         * @throws InterruptedException si la tubería se detiene mientras espera
+         */
+        private void poner(T elemento) throws InterruptedException {
+            if (!elementos.offer(elemento)) {
+                long desde = System.nanoTime();
+                elementos.put(elemento);
+                esperaProductores.add(System.nanoTime() - desde);
+            }
+
+            int ocupacion = elementos.size();
+            muestras.increment();
+            sumaOcupacion.add(ocupacion);
+            ocupacionMaxima.accumulate(ocupacion);
+        }
+
+        /**
+         * Toma un elemento, esperando si la cola está vacía.
+         *
+         * @return elemento tomado
+         * @throws InterruptedException si la tubería se detiene mientras espera
+         */
+        private T tomar() throws InterruptedException {
+            T elemento = elementos.poll();
+            if (elemento == null) {
+                long desde = System.nanoTime();
+                elemento = elementos.take();
+                esperaConsumidores.add(System.nanoTime() - desde);
+            }
+            return elemento;
+        }
+
+        /**
+         * Registra la ocupación observada en las métricas.
+         *
+         * @param metricas métricas de la ejecución
+         */
+        private void registrarEn(Metricas metricas) {
+            long cantidad = muestras.sum();
+            double media = cantidad > 0 ? (double) sumaOcupacion.sum() / cantidad : 0;
+            metricas.registrarCola(nombre, capacidad, media, (int) ocupacionMaxima.get(),
+                    esperaProductores.sum(), esperaConsumidores.sum());
+        }
+
+        /**
+         * Emite la ocupación actual como evento de JFR.
+         */
+        private void emitirEvento() {
+            EventoCola evento = new EventoCola();
+            evento.cola = nombre;
+            evento.ocupacion = elementos.size();
+            evento.capacidad = capacidad;
+            evento.commit();
+        }
+    }
+
+    /**
+     * Evento periódico de JFR con la ocupación de una cola de la tubería.
+     */
+    @Name("cfp.OcupacionCola")
+    @Label("Ocupación de cola")
+    @Category({"CFP", "Tubería"})
+    @Description("Elementos en una cola de la tubería de ventas")
+    @Period("1 s")
+    static final class EventoCola extends Event {
+
+        @Label("Cola")
+        String cola;
+
+        @Label("Ocupación")
+        int ocupacion;
+
+        @Label("Capacidad")
+        int capacidad;
+    }
+}
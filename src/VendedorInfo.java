@@ -1,6 +1,9 @@
+import java.math.BigDecimal;
+
 /**
  * Clase para almacenar la información de un vendedor y sus ventas totales.
- * Contiene los datos personales del vendedor y el total de dinero recaudado.
+ * Contiene los datos personales del vendedor y el total de dinero recaudado,
+ * acumulado en centavos de forma exacta.
  *
  * @author FABIAN ESTIBEN ROMERO VILLAMIL
  * @author JOHANNA LONDOÑO ALZATE
@@ -23,8 +26,8 @@ public class VendedorInfo {
     /** Apellidos del vendedor */
     private String apellidos;
 
-    /** Total de dinero recaudado por el vendedor */
-    private double totalVentas;
+    /** Total de dinero recaudado por el vendedor, en centavos */
+    private final MontoCentavos totalVentas = new MontoCentavos();
 
     /**
      * Constructor para crear un objeto VendedorInfo.
@@ -39,7 +42,6 @@ public class VendedorInfo {
         this.numeroDocumento = numeroDocumento;
         this.nombres = nombres;
         this.apellidos = apellidos;
-        this.totalVentas = 0.0;
     }
 
     // Getters
@@ -83,30 +85,33 @@ public class VendedorInfo {
     /**
      * Obtiene el total de ventas del vendedor.
      *
-     * @return total de dinero recaudado
+     * @return total de dinero recaudado, con dos decimales
      */
-    public double getTotalVentas() {
-        return totalVentas;
+    public synchronized BigDecimal getTotalVentas() {
+        return totalVentas.aBigDecimal();
     }
 
     // Setters
 
     /**
-     * Establece el total de ventas del vendedor.
+     * Establece el total de ventas del vendedor a partir de un monto de 128 bits en centavos.
      *
-     * @param totalVentas nuevo total de ventas
+     * @param alto parte alta del total en centavos
+     * @param bajo parte baja del total en centavos
      */
-    public void setTotalVentas(double totalVentas) {
-        this.totalVentas = totalVentas;
+    public synchronized void setTotalVentas(long alto, long bajo) {
+        this.totalVentas.reiniciar();
+        this.totalVentas.sumar(alto, bajo);
     }
 
     /**
-     * Añade un monto al total de ventas del vendedor.
+     * Añade un monto en centavos al total de ventas del vendedor.
+     * Es segura para ser llamada desde varios hilos a la vez.
      *
-     * @param monto monto a añadir al total
+     * @param montoCentavos monto a añadir al total, en centavos
      */
-    public void agregarVenta(double monto) {
-        this.totalVentas += monto;
+    public synchronized void agregarVenta(long montoCentavos) {
+        this.totalVentas.sumar(montoCentavos >> 63, montoCentavos);
     }
 
     /**
@@ -124,8 +129,8 @@ public class VendedorInfo {
      * @return información del vendedor como cadena
      */
     @Override
-    public String toString() {
+    public synchronized String toString() {
         return String.format("VendedorInfo{documento=%s-%d, nombre='%s', apellidos='%s', totalVentas=%.2f}",
-                tipoDocumento, numeroDocumento, nombres, apellidos, totalVentas);
+                tipoDocumento, numeroDocumento, nombres, apellidos, totalVentas.aBigDecimal());
     }
 }
\ No newline at end of file
@@ -0,0 +1,392 @@
+import java.util.Arrays;
+
+/**
+ * Clase que acumula las ventas por día de las líneas con marca de tiempo (formato v2),
+ * en dos series: por vendedor (unidades y valor vendido) y por producto (unidades).
+ *
+ * Cada serie es una tabla hash de direccionamiento abierto con arreglos primitivos
+ * paralelos, igual que {@link MatrizVentas}: la clave long lleva el día (días desde
+ * 1970-01-01) en los 32 bits altos y el índice del vendedor o del producto en los bajos,
+ * así que al ordenar las claves quedan agrupadas por día y, dentro de cada día, en el
+ * orden de los catálogos. Solo se guardan los días con ventas. El valor vendido por
+ * vendedor se suma de forma exacta en 128 bits (ver {@link MontoCentavos}); el de cada
+ * producto es precio por unidades y se calcula al generar los reportes.
+ *
+ * Los pares de una línea y las líneas de un archivo suelen compartir día y vendedor, por
+ * lo que cada tabla recuerda la posición de la última clave y evita buscarla de nuevo.
+ *
+ * Una instancia no es segura para varios hilos; cada hilo llena la suya y al final se
+ * suman con agregarTodo.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public class VentasDiarias {
+
+    /** Clave que marca una posición libre (ningún día válido llega a este valor) */
+    private static final long LIBRE = Long.MIN_VALUE;
+
+    /** Capacidad inicial de cada tabla */
+    private static final int CAPACIDAD_INICIAL = 256;
+
+    /** Constante multiplicativa para dispersar las claves (hash de Fibonacci) */
+    private static final long DISPERSION = 0x9E3779B97F4A7C15L;
+
+    /** Ventas por (día, vendedor), con el valor vendido */
+    private final Serie vendedores = new Serie(true);
+
+    /** Ventas por (día, producto) */
+    private final Serie productos = new Serie(false);
+
+    /** Número de líneas de venta sin marca de tiempo */
+    private long lineasSinFecha;
+
+    /**
+     * Suma un par vendido en un día a las series del vendedor y del producto.
+     *
+     * @param dia días desde 1970-01-01
+     * @param indiceVendedor índice del vendedor
+     * @param indiceProducto índice del producto
+     * @param cantidad unidades vendidas
+     * @param precioCentavos precio unitario del producto en centavos
+     */
+    public void agregar(int dia, int indiceVendedor, int indiceProducto, long cantidad, long precioCentavos) {
+        // La posición se obtiene antes de tomar los arreglos, que pueden cambiar al crecer la tabla
+        int posicionVendedor = vendedores.posicion(codificar(dia, indiceVendedor));
+        vendedores.unidades[posicionVendedor] += cantidad;
+        MontoCentavos.sumar(vendedores.altos, vendedores.bajos, posicionVendedor,
+                Math.multiplyHigh(precioCentavos, cantidad), precioCentavos * cantidad);
+
+        int posicionProducto = productos.posicion(codificar(dia, indiceProducto));
+        productos.unidades[posicionProducto] += cantidad;
+    }
+
+    /**
+     * Cuenta una línea de venta que no tiene marca de tiempo y no entra en las series.
+     */
+    public void contarLineaSinFecha() {
+        lineasSinFecha++;
+    }
+
+    /**
+     * Suma a esta instancia todas las ventas diarias de otra.
+     *
+     * @param otra ventas diarias a sumar
+     */
+    public void agregarTodo(VentasDiarias otra) {
+        vendedores.agregarTodo(otra.vendedores);
+        productos.agregarTodo(otra.productos);
+        lineasSinFecha += otra.lineasSinFecha;
+    }
+
+    /**
+     * Obtiene las claves (día, vendedor) ordenadas por día y luego por índice de vendedor.
+     *
+     * @return claves ordenadas
+     */
+    public long[] clavesVendedoresOrdenadas() {
+        return vendedores.clavesOrdenadas();
+    }
+
+    /**
+     * Obtiene las claves (día, producto) ordenadas por día y luego por índice de producto.
+     *
+     * @return claves ordenadas
+     */
+    public long[] clavesProductosOrdenadas() {
+        return productos.clavesOrdenadas();
+    }
+
+    /**
+     * Obtiene las unidades vendidas por un vendedor en un día.
+     *
+     * @param clave clave (día, vendedor)
+     * @return unidades vendidas, o 0 si la clave no está registrada
+     */
+    public long getUnidadesVendedor(long clave) {
+        int posicion = vendedores.buscar(clave);
+        return (posicion < 0) ? 0 : vendedores.unidades[posicion];
+    }
+
+    /**
+     * Obtiene la parte alta del valor vendido por un vendedor en un día.
+     *
+     * @param clave clave (día, vendedor)
+     * @return parte alta del valor en centavos, o 0 si la clave no está registrada
+     */
+    public long getAltoVendedor(long clave) {
+        int posicion = vendedores.buscar(clave);
+        return (posicion < 0) ? 0 : vendedores.altos[posicion];
+    }
+
+    /**
+     * Obtiene la parte baja del valor vendido por un vendedor en un día.
+     *
+     * @param clave clave (día, vendedor)
+     * @return parte baja del valor en centavos, o 0 si la clave no está registrada
+     */
+    public long getBajoVendedor(long clave) {
+        int posicion = vendedores.buscar(clave);
+        return (posicion < 0) ? 0 : vendedores.bajos[posicion];
+    }
+
+    /**
+     * Obtiene las unidades vendidas de un producto en un día.
+     *
+     * @param clave clave (día, producto)
+     * @return unidades vendidas, o 0 si la clave no está registrada
+     */
+    public long getUnidadesProducto(long clave) {
+        int posicion = productos.buscar(clave);
+        return (posicion < 0) ? 0 : productos.unidades[posicion];
+    }
+
+    /**
+     * Codifica un día y un índice en una clave.
+     *
+     * @param dia días desde 1970-01-01
+     * @param indice índice del vendedor o del producto
+     * @return clave del par (día, índice)
+     */
+    public static long codificar(int dia, int indice) {
+        return ((long) dia << 32) | (indice & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Obtiene el día de una clave.
+     *
+     * @param clave clave (día, índice)
+     * @return días desde 1970-01-01
+     */
+    public static int diaDe(long clave) {
+        return (int) (clave >> 32);
+    }
+
+    /**
+     * Obtiene el índice del vendedor o del producto de una clave.
+     *
+     * @param clave clave (día, índice)
+     * @return índice
+     */
+    public static int indiceDe(long clave) {
+        return (int) clave;
+    }
+
+    // Getters
+
+    /**
+     * Obtiene el número de pares (día, vendedor) registrados.
+     *
+     * @return filas de la serie por vendedor
+     */
+    public int getTamanoVendedores() {
+        return vendedores.tamano;
+    }
+
+    /**
+     * Obtiene el número de pares (día, producto) registrados.
+     *
+     * @return filas de la serie por producto
+     */
+    public int getTamanoProductos() {
+        return productos.tamano;
+    }
+
+    /**
+     * Obtiene el número de líneas de venta sin marca de tiempo.
+     *
+     * @return líneas que no entran en las series diarias
+     */
+    public long getLineasSinFecha() {
+        return lineasSinFecha;
+    }
+
+    /**
+     * Tabla hash de una serie diaria: claves, unidades y, si se pide, el valor vendido
+     * en dos arreglos de 128 bits (partes altas y bajas).
+     */
+    private static final class Serie {
+
+        /** Número de claves registradas */
+        private int tamano;
+
+        /** Claves por posición de la tabla (LIBRE si está vacía) */
+        private long[] claves = crearClaves(CAPACIDAD_INICIAL);
+
+        /** Unidades vendidas, por posición de la tabla */
+        private long[] unidades = new long[CAPACIDAD_INICIAL];
+
+        /** Partes altas del valor vendido, o null si la serie no guarda montos */
+        private long[] altos;
+
+        /** Partes bajas del valor vendido, o null si la serie no guarda montos */
+        private long[] bajos;
+
+        /** Desplazamiento para obtener la posición a partir de los bits altos del hash */
+        private int desplazamiento = Long.numberOfLeadingZeros(CAPACIDAD_INICIAL - 1);
+
+        /** Última clave buscada con posicion() */
+        private long ultimaClave = LIBRE;
+
+        /** Posición de ultimaClave en la tabla */
+        private int ultimaPosicion;
+
+        private Serie(boolean conMontos) {
+            if (conMontos) {
+                altos = new long[CAPACIDAD_INICIAL];
+                bajos = new long[CAPACIDAD_INICIAL];
+            }
+        }
+
+        /**
+         * Obtiene la posición de una clave, registrándola en ceros si no existe.
+         *
+         * @param clave clave (día, índice)
+         * @return posición de la clave en la tabla
+         */
+        private int posicion(long clave) {
+            if (clave == ultimaClave) {
+                return ultimaPosicion;
+            }
+
+            int posicion = buscar(clave);
+            if (posicion < 0) {
+                // La tabla se mantiene con un factor de carga máximo de 0.5
+                if ((tamano + 1) * 2 > claves.length) {
+                    crecer();
+                }
+                posicion = posicionLibre(clave);
+                claves[posicion] = clave;
+                tamano++;
+            }
+
+            ultimaClave = clave;
+            ultimaPosicion = posicion;
+            return posicion;
+        }
+
+        /**
+         * Busca la posición de una clave registrada.
+         *
+         * @param clave clave (día, índice)
+         * @return posición de la clave, o -1 si no está registrada
+         */
+        private int buscar(long clave) {
+            int mascara = claves.length - 1;
+            for (int posicion = posicionInicial(clave); claves[posicion] != LIBRE;
+                 posicion = (posicion + 1) & mascara) {
+                if (claves[posicion] == clave) {
+                    return posicion;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Busca la primera posición libre para una clave que no está en la tabla.
+         *
+         * @param clave clave (día, índice)
+         * @return posición libre
+         */
+        private int posicionLibre(long clave) {
+            int mascara = claves.length - 1;
+            int posicion = posicionInicial(clave);
+            while (claves[posicion] != LIBRE) {
+                posicion = (posicion + 1) & mascara;
+            }
+            return posicion;
+        }
+
+        /**
+         * Suma a esta serie todas las claves de otra.
+         *
+         * @param otra serie a sumar
+         */
+        private void agregarTodo(Serie otra) {
+            for (int i = 0; i < otra.claves.length; i++) {
+                if (otra.claves[i] != LIBRE) {
+                    int posicion = posicion(otra.claves[i]);
+                    unidades[posicion] += otra.unidades[i];
+                    if (altos != null) {
+                        MontoCentavos.sumar(altos, bajos, posicion, otra.altos[i], otra.bajos[i]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Obtiene las claves registradas ordenadas.
+         *
+         * @return claves ordenadas
+         */
+        private long[] clavesOrdenadas() {
+            long[] ordenadas = new long[tamano];
+            int j = 0;
+            for (long clave : claves) {
+                if (clave != LIBRE) {
+                    ordenadas[j++] = clave;
+                }
+            }
+            Arrays.sort(ordenadas);
+            return ordenadas;
+        }
+
+        /**
+         * Calcula la posición inicial de una clave en la tabla.
+         *
+         * @param clave clave (día, índice)
+         * @return posición inicial de búsqueda
+         */
+        private int posicionInicial(long clave) {
+            return (int) ((clave * DISPERSION) >>> desplazamiento);
+        }
+
+        /**
+         * Duplica la capacidad de la tabla y vuelve a insertar las claves.
+         */
+        private void crecer() {
+            long[] clavesAnteriores = claves;
+            long[] unidadesAnteriores = unidades;
+            long[] altosAnteriores = altos;
+            long[] bajosAnteriores = bajos;
+            int capacidad = clavesAnteriores.length * 2;
+
+            claves = crearClaves(capacidad);
+            unidades = new long[capacidad];
+            if (altos != null) {
+                altos = new long[capacidad];
+                bajos = new long[capacidad];
+            }
+            desplazamiento = Long.numberOfLeadingZeros(capacidad - 1);
+            ultimaClave = LIBRE;
+
+            for (int i = 0; i < clavesAnteriores.length; i++) {
+                if (clavesAnteriores[i] != LIBRE) {
+                    int posicion = posicionLibre(clavesAnteriores[i]);
+                    claves[posicion] = clavesAnteriores[i];
+                    unidades[posicion] = unidadesAnteriores[i];
+                    if (altos != null) {
+                        altos[posicion] = altosAnteriores[i];
+                        bajos[posicion] = bajosAnteriores[i];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Crea un arreglo de claves con todas sus posiciones libres.
+         *
+         * @param capacidad número de posiciones (potencia de 2)
+         * @return arreglo de claves libres
+         */
+        private static long[] crearClaves(int capacidad) {
+            long[] nuevas = new long[capacidad];
+            Arrays.fill(nuevas, LIBRE);
+            return nuevas;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package cfp.aplicacion;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ServiceLoader;
+
+/**
+ * Punto de entrada de los benchmarks a las etapas del procesamiento.
+ * Las clases de src/ están en el paquete por defecto, que no se puede importar desde
+ * un paquete con nombre; esta interfaz sí, y la implementa una clase anidada de Main
+ * registrada en META-INF/services. Así un cambio de nombre o de firma en Main rompe la
+ * compilación de la aplicación o de los benchmarks, y no la ejecución de JMH.
+ *
+ * Las rutas de datos se leen de la propiedad cfp.datos al cargar Main, así que debe
+ * asignarse antes de llamar a {@link #cargar()}.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+public interface AccesoAplicacion {
+
+    /**
+     * Obtiene la implementación registrada por la aplicación.
+     *
+     * @return acceso a las etapas del procesamiento
+     * @throws IllegalStateException si la aplicación no está en el classpath
+     */
+    static AccesoAplicacion cargar() {
+        return ServiceLoader.load(AccesoAplicacion.class).findFirst()
+                .orElseThrow(() -> new IllegalStateException("No se encontró la implementación de AccesoAplicacion"));
+    }
+
+    /**
+     * Genera el archivo de vendedores (GenerateInfoFiles.createSalesManInfoFile).
+     *
+     * @param vendedores número de vendedores
+     * @throws IOException si no se puede escribir el archivo
+     */
+    void crearArchivoVendedores(int vendedores) throws IOException;
+
+    /**
+     * Genera el archivo de productos (GenerateInfoFiles.createProductsFile).
+     *
+     * @param productos número de productos
+     * @throws IOException si no se puede escribir el archivo
+     */
+    void crearArchivoProductos(int productos) throws IOException;
+
+    /**
+     * Genera un archivo de ventas (GenerateInfoFiles.createSalesMenFile).
+     *
+     * @param lineas número de líneas de venta
+     * @param nombre nombre del archivo, sin extensión
+     * @param documento número de documento del vendedor
+     * @throws IOException si no se puede escribir el archivo
+     */
+    void crearArchivoVentas(int lineas, String nombre, long documento) throws IOException;
+
+    /**
+     * Crea el registro de problemas donde Main anota las líneas rechazadas.
+     *
+     * @param archivo archivo de rechazados
+     * @throws IOException si no se puede crear el archivo
+     */
+    void abrirDiagnosticos(Path archivo) throws IOException;
+
+    /**
+     * Lee el archivo de texto de vendedores.
+     *
+     * @throws IOException si ocurre un error de lectura
+     */
+    void leerArchivoVendedores() throws IOException;
+
+    /**
+     * Lee el archivo de texto de productos.
+     *
+     * @throws IOException si ocurre un error de lectura
+     */
+    void leerArchivoProductos() throws IOException;
+
+    /**
+     * Carga el catálogo de vendedores desde su instantánea, o desde el texto si no está vigente.
+     *
+     * @throws IOException si ocurre un error de lectura
+     */
+    void cargarArchivoVendedores() throws IOException;
+
+    /**
+     * Carga el catálogo de productos desde su instantánea, o desde el texto si no está vigente.
+     *
+     * @throws IOException si ocurre un error de lectura
+     */
+    void cargarArchivoProductos() throws IOException;
+
+    /**
+     * Procesa todos los archivos de ventas y suma sus ventas a los acumulados.
+     *
+     * @param paralelismo número de hilos a utilizar (1 = secuencial)
+     * @return número de archivos procesados exitosamente
+     * @throws IOException si ocurre un error al acceder a los archivos
+     */
+    int procesarArchivosVentas(int paralelismo) throws IOException;
+
+    /**
+     * Procesa un archivo de ventas sin sumarlo a los acumulados de los vendedores.
+     *
+     * @param archivo archivo de ventas
+     * @param cantidades arreglo donde se acumulan las cantidades por índice de producto
+     * @return resultado del archivo
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    Object procesarArchivoVenta(File archivo, long[] cantidades) throws IOException;
+
+    /**
+     * Crea un recorrido de líneas de venta en memoria, con su propio lector y total.
+     *
+     * @return recorrido sin iniciar
+     */
+    RecorridoVentas crearRecorridoVentas();
+
+    /**
+     * Ordena y escribe el reporte de vendedores con las opciones por defecto.
+     *
+     * @throws IOException si no se puede escribir el reporte
+     */
+    void generarReporteVendedores() throws IOException;
+
+    /**
+     * Ordena y escribe el reporte de productos con las opciones por defecto.
+     *
+     * @throws IOException si no se puede escribir el reporte
+     */
+    void generarReporteProductos() throws IOException;
+
+    /**
+     * Recorrido de las líneas del contenido de un archivo de ventas en memoria.
+     */
+    interface RecorridoVentas {
+
+        /**
+         * Empieza a recorrer un contenido desde su primera línea.
+         *
+         * @param contenido contenido de un archivo de ventas
+         * @throws IOException si ocurre un error de lectura
+         */
+        void iniciar(byte[] contenido) throws IOException;
+
+        /**
+         * Avanza a la siguiente línea.
+         *
+         * @return true si hay una línea, false al final del contenido
+         * @throws IOException si ocurre un error de lectura
+         */
+        boolean siguienteLinea() throws IOException;
+
+        /**
+         * Procesa la línea actual como línea de venta.
+         *
+         * @param cantidades arreglo donde se acumulan las cantidades por índice de producto
+         */
+        void procesarLinea(long[] cantidades);
+
+        /**
+         * Obtiene el acumulador del valor vendido en las líneas procesadas.
+         *
+         * @return total del recorrido
+         */
+        Object getTotal();
+    }
+}
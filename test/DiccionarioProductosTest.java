@@ -0,0 +1,109 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Pruebas de la tabla hash de direccionamiento abierto de DiccionarioProductos, con los
+ * datos en el heap y fuera de él: IDs con el mismo hash, búsqueda por rango de bytes y
+ * crecimiento de la tabla.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+class DiccionarioProductosTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void losIdsConElMismoHashSeDistinguenPorSusBytes(boolean fueraDelHeap) {
+        // "Aa" y "BB" tienen el mismo hash polinomial: sus combinaciones colisionan todas
+        List<String> ids = idsConElMismoHash(5);
+        DiccionarioProductos productos = new DiccionarioProductos(fueraDelHeap);
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, productos.agregar(ids.get(i), "Producto " + i, 100L * i));
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, productos.buscar(ids.get(i)));
+            assertEquals(ids.get(i), productos.getId(i));
+            assertEquals(100L * i, productos.getPrecioCentavos(i));
+        }
+        assertEquals(DiccionarioProductos.NO_ENCONTRADO, productos.buscar("PROD-AaAaAaAaAaAa"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void buscaUnIdDentroDeUnRangoDeBytes(boolean fueraDelHeap) {
+        DiccionarioProductos productos = new DiccionarioProductos(fueraDelHeap);
+        productos.agregar("PROD001", "Teclado", 100);
+        int indice = productos.agregar("PROD002", "Mouse", 200);
+
+        byte[] linea = "PROD001;3;PROD002;1".getBytes(StandardCharsets.UTF_8);
+        assertEquals(indice, productos.buscar(linea, 10, 17));
+        assertEquals(DiccionarioProductos.NO_ENCONTRADO, productos.buscar(linea, 10, 16));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void alCrecerConservaIndicesYDatos(boolean fueraDelHeap) {
+        DiccionarioProductos productos = new DiccionarioProductos(fueraDelHeap);
+        List<String> colisiones = idsConElMismoHash(7);
+        int cantidad = 5000;
+        for (int i = 0; i < cantidad; i++) {
+            String id = (i < colisiones.size()) ? colisiones.get(i) : String.format("PROD%05d", i);
+            assertEquals(i, productos.agregar(id, "Producto " + i, i));
+        }
+
+        long[] cantidades = new long[cantidad];
+        cantidades[4999] = 7;
+        productos.agregarCantidades(cantidades);
+
+        assertEquals(cantidad, productos.getTamano());
+        for (int i = 0; i < cantidad; i++) {
+            String id = (i < colisiones.size()) ? colisiones.get(i) : String.format("PROD%05d", i);
+            assertEquals(i, productos.buscar(id));
+            assertEquals("Producto " + i, productos.getNombre(i));
+            assertEquals(i, productos.getPrecioCentavos(i));
+        }
+        assertEquals(7, productos.getCantidadVendida(4999));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void unIdRepetidoActualizaNombreYPrecio(boolean fueraDelHeap) {
+        DiccionarioProductos productos = new DiccionarioProductos(fueraDelHeap);
+        productos.agregar("PROD001", "Teclado", 100);
+        productos.agregar("PROD002", "Mouse", 200);
+
+        assertEquals(0, productos.agregar("PROD001", "Teclado mecánico", 150));
+        assertEquals(2, productos.getTamano());
+        assertEquals("Teclado mecánico", productos.getNombre(0));
+        assertEquals(150, productos.getPrecioCentavos(0));
+    }
+
+    /**
+     * Construye IDs con el mismo hash concatenando bloques "Aa" y "BB".
+     *
+     * @param bloques número de bloques de cada ID
+     * @return 2^bloques IDs distintos con el mismo hash
+     */
+    private static List<String> idsConElMismoHash(int bloques) {
+        List<String> ids = new ArrayList<>();
+        for (int combinacion = 0; combinacion < (1 << bloques); combinacion++) {
+            StringBuilder id = new StringBuilder("PROD-");
+            for (int b = 0; b < bloques; b++) {
+                id.append(((combinacion >> b) & 1) == 0 ? "Aa" : "BB");
+            }
+            ids.add(id.toString());
+        }
+        return ids;
+    }
+}
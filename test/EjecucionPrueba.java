@@ -0,0 +1,237 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Utilidades de las pruebas que ejecutan la aplicación completa.
+ * Main y GenerateInfoFiles leen la carpeta de datos (propiedad cfp.datos) una sola vez y
+ * guardan los acumulados en campos estáticos, así que cada ejecución se hace en una JVM
+ * propia con el mismo classpath de las pruebas, como lo haría un usuario.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+final class EjecucionPrueba {
+
+    /** Tiempo máximo de una ejecución */
+    private static final long ESPERA_MAXIMA_SEGUNDOS = 120;
+
+    /** Texto con el que Main y GenerateInfoFiles informan un error */
+    private static final String MARCA_ERROR = "ERROR durante";
+
+    /**
+     * Constructor privado: clase de utilidades.
+     */
+    private EjecucionPrueba() {
+    }
+
+    /**
+     * Genera datos con GenerateInfoFiles y agrega registros con problemas de cada
+     * categoría a algunos archivos de ventas, más un archivo de un vendedor desconocido.
+     *
+     * @param datos carpeta de datos a crear
+     * @param vendedores número de vendedores (y de archivos de ventas)
+     * @throws IOException si falla la generación
+     */
+    static void generarDatos(Path datos, int vendedores) throws IOException {
+        String salida = ejecutar("GenerateInfoFiles", datos, "--vendedores", String.valueOf(vendedores),
+                "--productos", "30", "--ventas-min", "5", "--ventas-max", "25", "--semilla", "7", "--hilos", "2");
+        assertFalse(salida.contains(MARCA_ERROR), salida);
+
+        String producto = Files.readAllLines(datos.resolve("productos/productos.txt"), StandardCharsets.UTF_8)
+                .get(0).split(";")[0];
+        List<Path> ventas = archivosVentas(datos);
+        agregarLineas(ventas.get(0), "PROD_DESCONOCIDO;2", producto + ";x");
+        agregarLineas(ventas.get(ventas.size() / 2), producto + ";3;" + producto, producto + ";-4");
+        agregarLineas(ventas.get(ventas.size() - 1), "2025-02-30T10:00:00;" + producto + ";1");
+        Files.write(datos.resolve("ventas/vendedor_1.txt"),
+                ("CC;1\n" + producto + ";5\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Ejecuta Main sobre una carpeta de datos y verifica que no informe un error.
+     *
+     * @param datos carpeta de datos
+     * @param argumentos argumentos de Main
+     * @return salida de la ejecución
+     * @throws IOException si no se puede iniciar el proceso
+     */
+    static String ejecutarMain(Path datos, String... argumentos) throws IOException {
+        String salida = ejecutar("Main", datos, argumentos);
+        assertFalse(salida.contains(MARCA_ERROR), salida);
+        return salida;
+    }
+
+    /**
+     * Ejecuta una clase de la aplicación en una JVM propia.
+     *
+     * @param clase clase con el método main
+     * @param datos carpeta de datos (propiedad cfp.datos)
+     * @param argumentos argumentos del programa
+     * @return salida estándar y de errores de la ejecución
+     * @throws IOException si no se puede iniciar el proceso
+     */
+    static String ejecutar(String clase, Path datos, String... argumentos) throws IOException {
+        Process proceso = iniciar(clase, datos, argumentos);
+        try {
+            byte[] salida = proceso.getInputStream().readAllBytes();
+            if (!proceso.waitFor(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS)) {
+                proceso.destroyForcibly();
+                fail(clase + " no terminó en " + ESPERA_MAXIMA_SEGUNDOS + " s");
+            }
+            assertEquals(0, proceso.exitValue(), clase + " terminó con error");
+            return new String(salida, StandardCharsets.UTF_8);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Ejecución interrumpida", e);
+        }
+    }
+
+    /**
+     * Inicia una clase de la aplicación en una JVM propia sin esperar a que termine.
+     *
+     * @param clase clase con el método main
+     * @param datos carpeta de datos (propiedad cfp.datos)
+     * @param argumentos argumentos del programa
+     * @return proceso iniciado, con la salida de errores unida a la estándar
+     * @throws IOException si no se puede iniciar el proceso
+     */
+    static Process iniciar(String clase, Path datos, String... argumentos) throws IOException {
+        List<String> comando = new ArrayList<>();
+        comando.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        comando.add("-Dfile.encoding=UTF-8");
+        comando.add("-Dcfp.datos=" + datos.toAbsolutePath());
+        comando.add("-cp");
+        comando.add(rutaClases().toString());
+        comando.add(clase);
+        comando.addAll(Arrays.asList(argumentos));
+
+        Path directorio = Files.createDirectories(datos.toAbsolutePath().getParent());
+        Process proceso = new ProcessBuilder(comando)
+                .directory(directorio.toFile())
+                .redirectErrorStream(true)
+                .start();
+        proceso.getOutputStream().close();
+        return proceso;
+    }
+
+    /**
+     * Obtiene la carpeta (o el jar) de las clases de la aplicación.
+     *
+     * @return ruta de las clases compiladas de src/
+     */
+    private static Path rutaClases() {
+        try {
+            return Paths.get(Main.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Ruta de clases inválida", e);
+        }
+    }
+
+    /**
+     * Lista los archivos de ventas de una carpeta de datos en orden alfabético.
+     *
+     * @param datos carpeta de datos
+     * @return archivos de ventas
+     * @throws IOException si no se puede listar la carpeta
+     */
+    static List<Path> archivosVentas(Path datos) throws IOException {
+        try (Stream<Path> archivos = Files.list(datos.resolve("ventas"))) {
+            return archivos.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Agrega líneas al final de un archivo, cada una con su salto de línea.
+     *
+     * @param archivo archivo a modificar
+     * @param lineas líneas a agregar
+     * @throws IOException si no se puede escribir
+     */
+    static void agregarLineas(Path archivo, String... lineas) throws IOException {
+        StringBuilder texto = new StringBuilder();
+        for (String linea : lineas) {
+            texto.append(linea).append('\n');
+        }
+        Files.write(archivo, texto.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Copia una carpeta de datos completa.
+     *
+     * @param origen carpeta a copiar
+     * @param destino carpeta nueva
+     * @throws IOException si falla la copia
+     */
+    static void copiarCarpeta(Path origen, Path destino) throws IOException {
+        try (Stream<Path> rutas = Files.walk(origen)) {
+            for (Path ruta : (Iterable<Path>) rutas::iterator) {
+                Path copia = destino.resolve(origen.relativize(ruta).toString());
+                if (Files.isDirectory(ruta)) {
+                    Files.createDirectories(copia);
+                } else {
+                    Files.copy(ruta, copia);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lee un reporte de una carpeta de datos.
+     *
+     * @param datos carpeta de datos
+     * @param reporte nombre del archivo en datos/reportes
+     * @return contenido del reporte
+     * @throws IOException si no se puede leer
+     */
+    static byte[] reporte(Path datos, String reporte) throws IOException {
+        return Files.readAllBytes(datos.resolve("reportes").resolve(reporte));
+    }
+
+    /**
+     * Lee las filas de rechazados.csv de una carpeta de datos, sin el encabezado.
+     *
+     * @param datos carpeta de datos
+     * @return filas en el orden del archivo
+     * @throws IOException si no se puede leer
+     */
+    static List<String> rechazados(Path datos) throws IOException {
+        List<String> filas = Files.readAllLines(datos.resolve("reportes/rechazados.csv"), StandardCharsets.UTF_8);
+        return filas.subList(1, filas.size());
+    }
+
+    /**
+     * Verifica que dos carpetas de datos tengan los mismos reportes, byte a byte.
+     *
+     * @param esperado carpeta de referencia
+     * @param obtenido carpeta a comparar
+     * @param reportes nombres de los reportes a comparar
+     * @throws IOException si no se puede leer algún reporte
+     */
+    static void assertReportesIguales(Path esperado, Path obtenido, String... reportes) throws IOException {
+        for (String reporte : reportes) {
+            assertTrue(Files.isRegularFile(obtenido.resolve("reportes").resolve(reporte)), reporte + " no existe");
+            assertArrayEquals(reporte(esperado, reporte), reporte(obtenido, reporte), reporte + " es distinto");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas del modo incremental: después de cambiar un solo archivo de ventas, la segunda
+ * ejecución con --incremental lee solo ese archivo pero da los mismos reportes y las mismas
+ * filas de rechazados que una ejecución completa, incluidas las de los archivos sin cambios.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+class EstadoIncrementalTest {
+
+    @TempDir
+    Path base;
+
+    @Test
+    void losRechazadosDeLosArchivosSinCambiosSeConservan() throws IOException {
+        Path incremental = base.resolve("incremental/datos");
+        EjecucionPrueba.generarDatos(incremental, 200);
+        EjecucionPrueba.ejecutarMain(incremental, "--incremental");
+        List<String> primeraEjecucion = ordenadas(EjecucionPrueba.rechazados(incremental));
+
+        // Un archivo sin problemas gana un producto desconocido; los demás no cambian
+        List<Path> ventas = EjecucionPrueba.archivosVentas(incremental);
+        EjecucionPrueba.agregarLineas(ventas.get(ventas.size() / 4), "PROD_DESCONOCIDO;7");
+        String salida = EjecucionPrueba.ejecutarMain(incremental, "--incremental");
+        assertTrue(salida.contains("Incremental: 1 archivos nuevos o modificados"), salida);
+
+        Path completo = base.resolve("completo/datos");
+        EjecucionPrueba.copiarCarpeta(incremental.resolve("vendedores"), completo.resolve("vendedores"));
+        EjecucionPrueba.copiarCarpeta(incremental.resolve("productos"), completo.resolve("productos"));
+        EjecucionPrueba.copiarCarpeta(incremental.resolve("ventas"), completo.resolve("ventas"));
+        EjecucionPrueba.ejecutarMain(completo);
+
+        List<String> esperadas = ordenadas(EjecucionPrueba.rechazados(completo));
+        assertEquals(primeraEjecucion.size() + 1, esperadas.size());
+        assertEquals(esperadas, ordenadas(EjecucionPrueba.rechazados(incremental)));
+        EjecucionPrueba.assertReportesIguales(completo, incremental, "reporte_vendedores.csv",
+                "reporte_productos.csv");
+    }
+
+    /**
+     * Ordena las filas de rechazados para compararlas sin depender del orden de escritura.
+     *
+     * @param filas filas sin el encabezado
+     * @return copia ordenada
+     */
+    private static List<String> ordenadas(List<String> filas) {
+        List<String> copia = new ArrayList<>(filas);
+        Collections.sort(copia);
+        return copia;
+    }
+}
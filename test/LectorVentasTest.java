@@ -0,0 +1,278 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de LectorVentas: finales de línea, códigos de retorno de las líneas y los
+ * pares, y líneas con marca de tiempo (formato v2).
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+class LectorVentasTest {
+
+    @Test
+    void reconoceLosTresFinalesDeLinea() throws IOException {
+        LectorVentas lector = lector("a\rb\r\nc\nd");
+        assertEquals(List.of("a", "b", "c", "d"), lineas(lector));
+        assertEquals(4, lector.getNumeroLinea());
+    }
+
+    @Test
+    void cuentaLasLineasVaciasEntreFinales() throws IOException {
+        // "\r\r" y "\n\n" son dos líneas; "\r\n" es un solo final
+        assertEquals(List.of("a", "", "b", "", "c"), lineas(lector("a\r\rb\n\nc\r\n")));
+    }
+
+    @Test
+    void unRetornoDeCarroAlFinalDelBufferSeUneAlSaltoSiguiente() throws IOException {
+        // El flujo entrega un byte por lectura: cada "\r\n" queda partido entre dos rellenos
+        LectorVentas lector = new LectorVentas();
+        lector.iniciar(new EntradaDeAUnByte("P1;1\r\nP2;2\r\nP3;3\r".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(List.of("P1;1", "P2;2", "P3;3"), lineas(lector));
+    }
+
+    @Test
+    void laUltimaLineaSinFinalSeLeeIgual() throws IOException {
+        LectorVentas lector = lector("CC;1\nP1;2");
+        assertEquals(List.of("CC;1", "P1;2"), lineas(lector));
+        assertFalse(lector.siguienteLinea());
+    }
+
+    @Test
+    void unRangoExternoContinuaLaNumeracion() throws IOException {
+        byte[] datos = "xxP1;1\nP2;2\nyy".getBytes(StandardCharsets.US_ASCII);
+        LectorVentas lector = new LectorVentas();
+        lector.iniciar(datos, 2, 12, 40);
+        assertTrue(lector.siguienteLinea());
+        assertEquals(41, lector.getNumeroLinea());
+        assertEquals("P1;1", lector.getLineaComoTexto());
+        assertTrue(lector.siguienteLinea());
+        assertEquals("P2;2", lector.getLineaComoTexto());
+        assertFalse(lector.siguienteLinea());
+    }
+
+    @Test
+    void lasLineasEnBlancoSonVacias() throws IOException {
+        assertEquals(LectorVentas.LINEA_VACIA, preparar("   \t "));
+        assertEquals(LectorVentas.LINEA_VACIA, preparar(""));
+    }
+
+    @Test
+    void unNumeroImparDeElementosSeRechaza() throws IOException {
+        assertEquals(LectorVentas.ELEMENTOS_IMPARES, preparar("P1;3;P2"));
+        assertEquals(LectorVentas.ELEMENTOS_IMPARES, preparar("P1"));
+
+        // Como String.split, los elementos vacíos del final no cuentan
+        assertEquals(LectorVentas.LINEA_CORRECTA, preparar("P1;3;;;"));
+        assertEquals(LectorVentas.LINEA_CORRECTA, preparar("  P1 ; 3  "));
+    }
+
+    @Test
+    void unaCantidadInvalidaNoDetieneLosParesSiguientes() throws IOException {
+        LectorVentas lector = lector("P1;x3;P2; 4 ;P3;;P4;-5");
+        lector.siguienteLinea();
+        assertEquals(LectorVentas.LINEA_CORRECTA, lector.prepararPares());
+
+        assertEquals(LectorVentas.CANTIDAD_INVALIDA, lector.siguientePar());
+        assertEquals("P1;x3", lector.getParComoTexto());
+
+        assertEquals(LectorVentas.PAR_CORRECTO, lector.siguientePar());
+        assertEquals("P2", lector.getIdProductoComoTexto());
+        assertEquals(4, lector.getCantidad());
+
+        assertEquals(LectorVentas.CANTIDAD_INVALIDA, lector.siguientePar());
+        assertEquals("P3", lector.getIdProductoComoTexto());
+
+        assertEquals(LectorVentas.PAR_CORRECTO, lector.siguientePar());
+        assertEquals(-5, lector.getCantidad());
+
+        assertEquals(LectorVentas.FIN_LINEA, lector.siguientePar());
+        assertEquals(4, lector.getParesLeidos());
+    }
+
+    @Test
+    void lasCantidadesSiguenLasReglasDeParseInt() throws IOException {
+        assertEquals(Integer.MAX_VALUE, cantidad("2147483647"));
+        assertEquals(Integer.MIN_VALUE, cantidad("-2147483648"));
+        assertEquals(12, cantidad("+12"));
+        assertEquals(LectorVentas.CANTIDAD_INVALIDA, par("2147483648"));
+        assertEquals(LectorVentas.CANTIDAD_INVALIDA, par("-2147483649"));
+        assertEquals(LectorVentas.CANTIDAD_INVALIDA, par("+"));
+        assertEquals(LectorVentas.CANTIDAD_INVALIDA, par("1.5"));
+    }
+
+    @Test
+    void lasLineasSinMarcaDeTiempoNoTienenDia() throws IOException {
+        LectorVentas lector = lector("PROD001;3");
+        lector.siguienteLinea();
+        assertEquals(LectorVentas.LINEA_CORRECTA, lector.prepararPares());
+        assertEquals(LectorVentas.SIN_FECHA, lector.getDia());
+    }
+
+    @Test
+    void laMarcaDeTiempoDaElDiaYNoCuentaComoElemento() throws IOException {
+        LectorVentas lector = lector("2025-03-14T09:30:00;PROD001;3;PROD002;1\nPROD003;2\n2025-03-15T00:00:00;PROD004;1");
+        lector.siguienteLinea();
+        assertEquals(LectorVentas.LINEA_CORRECTA, lector.prepararPares());
+        assertEquals(LocalDate.of(2025, 3, 14).toEpochDay(), lector.getDia());
+        assertEquals(LectorVentas.PAR_CORRECTO, lector.siguientePar());
+        assertEquals("PROD001", lector.getIdProductoComoTexto());
+        assertEquals(3, lector.getCantidad());
+        assertEquals(LectorVentas.PAR_CORRECTO, lector.siguientePar());
+        assertEquals(LectorVentas.FIN_LINEA, lector.siguientePar());
+
+        // Una línea v1 en el mismo archivo no hereda el día de la anterior
+        lector.siguienteLinea();
+        assertEquals(LectorVentas.LINEA_CORRECTA, lector.prepararPares());
+        assertEquals(LectorVentas.SIN_FECHA, lector.getDia());
+
+        lector.siguienteLinea();
+        assertEquals(LectorVentas.LINEA_CORRECTA, lector.prepararPares());
+        assertEquals(LocalDate.of(2025, 3, 15).toEpochDay(), lector.getDia());
+    }
+
+    @Test
+    void unaMarcaDeTiempoImposibleSeRechaza() throws IOException {
+        assertEquals(LectorVentas.FECHA_INVALIDA, preparar("2025-02-30T10:00:00;PROD001;1"));
+        assertEquals(LectorVentas.FECHA_INVALIDA, preparar("2025-03-14T24:00:00;PROD001;1"));
+        assertEquals(LectorVentas.FECHA_INVALIDA, preparar("2025-03-14T09:60:00;PROD001;1"));
+        assertEquals(LectorVentas.FECHA_INVALIDA, preparar("2O25-03-14T09:30:00;PROD001;1"));
+
+        // Después de la marca se cuentan los elementos como en v1
+        assertEquals(LectorVentas.ELEMENTOS_IMPARES, preparar("2025-03-14T09:30:00;PROD001"));
+        assertEquals(LectorVentas.LINEA_CORRECTA, preparar("2025-03-14T09:30:00"));
+    }
+
+    @Test
+    void buscaElProductoSinCrearTexto() throws IOException {
+        DiccionarioProductos productos = new DiccionarioProductos();
+        productos.agregar("PROD001", "Teclado", 100);
+        int indice = productos.agregar("PROD002", "Mouse", 200);
+
+        LectorVentas lector = lector("PROD009;1; PROD002 ;2");
+        lector.siguienteLinea();
+        lector.prepararPares();
+        lector.siguientePar();
+        assertEquals(DiccionarioProductos.NO_ENCONTRADO, lector.buscarProducto(productos));
+        lector.siguientePar();
+        assertEquals(indice, lector.buscarProducto(productos));
+    }
+
+    /**
+     * Crea un lector sobre un texto.
+     *
+     * @param contenido contenido del archivo
+     * @return lector iniciado
+     */
+    private static LectorVentas lector(String contenido) {
+        LectorVentas lector = new LectorVentas();
+        lector.iniciar(new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)));
+        return lector;
+    }
+
+    /**
+     * Lee todas las líneas restantes de un lector.
+     *
+     * @param lector lector iniciado
+     * @return líneas como texto
+     * @throws IOException si falla la lectura
+     */
+    private static List<String> lineas(LectorVentas lector) throws IOException {
+        List<String> lineas = new ArrayList<>();
+        while (lector.siguienteLinea()) {
+            lineas.add(lector.getLineaComoTexto());
+        }
+        return lineas;
+    }
+
+    /**
+     * Prepara los pares de una línea suelta.
+     *
+     * @param linea línea de venta
+     * @return código de prepararPares
+     * @throws IOException si falla la lectura
+     */
+    private static int preparar(String linea) throws IOException {
+        LectorVentas lector = lector(linea + "\n");
+        assertTrue(lector.siguienteLinea());
+        return lector.prepararPares();
+    }
+
+    /**
+     * Lee el único par de una línea con la cantidad indicada.
+     *
+     * @param cantidad texto de la cantidad
+     * @return código de siguientePar
+     * @throws IOException si falla la lectura
+     */
+    private static int par(String cantidad) throws IOException {
+        LectorVentas lector = lector("P1;" + cantidad);
+        lector.siguienteLinea();
+        assertEquals(LectorVentas.LINEA_CORRECTA, lector.prepararPares());
+        return lector.siguientePar();
+    }
+
+    /**
+     * Lee la cantidad del único par de una línea, que debe ser válida.
+     *
+     * @param cantidad texto de la cantidad
+     * @return cantidad decodificada
+     * @throws IOException si falla la lectura
+     */
+    private static int cantidad(String cantidad) throws IOException {
+        LectorVentas lector = lector("P1;" + cantidad);
+        lector.siguienteLinea();
+        lector.prepararPares();
+        assertEquals(LectorVentas.PAR_CORRECTO, lector.siguientePar());
+        return lector.getCantidad();
+    }
+
+    /**
+     * Flujo que entrega un solo byte por lectura, para partir las líneas entre rellenos del buffer.
+     */
+    private static final class EntradaDeAUnByte extends InputStream {
+
+        /** Contenido del flujo */
+        private final byte[] datos;
+
+        /** Siguiente byte por entregar */
+        private int posicion;
+
+        private EntradaDeAUnByte(byte[] datos) {
+            this.datos = datos;
+        }
+
+        @Override
+        public int read() {
+            return (posicion < datos.length) ? datos[posicion++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] destino, int desde, int longitud) {
+            if (longitud == 0) {
+                return 0;
+            }
+            int b = read();
+            if (b < 0) {
+                return -1;
+            }
+            destino[desde] = (byte) b;
+            return 1;
+        }
+    }
+}
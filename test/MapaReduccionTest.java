@@ -0,0 +1,121 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas de los modos mapa y reducción: los reportes combinados a partir de los
+ * agregados parciales de todas las partes son los mismos de una ejecución normal, y
+ * un parcial de otros catálogos se rechaza.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+class MapaReduccionTest {
+
+    /** Número de partes del modo mapa */
+    private static final int PARTES = 3;
+
+    /** Datos generados, compartidos por las pruebas (cada una trabaja sobre una copia) */
+    @TempDir
+    static Path base;
+
+    /** Carpeta de datos generada */
+    private static Path datos;
+
+    @BeforeAll
+    static void generar() throws IOException {
+        datos = base.resolve("generados/datos");
+        EjecucionPrueba.generarDatos(datos, 200);
+    }
+
+    @Test
+    void laReduccionDeTodasLasPartesDaLosReportesDeUnaEjecucionNormal() throws IOException {
+        Path normal = copia("normal");
+        EjecucionPrueba.ejecutarMain(normal, "--cruce");
+
+        Path repartido = copia("repartido");
+        for (int parte = 0; parte < PARTES; parte++) {
+            String salida = EjecucionPrueba.ejecutarMain(repartido, "--cruce", "--mapa", parte + "/" + PARTES);
+            assertTrue(Files.isRegularFile(repartido.resolve("parciales/parcial_" + parte + "_de_" + PARTES
+                    + ".parcial")), salida);
+        }
+        String salida = EjecucionPrueba.ejecutarMain(repartido, "--cruce", "--reducir",
+                repartido.resolve("parciales").toString());
+        assertTrue(salida.contains("(" + PARTES + " parciales, " + EjecucionPrueba.archivosVentas(datos).size()
+                + " archivos de ventas)"), salida);
+
+        EjecucionPrueba.assertReportesIguales(normal, repartido, "reporte_vendedores.csv",
+                "reporte_productos.csv", "reporte_vendedor_producto.csv", "reporte_top_productos_vendedor.csv");
+    }
+
+    @Test
+    void unParcialDeOtrosCatalogosSeRechaza() throws IOException {
+        Path repartido = copia("otros_catalogos");
+        EjecucionPrueba.ejecutarMain(repartido, "--mapa", "0/1");
+
+        // Un cambio de precio cambia la huella aunque el número de productos sea el mismo
+        Path catalogo = repartido.resolve("productos/productos.txt");
+        List<String> productos = Files.readAllLines(catalogo, StandardCharsets.UTF_8);
+        String[] primero = productos.get(0).split(";");
+        productos.set(0, primero[0] + ";" + primero[1] + ";" + (Long.parseLong(primero[2]) + 1));
+        Files.write(catalogo, productos, StandardCharsets.UTF_8);
+
+        String salida = EjecucionPrueba.ejecutar("Main", repartido, "--reducir",
+                repartido.resolve("parciales").toString());
+        assertTrue(salida.contains("otros catálogos"), salida);
+        assertFalse(Files.exists(repartido.resolve("reportes/reporte_vendedores.csv")), salida);
+    }
+
+    @Test
+    void sumarARechazaOtraHuellaOTamano() throws IOException {
+        TablaVendedores vendedores = new TablaVendedores();
+        int vendedor = vendedores.agregar("CC", 10, "Ana", "Gómez");
+        DiccionarioProductos productos = new DiccionarioProductos();
+        productos.agregar("PROD001", "Teclado", 150);
+        MontoCentavos monto = new MontoCentavos();
+        monto.sumarProducto(150, 4);
+        vendedores.agregarVenta(vendedor, monto);
+
+        AgregadoParcial parcial = AgregadoParcial.desdeAcumulados(42, 1, vendedores, productos, null);
+
+        assertThrows(IOException.class, () -> parcial.sumarA(43, vendedores, productos, null));
+        assertThrows(IOException.class, () -> parcial.sumarA(42, vendedores, productos, new MatrizVentas()));
+        productos.agregar("PROD002", "Mouse", 200);
+        assertThrows(IOException.class, () -> parcial.sumarA(42, vendedores, productos, null));
+
+        // Con los mismos catálogos se suma al acumulado existente
+        DiccionarioProductos mismos = new DiccionarioProductos();
+        mismos.agregar("PROD001", "Teclado", 150);
+        parcial.sumarA(42, vendedores, mismos, null);
+        assertEquals(new BigDecimal("12.00"), vendedores.getTotalVentas(vendedor));
+    }
+
+    /**
+     * Copia los datos generados a una carpeta nueva.
+     *
+     * @param nombre nombre de la copia
+     * @return carpeta de datos de la copia
+     * @throws IOException si falla la copia
+     */
+    private static Path copia(String nombre) throws IOException {
+        Path destino = base.resolve(nombre).resolve("datos");
+        EjecucionPrueba.copiarCarpeta(datos, destino);
+        return destino;
+    }
+}
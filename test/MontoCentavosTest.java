@@ -0,0 +1,150 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de MontoCentavos: acarreo de la parte baja a la alta, montos negativos,
+ * conversión a BigDecimal y lectura de precios.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+class MontoCentavosTest {
+
+    /** 2^64, el peso de la parte alta */
+    private static final BigInteger DOS_A_LA_64 = BigInteger.ONE.shiftLeft(64);
+
+    @Test
+    void laSumaQueDesbordaLaParteBajaAcarreaALaAlta() {
+        MontoCentavos monto = new MontoCentavos();
+        monto.sumar(0, -1L);
+        assertEquals(0, monto.getAlto());
+
+        monto.sumar(0, 1);
+        assertEquals(1, monto.getAlto());
+        assertEquals(0, monto.getBajo());
+        assertEquals(new BigDecimal(DOS_A_LA_64, 2), monto.aBigDecimal());
+    }
+
+    @Test
+    void elProductoQueNoCabeEnUnLongSeGuardaCompleto() {
+        MontoCentavos monto = new MontoCentavos();
+        monto.sumarProducto(Long.MAX_VALUE, 3);
+        monto.sumarProducto(Long.MAX_VALUE, Integer.MAX_VALUE);
+
+        BigInteger esperado = BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(3L + Integer.MAX_VALUE));
+        assertEquals(new BigDecimal(esperado, 2), monto.aBigDecimal());
+    }
+
+    @Test
+    void losMontosNegativosUsanComplementoADosEnLas128Bits() {
+        MontoCentavos monto = new MontoCentavos();
+        monto.sumarProducto(100, 1);
+        monto.sumarProducto(-250, 1);
+        assertEquals(-1, monto.getAlto());
+        assertEquals(-150, monto.getBajo());
+        assertEquals(new BigDecimal("-1.50"), monto.aBigDecimal());
+
+        monto.reiniciar();
+        monto.sumarProducto(Long.MIN_VALUE, 2);
+        assertEquals(new BigDecimal(BigInteger.valueOf(Long.MIN_VALUE).shiftLeft(1), 2), monto.aBigDecimal());
+
+        // Volver a positivo cruza el cero en las dos partes
+        monto.sumarProducto(Long.MAX_VALUE, 2);
+        monto.sumarProducto(1, 5);
+        assertEquals(new BigDecimal("0.03"), monto.aBigDecimal());
+    }
+
+    @Test
+    void lasSumasNoDependenDelOrden() {
+        SplittableRandom aleatorio = new SplittableRandom(20240601L);
+        long[] precios = new long[5000];
+        long[] cantidades = new long[precios.length];
+        BigInteger esperado = BigInteger.ZERO;
+        for (int i = 0; i < precios.length; i++) {
+            precios[i] = aleatorio.nextLong();
+            cantidades[i] = aleatorio.nextInt();
+            esperado = esperado.add(BigInteger.valueOf(precios[i]).multiply(BigInteger.valueOf(cantidades[i])));
+        }
+
+        MontoCentavos haciaAdelante = new MontoCentavos();
+        for (int i = 0; i < precios.length; i++) {
+            haciaAdelante.sumarProducto(precios[i], cantidades[i]);
+        }
+
+        // Al revés y en dos mitades que luego se combinan, como lo hacen los hilos
+        MontoCentavos primeraMitad = new MontoCentavos();
+        MontoCentavos segundaMitad = new MontoCentavos();
+        for (int i = precios.length - 1; i >= 0; i--) {
+            (i % 2 == 0 ? primeraMitad : segundaMitad).sumarProducto(precios[i], cantidades[i]);
+        }
+        segundaMitad.sumar(primeraMitad);
+
+        assertEquals(haciaAdelante.getAlto(), segundaMitad.getAlto());
+        assertEquals(haciaAdelante.getBajo(), segundaMitad.getBajo());
+        assertEquals(new BigDecimal(esperado, 2), haciaAdelante.aBigDecimal());
+    }
+
+    @Test
+    void laSumaEnArreglosEquivaleALaDelAcumulador() {
+        long[] altos = new long[2];
+        long[] bajos = new long[2];
+        MontoCentavos monto = new MontoCentavos();
+
+        long[][] sumandos = {{0, -1L}, {0, 2}, {-1, -7}, {3, Long.MIN_VALUE}};
+        for (long[] sumando : sumandos) {
+            MontoCentavos.sumar(altos, bajos, 1, sumando[0], sumando[1]);
+            monto.sumar(sumando[0], sumando[1]);
+        }
+
+        assertEquals(0, altos[0]);
+        assertEquals(0, bajos[0]);
+        assertEquals(monto.getAlto(), altos[1]);
+        assertEquals(monto.getBajo(), bajos[1]);
+    }
+
+    @Test
+    void aBigDecimalDistingueElBitDeSignoDeLaParteBaja() {
+        // Cabe en un long
+        assertEquals(new BigDecimal("-0.05"), MontoCentavos.aBigDecimal(-1, -5));
+        assertEquals(new BigDecimal("12345.67"), MontoCentavos.aBigDecimal(0, 1234567));
+
+        // Parte baja con el bit alto encendido y parte alta en cero: es positivo
+        assertEquals(new BigDecimal(BigInteger.ONE.shiftLeft(63), 2), MontoCentavos.aBigDecimal(0, Long.MIN_VALUE));
+
+        // Parte alta -2: -2^65 + 10
+        BigInteger esperado = BigInteger.valueOf(-2).multiply(DOS_A_LA_64).add(BigInteger.TEN);
+        assertEquals(new BigDecimal(esperado, 2), MontoCentavos.aBigDecimal(-2, 10));
+        assertEquals(2, MontoCentavos.aBigDecimal(5, 5).scale());
+    }
+
+    @Test
+    void compararUsaLaParteBajaSinSigno() {
+        assertTrue(MontoCentavos.comparar(0, Long.MIN_VALUE, 0, Long.MAX_VALUE) > 0);
+        assertTrue(MontoCentavos.comparar(-1, -1, 0, 0) < 0);
+        assertTrue(MontoCentavos.comparar(1, 0, 0, -1L) > 0);
+        assertEquals(0, MontoCentavos.comparar(7, 9, 7, 9));
+    }
+
+    @Test
+    void parsearCentavosRedondeaAlParMasCercano() {
+        assertEquals(331700000, MontoCentavos.parsearCentavos("3317000"));
+        assertEquals(1250, MontoCentavos.parsearCentavos("12.5"));
+        assertEquals(0, MontoCentavos.parsearCentavos("0.005"));
+        assertEquals(2, MontoCentavos.parsearCentavos("0.015"));
+        assertEquals(-199, MontoCentavos.parsearCentavos("-1.99"));
+
+        assertThrows(NumberFormatException.class, () -> MontoCentavos.parsearCentavos("doce"));
+        assertThrows(NumberFormatException.class, () -> MontoCentavos.parsearCentavos("1e30"));
+    }
+}
@@ -0,0 +1,165 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas de --punto-control y --reanudar: una ejecución que falla después de guardar el
+ * punto de control del primer lote (1024 archivos) se reanuda con los mismos reportes y
+ * las mismas filas de rechazados de una ejecución normal, y un archivo ya leído que
+ * cambió impide reanudar.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+class PuntoControlTest {
+
+    /** Número de vendedores: más de un lote de archivos de ventas */
+    private static final int VENDEDORES = 1500;
+
+    /** Archivos de ventas de un lote entre dos puntos de control */
+    private static final int ARCHIVOS_POR_LOTE = 1024;
+
+    /** Datos generados, compartidos por las pruebas (cada una trabaja sobre una copia) */
+    @TempDir
+    static Path base;
+
+    /** Carpeta de datos generada */
+    private static Path datos;
+
+    @BeforeAll
+    static void generar() throws IOException {
+        datos = base.resolve("generados/datos");
+        EjecucionPrueba.generarDatos(datos, VENDEDORES);
+
+        // Una fila de rechazados por archivo, para que haya filas después del punto de control
+        for (Path archivo : EjecucionPrueba.archivosVentas(datos)) {
+            EjecucionPrueba.agregarLineas(archivo, "PROD_DESCONOCIDO;1");
+        }
+    }
+
+    @Test
+    void reanudarDespuesDelPrimerLoteDaLosReportesDeUnaEjecucionNormal() throws IOException {
+        Path normal = copia("normal");
+        EjecucionPrueba.ejecutarMain(normal);
+
+        Path interrumpido = copia("interrumpido");
+        PuntoControl puntoControl = interrumpirDespuesDelPrimerLote(interrumpido);
+        assertEquals(ARCHIVOS_POR_LOTE, puntoControl.getArchivosLeidos());
+
+        // El intento fallido escribió las filas de todos los archivos; al reanudar se recortan
+        Path rechazados = interrumpido.resolve("reportes/rechazados.csv");
+        long filasPrevias = EjecucionPrueba.rechazados(interrumpido).size();
+        assertEquals(EjecucionPrueba.rechazados(normal).size(), filasPrevias);
+
+        String salida = EjecucionPrueba.ejecutarMain(interrumpido, "--punto-control", "0", "--reanudar");
+        assertTrue(salida.contains("(" + ARCHIVOS_POR_LOTE + " archivos de ventas ya leídos)"), salida);
+        assertTrue(salida.contains("(" + EjecucionPrueba.archivosVentas(datos).size() + " archivos)"), salida);
+        assertFalse(Files.exists(interrumpido.resolve("estado/punto_control.dat")), salida);
+
+        EjecucionPrueba.assertReportesIguales(normal, interrumpido, "reporte_vendedores.csv",
+                "reporte_productos.csv");
+        assertTrue(Files.isRegularFile(rechazados));
+        assertEquals(ordenadas(EjecucionPrueba.rechazados(normal)), ordenadas(EjecucionPrueba.rechazados(interrumpido)));
+    }
+
+    @Test
+    void unArchivoLeidoQueCambioImpideReanudar() throws IOException {
+        Path interrumpido = copia("modificado");
+        PuntoControl puntoControl = interrumpirDespuesDelPrimerLote(interrumpido);
+
+        // Los archivos que no quedan pendientes son los del lote ya guardado
+        File[] archivos = carpetaVentas(interrumpido).listFiles();
+        assertNotNull(archivos);
+        Set<File> pendientes = new HashSet<>(List.of(puntoControl.filtrarPendientes(archivos)));
+        File leido = null;
+        for (File archivo : archivos) {
+            if (!pendientes.contains(archivo)) {
+                leido = archivo;
+                break;
+            }
+        }
+        assertNotNull(leido);
+        assertTrue(leido.setLastModified(leido.lastModified() + 2000));
+        assertThrows(IOException.class, () -> puntoControl.filtrarPendientes(archivos));
+
+        String salida = EjecucionPrueba.ejecutar("Main", interrumpido, "--punto-control", "0", "--reanudar");
+        assertTrue(salida.contains("El archivo de ventas " + leido.getName()), salida);
+        assertFalse(Files.exists(interrumpido.resolve("reportes/reporte_vendedores.csv")), salida);
+        assertTrue(Files.exists(interrumpido.resolve("estado/punto_control.dat")), salida);
+    }
+
+    /**
+     * Ejecuta Main con un punto de control después de cada lote y lo hace fallar al
+     * escribir el reporte de vendedores, que es una carpeta: el punto de control del
+     * primer lote queda guardado, como si el proceso se hubiera detenido.
+     *
+     * @param datos carpeta de datos
+     * @return punto de control que dejó la ejecución
+     * @throws IOException si no se puede preparar la ejecución o leer el punto de control
+     */
+    private static PuntoControl interrumpirDespuesDelPrimerLote(Path datos) throws IOException {
+        Path bloqueo = Files.createDirectories(datos.resolve("reportes/reporte_vendedores.csv"));
+        String salida = EjecucionPrueba.ejecutar("Main", datos, "--punto-control", "0");
+        assertTrue(salida.contains("ERROR durante"), salida);
+        Files.delete(bloqueo);
+
+        PuntoControl puntoControl = PuntoControl.cargar(datos.resolve("estado/punto_control.dat"));
+        assertNotNull(puntoControl, salida);
+        return puntoControl;
+    }
+
+    /**
+     * Obtiene la carpeta de ventas de una carpeta de datos.
+     *
+     * @param datos carpeta de datos
+     * @return carpeta de ventas
+     */
+    private static File carpetaVentas(Path datos) {
+        return datos.resolve("ventas").toFile();
+    }
+
+    /**
+     * Ordena las filas de rechazados, que se escriben en el orden en que terminan los archivos.
+     *
+     * @param filas filas sin el encabezado
+     * @return copia ordenada
+     */
+    private static List<String> ordenadas(List<String> filas) {
+        List<String> copia = new ArrayList<>(filas);
+        Collections.sort(copia);
+        return copia;
+    }
+
+    /**
+     * Copia los datos generados a una carpeta nueva.
+     *
+     * @param nombre nombre de la copia
+     * @return carpeta de datos de la copia
+     * @throws IOException si falla la copia
+     */
+    private static Path copia(String nombre) throws IOException {
+        Path destino = base.resolve(nombre).resolve("datos");
+        EjecucionPrueba.copiarCarpeta(datos, destino);
+        return destino;
+    }
+}
@@ -0,0 +1,99 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de la tabla hash de direccionamiento abierto de TablaVendedores: documentos
+ * que caen en la misma posición inicial y crecimiento de la tabla.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+class TablaVendedoresTest {
+
+    /** Misma constante de dispersión que TablaVendedores */
+    private static final long DISPERSION = 0x9E3779B97F4A7C15L;
+
+    /** Bits de posición de la tabla inicial (128 posiciones) */
+    private static final int DESPLAZAMIENTO_INICIAL = Long.numberOfLeadingZeros(127);
+
+    @Test
+    void losDocumentosQueColisionanSeEncuentranTodos() {
+        List<Long> colisiones = documentosEnLaMismaPosicion(40);
+        TablaVendedores tabla = new TablaVendedores();
+        for (int i = 0; i < colisiones.size(); i++) {
+            assertEquals(i, tabla.agregar("CC", colisiones.get(i), "Nombre" + i, "Apellido" + i));
+        }
+
+        for (int i = 0; i < colisiones.size(); i++) {
+            assertEquals(i, tabla.buscar(colisiones.get(i)));
+            assertEquals(colisiones.get(i), tabla.getDocumento(i));
+        }
+
+        // Un documento de la misma cadena que no se registró recorre toda la cadena
+        long ausente = documentosEnLaMismaPosicion(41).get(40);
+        assertEquals(TablaVendedores.NO_ENCONTRADO, tabla.buscar(ausente));
+    }
+
+    @Test
+    void alCrecerConservaIndicesDatosYTotales() {
+        TablaVendedores tabla = new TablaVendedores();
+        MontoCentavos monto = new MontoCentavos();
+        monto.sumarProducto(150, 1);
+
+        // Documentos con un paso de 2^20: comparten los bits bajos y se agrupan en la tabla
+        int vendedores = 10_000;
+        for (int i = 0; i < vendedores; i++) {
+            long documento = 1_000_000_000L + ((long) i << 20);
+            assertEquals(i, tabla.agregar(i % 2 == 0 ? "CC" : "CE", documento, "N" + i, "A" + i));
+            if (i == 10) {
+                tabla.agregarVenta(i, monto);
+            }
+        }
+
+        assertEquals(vendedores, tabla.getTamano());
+        for (int i = 0; i < vendedores; i++) {
+            assertEquals(i, tabla.buscar(1_000_000_000L + ((long) i << 20)));
+            assertEquals(i % 2 == 0 ? "CC" : "CE", tabla.getTipoDocumento(i));
+            assertEquals("N" + i, tabla.getNombres(i));
+        }
+        assertEquals(new BigDecimal("1.50"), tabla.getTotalVentas(10));
+        assertEquals(TablaVendedores.NO_ENCONTRADO, tabla.buscar(1_000_000_001L));
+    }
+
+    @Test
+    void unDocumentoRepetidoConservaSuIndice() {
+        TablaVendedores tabla = new TablaVendedores();
+        tabla.agregar("CC", 10, "Ana", "Gómez");
+        tabla.agregar("CC", 20, "Luis", "Pérez");
+
+        assertEquals(0, tabla.agregar("TI", 10, "Ana María", "Gómez"));
+        assertEquals(2, tabla.getTamano());
+        assertEquals("TI", tabla.getTipoDocumento(0));
+        assertEquals("Ana María", tabla.getNombres(0));
+    }
+
+    /**
+     * Busca documentos que caen en la misma posición inicial de la tabla de 128 posiciones.
+     *
+     * @param cantidad número de documentos a buscar
+     * @return documentos con la misma posición inicial
+     */
+    private static List<Long> documentosEnLaMismaPosicion(int cantidad) {
+        List<Long> documentos = new ArrayList<>();
+        for (long documento = 1; documentos.size() < cantidad; documento++) {
+            if ((documento * DISPERSION) >>> DESPLAZAMIENTO_INICIAL == 0) {
+                documentos.add(documento);
+            }
+        }
+        return documentos;
+    }
+}
@@ -0,0 +1,172 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas de TramosArchivo.inicioLinea en los bordes de la ventana de lectura de 8 KB, y
+ * de los archivos de ventas divididos en tramos (--tramo), que deben dar los mismos
+ * reportes y rechazados que el recorrido secuencial.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+class TramosArchivoTest {
+
+    /** Tamaño de la ventana de lectura de inicioLinea */
+    private static final int VENTANA = 8 * 1024;
+
+    @TempDir
+    Path carpeta;
+
+    @Test
+    void unRetornoDeCarroAlFinalDeLaVentanaSeUneAlSaltoDeLaSiguiente() throws IOException {
+        // La ventana empieza en posicion - 1: con posicion 1 el '\r' es su último byte
+        Path archivo = escribir("a".repeat(VENTANA - 1) + "\r\nb");
+        assertEquals(VENTANA + 1, inicioLinea(archivo, 1));
+        assertEquals(VENTANA + 1, inicioLinea(archivo, VENTANA - 1));
+        assertEquals(VENTANA + 1, inicioLinea(archivo, VENTANA));
+        assertEquals(VENTANA + 1, inicioLinea(archivo, VENTANA + 1));
+    }
+
+    @Test
+    void unRetornoDeCarroSoloAlFinalDeLaVentanaTerminaLaLinea() throws IOException {
+        Path archivo = escribir("a".repeat(VENTANA - 1) + "\rb\nc");
+        assertEquals(VENTANA, inicioLinea(archivo, 1));
+        assertEquals(VENTANA, inicioLinea(archivo, VENTANA));
+        assertEquals(VENTANA + 2, inicioLinea(archivo, VENTANA + 1));
+    }
+
+    @Test
+    void unaPosicionDentroDeRetornoYSaltoVaDespuesDelSalto() throws IOException {
+        Path archivo = escribir("ab\r\ncd\ref");
+        assertEquals(4, inicioLinea(archivo, 2));
+        assertEquals(4, inicioLinea(archivo, 3));
+        assertEquals(4, inicioLinea(archivo, 4));
+        assertEquals(7, inicioLinea(archivo, 5));
+        assertEquals(7, inicioLinea(archivo, 7));
+    }
+
+    @Test
+    void sinSaltoFinalLaUltimaLineaLlegaAlFinDelArchivo() throws IOException {
+        Path archivo = escribir("abc\ndef");
+        assertEquals(0, inicioLinea(archivo, 0));
+        assertEquals(7, inicioLinea(archivo, 5));
+        assertEquals(7, inicioLinea(archivo, 100));
+
+        // Un '\r' al final del archivo no deja otra línea después
+        assertEquals(4, inicioLinea(escribir("abc\r"), 2));
+    }
+
+    @Test
+    void unTramoDentroDeUnaLineaLargaQuedaVacio() throws IOException {
+        // Ambos límites del tramo caen en la misma línea de varias ventanas
+        Path archivo = escribir("a".repeat(3 * VENTANA) + "\nX");
+        long desde = inicioLinea(archivo, 100);
+        long hasta = inicioLinea(archivo, 2 * VENTANA + 5);
+        assertEquals(3 * VENTANA + 1, desde);
+        assertEquals(desde, hasta);
+    }
+
+    @Test
+    void losTramosDanLosMismosReportesQueElRecorridoSecuencial() throws IOException {
+        Path generados = carpeta.resolve("generados/datos");
+        EjecucionPrueba.generarDatos(generados, 60);
+
+        // Archivos de varios KB con cada final de línea, sin salto final y con una línea larga
+        List<Path> ventas = EjecucionPrueba.archivosVentas(generados);
+        String[] finales = {"\n", "\r\n", "\r"};
+        for (int i = 0; i < 12; i++) {
+            agrandar(ventas.get(i * 4 + 1), finales[i % finales.length], i % 2 == 0, i == 5);
+        }
+
+        Path secuencial = carpeta.resolve("secuencial/datos");
+        EjecucionPrueba.copiarCarpeta(generados, secuencial);
+        EjecucionPrueba.ejecutarMain(secuencial, "--cruce");
+
+        Path tramos = carpeta.resolve("tramos/datos");
+        EjecucionPrueba.copiarCarpeta(generados, tramos);
+        EjecucionPrueba.ejecutarMain(tramos, "--cruce", "--paralelismo", "4", "--tramo", "1");
+
+        EjecucionPrueba.assertReportesIguales(secuencial, tramos, "reporte_vendedores.csv",
+                "reporte_productos.csv", "reporte_vendedor_producto.csv");
+        assertEquals(ordenadas(EjecucionPrueba.rechazados(secuencial)), ordenadas(EjecucionPrueba.rechazados(tramos)));
+    }
+
+    /**
+     * Repite las ventas de un archivo hasta que ocupe al menos cuatro tramos de 1 KB, con otro final de línea.
+     *
+     * @param archivo archivo de ventas
+     * @param finLinea final de línea de todas las líneas
+     * @param sinSaltoFinal true para que la última línea no tenga final
+     * @param lineaLarga true para agregar una línea de más de dos tramos
+     * @throws IOException si no se puede reescribir el archivo
+     */
+    private static void agrandar(Path archivo, String finLinea, boolean sinSaltoFinal, boolean lineaLarga)
+            throws IOException {
+        List<String> lineas = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+        List<String> nuevas = new ArrayList<>(lineas);
+        while (String.join(finLinea, nuevas).length() < 4 * 1024) {
+            nuevas.addAll(lineas.subList(1, lineas.size()));
+        }
+        if (lineaLarga) {
+            String par = lineas.get(1).split(";")[0] + ";1;";
+            nuevas.add(5, par.repeat(300) + "PROD_DESCONOCIDO;1");
+        }
+
+        String texto = String.join(finLinea, nuevas) + (sinSaltoFinal ? "" : finLinea);
+        Files.write(archivo, texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Escribe un archivo temporal con un texto.
+     *
+     * @param contenido contenido del archivo
+     * @return archivo escrito
+     * @throws IOException si no se puede escribir
+     */
+    private Path escribir(String contenido) throws IOException {
+        Path archivo = Files.createTempFile(carpeta, "tramo", ".txt");
+        Files.write(archivo, contenido.getBytes(StandardCharsets.US_ASCII));
+        return archivo;
+    }
+
+    /**
+     * Abre un archivo y busca el inicio de línea desde una posición.
+     *
+     * @param archivo archivo a revisar
+     * @param posicion posición aproximada
+     * @return inicio de línea encontrado
+     * @throws IOException si falla la lectura
+     */
+    private static long inicioLinea(Path archivo, long posicion) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo)) {
+            return TramosArchivo.inicioLinea(canal, posicion);
+        }
+    }
+
+    /**
+     * Ordena las filas de rechazados, que se escriben en el orden en que terminan los archivos.
+     *
+     * @param filas filas sin el encabezado
+     * @return copia ordenada
+     */
+    private static List<String> ordenadas(List<String> filas) {
+        List<String> copia = new ArrayList<>(filas);
+        Collections.sort(copia);
+        return copia;
+    }
+}
@@ -0,0 +1,104 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas del modo vigilancia: después de cada actualización, el archivo de rechazados
+ * tiene las mismas filas que una ejecución completa sobre los archivos de ese momento,
+ * sin repetir las de los archivos leídos en actualizaciones anteriores.
+ *
+ * @author FABIAN ESTIBEN ROMERO VILLAMIL
+ * @author JOHANNA LONDOÑO ALZATE
+ * @author MAURICIO FIGUEREDO TORRES
+ * @author SEBASTIAN GUTIERREZ ROJAS
+ * @author WILLIAM CASTELLANOS CALDERÓN
+ * @version v2.0.0
+ */
+class VigilanciaTest {
+
+    /** Texto con el que Main informa el fin de una actualización */
+    private static final String ACTUALIZADO = "Reportes actualizados";
+
+    @TempDir
+    Path base;
+
+    @Test
+    @Timeout(value = 120, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void cadaActualizacionReescribeLosRechazados() throws IOException {
+        Path vigilado = base.resolve("vigilado/datos");
+        EjecucionPrueba.generarDatos(vigilado, 60);
+        List<Path> ventas = EjecucionPrueba.archivosVentas(vigilado);
+
+        Process proceso = EjecucionPrueba.iniciar("Main", vigilado, "--vigilar", "--intervalo-vigilancia", "300");
+        try (BufferedReader salida = new BufferedReader(
+                new InputStreamReader(proceso.getInputStream(), StandardCharsets.UTF_8))) {
+            esperarLinea(salida, "Vigilando");
+
+            // Dos actualizaciones sobre archivos distintos
+            EjecucionPrueba.agregarLineas(ventas.get(10), "PROD_DESCONOCIDO;7");
+            esperarLinea(salida, ACTUALIZADO);
+            EjecucionPrueba.agregarLineas(ventas.get(20), "PROD_DESCONOCIDO;8", "PROD_DESCONOCIDO;9;x");
+            esperarLinea(salida, ACTUALIZADO);
+        } finally {
+            proceso.destroy();
+            try {
+                proceso.waitFor(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        Path completo = base.resolve("completo/datos");
+        for (String carpeta : new String[] {"vendedores", "productos", "ventas"}) {
+            EjecucionPrueba.copiarCarpeta(vigilado.resolve(carpeta), completo.resolve(carpeta));
+        }
+        EjecucionPrueba.ejecutarMain(completo);
+
+        assertEquals(ordenadas(EjecucionPrueba.rechazados(completo)), ordenadas(EjecucionPrueba.rechazados(vigilado)));
+        EjecucionPrueba.assertReportesIguales(completo, vigilado, "reporte_vendedores.csv", "reporte_productos.csv");
+    }
+
+    /**
+     * Lee la salida del proceso hasta una línea que contenga un texto.
+     *
+     * @param salida salida del proceso
+     * @param texto texto esperado
+     * @throws IOException si falla la lectura
+     */
+    private static void esperarLinea(BufferedReader salida, String texto) throws IOException {
+        String linea;
+        while ((linea = salida.readLine()) != null) {
+            assertFalse(linea.contains("ERROR durante"), linea);
+            if (linea.contains(texto)) {
+                return;
+            }
+        }
+        fail("La salida terminó sin \"" + texto + "\"");
+    }
+
+    /**
+     * Ordena las filas de rechazados para compararlas sin depender del orden de escritura.
+     *
+     * @param filas filas sin el encabezado
+     * @return copia ordenada
+     */
+    private static List<String> ordenadas(List<String> filas) {
+        List<String> copia = new ArrayList<>(filas);
+        Collections.sort(copia);
+        return copia;
+    }
+}